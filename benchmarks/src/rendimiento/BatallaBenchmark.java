@@ -0,0 +1,82 @@
+package rendimiento;
+
+import dominio.Aleatoriedad;
+import dominio.BattleSimulator;
+import dominio.POOBkemonException;
+import dominio.ResultadoSimulacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulacion.SimuladorMvM;
+import simulacion.Silenciador;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mide una batalla MvM completa sin interfaz, como las que ejecuta SimuladorMvM:
+ * crear los equipos con BattleSimulator.crearMvM y simular hasta que alguien gane
+ * Los equipos y la semilla son fijos, asi cada operacion juega exactamente la misma batalla
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatallaBenchmark {
+    private static final long SEMILLA = 7L;
+
+    /**
+     * IA de la maquina 1, con los nombres de BattleFactory.crearAITrainer
+     */
+    @Param({"attackingTrainer", "expertTrainer"})
+    public String tipo1;
+
+    /**
+     * IA de la maquina 2
+     */
+    @Param({"expertTrainer"})
+    public String tipo2;
+
+    private List<String> equipo1;
+    private List<String> equipo2;
+    private Map<String, Integer> items;
+
+    /**
+     * Elige los equipos con una semilla fija
+     */
+    @Setup
+    public void preparar() {
+        Silenciador.silenciarLogDominio();
+        RandomGenerator aleatorio = Aleatoriedad.crearGenerador(SEMILLA);
+        equipo1 = SimuladorMvM.equipoAleatorio(aleatorio);
+        equipo2 = SimuladorMvM.equipoAleatorio(aleatorio);
+        items = SimuladorMvM.itemsPorDefecto();
+    }
+
+    /**
+     * Crea y simula la batalla completa
+     *
+     * @return resultado de la batalla
+     * @throws POOBkemonException Si ocurre un error al crear los equipos
+     */
+    @Benchmark
+    public ResultadoSimulacion batallaMvM() throws POOBkemonException {
+        return BattleSimulator.crearMvM(equipo1, equipo2, items, items, tipo1, tipo2, SEMILLA).simular();
+    }
+}
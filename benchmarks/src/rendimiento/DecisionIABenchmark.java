@@ -0,0 +1,123 @@
+package rendimiento;
+
+import dominio.AITrainer;
+import dominio.Aleatoriedad;
+import dominio.Battle;
+import dominio.ExpertTrainer;
+import dominio.MonteCarloTrainer;
+import dominio.POOBkemonException;
+import dominio.TablaTransposicion;
+import dominio.Trainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import simulacion.SimuladorMvM;
+import simulacion.Silenciador;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mide AITrainer.decidirAccion de cada tipo de IA sobre el primer turno de una batalla MvM
+ * decidirAccion aplica la accion que elige, asi que antes de cada invocacion se preparan LOTE
+ * copias de los entrenadores originales y la invocacion decide con todas; la copia queda fuera
+ * de la medicion y el lote hace que la preparacion por invocacion no pese en decisiones cortas
+ * Cada copia del experto usa una tabla de transposicion creada al inicio y vaciada antes de cada
+ * invocacion, asi se mide la busqueda con la tabla vacia y no la creacion de la tabla
+ * Las IA que buscan se limitan como en BattleSimulator (profundidad o playouts fijos), si no
+ * se mediria su presupuesto de tiempo y no el costo de la busqueda
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecisionIABenchmark {
+    /**
+     * Tipo de IA que decide, con los nombres de BattleFactory.crearAITrainer
+     */
+    @Param({"attackingTrainer", "defensiveTrainer", "chaningTrainer", "expertTrainer", "monteCarloTrainer"})
+    public String tipo;
+
+    // Decisiones por invocacion
+    private static final int LOTE = 32;
+
+    private Battle batalla;
+    private AITrainer original;
+    private Trainer oponenteOriginal;
+    private final AITrainer[] maquinas = new AITrainer[LOTE];
+    private final Trainer[] oponentes = new Trainer[LOTE];
+    // Una tabla por copia del experto, null para las otras IA
+    private TablaTransposicion[] tablas;
+
+    /**
+     * Arma la batalla con los equipos de una semilla fija
+     *
+     * @throws POOBkemonException Si ocurre un error al crear los equipos
+     */
+    @Setup(Level.Trial)
+    public void preparar() throws POOBkemonException {
+        Silenciador.silenciarLogDominio();
+        RandomGenerator aleatorio = Aleatoriedad.crearGenerador(7L);
+        batalla = Battle.getInstance();
+        batalla.setUpBattleMvM(SimuladorMvM.equipoAleatorio(aleatorio), SimuladorMvM.equipoAleatorio(aleatorio),
+                               SimuladorMvM.itemsPorDefecto(), SimuladorMvM.itemsPorDefecto(),
+                               tipo, "attackingTrainer");
+        batalla.setListener(null);
+        original = (AITrainer) batalla.getEntrenador1();
+        if (original instanceof ExpertTrainer) {
+            ((ExpertTrainer) original).configurarBusqueda(0, ExpertTrainer.PROFUNDIDAD_SIMULACION);
+            tablas = new TablaTransposicion[LOTE];
+            for (int i = 0; i < LOTE; i++) {
+                tablas[i] = new TablaTransposicion(ExpertTrainer.ENTRADAS_TABLA);
+            }
+        } else if (original instanceof MonteCarloTrainer) {
+            ((MonteCarloTrainer) original).configurarBusqueda(0, MonteCarloTrainer.PLAYOUTS_SIMULACION, 1);
+        }
+        oponenteOriginal = batalla.getEntrenador2();
+    }
+
+    /**
+     * Copia los entrenadores para que cada decision parta del mismo estado y vacia las tablas
+     */
+    @Setup(Level.Invocation)
+    public void restaurar() {
+        for (int i = 0; i < LOTE; i++) {
+            maquinas[i] = (AITrainer) original.copiar();
+            oponentes[i] = oponenteOriginal.copiar();
+            if (tablas != null) {
+                tablas[i].limpiar();
+                ((ExpertTrainer) maquinas[i]).usarTabla(tablas[i]);
+            }
+        }
+    }
+
+    /**
+     * Decide y aplica la accion de la IA con cada copia del lote
+     *
+     * @param agujero Consume los mensajes de las acciones
+     */
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void decidirAccion(Blackhole agujero) {
+        for (int i = 0; i < LOTE; i++) {
+            agujero.consume(maquinas[i].decidirAccion(batalla, oponentes[i]));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package rendimiento;
+
+import dominio.AITrainer;
+import dominio.BattleFactory;
+import dominio.POOBkemonException;
+import dominio.Pokemon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide BattleFactory.crearPokemon recorriendo todo el catalogo de especies,
+ * asi el resultado promedia Pokemon con distinta cantidad de movimientos
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FabricaBenchmark {
+    private String[] nombres;
+    private AITrainer entrenador;
+    private int siguiente;
+
+    /**
+     * Carga el catalogo antes de medir para no cronometrar su lectura
+     */
+    @Setup
+    public void preparar() {
+        List<String> catalogo = BattleFactory.getNombresPokemones();
+        nombres = catalogo.toArray(new String[0]);
+        entrenador = BattleFactory.crearAITrainer("attackingTrainer", "Maquina 1", "Rojo");
+    }
+
+    /**
+     * Crea el siguiente Pokemon del catalogo
+     *
+     * @return Pokemon creado, devuelto para que JMH no descarte la llamada
+     * @throws POOBkemonException Si la especie no existe
+     */
+    @Benchmark
+    public Pokemon crearPokemon() throws POOBkemonException {
+        String nombre = nombres[siguiente];
+        siguiente = siguiente + 1 == nombres.length ? 0 : siguiente + 1;
+        return BattleFactory.crearPokemon(nombre, entrenador);
+    }
+}
@@ -0,0 +1,84 @@
+package rendimiento;
+
+import dominio.Aleatoriedad;
+import dominio.BattleFactory;
+import dominio.MovimientoEspecial;
+import dominio.MovimientoFisico;
+import dominio.POOBkemonException;
+import dominio.Pokemon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mide MovimientoFisico.ejecutar y MovimientoEspecial.ejecutar con mensaje incluido, como en una batalla
+ * Los movimientos tienen PP de sobra y precision 100 para que siempre acierten, y cada
+ * operacion devuelve al objetivo sus PS para que nunca se debilite
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovimientoBenchmark {
+    private MovimientoFisico fisico;
+    private MovimientoEspecial especial;
+    private Pokemon atacante;
+    private Pokemon objetivo;
+    private RandomGenerator aleatorio;
+
+    /**
+     * Crea los Pokemon y los movimientos a medir
+     *
+     * @throws POOBkemonException Si alguna especie no existe
+     */
+    @Setup
+    public void preparar() throws POOBkemonException {
+        atacante = BattleFactory.crearPokemon("charizard",
+                BattleFactory.crearAITrainer("attackingTrainer", "Maquina 1", "Rojo"));
+        objetivo = BattleFactory.crearPokemon("blastoise",
+                BattleFactory.crearAITrainer("attackingTrainer", "Maquina 2", "Azul"));
+        fisico = new MovimientoFisico("Garra Dragon", "Dragon", 80, 100, Integer.MAX_VALUE);
+        especial = new MovimientoEspecial("Lanzallamas", "Fuego", 90, 100, Integer.MAX_VALUE);
+        aleatorio = Aleatoriedad.crearGenerador(7L);
+    }
+
+    /**
+     * Ejecuta el movimiento fisico
+     *
+     * @return mensaje del ataque
+     */
+    @Benchmark
+    public String ejecutarFisico() {
+        String mensaje = fisico.ejecutar(atacante, objetivo, aleatorio);
+        objetivo.setPsActual(objetivo.getPs());
+        return mensaje;
+    }
+
+    /**
+     * Ejecuta el movimiento especial
+     *
+     * @return mensaje del ataque
+     */
+    @Benchmark
+    public String ejecutarEspecial() {
+        String mensaje = especial.ejecutar(atacante, objetivo, aleatorio);
+        objetivo.setPsActual(objetivo.getPs());
+        return mensaje;
+    }
+}
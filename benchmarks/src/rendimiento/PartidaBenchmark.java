@@ -0,0 +1,109 @@
+package rendimiento;
+
+import dominio.Aleatoriedad;
+import dominio.Battle;
+import dominio.POOBkemonException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import simulacion.SimuladorMvM;
+import simulacion.Silenciador;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mide Battle.guardarPartida, Battle.cargarPartida y el ciclo completo de guardar y cargar
+ * sobre un archivo temporal con una partida MvM de 6 Pokemon por equipo
+ * El tiempo incluye la escritura y lectura del archivo, normalmente en la cache del sistema
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartidaBenchmark {
+    private Battle batalla;
+    private Path guardada;
+    private Path escrita;
+
+    /**
+     * Arma la partida y deja una copia guardada para medir la carga
+     *
+     * @throws POOBkemonException Si ocurre un error al crear o guardar la batalla
+     * @throws IOException Si no se pueden crear los archivos temporales
+     */
+    @Setup
+    public void preparar() throws POOBkemonException, IOException {
+        Silenciador.silenciarLogDominio();
+        RandomGenerator aleatorio = Aleatoriedad.crearGenerador(7L);
+        batalla = Battle.getInstance();
+        batalla.setUpBattleMvM(SimuladorMvM.equipoAleatorio(aleatorio), SimuladorMvM.equipoAleatorio(aleatorio),
+                               SimuladorMvM.itemsPorDefecto(), SimuladorMvM.itemsPorDefecto(),
+                               "attackingTrainer", "expertTrainer");
+        batalla.setListener(null);
+        guardada = Files.createTempFile("benchmark", ".pokemon");
+        escrita = Files.createTempFile("benchmark-escrita", ".pokemon");
+        batalla.guardarPartida(guardada.toString());
+    }
+
+    /**
+     * Borra los archivos temporales
+     *
+     * @throws IOException Si no se pueden borrar
+     */
+    @TearDown
+    public void limpiar() throws IOException {
+        Files.deleteIfExists(guardada);
+        Files.deleteIfExists(escrita);
+    }
+
+    /**
+     * Guarda la partida
+     *
+     * @throws POOBkemonException Si no se puede guardar
+     */
+    @Benchmark
+    public void guardarPartida() throws POOBkemonException {
+        batalla.guardarPartida(escrita.toString());
+    }
+
+    /**
+     * Carga la partida guardada
+     *
+     * @return batalla cargada
+     * @throws POOBkemonException Si no se puede cargar
+     */
+    @Benchmark
+    public Battle cargarPartida() throws POOBkemonException {
+        return Battle.cargarPartida(guardada.toString());
+    }
+
+    /**
+     * Guarda la partida y la vuelve a cargar
+     *
+     * @return batalla cargada
+     * @throws POOBkemonException Si no se puede guardar o cargar
+     */
+    @Benchmark
+    public Battle guardarYCargar() throws POOBkemonException {
+        batalla.guardarPartida(escrita.toString());
+        return Battle.cargarPartida(escrita.toString());
+    }
+}
@@ -0,0 +1,81 @@
+package rendimiento;
+
+import dominio.BattleFactory;
+import dominio.MovimientoFisico;
+import dominio.POOBkemonException;
+import dominio.Pokemon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la consulta de efectividades: TablaTipos.getMultiplicador por nombre de tipo, que resuelve
+ * los nombres en cada llamada, y Movimiento.calcularEfectividad, que usa los indices precalculados
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TiposBenchmark {
+    private static final String[] TIPOS = {
+        "Normal", "Fuego", "Agua", "Planta", "Electrico", "Tierra", "Volador", "Lucha", "Veneno",
+        "Hielo", "Bicho", "Roca", "Fantasma", "Dragon", "Siniestro", "Acero", "Hada", "Psiquico"
+    };
+
+    private MovimientoFisico movimiento;
+    private Pokemon rival;
+    private int atacante;
+    private int defensor;
+
+    /**
+     * Crea el movimiento que consulta la tabla y un rival de dos tipos
+     *
+     * @throws POOBkemonException Si la especie del rival no existe
+     */
+    @Setup
+    public void preparar() throws POOBkemonException {
+        movimiento = new MovimientoFisico("Avalancha", "Roca", 75, 90, 10);
+        rival = BattleFactory.crearPokemon("charizard",
+                BattleFactory.crearAITrainer("attackingTrainer", "Maquina 2", "Azul"));
+    }
+
+    /**
+     * Consulta el siguiente par de tipos por nombre, recorriendo toda la tabla
+     *
+     * @return multiplicador del par
+     */
+    @Benchmark
+    public double getMultiplicador() {
+        defensor++;
+        if (defensor == TIPOS.length) {
+            defensor = 0;
+            atacante = atacante + 1 == TIPOS.length ? 0 : atacante + 1;
+        }
+        return movimiento.getMultiplicador(TIPOS[atacante], TIPOS[defensor]);
+    }
+
+    /**
+     * Calcula la efectividad del movimiento contra los dos tipos del rival
+     *
+     * @return multiplicador combinado
+     */
+    @Benchmark
+    public double calcularEfectividad() {
+        return movimiento.calcularEfectividad(rival);
+    }
+}
@@ -37,9 +37,9 @@ public abstract class AITrainer extends Trainer {
         Movimiento movimiento = pokemonActivo.getMovimientos().get(moveIndex);
         if (pokemonActivo.sinPP()) {
             Movimiento forcejeo = new Forcejeo();
-            return forcejeo.ejecutar(pokemonActivo, oponente.getPokemonActivo());
+            return usarMovimiento(forcejeo, oponente);
         } else if (movimiento.esUtilizable()) {
-            return movimiento.ejecutar(pokemonActivo, oponente.getPokemonActivo());
+            return usarMovimiento(movimiento, oponente);
         }
         return "";
     }
@@ -53,10 +53,7 @@ public abstract class AITrainer extends Trainer {
     @Override
     public String onItemSelected(int itemIndex) {
         if (itemIndex < 0 || itemIndex >= items.size()) return "";
-        Item item = items.get(itemIndex);
-        String msg = item.usarEn(pokemonActivo); 
-        items.remove(itemIndex);
-        return msg;
+        return usarItem(itemIndex);
     }
 
     /**
@@ -72,10 +69,55 @@ public abstract class AITrainer extends Trainer {
         if (nuevo == pokemonActivo || nuevo.estaDebilitado()) return "";
         Pokemon anterior = pokemonActivo;
         pokemonActivo = nuevo;
+        publicarCambio(anterior, indice);
         String msg = nombre + " cambio a " + nuevo.getNombre();
         return msg;
     }
 
+    /**
+     * Devuelve el tiempo que la IA puede tardar en decidir su accion
+     * Battle lo descuenta de la espera antes del turno de la maquina
+     * 
+     * @return tiempo en milisegundos, 0 si la decision es inmediata
+     */
+    public long getPresupuestoDecisionMs() {
+        return 0;
+    }
+
+    /**
+     * Ajusta la IA para jugar dentro de BattleSimulator
+     * Las IA cuya decision depende del tiempo la cambian por un limite fijo para que
+     * la misma semilla repita la batalla
+     */
+    void prepararSimulacion() {
+    }
+
+    /**
+     * Notifica al listener de la batalla el uso de un movimiento o item
+     * No hace nada si la batalla no tiene listener (por ejemplo en simulaciones)
+     * 
+     * @param batalla batalla en curso
+     * @param msg mensaje de la accion realizada
+     */
+    protected void notificarMovimiento(Battle batalla, String msg) {
+        if (batalla != null && batalla.getListener() != null) {
+            batalla.getListener().onMoveUsed(this, msg);
+        }
+    }
+
+    /**
+     * Notifica al listener de la batalla un cambio de pokemon
+     * No hace nada si la batalla no tiene listener (por ejemplo en simulaciones)
+     * 
+     * @param batalla batalla en curso
+     * @param msg mensaje del cambio realizado
+     */
+    protected void notificarCambio(Battle batalla, String msg) {
+        if (batalla != null && batalla.getListener() != null) {
+            batalla.getListener().onPokemonChanged(this, msg);
+        }
+    }
+
     /**
      * Metodo abstracto para que la IA decida su accion en una batalla PvM
      * 
@@ -85,4 +127,21 @@ public abstract class AITrainer extends Trainer {
      */
     public abstract String decidirAccion(Battle batalla, Trainer oponente);
 
+    /**
+     * Decide la accion con decidirAccion y registra cuanto tardo en el histograma de su tipo de IA
+     * Battle y BattleSimulator deciden por aqui
+     * 
+     * @param batalla referencia a la batalla
+     * @param oponente entrenador rival
+     * @return mensaje de la accion realizada
+     */
+    String decidirAccionMedida(Battle batalla, Trainer oponente) {
+        long inicio = System.nanoTime();
+        try {
+            return decidirAccion(batalla, oponente);
+        } finally {
+            MetricasBatalla.decision(getClass()).registrar(System.nanoTime() - inicio);
+        }
+    }
+
 }
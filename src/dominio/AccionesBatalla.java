@@ -0,0 +1,231 @@
+package dominio;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Acciones que una IA de busqueda puede probar sobre copias de los entrenadores
+ * Cada accion se codifica como un entero para no crear objetos durante la busqueda:
+ * un indice de movimiento, CAMBIO + indice del equipo, ITEM + indice del item o FORCEJEO
+ * Las acciones se aplican directamente sobre el estado de los entrenadores, sin listener
+ * ni notificaciones, con las mismas reglas que siguen Battle y BattleSimulator
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+final class AccionesBatalla {
+    /**
+     * Base de las acciones de cambio de pokemon
+     */
+    static final int CAMBIO = 100;
+    /**
+     * Base de las acciones de uso de item
+     */
+    static final int ITEM = 200;
+    /**
+     * Accion de usar Forcejeo cuando el pokemon activo no tiene PP
+     */
+    static final int FORCEJEO = 300;
+    /**
+     * Cantidad maxima de acciones que puede generar un entrenador
+     */
+    static final int MAXIMO = 32;
+
+    // Valor extra de cada pokemon que sigue en pie al evaluar un equipo
+    private static final double BONO_VIVO = 0.25;
+    // Forcejeo no gasta PP, asi que una sola instancia sirve para todas las busquedas
+    private static final Forcejeo FORCEJEO_COMPARTIDO = new Forcejeo();
+
+    private AccionesBatalla() {
+    }
+
+    /**
+     * Escribe en destino las acciones utiles del entrenador contra el rival
+     * Se omiten los ataques a los que el rival es inmune, los items de curacion con el
+     * pokemon a PS completos, Revive (el pokemon activo nunca esta debilitado al elegir)
+     * y los items repetidos de la misma clase
+     *
+     * @param actor Entrenador que juega
+     * @param rival Entrenador rival
+     * @param destino Arreglo de al menos MAXIMO posiciones
+     * @return cantidad de acciones escritas
+     */
+    static int generar(Trainer actor, Trainer rival, int[] destino) {
+        int cantidad = 0;
+        Pokemon activo = actor.pokemonActivo;
+        Pokemon objetivo = rival.pokemonActivo;
+        List<Movimiento> movimientos = activo.getMovimientos();
+        if (activo.sinPP()) {
+            destino[cantidad++] = FORCEJEO;
+        } else {
+            for (int i = 0; i < movimientos.size() && cantidad < MAXIMO; i++) {
+                Movimiento m = movimientos.get(i);
+                if (!m.esUtilizable()) {
+                    continue;
+                }
+                if (!(m instanceof MovimientoEstado) && m.calcularEfectividad(objetivo) == 0) {
+                    continue;
+                }
+                destino[cantidad++] = i;
+            }
+        }
+        List<Pokemon> equipo = actor.equipo;
+        for (int i = 0; i < equipo.size() && cantidad < MAXIMO; i++) {
+            Pokemon p = equipo.get(i);
+            if (p != activo && !p.estaDebilitado()) {
+                destino[cantidad++] = CAMBIO + i;
+            }
+        }
+        if (activo.getPsActual() < activo.getPs()) {
+            List<Item> items = actor.items;
+            for (int i = 0; i < items.size() && cantidad < MAXIMO; i++) {
+                Item item = items.get(i);
+                if (item instanceof Revive || primeroDeSuClase(items, i) != i) {
+                    continue;
+                }
+                destino[cantidad++] = ITEM + i;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Devuelve el indice del primer item de la misma clase que el item indicado
+     */
+    private static int primeroDeSuClase(List<Item> items, int indice) {
+        Class<?> clase = items.get(indice).getClass();
+        for (int i = 0; i < indice; i++) {
+            if (items.get(i).getClass() == clase) {
+                return i;
+            }
+        }
+        return indice;
+    }
+
+    /**
+     * Devuelve la probabilidad de que la accion acierte
+     * Solo los ataques con precision menor a 100 pueden fallar
+     *
+     * @param accion Accion codificada
+     * @param actor Entrenador que juega
+     * @return probabilidad entre 0 y 1
+     */
+    static double probabilidadAcierto(int accion, Trainer actor) {
+        if (accion >= CAMBIO) {
+            return 1.0;
+        }
+        return CalculadoraDano.probabilidadAcierto(actor.pokemonActivo.getMovimientos().get(accion));
+    }
+
+    /**
+     * Aplica una accion sobre los entrenadores
+     *
+     * @param accion Accion codificada
+     * @param actor Entrenador que juega
+     * @param rival Entrenador rival
+     * @param aleatorio Generador que decide si el ataque acierta
+     */
+    static void aplicar(int accion, Trainer actor, Trainer rival, RandomGenerator aleatorio) {
+        if (accion == FORCEJEO) {
+            FORCEJEO_COMPARTIDO.aplicarSinMensaje(actor.pokemonActivo, rival.pokemonActivo, aleatorio);
+        } else if (accion >= ITEM) {
+            actor.items.remove(accion - ITEM).usarEn(actor.pokemonActivo);
+        } else if (accion >= CAMBIO) {
+            actor.pokemonActivo = actor.equipo.get(accion - CAMBIO);
+        } else {
+            actor.pokemonActivo.getMovimientos().get(accion).aplicarSinMensaje(actor.pokemonActivo, rival.pokemonActivo, aleatorio);
+        }
+    }
+
+    /**
+     * Cambia el pokemon activo debilitado por el primero disponible, como hace la maquina
+     *
+     * @param entrenador Entrenador a revisar
+     */
+    static void cambioForzado(Trainer entrenador) {
+        if (!entrenador.pokemonActivo.estaDebilitado()) {
+            return;
+        }
+        for (Pokemon p : entrenador.equipo) {
+            if (!p.estaDebilitado()) {
+                entrenador.pokemonActivo = p;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Valora el equipo de un entrenador: fraccion de PS de cada pokemon vivo
+     * mas un bono por seguir en pie
+     *
+     * @param entrenador Entrenador a evaluar
+     * @return valor del equipo, 0 si esta derrotado
+     */
+    static double valorEquipo(Trainer entrenador) {
+        double valor = 0;
+        for (Pokemon p : entrenador.equipo) {
+            int ps = p.getPsActual();
+            if (ps > 0) {
+                valor += (double) ps / p.getPs() + BONO_VIVO;
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Ejecuta la accion elegida sobre el entrenador real usando sus metodos publicos
+     * para que se notifique a la interfaz como con el resto de IA
+     *
+     * @param accion Accion codificada
+     * @param entrenador Entrenador de IA que juega
+     * @param batalla Batalla en curso
+     * @param oponente Entrenador rival
+     * @return mensaje de la accion realizada
+     */
+    static String ejecutar(int accion, AITrainer entrenador, Battle batalla, Trainer oponente) {
+        if (accion >= ITEM && accion < FORCEJEO) {
+            String msg = entrenador.onItemSelected(accion - ITEM);
+            entrenador.notificarMovimiento(batalla, msg);
+            return msg;
+        }
+        if (accion >= CAMBIO && accion < ITEM) {
+            String msg = entrenador.cambiarPokemon(accion - CAMBIO);
+            entrenador.notificarCambio(batalla, msg);
+            return msg;
+        }
+        return entrenador.onAttackSelected(accion == FORCEJEO ? 0 : accion, oponente);
+    }
+
+    /**
+     * Generador que siempre acierta o siempre falla las tiradas de precision
+     * Permite recorrer cada rama de un nodo de azar de forma determinista
+     */
+    static final class TiradaFija implements RandomGenerator {
+        private boolean acierta = true;
+
+        /**
+         * Indica si las siguientes tiradas deben acertar
+         *
+         * @param acierta true para acertar, false para fallar
+         */
+        void setAcierta(boolean acierta) {
+            this.acierta = acierta;
+        }
+
+        @Override
+        public long nextLong() {
+            return 0L;
+        }
+
+        @Override
+        public int nextInt(int limite) {
+            return acierta ? 0 : limite - 1;
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return acierta;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package dominio;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Fuente de numeros aleatorios para batallas y pantallas de configuracion
+ * Cada batalla usa su propio generador; si se define la propiedad del sistema
+ * poobkemon.semilla todos los generadores parten de esa semilla y las batallas
+ * se pueden repetir exactamente
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class Aleatoriedad {
+    /**
+     * Propiedad del sistema con la semilla de las batallas
+     */
+    public static final String PROPIEDAD_SEMILLA = "poobkemon.semilla";
+    private static final Logger LOGGER = Logger.getLogger(Aleatoriedad.class.getName());
+
+    private Aleatoriedad() {
+    }
+
+    /**
+     * Crea un generador con la semilla configurada o con una semilla al azar si no hay ninguna
+     *
+     * @return generador nuevo
+     */
+    public static RandomGenerator crearGenerador() {
+        String semilla = System.getProperty(PROPIEDAD_SEMILLA);
+        if (semilla != null) {
+            try {
+                return crearGenerador(Long.parseLong(semilla.trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.WARNING, "Semilla no valida en " + PROPIEDAD_SEMILLA + ": " + semilla);
+            }
+        }
+        return new SplittableRandom();
+    }
+
+    /**
+     * Crea un generador con una semilla fija
+     *
+     * @param semilla Semilla del generador
+     * @return generador nuevo
+     */
+    public static RandomGenerator crearGenerador(long semilla) {
+        return new SplittableRandom(semilla);
+    }
+
+    /**
+     * Desordena una lista en el lugar con el algoritmo de Fisher-Yates
+     * Recorre la lista igual que Collections.shuffle pero con cualquier generador
+     *
+     * @param lista Lista a desordenar
+     * @param aleatorio Generador a usar
+     * @param <T> Tipo de los elementos
+     */
+    public static <T> void barajar(List<T> lista, RandomGenerator aleatorio) {
+        for (int i = lista.size() - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            T temp = lista.get(i);
+            lista.set(i, lista.get(j));
+            lista.set(j, temp);
+        }
+    }
+}
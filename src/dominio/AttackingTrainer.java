@@ -41,7 +41,7 @@ public class AttackingTrainer extends AITrainer {
                 Item item = items.get(i);
                 if (item instanceof Potion || item instanceof SuperPotion || item instanceof HyperPotion) {
                     String msg = onItemSelected(i);
-                    batalla.getListener().onMoveUsed(this, msg);
+                    notificarMovimiento(batalla, msg);
                     return msg;
                 }
             }
@@ -50,7 +50,7 @@ public class AttackingTrainer extends AITrainer {
                 Pokemon p = equipo.get(i);
                 if (!p.estaDebilitado() && p != pokemonActivo) {
                     String msg = cambiarPokemon(i);
-                    batalla.getListener().onPokemonChanged(this, msg);
+                    notificarCambio(batalla, msg);
                     return msg;
                 }
             }
@@ -83,7 +83,7 @@ public class AttackingTrainer extends AITrainer {
             Pokemon p = equipo.get(i);
             if (!p.estaDebilitado() && p != pokemonActivo) {
                 String msg = cambiarPokemon(i);
-                batalla.getListener().onPokemonChanged(this, msg);
+                notificarCambio(batalla, msg);
                 return msg;
             }
         }
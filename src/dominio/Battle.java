@@ -1,19 +1,21 @@
 package dominio;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
 
 /** 
  * Esta clase maneja la logica de una batalla entre entrenadores humanos
@@ -26,34 +28,57 @@ import java.util.logging.Logger;
  */
 public class Battle implements Serializable {
     private static final long serialVersionUID = 1L;
+    /**
+     * Propiedad del sistema con la carpeta donde grabar una repeticion de cada batalla
+     */
+    public static final String PROPIEDAD_REPETICIONES = "poobkemon.repeticiones";
+    /**
+     * Propiedad del sistema con el archivo donde guardar automaticamente la batalla en cada turno
+     */
+    public static final String PROPIEDAD_AUTOGUARDADO = "poobkemon.autoguardado";
+    /**
+     * Archivo del guardado automatico cuando no se indica otro
+     */
+    public static final String ARCHIVO_AUTOGUARDADO = "autoguardado.pokemon";
     private static Battle instance;
     private Trainer entrenador1;
     private Trainer entrenador2;
     private Trainer turnoActual;
-    private transient Timer turnTimer;
+    // Tarea que agota el tiempo del turno, o null
+    private transient ScheduledFuture<?> temporizadorTurno;
+    // Accion programada de la maquina, o null
+    private transient ScheduledFuture<?> accionMaquina;
     private boolean esperandoAccion;
     private static final int TIEMPO_TURNO = 20; 
+    // Espera total antes de que la maquina muestre su accion, en milisegundos
+    private static final long RETRASO_MAQUINA_MS = 1500;
     private boolean cambioForzado = false;
+    // Turnos jugados; marca los eventos y los registros de la repeticion
+    private int turnos;
     private static final Logger LOGGER = Logger.getLogger(Battle.class.getName());
-    static {
-        try {
-            java.util.logging.FileHandler fileHandler = new java.util.logging.FileHandler("battle_exceptions.log", true);
-            fileHandler.setFormatter(new java.util.logging.SimpleFormatter());
-            LOGGER.addHandler(fileHandler);
-            LOGGER.setUseParentHandlers(false);
-        } catch (IOException e) {
-            System.err.println("No se pudo inicializar el log de Battle: " + e.getMessage());
-        }
-    }
+    /**
+     * Archivo de log de las batallas; lo instala ConfiguracionLog al arrancar el programa
+     */
+    public static final String ARCHIVO_LOG = ConfiguracionLog.ARCHIVO_LOG;
     private transient BattleGUIListener listener;
+    // Generador de la batalla; se crea con la semilla configurada en Aleatoriedad
+    private transient RandomGenerator aleatorio;
+    // Canal de eventos tipados; no se guarda con la partida
+    private transient CanalEventos eventos;
+    // Repeticion que se esta grabando, o null
+    private transient DiarioRepeticion diario;
+    // Guardado automatico al terminar cada turno, o null
+    // Lo cambia la interfaz mientras el hilo del turno lo usa: se lee una sola vez en una variable local
+    private transient volatile GuardadoAutomatico autoguardado;
+    // System.nanoTime() al empezar a esperar la accion del turno, 0 si no hay turno en curso
+    private transient long inicioTurnoNs;
 
     /**
-     * Constructor que inicializa una batalla con dos entrenadores humanos
-     * 
-     * @param entrenador1 Primer participante de la batalla
-     * @param entrenador2 Segundo participante de la batalla
+     * Constructor de una batalla vacia
+     * Es visible en el paquete para que el simulador pueda crear batallas
+     * independientes del singleton sin temporizadores ni listener
      */
-    private Battle() {
+    Battle() {
     }
 
     /**
@@ -76,10 +101,7 @@ public class Battle implements Serializable {
      * @throws POOBkemonException Si ocurre un error al crear algún Pokemon.
      */
     private void crearEquipo(Trainer entrenador, List<String> nombresEquipo) throws POOBkemonException {
-        for (String nombre : nombresEquipo) {
-            Pokemon p = BattleFactory.crearPokemon(nombre, entrenador);
-            entrenador.agregarPokemon(p);
-        }
+        BattleFactory.crearEquipo(entrenador, nombresEquipo);
     }
 
     /**
@@ -96,19 +118,13 @@ public class Battle implements Serializable {
     /**
      * Crea una instancia de un entrenador controlado por IA segun el tipo especificado.
      *
-     * @param tipo Tipo de IA ("defensiveTrainer", "attackingTrainer", "chaningTrainer", "expertTrainer").
+     * @param tipo Tipo de IA ("defensiveTrainer", "attackingTrainer", "chaningTrainer", "expertTrainer", "monteCarloTrainer").
      * @param nombre Nombre del entrenador IA.
      * @param color Color asociado al entrenador IA.
      * @return Una instancia de AITrainer del tipo solicitado.
      */
     private AITrainer crearAITrainer(String tipo, String nombre, String color) {
-        switch (tipo) {
-            case "defensiveTrainer": return new DefensiveTrainer(nombre, color);
-            case "attackingTrainer": return new AttackingTrainer(nombre, color);
-            case "chaningTrainer":   return new ChangingTrainer(nombre, color);
-            case "expertTrainer":    return new ExpertTrainer(nombre, color);
-            default:                 return new AttackingTrainer(nombre, color);
-        }
+        return BattleFactory.crearAITrainer(tipo, nombre, color);
     }
 
     /**
@@ -122,10 +138,14 @@ public class Battle implements Serializable {
     private void inicializarBatalla(Trainer t1, Trainer t2) {
         this.entrenador1 = t1;
         this.entrenador2 = t2;
+        asignarAleatorio(Aleatoriedad.crearGenerador());
+        this.turnos = 0;
+        conectarEventos();
         this.turnoActual = lanzarMoneda();
         this.esperandoAccion = false;
         this.entrenador1.setListener(new TrainerActionListener(this));
         this.entrenador2.setListener(new TrainerActionListener(this));
+        actualizarMensajes();
     }
 
     /**
@@ -233,14 +253,131 @@ public class Battle implements Serializable {
      * @return El entrenador que inicia el combate
      */
     private Trainer lanzarMoneda() {
-        Random random = new Random();
-        return random.nextBoolean() ? entrenador1 : entrenador2;
+        return aleatorio.nextBoolean() ? entrenador1 : entrenador2;
+    }
+
+    /**
+     * Asigna el generador de la batalla y lo comparte con ambos entrenadores
+     * para que todas las tiradas salgan de la misma secuencia
+     * 
+     * @param aleatorio Generador de la batalla
+     */
+    void asignarAleatorio(RandomGenerator aleatorio) {
+        this.aleatorio = aleatorio;
+        entrenador1.setAleatorio(aleatorio);
+        entrenador2.setAleatorio(aleatorio);
+    }
+
+    /**
+     * Conecta a ambos entrenadores con el canal de eventos de la batalla
+     */
+    private void conectarEventos() {
+        entrenador1.setEventos(getEventos());
+        entrenador2.setEventos(getEventos());
+        // El canal sobrevive entre batallas del singleton: se quita antes para no contar dos veces
+        getEventos().quitarEscucha(MetricasBatalla.escucha());
+        getEventos().agregarEscucha(MetricasBatalla.escucha());
+        getEventos().setTurno(turnos);
+    }
+
+    /**
+     * Empieza a grabar la batalla en un diario binario que se puede repetir con LectorRepeticion
+     * Si ya se estaba grabando, cierra la repeticion anterior
+     *
+     * @param ruta Archivo de la repeticion
+     * @throws POOBkemonException Si no se puede crear el archivo
+     */
+    public void grabarRepeticion(Path ruta) throws POOBkemonException {
+        detenerRepeticion();
+        diario = new DiarioRepeticion(ruta, entrenador1, entrenador2);
+        getEventos().agregarEscucha(diario);
+    }
+
+    /**
+     * Deja de grabar la repeticion y cierra su archivo con el indice de turnos
+     */
+    public void detenerRepeticion() {
+        if (diario != null) {
+            getEventos().quitarEscucha(diario);
+            diario.close();
+            diario = null;
+        }
+    }
+
+    /**
+     * Empieza a guardar la batalla automaticamente al terminar cada turno
+     * La escritura ocurre en un hilo propio, asi que cambiar de turno no espera al disco
+     * Si ya se estaba guardando en otro archivo, termina ese guardado
+     *
+     * @param ruta Archivo de la partida
+     */
+    public void activarAutoguardado(Path ruta) {
+        detenerAutoguardado();
+        GuardadoAutomatico nuevo = new GuardadoAutomatico(ruta);
+        autoguardado = nuevo;
+        nuevo.solicitar(this);
+    }
+
+    /**
+     * Deja de guardar automaticamente; el ultimo turno pendiente se termina de escribir en segundo plano
+     */
+    public void detenerAutoguardado() {
+        GuardadoAutomatico actual = autoguardado;
+        autoguardado = null;
+        if (actual != null) {
+            actual.close();
+        }
+    }
+
+    /**
+     * Devuelve el guardado automatico activo
+     *
+     * @return guardado automatico, o null si no esta activo
+     */
+    public GuardadoAutomatico getAutoguardado() {
+        return autoguardado;
+    }
+
+    /**
+     * Devuelve la cantidad de turnos jugados
+     *
+     * @return turnos jugados
+     */
+    public int getTurnos() {
+        return turnos;
+    }
+
+    /**
+     * Devuelve el canal por el que la batalla publica sus eventos tipados
+     * Repeticiones, metricas o la interfaz se suscriben con agregarEscucha
+     *
+     * @return canal de eventos de la batalla
+     */
+    public CanalEventos getEventos() {
+        if (eventos == null) {
+            eventos = new CanalEventos();
+        }
+        return eventos;
     }
 
     /**
      * Inicia la batalla y notifica al listener
      */
     public void iniciar() {
+        String carpeta = System.getProperty(PROPIEDAD_REPETICIONES);
+        if (carpeta != null && diario == null) {
+            try {
+                grabarRepeticion(Paths.get(carpeta, "batalla-" + System.currentTimeMillis() + ".pkr"));
+            } catch (POOBkemonException e) {
+                // La batalla se juega igual, solo sin repeticion
+                LOGGER.log(Level.WARNING, "No se grabara la repeticion: " + e.getMessage());
+            }
+        }
+        String archivo = System.getProperty(PROPIEDAD_AUTOGUARDADO);
+        if (archivo != null && autoguardado == null) {
+            activarAutoguardado(Paths.get(archivo));
+        }
+        MetricasBatalla.activarSegunPropiedades();
         if (listener != null) {
             listener.onBattleStarted();
         }
@@ -265,6 +402,8 @@ public class Battle implements Serializable {
             turnoActual.getPokemonActivo().getMovimientos().add(new Forcejeo());
         }
         esperandoAccion = true;
+        inicioTurnoNs = System.nanoTime();
+        MetricasBatalla.contador(MetricasBatalla.TURNOS_INICIADOS).increment();
         iniciarTemporizadorTurno();
         if (listener != null) {
             listener.onTurnStarted(turnoActual);
@@ -281,19 +420,21 @@ public class Battle implements Serializable {
      * Hace que la maquina (IA) realice su turno automaticamente.
      */
     private void realizarTurnoMaquina() {
-        Timer timer = new Timer();
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                if (!esperandoAccion) return;
-                // IA decide y ejecuta su accion
-                if (turnoActual instanceof AITrainer){
-                    Trainer oponente = (turnoActual == entrenador1) ? entrenador2 : entrenador1;
-                    ((AITrainer)turnoActual).decidirAccion(Battle.this, oponente);
-                    finalizarTurno();
-                }
+        // El tiempo que la IA usa para pensar se descuenta de la espera
+        long espera = RETRASO_MAQUINA_MS;
+        if (turnoActual instanceof AITrainer) {
+            espera = Math.max(0, espera - ((AITrainer) turnoActual).getPresupuestoDecisionMs());
+        }
+        PlanificadorBatallas.cancelar(accionMaquina);
+        accionMaquina = PlanificadorBatallas.programarTrabajo(() -> {
+            if (!esperandoAccion) return;
+            // IA decide y ejecuta su accion
+            if (turnoActual instanceof AITrainer){
+                Trainer oponente = (turnoActual == entrenador1) ? entrenador2 : entrenador1;
+                ((AITrainer)turnoActual).decidirAccionMedida(Battle.this, oponente);
+                finalizarTurno();
             }
-        }, 1500); 
+        }, espera);
     }
     
     /**
@@ -344,14 +485,7 @@ public class Battle implements Serializable {
      */
     public void iniciarTemporizadorTurno() {
         cancelarTemporizador();
-        
-        turnTimer = new Timer();
-        turnTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                tiempoAgotado();
-            }
-        }, TIEMPO_TURNO * 1000);
+        temporizadorTurno = PlanificadorBatallas.programar(this::tiempoAgotado, TIEMPO_TURNO * 1000L);
     }
 
 
@@ -359,10 +493,8 @@ public class Battle implements Serializable {
      * Cancela el temporizador del turno actual si existe
      */
     public void cancelarTemporizador() {
-        if (turnTimer != null) {
-            turnTimer.cancel();
-            turnTimer = null;
-        }
+        PlanificadorBatallas.cancelar(temporizadorTurno);
+        temporizadorTurno = null;
     }
 
     /**
@@ -378,6 +510,8 @@ public class Battle implements Serializable {
                     m.usar(); // Consume 1 PP
                 }
             }
+            getEventos().publicarTiempoAgotado(turnoActual, turnoActual.getPokemonActivo());
+            MetricasBatalla.contador(MetricasBatalla.TIEMPOS_AGOTADOS).increment();
             
             if (listener != null) {
                 listener.onTurnEnded(turnoActual);
@@ -394,6 +528,11 @@ public class Battle implements Serializable {
     public void finalizarTurno() {
         esperandoAccion = false;
         cancelarTemporizador();
+        if (inicioTurnoNs != 0) {
+            MetricasBatalla.histograma(MetricasBatalla.DURACION_TURNO).registrar(System.nanoTime() - inicioTurnoNs);
+            inicioTurnoNs = 0;
+        }
+        MetricasBatalla.contador(MetricasBatalla.TURNOS_FINALIZADOS).increment();
         cambiarTurno();
     }
 
@@ -402,6 +541,12 @@ public class Battle implements Serializable {
      */
     public void cambiarTurno() {
         turnoActual = (turnoActual == entrenador1) ? entrenador2 : entrenador1;
+        turnos++;
+        getEventos().setTurno(turnos);
+        GuardadoAutomatico guardado = autoguardado;
+        if (guardado != null) {
+            guardado.solicitar(this);
+        }
         iniciarTurno();
     }
 
@@ -411,6 +556,10 @@ public class Battle implements Serializable {
      */
     public void finalizarBatalla() {
         cancelarTemporizador();
+        PlanificadorBatallas.cancelar(accionMaquina);
+        accionMaquina = null;
+        detenerRepeticion();
+        detenerAutoguardado();
         Trainer ganador = entrenador1.estaDerrotado() ? entrenador2 : entrenador1;
         if (listener != null) {
             listener.onBattleEnded(ganador);
@@ -421,7 +570,7 @@ public class Battle implements Serializable {
      * Procesa la seleccion de un movimiento por parte del jugador
      * 
      * @param indiceMovimiento Indice del movimiento seleccionado
-     * @return Mensaje del resultado del ataque
+     * @return Mensaje del resultado del ataque, o cadena vacia si la batalla no tiene listener
      * @throws POOBkemonException si ocurre un error en la seleccion
      */
     public String movimientoSeleccionado(int indiceMovimiento) throws POOBkemonException {
@@ -431,6 +580,7 @@ public class Battle implements Serializable {
         if (indiceMovimiento < 0 || indiceMovimiento >= turnoActual.getPokemonActivo().getMovimientos().size()) {
             throw new POOBkemonException(POOBkemonException.ERROR_MOVIMIENTO_INDICE);
         }
+        long inicio = System.nanoTime();
         try {
             Trainer oponente = (turnoActual == entrenador1) ? entrenador2 : entrenador1;
             String message = turnoActual.onAttackSelected(indiceMovimiento, oponente);
@@ -441,6 +591,8 @@ public class Battle implements Serializable {
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error inesperado al usar movimiento", e);
             throw new POOBkemonException("Error inesperado al usar movimiento", e);
+        } finally {
+            MetricasBatalla.histograma(MetricasBatalla.MOVIMIENTO_SELECCIONADO).registrar(System.nanoTime() - inicio);
         }
     }
 
@@ -541,6 +693,7 @@ public class Battle implements Serializable {
                 
                 // Eliminar el item de la mochila
                 turnoActual.getItems().remove(itemIndex);
+                getEventos().publicarItem(turnoActual, item, itemIndex, pokemon, pokemon.getPsActual());
                 
                 // Notificar a la interfaz
                 if (listener != null) {
@@ -640,15 +793,15 @@ public class Battle implements Serializable {
     }
 
     /**
-     * Guarda el estado actual de la batalla en un archivo
+     * Guarda el estado actual de la batalla en un archivo con el formato de PartidaBinaria
      * 
      * @param filePath Ruta del archivo donde guardar
      * @throws POOBkemonException Si ocurre un error al guardar
      */
     public void guardarPartida(String filePath) throws POOBkemonException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
+        try (DataOutputStream out = new DataOutputStream(
             new BufferedOutputStream(new FileOutputStream(filePath)))) {
-            oos.writeObject(this);
+            PartidaBinaria.escribir(this, out);
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Error al guardar la partida", e);
             throw new POOBkemonException(POOBkemonException.ERROR_GUARDAR, e);
@@ -657,23 +810,77 @@ public class Battle implements Serializable {
 
 
     /**
-     * Carga una batalla desde un archivo
+     * Carga una batalla desde un archivo con el formato de PartidaBinaria
+     * Las partidas guardadas con la serializacion de Java (el formato anterior) se rechazan sin
+     * deserializarlas: leer objetos arbitrarios de un archivo no es seguro y sus clases ya cambiaron
      * 
      * @param filePath Ruta del archivo a cargar
      * @return La batalla cargada
-     * @throws POOBkemonException Si ocurre un error al cargar
+     * @throws POOBkemonException Si el archivo tiene el formato anterior o ocurre un error al cargar
      */
     public static Battle cargarPartida(String filePath) throws POOBkemonException {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filePath))) {
-            Battle batalla = (Battle) ois.readObject();
-            batalla.entrenador1.setListener(new TrainerActionListener(batalla));
-            batalla.entrenador2.setListener(new TrainerActionListener(batalla));
-            return batalla;
-        } catch (IOException | ClassNotFoundException e) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filePath)))) {
+            in.mark(4);
+            if (in.readInt() == PartidaBinaria.MAGIA) {
+                return PartidaBinaria.leer(in);
+            }
+            in.reset();
+            if (in.readUnsignedShort() == PartidaBinaria.MAGIA_SERIALIZACION) {
+                LOGGER.log(Level.WARNING, "Partida en formato anterior: " + filePath);
+                throw new POOBkemonException(POOBkemonException.ERROR_FORMATO_ANTERIOR);
+            }
+            throw new IOException("Formato de partida desconocido");
+        } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Error al cargar la partida", e);
             throw new POOBkemonException(POOBkemonException.ERROR_CARGAR, e);
         }
     }
+
+    /**
+     * Crea una batalla con el estado leido de una partida guardada
+     * 
+     * @param entrenador1 Primer entrenador
+     * @param entrenador2 Segundo entrenador
+     * @param turnoActual Entrenador cuyo turno estaba activo
+     * @param turnos Turnos jugados
+     * @param cambioForzado Si se esperaba un cambio por debilitamiento
+     * @return batalla lista para continuar
+     */
+    static Battle restaurar(Trainer entrenador1, Trainer entrenador2, Trainer turnoActual, int turnos,
+                            boolean cambioForzado) {
+        Battle batalla = new Battle();
+        batalla.entrenador1 = entrenador1;
+        batalla.entrenador2 = entrenador2;
+        batalla.turnoActual = turnoActual;
+        batalla.turnos = turnos;
+        batalla.cambioForzado = cambioForzado;
+        batalla.conectarCargada();
+        return batalla;
+    }
+
+    /**
+     * Conecta listeners, generador y canal de eventos de una batalla recien cargada
+     */
+    private void conectarCargada() {
+        entrenador1.setListener(new TrainerActionListener(this));
+        entrenador2.setListener(new TrainerActionListener(this));
+        asignarAleatorio(Aleatoriedad.crearGenerador());
+        conectarEventos();
+        actualizarMensajes();
+    }
+
+    /**
+     * Los entrenadores solo construyen el texto de sus movimientos si hay un listener que lo muestre
+     */
+    private void actualizarMensajes() {
+        boolean sinMensajes = listener == null;
+        if (entrenador1 != null) {
+            entrenador1.setSinMensajes(sinMensajes);
+        }
+        if (entrenador2 != null) {
+            entrenador2.setSinMensajes(sinMensajes);
+        }
+    }
     
     /**
      * Establece el primer entrenador de la batalla
@@ -682,6 +889,7 @@ public class Battle implements Serializable {
      */
     public void setEntrenador1(HumanTrainer entrenador1) {
         this.entrenador1 = entrenador1;
+        actualizarMensajes();
     }
 
     /**
@@ -691,6 +899,7 @@ public class Battle implements Serializable {
      */
     public void setEntrenador2(HumanTrainer entrenador2) {
         this.entrenador2 = entrenador2;
+        actualizarMensajes();
     }
     /**
      * Establece el entrenador cuyo turno esta activo
@@ -703,11 +912,13 @@ public class Battle implements Serializable {
 
     /**
      * Establece el listener para eventos de la interfaz grafica
+     * Sin listener los entrenadores aplican sus movimientos sin construir el mensaje
      * 
-     * @param listener Objeto que recibira los eventos de la batalla
+     * @param listener Objeto que recibira los eventos de la batalla, o null
      */
     public void setListener(BattleGUIListener listener) {
         this.listener = listener;
+        actualizarMensajes();
     }
 
     /**
@@ -0,0 +1,20 @@
+package dominio;
+
+/**
+ * Interfaz para recibir los eventos tipados de una batalla
+ * El evento recibido se reutiliza para la siguiente publicacion: quien necesite
+ * conservarlo debe copiar sus datos antes de volver
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public interface BattleEventListener {
+
+    /**
+     * Se ejecuta en el hilo que realizo la accion cada vez que ocurre un evento
+     *
+     * @param evento Evento ocurrido
+     */
+    void onEvento(EventoBatalla evento);
+}
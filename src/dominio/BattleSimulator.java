@@ -0,0 +1,303 @@
+package dominio;
+
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Motor de batalla sin interfaz para enfrentar dos entrenadores de IA
+ * A diferencia de Battle no es un singleton, no usa temporizadores ni listener
+ * y avanza los turnos de forma sincrona, por lo que se pueden ejecutar muchas
+ * batallas por segundo y varias a la vez en distintos hilos
+ * Reutiliza las reglas de turno de Battle y las estrategias de cada AITrainer
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public class BattleSimulator {
+    /**
+     * Limite de turnos por defecto antes de declarar empate
+     */
+    public static final int MAX_TURNOS_DEFECTO = 1000;
+
+    private final AITrainer entrenador1;
+    private final AITrainer entrenador2;
+    private final Battle contexto;
+    private final RandomGenerator aleatorio;
+    private final CanalEventos eventos = new CanalEventos();
+    private final int maxTurnos;
+    private AITrainer turnoActual;
+    private int turnos;
+    private long danoEntrenador1;
+    private long danoEntrenador2;
+
+    /**
+     * Crea un simulador para dos entrenadores de IA ya configurados
+     *
+     * @param entrenador1 Primer entrenador
+     * @param entrenador2 Segundo entrenador
+     * @param semilla Semilla de la batalla (quien inicia y tiradas de precision)
+     */
+    public BattleSimulator(AITrainer entrenador1, AITrainer entrenador2, long semilla) {
+        this(entrenador1, entrenador2, semilla, MAX_TURNOS_DEFECTO);
+    }
+
+    /**
+     * Crea un simulador para dos entrenadores de IA ya configurados
+     *
+     * @param entrenador1 Primer entrenador
+     * @param entrenador2 Segundo entrenador
+     * @param semilla Semilla de la batalla (quien inicia y tiradas de precision)
+     * @param maxTurnos Cantidad maxima de turnos antes de declarar empate
+     */
+    public BattleSimulator(AITrainer entrenador1, AITrainer entrenador2, long semilla, int maxTurnos) {
+        this.entrenador1 = entrenador1;
+        this.entrenador2 = entrenador2;
+        this.aleatorio = Aleatoriedad.crearGenerador(semilla);
+        this.maxTurnos = maxTurnos;
+        // Los dos entrenadores comparten el generador, asi la misma semilla repite la batalla exacta
+        entrenador1.setAleatorio(aleatorio);
+        entrenador2.setAleatorio(aleatorio);
+        entrenador1.prepararSimulacion();
+        entrenador2.prepararSimulacion();
+        entrenador1.setSinMensajes(true);
+        entrenador2.setSinMensajes(true);
+        entrenador1.setEventos(eventos);
+        entrenador2.setEventos(eventos);
+        // Batalla sin listener que solo sirve de contexto para decidirAccion
+        this.contexto = new Battle();
+    }
+
+    /**
+     * Crea un simulador MvM construyendo los equipos e items como lo hace Battle
+     *
+     * @param nombresEquipo1 Nombres de los Pokemon de la maquina 1
+     * @param nombresEquipo2 Nombres de los Pokemon de la maquina 2
+     * @param items1 Items de la maquina 1
+     * @param items2 Items de la maquina 2
+     * @param tipo1 Tipo de IA de la maquina 1
+     * @param tipo2 Tipo de IA de la maquina 2
+     * @param semilla Semilla de la batalla (quien inicia y tiradas de precision)
+     * @return simulador listo para ejecutar
+     * @throws POOBkemonException Si ocurre un error al crear los equipos
+     */
+    public static BattleSimulator crearMvM(
+        List<String> nombresEquipo1,
+        List<String> nombresEquipo2,
+        Map<String, Integer> items1,
+        Map<String, Integer> items2,
+        String tipo1,
+        String tipo2,
+        long semilla
+    ) throws POOBkemonException {
+        AITrainer maquina1 = BattleFactory.crearAITrainer(tipo1, "Maquina 1", "Rojo");
+        AITrainer maquina2 = BattleFactory.crearAITrainer(tipo2, "Maquina 2", "Azul");
+        BattleFactory.crearEquipo(maquina1, nombresEquipo1);
+        BattleFactory.crearEquipo(maquina2, nombresEquipo2);
+        BattleFactory.agregarItems(maquina1, items1);
+        BattleFactory.agregarItems(maquina2, items2);
+        return new BattleSimulator(maquina1, maquina2, semilla);
+    }
+
+    /**
+     * Devuelve el canal por el que la simulacion publica sus eventos tipados
+     * Sin escuchas la simulacion no paga nada por el
+     *
+     * @return canal de eventos de la simulacion
+     */
+    public CanalEventos getEventos() {
+        return eventos;
+    }
+
+    /**
+     * Ejecuta la batalla completa de forma sincrona
+     * Sigue las mismas reglas que Battle.iniciarTurno: cambio forzado al debilitarse
+     * el pokemon activo, Forcejeo cuando no quedan PP y turnos alternados
+     *
+     * @return resultado de la batalla
+     */
+    public ResultadoSimulacion simular() {
+        iniciar();
+        while (avanzar()) {
+            // Cada llamada juega un turno o hace un cambio forzado
+        }
+        return getResultado();
+    }
+
+    /**
+     * Sortea quien inicia y reinicia los contadores sin jugar ningun turno
+     */
+    public void iniciar() {
+        turnoActual = aleatorio.nextBoolean() ? entrenador1 : entrenador2;
+        turnos = 0;
+        danoEntrenador1 = 0;
+        danoEntrenador2 = 0;
+    }
+
+    /**
+     * Avanza la batalla un paso: un cambio forzado si el pokemon activo esta debilitado
+     * o un turno completo del entrenador actual
+     *
+     * @return true si la batalla sigue en curso despues del paso
+     */
+    public boolean avanzar() {
+        if (terminada()) {
+            return false;
+        }
+        if (turnoActual.getPokemonActivo().estaDebilitado()) {
+            cambiarPokemonDebilitado(turnoActual);
+        } else {
+            jugarTurno();
+        }
+        return !terminada();
+    }
+
+    /**
+     * Indica si algun entrenador fue derrotado o se alcanzo el limite de turnos
+     *
+     * @return true si la batalla termino
+     */
+    public boolean terminada() {
+        return entrenador1.estaDerrotado() || entrenador2.estaDerrotado() || turnos >= maxTurnos;
+    }
+
+    /**
+     * Devuelve el resultado de la batalla en su estado actual
+     *
+     * @return resultado con ganador, turnos y daño
+     */
+    public ResultadoSimulacion getResultado() {
+        return new ResultadoSimulacion(getGanador(), turnos, danoEntrenador1, danoEntrenador2);
+    }
+
+    /**
+     * Juega el turno del entrenador actual y pasa el turno al rival
+     */
+    private void jugarTurno() {
+        Pokemon activo = turnoActual.getPokemonActivo();
+        if (activo.sinPP()) {
+            activo.getMovimientos().add(new Forcejeo());
+        }
+        AITrainer oponente = (turnoActual == entrenador1) ? entrenador2 : entrenador1;
+        eventos.setTurno(turnos);
+        int psAntes = psTotales(oponente);
+        turnoActual.decidirAccionMedida(contexto, oponente);
+        int dano = psAntes - psTotales(oponente);
+        if (dano > 0) {
+            if (turnoActual == entrenador1) {
+                danoEntrenador1 += dano;
+            } else {
+                danoEntrenador2 += dano;
+            }
+        }
+        turnos++;
+        turnoActual = oponente;
+    }
+
+    /**
+     * Cambia el pokemon debilitado por el primero disponible, como lo hace la maquina en Battle
+     *
+     * @param entrenador Entrenador con el pokemon activo debilitado
+     */
+    private void cambiarPokemonDebilitado(AITrainer entrenador) {
+        List<Pokemon> equipo = entrenador.getEquipo();
+        for (int i = 0; i < equipo.size(); i++) {
+            Pokemon p = equipo.get(i);
+            if (!p.estaDebilitado() && p != entrenador.getPokemonActivo()) {
+                entrenador.cambiarPokemon(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Suma los PS actuales de todo el equipo de un entrenador
+     *
+     * @param entrenador Entrenador a consultar
+     * @return suma de PS actuales
+     */
+    private static int psTotales(Trainer entrenador) {
+        int total = 0;
+        for (Pokemon p : entrenador.getEquipo()) {
+            total += p.getPsActual();
+        }
+        return total;
+    }
+
+    /**
+     * Devuelve el ganador segun el estado actual de los equipos
+     *
+     * @return 1 o 2 segun el ganador, EMPATE si ninguno esta derrotado
+     */
+    private int getGanador() {
+        if (entrenador2.estaDerrotado()) {
+            return 1;
+        }
+        if (entrenador1.estaDerrotado()) {
+            return 2;
+        }
+        return ResultadoSimulacion.EMPATE;
+    }
+
+    /**
+     * Guarda el estado actual de la batalla en una instantanea nueva
+     *
+     * @return instantanea con el estado actual
+     */
+    public InstantaneaBatalla capturar() {
+        InstantaneaBatalla instantanea = new InstantaneaBatalla();
+        capturar(instantanea);
+        return instantanea;
+    }
+
+    /**
+     * Guarda el estado actual de la batalla reutilizando una instantanea existente
+     *
+     * @param instantanea Instantanea donde guardar el estado
+     */
+    public void capturar(InstantaneaBatalla instantanea) {
+        instantanea.capturar(entrenador1, entrenador2, turnoActual == entrenador2 ? 2 : 1,
+            turnos, danoEntrenador1, danoEntrenador2);
+    }
+
+    /**
+     * Devuelve la batalla al estado guardado en una instantanea de esta misma batalla
+     *
+     * @param instantanea Instantanea a restaurar
+     */
+    public void restaurar(InstantaneaBatalla instantanea) {
+        instantanea.restaurar(entrenador1, entrenador2);
+        turnoActual = instantanea.getTurno() == 2 ? entrenador2 : entrenador1;
+        turnos = instantanea.getTurnos();
+        danoEntrenador1 = instantanea.getDano1();
+        danoEntrenador2 = instantanea.getDano2();
+    }
+
+    /**
+     * Devuelve el primer entrenador
+     *
+     * @return entrenador 1
+     */
+    public AITrainer getEntrenador1() {
+        return entrenador1;
+    }
+
+    /**
+     * Devuelve el segundo entrenador
+     *
+     * @return entrenador 2
+     */
+    public AITrainer getEntrenador2() {
+        return entrenador2;
+    }
+
+    /**
+     * Devuelve la cantidad de turnos jugados hasta el momento
+     *
+     * @return turnos jugados
+     */
+    public int getTurnos() {
+        return turnos;
+    }
+}
@@ -0,0 +1,200 @@
+package dominio;
+
+/**
+ * Nucleo de calculo de daño sin crear objetos
+ * Reune las formulas de MovimientoFisico, MovimientoEspecial y Forcejeo como funciones
+ * puras sobre enteros, y empaqueta el resultado de aplicar un movimiento (si acerto,
+ * daño y multiplicador) en un solo long para que la batalla y las busquedas de la IA
+ * no construyan mensajes ni objetos por golpe
+ * Tambien ofrece el daño esperado, minimo y maximo de un movimiento en forma cerrada:
+ * el daño de este juego no tiene variacion aleatoria, solo la tirada de precision
+ *
+ * Distribucion del resultado: estado (8 bits) | multiplicador x 1000 (24 bits) | daño (32 bits)
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class CalculadoraDano {
+    /**
+     * El movimiento acerto y se aplico
+     */
+    public static final int ACIERTO = 1;
+    /**
+     * El movimiento fallo la tirada de precision
+     */
+    public static final int FALLO = 2;
+    /**
+     * El movimiento no tiene PP y no se aplico
+     */
+    public static final int SIN_PP = 3;
+    /**
+     * Ocurrio un error al aplicar el movimiento (ya registrado en el log)
+     */
+    public static final int ERROR = 4;
+
+    private static final double ESCALA_MULTIPLICADOR = 1000.0;
+    private static final double BONO_MISMO_TIPO = 1.5;
+
+    private CalculadoraDano() {
+    }
+
+    /**
+     * Empaqueta el resultado de aplicar un movimiento
+     *
+     * @param estado ACIERTO, FALLO, SIN_PP o ERROR
+     * @param dano Daño causado (o aumento de estadistica en movimientos de estado)
+     * @param multiplicador Multiplicador aplicado
+     * @return resultado empaquetado
+     */
+    public static long resultado(int estado, int dano, double multiplicador) {
+        long escalado = Math.round(multiplicador * ESCALA_MULTIPLICADOR) & 0xFFFFFFL;
+        return ((long) estado << 56) | (escalado << 32) | (dano & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Devuelve el estado de un resultado
+     *
+     * @param resultado Resultado empaquetado
+     * @return ACIERTO, FALLO, SIN_PP o ERROR
+     */
+    public static int estado(long resultado) {
+        return (int) (resultado >>> 56);
+    }
+
+    /**
+     * Devuelve el daño de un resultado
+     *
+     * @param resultado Resultado empaquetado
+     * @return daño causado
+     */
+    public static int dano(long resultado) {
+        return (int) resultado;
+    }
+
+    /**
+     * Devuelve el multiplicador de un resultado
+     *
+     * @param resultado Resultado empaquetado
+     * @return multiplicador de efectividad y mismo tipo
+     */
+    public static double multiplicador(long resultado) {
+        return ((resultado >>> 32) & 0xFFFFFFL) / ESCALA_MULTIPLICADOR;
+    }
+
+    /**
+     * Formula de daño de los ataques fisicos y especiales
+     *
+     * @param nivel Nivel del atacante
+     * @param potencia Potencia del movimiento
+     * @param ataque Ataque (o ataque especial) del atacante
+     * @param defensa Defensa (o defensa especial) del objetivo
+     * @param multiplicador Efectividad por tipos y bono de mismo tipo
+     * @return daño
+     */
+    public static int danoAtaque(int nivel, int potencia, int ataque, int defensa, double multiplicador) {
+        return (int) ((((2 * nivel / 5 + 2) * potencia * ataque / defensa) / 50 + 2) * multiplicador);
+    }
+
+    /**
+     * Formula de daño de Forcejeo, que no depende del nivel ni de los tipos
+     *
+     * @param potencia Potencia de Forcejeo
+     * @param ataque Ataque del atacante
+     * @param defensa Defensa del objetivo
+     * @return daño
+     */
+    public static int danoForcejeo(int potencia, int ataque, int defensa) {
+        return (int) ((potencia * (double) ataque / defensa) / 2);
+    }
+
+    /**
+     * Multiplicador de un movimiento contra un objetivo: efectividad por tipos
+     * y 1.5 si el atacante es del mismo tipo que el movimiento
+     *
+     * @param movimiento Movimiento usado
+     * @param atacante Pokemon que lo usa
+     * @param objetivo Pokemon que lo recibe
+     * @return multiplicador
+     */
+    public static double multiplicador(Movimiento movimiento, Pokemon atacante, Pokemon objetivo) {
+        double multiplicador = movimiento.calcularEfectividad(objetivo);
+        if (atacante.getTipo().equals(movimiento.getTipo())) {
+            multiplicador *= BONO_MISMO_TIPO;
+        }
+        return multiplicador;
+    }
+
+    /**
+     * Daño que causaria un movimiento si acierta, sin aplicarlo
+     *
+     * @param movimiento Movimiento usado
+     * @param atacante Pokemon que lo usa
+     * @param objetivo Pokemon que lo recibe
+     * @return daño si acierta, 0 para movimientos de estado
+     */
+    public static int danoSiAcierta(Movimiento movimiento, Pokemon atacante, Pokemon objetivo) {
+        if (movimiento instanceof Forcejeo) {
+            return danoForcejeo(movimiento.getPotencia(), atacante.getAtaque(), objetivo.getDefensa());
+        }
+        if (movimiento instanceof MovimientoEspecial) {
+            return danoAtaque(atacante.getNivel(), movimiento.getPotencia(), atacante.getAtaqueEspecial(),
+                objetivo.getDefensaEspecial(), multiplicador(movimiento, atacante, objetivo));
+        }
+        if (movimiento instanceof MovimientoFisico) {
+            return danoAtaque(atacante.getNivel(), movimiento.getPotencia(), atacante.getAtaque(),
+                objetivo.getDefensa(), multiplicador(movimiento, atacante, objetivo));
+        }
+        return 0;
+    }
+
+    /**
+     * Probabilidad de que un movimiento acierte
+     *
+     * @param movimiento Movimiento usado
+     * @return probabilidad entre 0 y 1; Forcejeo y los movimientos de estado siempre aciertan
+     */
+    public static double probabilidadAcierto(Movimiento movimiento) {
+        if (movimiento instanceof Forcejeo || movimiento instanceof MovimientoEstado) {
+            return 1.0;
+        }
+        return Math.min(100, Math.max(0, movimiento.getPrecision())) / 100.0;
+    }
+
+    /**
+     * Daño esperado de un movimiento: daño si acierta por probabilidad de acierto,
+     * limitado a los PS actuales del objetivo
+     *
+     * @param movimiento Movimiento usado
+     * @param atacante Pokemon que lo usa
+     * @param objetivo Pokemon que lo recibe
+     * @return daño esperado
+     */
+    public static double danoEsperado(Movimiento movimiento, Pokemon atacante, Pokemon objetivo) {
+        return probabilidadAcierto(movimiento) * danoMaximo(movimiento, atacante, objetivo);
+    }
+
+    /**
+     * Daño minimo posible de un movimiento: 0 si puede fallar
+     *
+     * @param movimiento Movimiento usado
+     * @param atacante Pokemon que lo usa
+     * @param objetivo Pokemon que lo recibe
+     * @return daño minimo
+     */
+    public static int danoMinimo(Movimiento movimiento, Pokemon atacante, Pokemon objetivo) {
+        return probabilidadAcierto(movimiento) < 1.0 ? 0 : danoMaximo(movimiento, atacante, objetivo);
+    }
+
+    /**
+     * Daño maximo posible de un movimiento, limitado a los PS actuales del objetivo
+     *
+     * @param movimiento Movimiento usado
+     * @param atacante Pokemon que lo usa
+     * @param objetivo Pokemon que lo recibe
+     * @return daño maximo
+     */
+    public static int danoMaximo(Movimiento movimiento, Pokemon atacante, Pokemon objetivo) {
+        return Math.min(objetivo.getPsActual(), Math.max(0, danoSiAcierta(movimiento, atacante, objetivo)));
+    }
+}
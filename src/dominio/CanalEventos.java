@@ -0,0 +1,191 @@
+package dominio;
+
+import java.util.Arrays;
+
+/**
+ * Canal por el que una batalla publica sus eventos tipados
+ * Los entrenadores publican al usar movimientos, cambiar de Pokemon o usar items, y la
+ * batalla al agotarse el tiempo; simulacion, repeticiones, metricas e interfaz se suscriben
+ * al mismo canal. Sin escuchas publicar no hace nada, y con escuchas se reutiliza un unico
+ * EventoBatalla, por eso las publicaciones se serializan
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class CanalEventos {
+    private static final BattleEventListener[] SIN_ESCUCHAS = new BattleEventListener[0];
+
+    // Se reemplaza completo al agregar o quitar, asi publicar recorre una copia estable
+    private volatile BattleEventListener[] escuchas = SIN_ESCUCHAS;
+    private final EventoBatalla evento = new EventoBatalla();
+    private long secuencia;
+    private volatile int turno;
+
+    /**
+     * Suscribe un escucha al canal
+     *
+     * @param escucha Escucha a agregar
+     */
+    public synchronized void agregarEscucha(BattleEventListener escucha) {
+        BattleEventListener[] nuevos = Arrays.copyOf(escuchas, escuchas.length + 1);
+        nuevos[escuchas.length] = escucha;
+        escuchas = nuevos;
+    }
+
+    /**
+     * Quita un escucha del canal
+     *
+     * @param escucha Escucha a quitar
+     */
+    public synchronized void quitarEscucha(BattleEventListener escucha) {
+        for (int i = 0; i < escuchas.length; i++) {
+            if (escuchas[i] == escucha) {
+                BattleEventListener[] nuevos = new BattleEventListener[escuchas.length - 1];
+                System.arraycopy(escuchas, 0, nuevos, 0, i);
+                System.arraycopy(escuchas, i + 1, nuevos, i, escuchas.length - i - 1);
+                escuchas = nuevos;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Indica si alguien escucha el canal
+     *
+     * @return true si hay al menos un escucha
+     */
+    public boolean tieneEscuchas() {
+        return escuchas.length > 0;
+    }
+
+    /**
+     * Indica el turno de la batalla con el que se marcan los eventos siguientes
+     *
+     * @param turno Turno actual, empezando en 0
+     */
+    void setTurno(int turno) {
+        this.turno = turno;
+    }
+
+    /**
+     * Devuelve el turno con el que se marcan los eventos
+     *
+     * @return turno actual
+     */
+    public int getTurno() {
+        return turno;
+    }
+
+    /**
+     * Devuelve cuantos eventos se publicaron en el canal
+     *
+     * @return cantidad de eventos publicados
+     */
+    public synchronized long getPublicados() {
+        return secuencia;
+    }
+
+    /**
+     * Publica el uso de un movimiento y sus consecuencias: MOVIMIENTO_USADO, seguido de DANO o FALLO,
+     * el autodaño de Forcejeo y DEBILITADO si algun Pokemon quedo sin PS
+     *
+     * @param entrenador Entrenador que uso el movimiento
+     * @param oponente Entrenador rival
+     * @param atacante Pokemon que uso el movimiento
+     * @param objetivo Pokemon que lo recibio
+     * @param movimiento Movimiento usado
+     * @param resultado Resultado empaquetado de aplicar el movimiento
+     */
+    synchronized void publicarMovimiento(Trainer entrenador, Trainer oponente, Pokemon atacante, Pokemon objetivo,
+                                         Movimiento movimiento, long resultado) {
+        if (!tieneEscuchas()) {
+            return;
+        }
+        int estado = CalculadoraDano.estado(resultado);
+        int dano = CalculadoraDano.dano(resultado);
+        double multiplicador = CalculadoraDano.multiplicador(resultado);
+        int indice = atacante.getMovimientos().indexOf(movimiento);
+        publicar(TipoEvento.MOVIMIENTO_USADO, entrenador, atacante, objetivo, movimiento, null, indice, dano,
+                 multiplicador, resultado);
+        if (estado == CalculadoraDano.FALLO) {
+            publicar(TipoEvento.FALLO, entrenador, atacante, objetivo, movimiento, null, indice, 0, 0, resultado);
+            return;
+        }
+        if (estado != CalculadoraDano.ACIERTO || movimiento instanceof MovimientoEstado) {
+            return;
+        }
+        publicar(TipoEvento.DANO, oponente, objetivo, atacante, movimiento, null, indice, dano, multiplicador, resultado);
+        if (movimiento instanceof Forcejeo) {
+            publicar(TipoEvento.DANO, entrenador, atacante, atacante, movimiento, null, indice, dano / 2, 1.0, resultado);
+        }
+        if (objetivo.estaDebilitado()) {
+            publicarDebilitado(oponente, objetivo);
+        }
+        if (atacante.estaDebilitado()) {
+            publicarDebilitado(entrenador, atacante);
+        }
+    }
+
+    /**
+     * Publica un cambio de Pokemon
+     *
+     * @param entrenador Entrenador que cambia
+     * @param anterior Pokemon que sale
+     * @param nuevo Pokemon que entra
+     * @param indice Indice del Pokemon que entra en el equipo
+     */
+    synchronized void publicarCambio(Trainer entrenador, Pokemon anterior, Pokemon nuevo, int indice) {
+        if (tieneEscuchas()) {
+            publicar(TipoEvento.CAMBIO, entrenador, nuevo, anterior, null, null, indice, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Publica el uso de un item
+     *
+     * @param entrenador Entrenador que usa el item
+     * @param item Item usado
+     * @param indice Indice que tenia el item en la mochila
+     * @param pokemon Pokemon sobre el que se uso
+     * @param recuperado PS que recupero el Pokemon
+     */
+    synchronized void publicarItem(Trainer entrenador, Item item, int indice, Pokemon pokemon, int recuperado) {
+        if (tieneEscuchas()) {
+            publicar(TipoEvento.ITEM_USADO, entrenador, pokemon, null, null, item, indice, recuperado, 0, 0);
+        }
+    }
+
+    /**
+     * Publica que un Pokemon quedo debilitado
+     *
+     * @param entrenador Dueño del Pokemon
+     * @param pokemon Pokemon debilitado
+     */
+    synchronized void publicarDebilitado(Trainer entrenador, Pokemon pokemon) {
+        if (tieneEscuchas()) {
+            publicar(TipoEvento.DEBILITADO, entrenador, pokemon, null, null, null, -1, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Publica que se agoto el tiempo del turno de un entrenador
+     *
+     * @param entrenador Entrenador que no actuo a tiempo
+     * @param pokemon Pokemon activo, cuyos movimientos perdieron 1 PP
+     */
+    synchronized void publicarTiempoAgotado(Trainer entrenador, Pokemon pokemon) {
+        if (tieneEscuchas()) {
+            publicar(TipoEvento.TIEMPO_AGOTADO, entrenador, pokemon, null, null, null, -1, 0, 0, 0);
+        }
+    }
+
+    private void publicar(TipoEvento tipo, Trainer entrenador, Pokemon pokemon, Pokemon objetivo, Movimiento movimiento,
+                          Item item, int indice, int valor, double multiplicador, long resultado) {
+        evento.llenar(tipo, ++secuencia, turno, entrenador, pokemon, objetivo, movimiento, item, indice, valor,
+                      multiplicador, resultado);
+        for (BattleEventListener escucha : escuchas) {
+            escucha.onEvento(evento);
+        }
+    }
+}
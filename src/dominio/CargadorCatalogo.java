@@ -0,0 +1,273 @@
+package dominio;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee y escribe el catalogo de especies en sus dos formatos
+ * El formato de texto (datos/especies.txt) es el que se edita a mano y el unico que se guarda
+ * en el repositorio; el formato binario (datos/especies.bin) guarda lo mismo con tipos y
+ * estadisticas como enteros pequeños, lo genera la construccion con Maven a partir del texto
+ * (con main) y es el que se carga al iniciar cuando existe. Sin construir, desde src, se carga
+ * el texto, asi que editarlo tiene efecto sin recompilar
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class CargadorCatalogo {
+    /**
+     * Recurso del classpath con el catalogo binario
+     */
+    public static final String RECURSO_BINARIO = "datos/especies.bin";
+    /**
+     * Recurso del classpath con el catalogo de texto
+     */
+    public static final String RECURSO_TEXTO = "datos/especies.txt";
+    // "PKCE" en ASCII
+    private static final int MAGICO = 0x504B4345;
+    private static final short VERSION = 1;
+    private static final byte FISICO = 0;
+    private static final byte ESPECIAL = 1;
+    private static final byte ESTADO = 2;
+
+    private CargadorCatalogo() {
+    }
+
+    /**
+     * Genera el catalogo binario a partir del de texto; la construccion lo ejecuta al compilar
+     *
+     * @param args entrada.txt salida.bin
+     * @throws IOException Si ocurre un error al leer o escribir los archivos
+     * @throws POOBkemonException Si el catalogo de texto no es valido
+     */
+    public static void main(String[] args) throws IOException, POOBkemonException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: java dominio.CargadorCatalogo entrada.txt salida.bin");
+        }
+        generarBinario(Paths.get(args[0]), Paths.get(args[1]));
+    }
+
+    /**
+     * Lee el catalogo de texto y lo escribe en formato binario
+     *
+     * @param texto Archivo del catalogo de texto
+     * @param binario Archivo binario a escribir; se crean las carpetas que falten
+     * @return especies escritas
+     * @throws IOException Si ocurre un error al leer o escribir los archivos
+     * @throws POOBkemonException Si el catalogo de texto no es valido
+     */
+    public static List<Especie> generarBinario(Path texto, Path binario) throws IOException, POOBkemonException {
+        List<Especie> especies;
+        try (BufferedReader lector = Files.newBufferedReader(texto, StandardCharsets.UTF_8)) {
+            especies = leerTexto(lector);
+        }
+        Path carpeta = binario.toAbsolutePath().getParent();
+        if (carpeta != null) {
+            Files.createDirectories(carpeta);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(binario)))) {
+            escribirBinario(especies, out);
+        }
+        return especies;
+    }
+
+    /**
+     * Lee el catalogo en formato de texto
+     *
+     * @param lector Lector del archivo de texto
+     * @return especies en el orden del archivo, con identificadores consecutivos
+     * @throws IOException Si ocurre un error de lectura
+     * @throws POOBkemonException Si alguna linea no es valida
+     */
+    public static List<Especie> leerTexto(BufferedReader lector) throws IOException, POOBkemonException {
+        List<Especie> especies = new ArrayList<>();
+        String[] especie = null;
+        List<Movimiento> movimientos = new ArrayList<>();
+        String linea;
+        int numero = 0;
+        while ((linea = lector.readLine()) != null) {
+            numero++;
+            linea = linea.trim();
+            if (linea.isEmpty() || linea.startsWith("#")) {
+                continue;
+            }
+            String[] campos = linea.split("\\|", -1);
+            try {
+                switch (campos[0]) {
+                    case "E":
+                        if (especie != null) {
+                            especies.add(crearEspecie(especies.size(), especie, movimientos));
+                            movimientos = new ArrayList<>();
+                        }
+                        validarCampos(campos, 10);
+                        validarTipo(campos[2], false);
+                        validarTipo(campos[3], true);
+                        especie = campos;
+                        break;
+                    case "F":
+                    case "S":
+                    case "T":
+                        if (especie == null) {
+                            throw new IllegalArgumentException("movimiento antes de la primera especie");
+                        }
+                        validarCampos(campos, 6);
+                        validarTipo(campos[2], false);
+                        movimientos.add(crearMovimiento(campos));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("tipo de linea desconocido " + campos[0]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new POOBkemonException(String.format(POOBkemonException.ERROR_CATALOGO_LINEA, numero, e.getMessage()), e);
+            }
+        }
+        if (especie != null) {
+            especies.add(crearEspecie(especies.size(), especie, movimientos));
+        }
+        return especies;
+    }
+
+    /**
+     * Verifica la cantidad de campos de una linea
+     */
+    private static void validarCampos(String[] campos, int esperados) {
+        if (campos.length != esperados) {
+            throw new IllegalArgumentException("se esperaban " + esperados + " campos y hay " + campos.length);
+        }
+    }
+
+    /**
+     * Verifica que un nombre de tipo exista en Tipo
+     */
+    private static void validarTipo(String tipo, boolean opcional) {
+        if (opcional && tipo.isEmpty()) {
+            return;
+        }
+        if (Tipo.idDe(tipo) == Tipo.NINGUNO) {
+            throw new IllegalArgumentException("tipo desconocido " + tipo);
+        }
+    }
+
+    /**
+     * Crea una especie a partir de los campos de su linea E
+     */
+    private static Especie crearEspecie(int id, String[] c, List<Movimiento> movimientos) {
+        if (movimientos.isEmpty()) {
+            throw new IllegalArgumentException(POOBkemonException.ERROR_MOVIMIENTOS_NO_VALIDOS + " (" + c[1] + ")");
+        }
+        return new Especie(id, c[1], c[2], c[3].isEmpty() ? null : c[3],
+            Integer.parseInt(c[4]), Integer.parseInt(c[5]), Integer.parseInt(c[6]),
+            Integer.parseInt(c[7]), Integer.parseInt(c[8]), Integer.parseInt(c[9]), movimientos);
+    }
+
+    /**
+     * Crea un movimiento prototipo a partir de los campos de su linea
+     */
+    private static Movimiento crearMovimiento(String[] c) {
+        switch (c[0]) {
+            case "F": return new MovimientoFisico(c[1], c[2], Integer.parseInt(c[3]), Integer.parseInt(c[4]), Integer.parseInt(c[5]));
+            case "S": return new MovimientoEspecial(c[1], c[2], Integer.parseInt(c[3]), Integer.parseInt(c[4]), Integer.parseInt(c[5]));
+            default:  return new MovimientoEstado(c[1], c[2], Integer.parseInt(c[3]), Integer.parseInt(c[4]), c[5]);
+        }
+    }
+
+    /**
+     * Lee el catalogo en formato binario
+     *
+     * @param entrada Entrada de datos del archivo binario
+     * @return especies en el orden del archivo
+     * @throws IOException Si ocurre un error de lectura
+     * @throws POOBkemonException Si el archivo no es un catalogo valido
+     */
+    public static List<Especie> leerBinario(DataInput entrada) throws IOException, POOBkemonException {
+        if (entrada.readInt() != MAGICO) {
+            throw new POOBkemonException(String.format(POOBkemonException.ERROR_CATALOGO, "no es un catalogo binario"));
+        }
+        short version = entrada.readShort();
+        if (version != VERSION) {
+            throw new POOBkemonException(String.format(POOBkemonException.ERROR_CATALOGO, "version " + version + " no soportada"));
+        }
+        Tipo[] tipos = Tipo.values();
+        int cantidad = entrada.readUnsignedShort();
+        List<Especie> especies = new ArrayList<>(cantidad);
+        for (int id = 0; id < cantidad; id++) {
+            String nombre = entrada.readUTF();
+            String tipo = tipos[entrada.readUnsignedByte()].getNombre();
+            int idSecundario = entrada.readUnsignedByte();
+            String tipoSecundario = idSecundario == Tipo.NINGUNO ? null : tipos[idSecundario].getNombre();
+            int ps = entrada.readUnsignedShort();
+            int ataque = entrada.readUnsignedShort();
+            int defensa = entrada.readUnsignedShort();
+            int ataqueEspecial = entrada.readUnsignedShort();
+            int defensaEspecial = entrada.readUnsignedShort();
+            int velocidad = entrada.readUnsignedShort();
+            int cantidadMovimientos = entrada.readUnsignedByte();
+            List<Movimiento> movimientos = new ArrayList<>(cantidadMovimientos);
+            for (int m = 0; m < cantidadMovimientos; m++) {
+                byte clase = entrada.readByte();
+                String nombreMovimiento = entrada.readUTF();
+                String tipoMovimiento = tipos[entrada.readUnsignedByte()].getNombre();
+                int potencia = entrada.readUnsignedShort();
+                int precision = entrada.readUnsignedShort();
+                int pp = entrada.readUnsignedShort();
+                switch (clase) {
+                    case FISICO: movimientos.add(new MovimientoFisico(nombreMovimiento, tipoMovimiento, potencia, precision, pp)); break;
+                    case ESPECIAL: movimientos.add(new MovimientoEspecial(nombreMovimiento, tipoMovimiento, potencia, precision, pp)); break;
+                    default: movimientos.add(new MovimientoEstado(nombreMovimiento, tipoMovimiento, precision, pp, entrada.readUTF())); break;
+                }
+            }
+            especies.add(new Especie(id, nombre, tipo, tipoSecundario, ps, ataque, defensa,
+                ataqueEspecial, defensaEspecial, velocidad, movimientos));
+        }
+        return especies;
+    }
+
+    /**
+     * Escribe el catalogo en formato binario
+     *
+     * @param especies Especies a escribir en orden de identificador
+     * @param salida Salida de datos del archivo binario
+     * @throws IOException Si ocurre un error de escritura
+     */
+    public static void escribirBinario(List<Especie> especies, DataOutput salida) throws IOException {
+        salida.writeInt(MAGICO);
+        salida.writeShort(VERSION);
+        salida.writeShort(especies.size());
+        for (Especie e : especies) {
+            salida.writeUTF(e.getNombre());
+            salida.writeByte(Tipo.idDe(e.getTipo()));
+            salida.writeByte(Tipo.idDe(e.getTipoSecundario()));
+            salida.writeShort(e.getPs());
+            salida.writeShort(e.getAtaque());
+            salida.writeShort(e.getDefensa());
+            salida.writeShort(e.getAtaqueEspecial());
+            salida.writeShort(e.getDefensaEspecial());
+            salida.writeShort(e.getVelocidad());
+            List<Movimiento> movimientos = e.getMovimientosPrototipo();
+            salida.writeByte(movimientos.size());
+            for (Movimiento m : movimientos) {
+                byte clase = m instanceof MovimientoEstado ? ESTADO : m instanceof MovimientoEspecial ? ESPECIAL : FISICO;
+                salida.writeByte(clase);
+                salida.writeUTF(m.getNombre());
+                salida.writeByte(m.getIdTipo());
+                salida.writeShort(m.getPotencia());
+                salida.writeShort(m.getPrecision());
+                salida.writeShort(m.getPPMaximos());
+                if (clase == ESTADO) {
+                    salida.writeUTF(((MovimientoEstado) m).getEfectoSecundario());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package dominio;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registro de todas las especies de Pokemon disponibles
+ * Las plantillas se leen una sola vez al cargar la clase desde el catalogo binario
+ * (datos/especies.bin, generado por la construccion a partir del texto), o el de texto si no
+ * hay binario, o el archivo indicado en la propiedad poobkemon.catalogo; se consultan por
+ * identificador o por nombre sin distinguir mayusculas
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class CatalogoEspecies {
+    /**
+     * Propiedad del sistema con la ruta de un catalogo externo (.bin o de texto)
+     */
+    public static final String PROPIEDAD_CATALOGO = "poobkemon.catalogo";
+    /**
+     * Tiempo maximo de carga esperado; si se supera se registra una advertencia
+     */
+    public static final long PRESUPUESTO_CARGA_MS = 100;
+    private static final Logger LOGGER = Logger.getLogger(CatalogoEspecies.class.getName());
+    private static final List<Especie> ESPECIES;
+    private static final Map<String, Especie> POR_NOMBRE = new HashMap<>();
+    private static final List<String> NOMBRES;
+    private static final long NANOS_CARGA;
+    private static final String ORIGEN;
+    /**
+     * Especie usada para nombres desconocidos: tipo Normal, estadisticas 100 y movimientos basicos
+     */
+    private static final Especie POR_DEFECTO = new Especie(-1, "", "Normal", null, 100, 100, 100, 100, 100, 100,
+        Arrays.asList(
+            new MovimientoFisico("Placaje", "Normal", 40, 100, 35),
+            new MovimientoFisico("Golpe Rápido", "Normal", 40, 100, 30),
+            new MovimientoEspecial("Rayo Confuso", "Psiquico", 50, 100, 10),
+            new MovimientoEstado("Gruñido", "Normal", 0, 100, "Aumenta ataque")));
+
+    static {
+        long inicio = System.nanoTime();
+        String propiedad = System.getProperty(PROPIEDAD_CATALOGO);
+        List<Especie> especies;
+        try {
+            if (propiedad != null) {
+                ORIGEN = propiedad;
+                especies = cargarArchivo(Paths.get(propiedad));
+            } else if (CatalogoEspecies.class.getClassLoader().getResource(CargadorCatalogo.RECURSO_BINARIO) != null) {
+                ORIGEN = CargadorCatalogo.RECURSO_BINARIO;
+                especies = cargarRecurso(ORIGEN, true);
+            } else {
+                ORIGEN = CargadorCatalogo.RECURSO_TEXTO;
+                especies = cargarRecurso(ORIGEN, false);
+            }
+        } catch (IOException | POOBkemonException e) {
+            LOGGER.log(Level.SEVERE, "Error al cargar el catalogo de especies", e);
+            throw new IllegalStateException(String.format(POOBkemonException.ERROR_CATALOGO, e.getMessage()), e);
+        }
+        List<String> nombres = new ArrayList<>(especies.size());
+        for (Especie e : especies) {
+            POR_NOMBRE.put(e.getNombre().toLowerCase(), e);
+            nombres.add(e.getNombre());
+        }
+        ESPECIES = Collections.unmodifiableList(especies);
+        NOMBRES = Collections.unmodifiableList(nombres);
+        NANOS_CARGA = System.nanoTime() - inicio;
+        double milisegundos = NANOS_CARGA / 1_000_000.0;
+        Level nivel = milisegundos > PRESUPUESTO_CARGA_MS ? Level.WARNING : Level.INFO;
+        LOGGER.log(nivel, String.format("Catalogo cargado desde %s: %d especies en %.2f ms (presupuesto %d ms)",
+            ORIGEN, especies.size(), milisegundos, PRESUPUESTO_CARGA_MS));
+    }
+
+    private CatalogoEspecies() {
+    }
+
+    /**
+     * Devuelve la especie con el identificador dado
+     *
+     * @param id Identificador de la especie
+     * @return especie del catalogo
+     * @throws IndexOutOfBoundsException si el identificador no existe
+     */
+    public static Especie get(int id) {
+        return ESPECIES.get(id);
+    }
+
+    /**
+     * Busca una especie por nombre sin distinguir mayusculas
+     *
+     * @param nombre Nombre de la especie
+     * @return especie encontrada o null si no existe
+     */
+    public static Especie buscar(String nombre) {
+        return nombre == null ? null : POR_NOMBRE.get(nombre.toLowerCase());
+    }
+
+    /**
+     * Busca una especie por nombre y si no existe devuelve la especie por defecto
+     *
+     * @param nombre Nombre de la especie
+     * @return especie encontrada o la especie por defecto
+     */
+    public static Especie buscarOPorDefecto(String nombre) {
+        Especie especie = buscar(nombre);
+        return especie != null ? especie : POR_DEFECTO;
+    }
+
+    /**
+     * Devuelve la cantidad de especies registradas
+     *
+     * @return cantidad de especies
+     */
+    public static int cantidad() {
+        return ESPECIES.size();
+    }
+
+    /**
+     * Lee un catalogo desde un recurso del classpath
+     */
+    private static List<Especie> cargarRecurso(String recurso, boolean binario) throws IOException, POOBkemonException {
+        InputStream entrada = CatalogoEspecies.class.getClassLoader().getResourceAsStream(recurso);
+        if (entrada == null) {
+            throw new POOBkemonException(String.format(POOBkemonException.ERROR_CATALOGO, "no se encontro " + recurso));
+        }
+        return leer(new BufferedInputStream(entrada), binario);
+    }
+
+    /**
+     * Lee un catalogo desde un archivo; el formato se elige por la extension .bin
+     */
+    private static List<Especie> cargarArchivo(Path ruta) throws IOException, POOBkemonException {
+        return leer(new BufferedInputStream(Files.newInputStream(ruta)), ruta.toString().endsWith(".bin"));
+    }
+
+    /**
+     * Lee un catalogo en el formato indicado y cierra la entrada
+     */
+    private static List<Especie> leer(InputStream entrada, boolean binario) throws IOException, POOBkemonException {
+        try (InputStream in = entrada) {
+            if (binario) {
+                return CargadorCatalogo.leerBinario(new DataInputStream(in));
+            }
+            return CargadorCatalogo.leerTexto(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Devuelve el tiempo que tomo cargar el catalogo
+     *
+     * @return nanosegundos de carga
+     */
+    public static long getNanosCarga() {
+        return NANOS_CARGA;
+    }
+
+    /**
+     * Devuelve de donde se cargo el catalogo
+     *
+     * @return recurso o ruta del catalogo
+     */
+    public static String getOrigen() {
+        return ORIGEN;
+    }
+
+    /**
+     * Devuelve todas las especies en orden de identificador
+     *
+     * @return lista inmutable de especies
+     */
+    public static List<Especie> getEspecies() {
+        return ESPECIES;
+    }
+
+    /**
+     * Devuelve los nombres de todas las especies en orden de identificador
+     *
+     * @return lista inmutable de nombres
+     */
+    public static List<String> getNombres() {
+        return NOMBRES;
+    }
+}
@@ -36,9 +36,9 @@ public class ChangingTrainer extends AITrainer {
         Movimiento movimiento = pokemonActivo.getMovimientos().get(moveIndex);
         if (pokemonActivo.sinPP()) {
             Movimiento forcejeo = new Forcejeo();
-            return forcejeo.ejecutar(pokemonActivo, oponente.getPokemonActivo());
+            return usarMovimiento(forcejeo, oponente);
         } else if (movimiento.esUtilizable()) {
-            return movimiento.ejecutar(pokemonActivo, oponente.getPokemonActivo());
+            return usarMovimiento(movimiento, oponente);
         }
         return "";
     }
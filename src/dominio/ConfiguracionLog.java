@@ -0,0 +1,47 @@
+package dominio;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Configuracion del log del dominio, que cada programa llama al arrancar antes de usar el dominio
+ * Agrega al logger "dominio" un ManejadorLogAsincrono que escribe en ARCHIVO_LOG solo las
+ * advertencias y los errores, sin bloquear el turno; los mensajes informativos (por ejemplo la
+ * carga del catalogo) siguen yendo a la consola por los manejadores del logger raiz
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class ConfiguracionLog {
+    /**
+     * Archivo de log de las advertencias y errores del dominio
+     */
+    public static final String ARCHIVO_LOG = "battle_exceptions.log";
+    // Referencia fuerte: LogManager solo guarda referencias debiles y el manejador se perderia
+    private static final Logger LOGGER_DOMINIO = Logger.getLogger("dominio");
+    private static ManejadorLogAsincrono manejador;
+
+    private ConfiguracionLog() {
+    }
+
+    /**
+     * Instala el manejador del archivo de log del dominio; las llamadas siguientes no hacen nada
+     * El archivo se abre recien con la primera advertencia
+     */
+    public static synchronized void configurar() {
+        if (manejador != null) {
+            return;
+        }
+        manejador = ManejadorLogAsincrono.deArchivo(ARCHIVO_LOG);
+        manejador.setLevel(Level.WARNING);
+        LOGGER_DOMINIO.addHandler(manejador);
+    }
+
+    /**
+     * @return manejador instalado por configurar, o null si aun no se configuro
+     */
+    public static synchronized ManejadorLogAsincrono getManejador() {
+        return manejador;
+    }
+}
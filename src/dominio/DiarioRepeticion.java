@@ -0,0 +1,345 @@
+package dominio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Diario binario de solo escritura al final con las acciones de una batalla, para repetirla
+ * exactamente con LectorRepeticion
+ * Se suscribe al CanalEventos de la batalla y por cada movimiento, cambio, item o tiempo agotado
+ * escribe un registro de 16 bytes con el turno, el actor, la accion, el resultado de la tirada
+ * de precision y los PS con que quedaron los Pokemon activos. Cada cierta cantidad de turnos
+ * agrega un punto de control con el estado completo de ambos equipos, y al cerrarse escribe
+ * un indice de esos puntos para que un visor salte al turno N sin leer todo el archivo.
+ * Si el juego se cierra sin cerrar el diario, el lector reconstruye el indice recorriendo el archivo
+ *
+ * Formato: cabecera (magia, version, nombres, equipos e items iniciales), punto de control
+ * inicial, registros y puntos de control intercalados, indice y pie de 16 bytes
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class DiarioRepeticion implements BattleEventListener, Closeable {
+    /**
+     * Cantidad de turnos por defecto entre puntos de control
+     */
+    public static final int INTERVALO_DEFECTO = 16;
+
+    static final int MAGIA = 0x504B5250;        // "PKRP"
+    static final int MAGIA_INDICE = 0x504B4958; // "PKIX"
+    static final short VERSION = 1;
+    static final int TAMANO_REGISTRO = 16;
+    static final int TAMANO_PIE = 16;
+    static final int TAMANO_ENTRADA_INDICE = 12;
+    static final byte CONTROL = 0x7F;
+    static final int TAMANO_BUFFER = 8192;
+    private static final Logger LOGGER = Logger.getLogger(DiarioRepeticion.class.getName());
+
+    private final Path ruta;
+    private final FileChannel canal;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_BUFFER);
+    private final Trainer entrenador1;
+    private final Trainer entrenador2;
+    // Items al empezar a grabar; los puntos de control guardan cuales quedan
+    private final List<Item> itemsIniciales1;
+    private final List<Item> itemsIniciales2;
+    private final int intervalo;
+    private int[] estado = new int[128];
+    private int[] turnosIndice = new int[16];
+    private long[] posicionesIndice = new long[16];
+    private int puntosIndice;
+    private int ultimoControl;
+    private long posicion;
+    private long registros;
+    private boolean cerrado;
+
+    /**
+     * Crea el diario con el intervalo de puntos de control por defecto
+     *
+     * @param ruta Archivo a escribir; se reemplaza si existe
+     * @param entrenador1 Primer entrenador
+     * @param entrenador2 Segundo entrenador
+     * @throws POOBkemonException Si no se puede crear el archivo
+     */
+    public DiarioRepeticion(Path ruta, Trainer entrenador1, Trainer entrenador2) throws POOBkemonException {
+        this(ruta, entrenador1, entrenador2, INTERVALO_DEFECTO);
+    }
+
+    /**
+     * Crea el diario y escribe la cabecera y el punto de control inicial
+     *
+     * @param ruta Archivo a escribir; se reemplaza si existe
+     * @param entrenador1 Primer entrenador
+     * @param entrenador2 Segundo entrenador
+     * @param intervalo Turnos entre puntos de control
+     * @throws POOBkemonException Si no se puede crear el archivo
+     */
+    public DiarioRepeticion(Path ruta, Trainer entrenador1, Trainer entrenador2, int intervalo) throws POOBkemonException {
+        this.ruta = ruta;
+        this.entrenador1 = entrenador1;
+        this.entrenador2 = entrenador2;
+        this.itemsIniciales1 = new ArrayList<>(entrenador1.items);
+        this.itemsIniciales2 = new ArrayList<>(entrenador2.items);
+        this.intervalo = Math.max(1, intervalo);
+        try {
+            this.canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                          StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "No se pudo crear la repeticion " + ruta, e);
+            throw new POOBkemonException(POOBkemonException.ERROR_GRABAR_REPETICION, e);
+        }
+        try {
+            escribirCabecera();
+            escribirControl(-1);
+        } catch (IOException e) {
+            fallar(e);
+            throw new POOBkemonException(POOBkemonException.ERROR_GRABAR_REPETICION, e);
+        }
+    }
+
+    /**
+     * Escribe un registro por cada accion de la batalla
+     * DANO, FALLO y DEBILITADO no se guardan porque se deducen al repetir la accion
+     *
+     * @param evento Evento publicado por la batalla
+     */
+    @Override
+    public synchronized void onEvento(EventoBatalla evento) {
+        if (cerrado) {
+            return;
+        }
+        int accion;
+        switch (evento.getTipo()) {
+            case MOVIMIENTO_USADO: accion = RegistroRepeticion.MOVIMIENTO; break;
+            case CAMBIO: accion = RegistroRepeticion.CAMBIO; break;
+            case ITEM_USADO: accion = RegistroRepeticion.ITEM; break;
+            case TIEMPO_AGOTADO: accion = RegistroRepeticion.TIEMPO_AGOTADO; break;
+            default: return;
+        }
+        Trainer actor = evento.getEntrenador();
+        int numero = actor == entrenador1 ? 1 : 2;
+        Trainer rival = numero == 1 ? entrenador2 : entrenador1;
+        int objetivo = accion == RegistroRepeticion.ITEM ? actor.equipo.indexOf(evento.getPokemon()) : 0;
+        int tirada = accion == RegistroRepeticion.MOVIMIENTO ? CalculadoraDano.estado(evento.getResultado()) : 0;
+        try {
+            asegurar(TAMANO_REGISTRO);
+            buffer.put((byte) accion)
+                  .put((byte) numero)
+                  .put((byte) evento.getIndice())
+                  .put((byte) objetivo)
+                  .put((byte) tirada)
+                  .put((byte) 0)
+                  .putShort((short) ps(actor))
+                  .putShort((short) ps(rival))
+                  .putShort((short) Math.min(0xFFFF, Math.max(0, evento.getValor())))
+                  .putInt(evento.getTurno());
+            posicion += TAMANO_REGISTRO;
+            registros++;
+            if (evento.getTurno() >= ultimoControl + intervalo) {
+                escribirControl(evento.getTurno());
+            }
+        } catch (IOException e) {
+            fallar(e);
+        }
+    }
+
+    /**
+     * Escribe los datos pendientes, el indice de puntos de control y el pie, y cierra el archivo
+     */
+    @Override
+    public synchronized void close() {
+        if (cerrado) {
+            return;
+        }
+        try {
+            long posicionIndice = posicion;
+            for (int i = 0; i < puntosIndice; i++) {
+                asegurar(TAMANO_ENTRADA_INDICE);
+                buffer.putInt(turnosIndice[i]).putLong(posicionesIndice[i]);
+            }
+            asegurar(TAMANO_PIE);
+            buffer.putLong(posicionIndice).putInt(puntosIndice).putInt(MAGIA_INDICE);
+            vaciar();
+            canal.close();
+            cerrado = true;
+        } catch (IOException e) {
+            fallar(e);
+        }
+    }
+
+    /**
+     * Devuelve el archivo del diario
+     *
+     * @return ruta del archivo
+     */
+    public Path getRuta() {
+        return ruta;
+    }
+
+    /**
+     * Devuelve cuantas acciones se grabaron
+     *
+     * @return cantidad de registros
+     */
+    public synchronized long getRegistros() {
+        return registros;
+    }
+
+    /**
+     * Devuelve cuantos puntos de control tiene el indice, incluido el inicial
+     *
+     * @return puntos de control
+     */
+    public synchronized int getPuntosIndice() {
+        return puntosIndice;
+    }
+
+    /**
+     * Indica si el diario ya no escribe, por estar cerrado o por un error de escritura
+     *
+     * @return true si esta cerrado
+     */
+    public synchronized boolean estaCerrado() {
+        return cerrado;
+    }
+
+    private void escribirCabecera() throws IOException {
+        asegurar(6);
+        buffer.putInt(MAGIA).putShort(VERSION);
+        posicion += 6;
+        escribirEntrenador(entrenador1, itemsIniciales1);
+        escribirEntrenador(entrenador2, itemsIniciales2);
+    }
+
+    private void escribirEntrenador(Trainer entrenador, List<Item> items) throws IOException {
+        escribirTexto(entrenador.getNombre());
+        asegurar(1);
+        buffer.put((byte) entrenador.equipo.size());
+        posicion++;
+        for (Pokemon p : entrenador.equipo) {
+            escribirTexto(p.getNombre());
+        }
+        asegurar(1);
+        buffer.put((byte) items.size());
+        posicion++;
+        for (Item item : items) {
+            escribirTexto(item.getNombre());
+        }
+    }
+
+    private void escribirTexto(String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        int longitud = Math.min(bytes.length, TAMANO_BUFFER - 2);
+        asegurar(2 + longitud);
+        buffer.putShort((short) longitud).put(bytes, 0, longitud);
+        posicion += 2 + longitud;
+    }
+
+    /**
+     * Escribe un punto de control con el estado completo de ambos equipos y lo agrega al indice
+     *
+     * @param turno Turno del ultimo registro escrito
+     */
+    private void escribirControl(int turno) throws IOException {
+        int enteros = capturar(entrenador1, itemsIniciales1, 0);
+        enteros = capturar(entrenador2, itemsIniciales2, enteros);
+        if (puntosIndice == turnosIndice.length) {
+            turnosIndice = Arrays.copyOf(turnosIndice, puntosIndice * 2);
+            posicionesIndice = Arrays.copyOf(posicionesIndice, puntosIndice * 2);
+        }
+        turnosIndice[puntosIndice] = turno;
+        posicionesIndice[puntosIndice] = posicion;
+        puntosIndice++;
+        ultimoControl = turno;
+
+        asegurar(9);
+        buffer.put(CONTROL).putInt(turno).putInt(enteros);
+        posicion += 9;
+        for (int i = 0; i < enteros; i++) {
+            asegurar(4);
+            buffer.putInt(estado[i]);
+        }
+        posicion += 4L * enteros;
+    }
+
+    /**
+     * Guarda en el arreglo de estado el Pokemon activo, los items que quedan y el estado de cada Pokemon
+     */
+    private int capturar(Trainer entrenador, List<Item> iniciales, int pos) {
+        int necesarios = pos + 4;
+        for (Pokemon p : entrenador.equipo) {
+            necesarios += Pokemon.TAMANO_ESTADO + 1 + p.getMovimientos().size();
+        }
+        if (necesarios > estado.length) {
+            estado = Arrays.copyOf(estado, Math.max(estado.length * 2, necesarios));
+        }
+        long quedan = 0;
+        for (int i = 0; i < iniciales.size() && i < Long.SIZE; i++) {
+            if (contiene(entrenador.items, iniciales.get(i))) {
+                quedan |= 1L << i;
+            }
+        }
+        estado[pos++] = entrenador.equipo.indexOf(entrenador.pokemonActivo);
+        estado[pos++] = entrenador.equipo.size();
+        estado[pos++] = (int) quedan;
+        estado[pos++] = (int) (quedan >>> 32);
+        for (Pokemon p : entrenador.equipo) {
+            pos = p.guardarEstado(estado, pos);
+        }
+        return pos;
+    }
+
+    private static boolean contiene(List<Item> items, Item item) {
+        for (Item i : items) {
+            if (i == item) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int ps(Trainer entrenador) {
+        return entrenador.pokemonActivo == null ? 0 : entrenador.pokemonActivo.getPsActual();
+    }
+
+    /**
+     * Escribe el buffer en el archivo si no quedan al menos los bytes indicados
+     */
+    private void asegurar(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            vaciar();
+        }
+    }
+
+    private void vaciar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Deja de grabar despues de un error de escritura; la batalla sigue sin repeticion
+     */
+    private void fallar(IOException e) {
+        LOGGER.log(Level.WARNING, "Error al grabar la repeticion " + ruta + ": " + e.getMessage(), e);
+        cerrado = true;
+        try {
+            canal.close();
+        } catch (IOException ignorada) {
+            // El archivo ya quedo incompleto; el lector lo recorre sin indice
+        }
+    }
+}
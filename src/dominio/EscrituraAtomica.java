@@ -0,0 +1,62 @@
+package dominio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escritura de archivos que nunca deja a quien los lee un contenido a medias
+ * Los datos van a un temporal en la misma carpeta (destino + ".tmp"), se sincronizan con el
+ * disco y el temporal se renombra sobre el destino de forma atomica; si el sistema de archivos
+ * no soporta el renombrado atomico se reemplaza el destino con un renombrado normal
+ * La usan el guardado automatico, el indice de partidas y el volcado de metricas
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+final class EscrituraAtomica {
+
+    private EscrituraAtomica() {
+    }
+
+    /**
+     * Reemplaza el contenido del destino por los datos dados
+     *
+     * @param destino Archivo a escribir
+     * @param datos Contenido completo del archivo
+     * @throws IOException Si no se puede escribir el temporal o renombrarlo; el destino queda como estaba
+     */
+    static void escribir(Path destino, byte[] datos) throws IOException {
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            escribirTodo(canal, datos);
+            canal.force(true);
+        }
+        try {
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Escribe todos los datos en la posicion actual del canal
+     *
+     * @param canal Canal abierto para escritura
+     * @param datos Datos a escribir
+     * @throws IOException Si ocurre un error de escritura
+     */
+    static void escribirTodo(FileChannel canal, byte[] datos) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(datos);
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+}
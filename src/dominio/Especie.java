@@ -0,0 +1,164 @@
+package dominio;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plantilla inmutable de una especie de Pokemon
+ * Guarda los tipos, las estadisticas base y los movimientos prototipo de la especie;
+ * cada Pokemon de batalla se crea como una copia que solo contiene su estado mutable
+ * (salud actual, estadisticas modificadas y PP de sus propios movimientos)
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class Especie {
+    private final int id;
+    private final String nombre;
+    private final String tipo;
+    private final String tipoSecundario;
+    private final int ps;
+    private final int ataque;
+    private final int defensa;
+    private final int ataqueEspecial;
+    private final int defensaEspecial;
+    private final int velocidad;
+    // Prototipos que nunca entran en batalla; solo se copian
+    private final List<Movimiento> movimientos;
+
+    /**
+     * Crea la plantilla de una especie
+     *
+     * @param id Identificador de la especie en el catalogo
+     * @param nombre Nombre de la especie
+     * @param tipo Tipo principal
+     * @param tipoSecundario Tipo secundario (puede ser null)
+     * @param ps Puntos de salud maximos
+     * @param ataque Valor de ataque fisico
+     * @param defensa Valor de defensa fisica
+     * @param ataqueEspecial Valor de ataque especial
+     * @param defensaEspecial Valor de defensa especial
+     * @param velocidad Valor de velocidad
+     * @param movimientos Movimientos prototipo de la especie
+     */
+    Especie(int id, String nombre, String tipo, String tipoSecundario, int ps, int ataque, int defensa,
+            int ataqueEspecial, int defensaEspecial, int velocidad, List<Movimiento> movimientos) {
+        this.id = id;
+        this.nombre = nombre;
+        this.tipo = tipo;
+        this.tipoSecundario = tipoSecundario;
+        this.ps = ps;
+        this.ataque = ataque;
+        this.defensa = defensa;
+        this.ataqueEspecial = ataqueEspecial;
+        this.defensaEspecial = defensaEspecial;
+        this.velocidad = velocidad;
+        this.movimientos = Collections.unmodifiableList(new ArrayList<>(movimientos));
+    }
+
+    /**
+     * Crea un Pokemon de esta especie con el nombre de la especie
+     *
+     * @return Pokemon nuevo con la salud completa y sus propios movimientos
+     */
+    public Pokemon crearPokemon() {
+        return crearPokemon(nombre);
+    }
+
+    /**
+     * Crea un Pokemon de esta especie con el nombre indicado
+     *
+     * @param nombrePokemon Nombre que tendra el Pokemon
+     * @return Pokemon nuevo con la salud completa y sus propios movimientos
+     */
+    public Pokemon crearPokemon(String nombrePokemon) {
+        return new Pokemon(this, nombrePokemon, crearMovimientos());
+    }
+
+    /**
+     * Copia los movimientos prototipo de la especie
+     *
+     * @return lista nueva con una copia de cada movimiento
+     */
+    public ArrayList<Movimiento> crearMovimientos() {
+        ArrayList<Movimiento> copias = new ArrayList<>(movimientos.size());
+        for (Movimiento m : movimientos) {
+            copias.add(m.copiar());
+        }
+        return copias;
+    }
+
+    /**
+     * Obtiene el identificador de la especie en el catalogo
+     * @return identificador, o -1 para la especie por defecto
+     */
+    public int getId() { return id; }
+
+    /**
+     * Obtiene el nombre de la especie
+     * @return nombre
+     */
+    public String getNombre() { return nombre; }
+
+    /**
+     * Obtiene el tipo principal
+     * @return tipo principal
+     */
+    public String getTipo() { return tipo; }
+
+    /**
+     * Obtiene el tipo secundario
+     * @return tipo secundario o null si no tiene
+     */
+    public String getTipoSecundario() { return tipoSecundario; }
+
+    /**
+     * Obtiene los puntos de salud maximos
+     * @return puntos de salud
+     */
+    public int getPs() { return ps; }
+
+    /**
+     * Obtiene el ataque fisico
+     * @return ataque
+     */
+    public int getAtaque() { return ataque; }
+
+    /**
+     * Obtiene la defensa fisica
+     * @return defensa
+     */
+    public int getDefensa() { return defensa; }
+
+    /**
+     * Obtiene el ataque especial
+     * @return ataque especial
+     */
+    public int getAtaqueEspecial() { return ataqueEspecial; }
+
+    /**
+     * Obtiene la defensa especial
+     * @return defensa especial
+     */
+    public int getDefensaEspecial() { return defensaEspecial; }
+
+    /**
+     * Obtiene la velocidad
+     * @return velocidad
+     */
+    public int getVelocidad() { return velocidad; }
+
+    /**
+     * Obtiene los movimientos prototipo para escribir el catalogo; no deben usarse en batalla
+     * @return lista inmutable de prototipos
+     */
+    List<Movimiento> getMovimientosPrototipo() { return movimientos; }
+
+    /**
+     * Obtiene la cantidad de movimientos de la especie
+     * @return cantidad de movimientos
+     */
+    public int getCantidadMovimientos() { return movimientos.size(); }
+}
@@ -0,0 +1,177 @@
+package dominio;
+
+/**
+ * Evento de batalla publicado por CanalEventos
+ * Cada canal tiene un unico evento que rellena y reutiliza en cada publicacion, asi publicar
+ * no crea objetos ni formatea texto; los datos solo son validos durante onEvento
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class EventoBatalla {
+    private TipoEvento tipo;
+    private long secuencia;
+    private int turno;
+    private Trainer entrenador;
+    private Pokemon pokemon;
+    private Pokemon objetivo;
+    private Movimiento movimiento;
+    private Item item;
+    private int indice;
+    private int valor;
+    private double multiplicador;
+    private long resultado;
+
+    /**
+     * Crea un evento vacio; solo CanalEventos crea eventos
+     */
+    EventoBatalla() {
+    }
+
+    /**
+     * Rellena el evento con los datos de una nueva publicacion
+     *
+     * @param tipo Tipo del evento
+     * @param secuencia Numero de orden en el canal
+     * @param turno Turno de la batalla en el que ocurrio
+     * @param entrenador Entrenador del evento
+     * @param pokemon Pokemon principal
+     * @param objetivo Pokemon secundario o null
+     * @param movimiento Movimiento o null
+     * @param item Item o null
+     * @param indice Indice del movimiento, Pokemon o item segun el tipo
+     * @param valor Valor numerico segun el tipo
+     * @param multiplicador Multiplicador del ataque o 0
+     * @param resultado Resultado empaquetado del movimiento o 0
+     */
+    void llenar(TipoEvento tipo, long secuencia, int turno, Trainer entrenador, Pokemon pokemon, Pokemon objetivo,
+                Movimiento movimiento, Item item, int indice, int valor, double multiplicador, long resultado) {
+        this.tipo = tipo;
+        this.secuencia = secuencia;
+        this.turno = turno;
+        this.entrenador = entrenador;
+        this.pokemon = pokemon;
+        this.objetivo = objetivo;
+        this.movimiento = movimiento;
+        this.item = item;
+        this.indice = indice;
+        this.valor = valor;
+        this.multiplicador = multiplicador;
+        this.resultado = resultado;
+    }
+
+    /**
+     * Devuelve el tipo del evento
+     *
+     * @return tipo del evento
+     */
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Devuelve el numero de orden del evento dentro de su canal, empezando en 1
+     *
+     * @return secuencia del evento
+     */
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    /**
+     * Devuelve el turno de la batalla en el que ocurrio el evento
+     *
+     * @return turno, empezando en 0
+     */
+    public int getTurno() {
+        return turno;
+    }
+
+    /**
+     * Devuelve el entrenador al que le ocurrio el evento
+     *
+     * @return entrenador que actua, o dueño del Pokemon en DANO y DEBILITADO
+     */
+    public Trainer getEntrenador() {
+        return entrenador;
+    }
+
+    /**
+     * Devuelve el Pokemon principal del evento
+     *
+     * @return atacante, Pokemon que entra, Pokemon dañado, debilitado o curado
+     */
+    public Pokemon getPokemon() {
+        return pokemon;
+    }
+
+    /**
+     * Devuelve el Pokemon secundario del evento
+     *
+     * @return objetivo del movimiento, Pokemon que sale en un cambio o null
+     */
+    public Pokemon getObjetivo() {
+        return objetivo;
+    }
+
+    /**
+     * Devuelve el movimiento del evento
+     *
+     * @return movimiento usado o null
+     */
+    public Movimiento getMovimiento() {
+        return movimiento;
+    }
+
+    /**
+     * Devuelve el item del evento
+     *
+     * @return item usado o null
+     */
+    public Item getItem() {
+        return item;
+    }
+
+    /**
+     * Devuelve el indice de la accion en las listas del entrenador
+     *
+     * @return indice del movimiento (-1 si es un Forcejeo fuera de la lista), del Pokemon que entra
+     *         o del item usado segun el tipo; -1 si no aplica
+     */
+    public int getIndice() {
+        return indice;
+    }
+
+    /**
+     * Devuelve el valor numerico del evento
+     *
+     * @return daño, PS recuperados o aumento de estadistica segun el tipo
+     */
+    public int getValor() {
+        return valor;
+    }
+
+    /**
+     * Devuelve el multiplicador del ataque
+     *
+     * @return multiplicador de efectividad y mismo tipo, 0 si no aplica
+     */
+    public double getMultiplicador() {
+        return multiplicador;
+    }
+
+    /**
+     * Devuelve el resultado empaquetado del movimiento (ver CalculadoraDano)
+     *
+     * @return resultado, 0 si el evento no es de un movimiento
+     */
+    public long getResultado() {
+        return resultado;
+    }
+
+    @Override
+    public String toString() {
+        return secuencia + " " + tipo + " " + (pokemon != null ? pokemon.getNombre() : "-") + " " + valor;
+    }
+}
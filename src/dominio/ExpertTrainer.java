@@ -1,19 +1,66 @@
 package dominio;
 
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 /**
  * Clase que implementa un entrenador de IA con inteligencia avanzada
- * Entrenador experto que utiliza estrategias complejas de combate
+ * Entrenador experto que busca la mejor accion con expectimax: prueba sus movimientos,
+ * cambios e items y las respuestas del rival sobre copias de los dos entrenadores,
+ * promediando acierto y fallo segun la precision de cada ataque
+ * La busqueda se hace por profundizacion iterativa y se detiene al agotar el presupuesto
+ * de tiempo del turno, quedandose con la mejor accion de la ultima profundidad completa
+ * Las posiciones ya valoradas se guardan en una TablaTransposicion por su hash Zobrist
  * Hereda de AITrainer e implementa toma de decisiones avanzada
- * 
+ *
  * @author David Patacon
  * @author Daniel Hueso
  * @version 1.0
  */
 public class ExpertTrainer extends AITrainer {
+    /**
+     * Presupuesto de tiempo por decision por defecto, en milisegundos
+     */
+    public static final long PRESUPUESTO_DEFECTO_MS = 250;
+    /**
+     * Profundidad maxima por defecto, en acciones (cada turno de un entrenador es una)
+     */
+    public static final int PROFUNDIDAD_DEFECTO = 8;
+    /**
+     * Profundidad fija que se usa en simulaciones para que la misma semilla repita la batalla
+     */
+    public static final int PROFUNDIDAD_SIMULACION = 2;
+    /**
+     * Entradas de la tabla de transposicion de cada entrenador experto
+     */
+    public static final int ENTRADAS_TABLA = 1 << 15;
+
+    private static final Logger LOGGER = Logger.getLogger(ExpertTrainer.class.getName());
+    private static final double VICTORIA = 1000.0;
+    // Cada cuantos nodos se consulta el reloj
+    private static final int MASCARA_RELOJ = 255;
+
+    private long presupuestoMs = PRESUPUESTO_DEFECTO_MS;
+    private int profundidadMaxima = PROFUNDIDAD_DEFECTO;
+
+    // Estado de la busqueda en curso, no forma parte de la partida guardada
+    private transient Trainer propio;
+    private transient Trainer rival;
+    private transient InstantaneaBatalla[] instantaneas;
+    private transient int[][] acciones;
+    private transient AccionesBatalla.TiradaFija tirada;
+    // Propia de este entrenador y usada solo por su busqueda; se conserva entre decisiones porque
+    // las posiciones de un turno reaparecen en el siguiente
+    private transient TablaTransposicion tabla;
+    private transient long limite;
+    private transient boolean agotado;
+    private transient long nodos;
+    private transient long nanosBusqueda;
+    private transient int profundidadAlcanzada;
 
     /**
      * Constructor del entrenador experto
-     * 
+     *
      * @param nombre Nombre identificativo del entrenador
      * @param color Color representativo del equipo
      */
@@ -23,7 +70,7 @@ public class ExpertTrainer extends AITrainer {
 
     /**
      * Ejecuta un ataque seleccionado contra el oponente
-     * 
+     *
      * @param moveIndex indice del movimiento a usar
      * @param oponente entrenador rival
      * @return mensaje del resultado del ataque
@@ -36,82 +83,301 @@ public class ExpertTrainer extends AITrainer {
         Movimiento movimiento = pokemonActivo.getMovimientos().get(moveIndex);
         if (pokemonActivo.sinPP()) {
             Movimiento forcejeo = new Forcejeo();
-            return forcejeo.ejecutar(pokemonActivo, oponente.getPokemonActivo());
+            return usarMovimiento(forcejeo, oponente);
         } else if (movimiento.esUtilizable()) {
-            return movimiento.ejecutar(pokemonActivo, oponente.getPokemonActivo());
+            return usarMovimiento(movimiento, oponente);
         }
         return "";
     }
-    
+
+    /**
+     * Configura los limites de la busqueda
+     *
+     * @param presupuestoMs Tiempo maximo por decision en milisegundos, 0 para no limitar el tiempo
+     * @param profundidadMaxima Profundidad maxima en acciones, al menos 1
+     */
+    public void configurarBusqueda(long presupuestoMs, int profundidadMaxima) {
+        this.presupuestoMs = Math.max(0, presupuestoMs);
+        this.profundidadMaxima = Math.max(1, profundidadMaxima);
+    }
+
+    /**
+     * Usa la tabla indicada en las busquedas siguientes en lugar de crear una propia
+     * Sirve para reutilizar una tabla ya creada, por ejemplo al medir decisiones sobre copias
+     * del entrenador sin medir tambien la creacion de la tabla
+     *
+     * @param tabla Tabla de transposicion que usara solo este entrenador
+     */
+    public void usarTabla(TablaTransposicion tabla) {
+        this.tabla = tabla;
+    }
+
+    /**
+     * En simulaciones la busqueda se limita por profundidad y no por tiempo,
+     * asi el resultado no depende de la velocidad de la maquina
+     */
+    @Override
+    void prepararSimulacion() {
+        configurarBusqueda(0, PROFUNDIDAD_SIMULACION);
+    }
+
+    /**
+     * Devuelve el tiempo que la busqueda puede usar en cada decision
+     *
+     * @return presupuesto en milisegundos
+     */
+    @Override
+    public long getPresupuestoDecisionMs() {
+        return presupuestoMs;
+    }
+
+    /**
+     * Devuelve la profundidad maxima configurada
+     *
+     * @return profundidad en acciones
+     */
+    public int getProfundidadMaxima() {
+        return profundidadMaxima;
+    }
+
+    /**
+     * Devuelve la ultima profundidad que la busqueda completo en la decision anterior
+     *
+     * @return profundidad alcanzada en acciones
+     */
+    public int getProfundidadAlcanzada() {
+        return profundidadAlcanzada;
+    }
+
+    /**
+     * Devuelve los nodos visitados en la decision anterior
+     *
+     * @return cantidad de nodos
+     */
+    public long getNodos() {
+        return nodos;
+    }
+
+    /**
+     * Devuelve la velocidad de la busqueda en la decision anterior
+     *
+     * @return nodos por segundo
+     */
+    public double getNodosPorSegundo() {
+        return nanosBusqueda == 0 ? 0 : nodos * 1e9 / nanosBusqueda;
+    }
+
     /**
      * Decide la accion de la IA en una batalla PvM
-     * Si el pokemon activo esta muy danado intenta curarse o cambiar
-     * Luego prioriza movimientos ofensivos o que suban ataque o bajen defensa del rival
-     * Si no hay movimientos ofensivos usa el primer ataque utilizable
-     * Si no puede atacar intenta cambiar de pokemon
+     * Busca con expectimax la accion que maximiza el valor esperado del estado
+     * y la ejecuta sobre el entrenador real
      * Si no puede hacer nada pasa turno
-     * 
+     *
      * @param batalla referencia a la batalla PvM
      * @param oponente entrenador rival
      * @return mensaje de la accion realizada
      */
     @Override
     public String decidirAccion(Battle batalla, Trainer oponente) {
-        // 1. Si el pokemon activo esta muy danado intenta curarse o cambiar
-        if (pokemonActivo.getPsActual() < pokemonActivo.getPs() * 0.3) {
-            // Intenta usar objeto de curacion
-            for (int i = 0; i < items.size(); i++) {
-                Item item = items.get(i);
-                if (item instanceof Potion || item instanceof SuperPotion || item instanceof HyperPotion) {
-                    String msg = onItemSelected(i);
-                    batalla.getListener().onMoveUsed(this, msg);
-                    return msg;
+        if (pokemonActivo == null || pokemonActivo.estaDebilitado()) {
+            return "";
+        }
+        int accion = buscarAccion(oponente);
+        if (accion < 0) {
+            return "";
+        }
+        return AccionesBatalla.ejecutar(accion, this, batalla, oponente);
+    }
+
+    /**
+     * Ejecuta la profundizacion iterativa sobre copias de los entrenadores
+     *
+     * @param oponente Entrenador rival real
+     * @return accion codificada o -1 si no hay ninguna
+     */
+    private int buscarAccion(Trainer oponente) {
+        prepararBusqueda(oponente);
+        long inicio = System.nanoTime();
+        limite = presupuestoMs == 0 ? Long.MAX_VALUE : inicio + presupuestoMs * 1_000_000L;
+        agotado = false;
+        nodos = 0;
+        profundidadAlcanzada = 0;
+
+        int[] raiz = acciones[0];
+        int cantidad = AccionesBatalla.generar(propio, rival, raiz);
+        int mejor = cantidad > 0 ? raiz[0] : -1;
+        if (cantidad > 1) {
+            for (int profundidad = 1; profundidad <= profundidadMaxima && !agotado; profundidad++) {
+                int mejorIteracion = -1;
+                double mejorValor = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < cantidad; i++) {
+                    double valor = valorAccion(raiz[i], propio, rival, profundidad, 0, true);
+                    if (agotado) {
+                        break;
+                    }
+                    if (valor > mejorValor) {
+                        mejorValor = valor;
+                        mejorIteracion = i;
+                    }
                 }
-            }
-            // Si hay otro pokemon sano cambia
-            for (int i = 0; i < equipo.size(); i++) {
-                Pokemon p = equipo.get(i);
-                if (!p.estaDebilitado() && p != pokemonActivo) {
-                    String msg = cambiarPokemon(i);
-                    batalla.getListener().onPokemonChanged(this, msg);
-                    return msg;
+                if (agotado && profundidad > 1) {
+                    break;
+                }
+                if (mejorIteracion >= 0) {
+                    mejor = raiz[mejorIteracion];
+                    // La mejor accion se prueba primero en la siguiente iteracion
+                    raiz[mejorIteracion] = raiz[0];
+                    raiz[0] = mejor;
+                }
+                if (!agotado) {
+                    profundidadAlcanzada = profundidad;
                 }
             }
+        } else if (cantidad == 1) {
+            profundidadAlcanzada = 1;
         }
+        nanosBusqueda = System.nanoTime() - inicio;
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(String.format("%s: profundidad %d, %d nodos, %.0f nodos/s, %d aciertos de %d en la tabla",
+                nombre, profundidadAlcanzada, nodos, getNodosPorSegundo(), tabla.getAciertos(), tabla.getConsultas()));
+        }
+        propio = null;
+        rival = null;
+        return mejor;
+    }
 
-        // 2. Busca movimientos ofensivos (que suban ataque o bajen defensa del rival)
-        int mejorMovimiento = -1;
-        for (int i = 0; i < pokemonActivo.getMovimientos().size(); i++) {
-            Movimiento m = pokemonActivo.getMovimientos().get(i);
-            if (m.esUtilizable() && (m instanceof MovimientoEspecial || m instanceof MovimientoFisico)) {
-                mejorMovimiento = i;
-                break;
+    /**
+     * Crea las copias de los entrenadores y los arreglos de trabajo de la busqueda
+     *
+     * @param oponente Entrenador rival real
+     */
+    private void prepararBusqueda(Trainer oponente) {
+        propio = copiar();
+        rival = oponente.copiar();
+        if (tirada == null) {
+            tirada = new AccionesBatalla.TiradaFija();
+        }
+        if (tabla == null) {
+            tabla = new TablaTransposicion(ENTRADAS_TABLA);
+        }
+        propio.setAleatorio(tirada);
+        rival.setAleatorio(tirada);
+        int niveles = profundidadMaxima + 1;
+        if (instantaneas == null || instantaneas.length < niveles) {
+            instantaneas = new InstantaneaBatalla[niveles];
+            acciones = new int[niveles][AccionesBatalla.MAXIMO];
+            for (int i = 0; i < niveles; i++) {
+                instantaneas[i] = new InstantaneaBatalla();
             }
         }
-        // Si encuentra uno lo usa
-        if (mejorMovimiento != -1) { 
-            return onAttackSelected(mejorMovimiento, oponente);
+    }
+
+    /**
+     * Valor esperado de aplicar una accion: promedia acierto y fallo segun la precision
+     *
+     * @param accion Accion codificada
+     * @param actor Entrenador que juega
+     * @param otro Entrenador rival del actor
+     * @param profundidad Acciones que quedan por explorar, incluida esta
+     * @param nivel Nivel de la accion en el arbol
+     * @param turnoPropio true si el actor es el entrenador experto
+     * @return valor esperado desde el punto de vista del entrenador experto
+     */
+    private double valorAccion(int accion, Trainer actor, Trainer otro, int profundidad, int nivel, boolean turnoPropio) {
+        InstantaneaBatalla instantanea = instantaneas[nivel];
+        instantanea.capturar(propio, rival, 1, 0, 0, 0);
+        double probabilidad = AccionesBatalla.probabilidadAcierto(accion, actor);
+
+        tirada.setAcierta(true);
+        AccionesBatalla.aplicar(accion, actor, otro, tirada);
+        double valor = probabilidad * buscar(otro, actor, profundidad - 1, nivel + 1, !turnoPropio);
+        instantanea.restaurar(propio, rival);
+
+        if (probabilidad < 1.0 && !agotado) {
+            tirada.setAcierta(false);
+            AccionesBatalla.aplicar(accion, actor, otro, tirada);
+            valor += (1.0 - probabilidad) * buscar(otro, actor, profundidad - 1, nivel + 1, !turnoPropio);
+            instantanea.restaurar(propio, rival);
         }
+        return valor;
+    }
 
-        // Si no hay movimientos ofensivos usa el primer ataque utilizable
-        for (int i = 0; i < pokemonActivo.getMovimientos().size(); i++) {
-            Movimiento m = pokemonActivo.getMovimientos().get(i);
-            if (m.esUtilizable()) {
-                return onAttackSelected(i, oponente);
+    /**
+     * Nodo de decision: el experto maximiza y el rival minimiza
+     *
+     * @param actor Entrenador que juega en este nodo
+     * @param otro Entrenador rival del actor
+     * @param profundidad Acciones que quedan por explorar
+     * @param nivel Nivel del nodo en el arbol
+     * @param turnoPropio true si el actor es el entrenador experto
+     * @return valor del nodo desde el punto de vista del entrenador experto
+     */
+    private double buscar(Trainer actor, Trainer otro, int profundidad, int nivel, boolean turnoPropio) {
+        if ((++nodos & MASCARA_RELOJ) == 0 && System.nanoTime() > limite) {
+            agotado = true;
+        }
+        if (propio.estaDerrotado()) {
+            return -VICTORIA - profundidad;
+        }
+        if (rival.estaDerrotado()) {
+            return VICTORIA + profundidad;
+        }
+        if (profundidad == 0 || agotado) {
+            return evaluar();
+        }
+        AccionesBatalla.cambioForzado(actor);
+        long clave = Zobrist.hashBatalla(propio, rival, turnoPropio);
+        long dato = tabla.buscar(clave);
+        if (dato != TablaTransposicion.NO_ENCONTRADO && TablaTransposicion.profundidad(dato) >= profundidad) {
+            return TablaTransposicion.valor(dato);
+        }
+        int[] disponibles = acciones[nivel];
+        int cantidad = AccionesBatalla.generar(actor, otro, disponibles);
+        if (cantidad == 0) {
+            return evaluar();
+        }
+        if (dato != TablaTransposicion.NO_ENCONTRADO) {
+            // La mejor accion de una busqueda menos profunda se prueba primero
+            adelantar(disponibles, cantidad, TablaTransposicion.accion(dato));
+        }
+        double mejor = turnoPropio ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        int mejorAccion = -1;
+        for (int i = 0; i < cantidad && !agotado; i++) {
+            double valor = valorAccion(disponibles[i], actor, otro, profundidad, nivel, turnoPropio);
+            if (turnoPropio ? valor > mejor : valor < mejor) {
+                mejor = valor;
+                mejorAccion = disponibles[i];
             }
         }
+        if (!agotado) {
+            tabla.guardar(clave, profundidad, mejor, mejorAccion);
+        }
+        return mejor;
+    }
 
-        // Si no puede atacar intenta cambiar de pokemon
-        for (int i = 0; i < equipo.size(); i++) {
-            Pokemon p = equipo.get(i);
-            if (!p.estaDebilitado() && p != pokemonActivo) {
-                String msg = cambiarPokemon(i);
-                batalla.getListener().onPokemonChanged(this, msg);
-                return msg;
+    /**
+     * Mueve una accion al principio de la lista si esta en ella
+     *
+     * @param disponibles Acciones del nodo
+     * @param cantidad Cantidad de acciones
+     * @param accion Accion a adelantar
+     */
+    private static void adelantar(int[] disponibles, int cantidad, int accion) {
+        for (int i = 1; i < cantidad; i++) {
+            if (disponibles[i] == accion) {
+                disponibles[i] = disponibles[0];
+                disponibles[0] = accion;
+                return;
             }
         }
+    }
 
-        // Si no puede hacer nada pasa turno
-        return "";
+    /**
+     * Evalua el estado: fraccion de PS de cada pokemon vivo mas un bono por seguir en pie
+     *
+     * @return valor del estado desde el punto de vista del entrenador experto
+     */
+    private double evaluar() {
+        return AccionesBatalla.valorEquipo(propio) - AccionesBatalla.valorEquipo(rival);
     }
-}
\ No newline at end of file
+}
@@ -9,8 +9,7 @@ package dominio;
  * @author Daniel Hueso
  * @version 1.0
  */
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
 
 public class Forcejeo extends MovimientoFisico {
     
@@ -28,34 +27,43 @@ public class Forcejeo extends MovimientoFisico {
     }
 
     /**
-     * Ejecuta la logica del movimiento Forcejeo
+     * Aplica la logica del movimiento Forcejeo
      * Calcula daño basado en ataque/defensa y aplica autodaño
      * 
      * @param atacante Pokemon que ejecuta el movimiento
      * @param objetivo Pokemon que recibe el ataque
+     * @param aleatorio Generador de la batalla (no se usa, el movimiento siempre acierta)
+     * @return resultado empaquetado (ver CalculadoraDano)
+     * @throws POOBkemonException Si el daño o el autodaño no son validos
      */
     @Override
-    public String ejecutar(Pokemon atacante, Pokemon objetivo) {
-        Logger logger = Logger.getLogger(Forcejeo.class.getName());
-        String message;
-        try {
-            // Calculo de daño normal
-            int daño = (int)((getPotencia() * (double)atacante.getAtaque() / objetivo.getDefensa()) / 2);
-            objetivo.recibirDaño(daño);
+    long aplicar(Pokemon atacante, Pokemon objetivo, RandomGenerator aleatorio) throws POOBkemonException {
+        // Calculo de daño normal
+        int daño = CalculadoraDano.danoForcejeo(getPotencia(), atacante.getAtaque(), objetivo.getDefensa());
+        objetivo.recibirDaño(daño);
 
-            // El atacante recibe la mitad del daño infligido
-            int autoDaño = daño / 2;
-            atacante.recibirDaño(autoDaño);
+        // El atacante recibe la mitad del daño infligido
+        atacante.recibirDaño(daño / 2);
+        return CalculadoraDano.resultado(CalculadoraDano.ACIERTO, daño, 1.0);
+    }
 
-            message = "Forcejeo causó " + daño + " de daño a " + objetivo.getNombre() +
-                    " y " + autoDaño + " de autodaño a " + atacante.getNombre();
-        } catch (POOBkemonException e) {
-            logger.log(Level.WARNING, "Error al ejecutar Forcejeo: " + e.getMessage(), e);
-            message = "Error al ejecutar Forcejeo: " + e.getMessage();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error inesperado al ejecutar Forcejeo: " + e.getMessage(), e);
-            message = "Error inesperado al ejecutar Forcejeo.";
-        }
-        return message;
-}
+    /**
+     * Construye el mensaje de Forcejeo
+     * 
+     * @param atacante Pokemon que ejecuto el movimiento
+     * @param objetivo Pokemon que recibio el ataque
+     * @param resultado Resultado de aplicar
+     * @return mensaje con el daño y el autodaño
+     */
+    @Override
+    String describir(Pokemon atacante, Pokemon objetivo, long resultado) {
+        int daño = CalculadoraDano.dano(resultado);
+        return "Forcejeo causó " + daño + " de daño a " + objetivo.getNombre() +
+                " y " + daño / 2 + " de autodaño a " + atacante.getNombre();
+    }
+
+    @Override
+    String getDescripcion() {
+        return "Forcejeo";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+package dominio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Guardado automatico de una batalla al terminar cada turno
+ * El estado se copia con PartidaBinaria en el hilo que termina el turno (un par de microsegundos)
+ * y un hilo propio lo escribe en disco. Normalmente solo agrega al final del archivo un registro
+ * con lo que cambio desde la ultima escritura (PS, PP, items, Pokemon activo); cada
+ * COMPACTAR_CADA registros, o cuando los registros ya pesan mas que el estado completo, compacta
+ * escribiendo el estado completo con EscrituraAtomica (un temporal que se sincroniza y se renombra
+ * sobre el destino). Si llegan varios turnos mientras se escribe solo se escribe el ultimo
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class GuardadoAutomatico implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(GuardadoAutomatico.class.getName());
+    /**
+     * Cantidad de registros de cambios despues de la que se vuelve a escribir el estado completo
+     */
+    public static final int COMPACTAR_CADA = 50;
+    // Espera maxima por la ultima escritura despues de cerrar
+    private static final long ESPERA_CIERRE_MS = 5000;
+
+    private final Path destino;
+    private final ExecutorService escritor;
+    // Ultimo estado capturado que aun no se escribio; null si no hay nada pendiente
+    private final AtomicReference<PartidaBinaria.Estado> pendiente = new AtomicReference<>();
+    private final AtomicLong solicitudes = new AtomicLong();
+    private final AtomicLong escrituras = new AtomicLong();
+    private final AtomicLong compactaciones = new AtomicLong();
+    // Solo los usa el hilo de escritura: ultimo estado en disco, null si hay que compactar
+    private PartidaBinaria.Estado escrito;
+    private int registros;
+    private long bytesRegistros;
+    private long bytesCompleto;
+    private volatile IOException ultimoError;
+    private volatile boolean cerrado;
+
+    /**
+     * Crea el guardado automatico con su hilo de escritura
+     *
+     * @param destino Archivo de la partida; el temporal se crea en la misma carpeta
+     */
+    public GuardadoAutomatico(Path destino) {
+        this.destino = destino.toAbsolutePath();
+        this.escritor = Executors.newSingleThreadExecutor(r -> {
+            Thread hilo = new Thread(r, "poobkemon-autoguardado");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Copia el estado de la batalla y programa su escritura sin esperar al disco
+     * Si ya habia un estado pendiente lo reemplaza y no programa otra escritura; si el guardado
+     * se cierra mientras tanto desde otro hilo, el estado se descarta
+     *
+     * @param batalla Batalla a guardar
+     */
+    public void solicitar(Battle batalla) {
+        if (cerrado) {
+            return;
+        }
+        solicitudes.incrementAndGet();
+        if (pendiente.getAndSet(PartidaBinaria.capturar(batalla)) == null) {
+            try {
+                escritor.execute(this::escribirPendiente);
+            } catch (RejectedExecutionException e) {
+                // close se ejecuto despues de revisar cerrado: ya no se aceptan estados
+                pendiente.set(null);
+            }
+        }
+    }
+
+    private void escribirPendiente() {
+        PartidaBinaria.Estado estado = pendiente.getAndSet(null);
+        if (estado == null) {
+            return;
+        }
+        try {
+            if (escrito == null || registros >= COMPACTAR_CADA || bytesRegistros >= bytesCompleto
+                || !agregarCambios(estado)) {
+                compactar(estado);
+            }
+            escrito = estado;
+            escrituras.incrementAndGet();
+        } catch (IOException e) {
+            // Un registro a medio escribir haria ilegibles los siguientes: se vuelve a compactar
+            escrito = null;
+            ultimoError = e;
+            LOGGER.log(Level.WARNING, "No se pudo guardar automaticamente en " + destino, e);
+        }
+    }
+
+    /**
+     * Agrega al final del destino los cambios desde el ultimo estado escrito y actualiza la cabecera
+     *
+     * @return false si los cambios no se pueden expresar como registro
+     */
+    private boolean agregarCambios(PartidaBinaria.Estado estado) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        if (!PartidaBinaria.escribirCambios(escrito, estado, new DataOutputStream(bytes))) {
+            return false;
+        }
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.WRITE)) {
+            canal.position(canal.size());
+            EscrituraAtomica.escribirTodo(canal, bytes.toByteArray());
+            // La cabecera de tamaño fijo se reescribe en su lugar para que el resumen siga al dia
+            canal.position(PartidaBinaria.POSICION_CABECERA);
+            EscrituraAtomica.escribirTodo(canal, ResumenPartida.cabecera(estado));
+            canal.force(false);
+        }
+        registros++;
+        bytesRegistros += bytes.size();
+        return true;
+    }
+
+    /**
+     * Escribe el estado completo en el temporal y lo renombra sobre el destino
+     */
+    private void compactar(PartidaBinaria.Estado estado) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        PartidaBinaria.escribir(estado, new DataOutputStream(bytes));
+        EscrituraAtomica.escribir(destino, bytes.toByteArray());
+        registros = 0;
+        bytesRegistros = 0;
+        bytesCompleto = bytes.size();
+        compactaciones.incrementAndGet();
+    }
+
+    /**
+     * Espera a que se escriba el ultimo estado pendiente
+     * No debe llamarse desde el hilo de la interfaz
+     *
+     * @throws POOBkemonException Si la ultima escritura fallo
+     */
+    public void esperar() throws POOBkemonException {
+        try {
+            if (!cerrado) {
+                try {
+                    escritor.submit(() -> { }).get();
+                } catch (RejectedExecutionException e) {
+                    // Se cerro mientras tanto: se espera como si ya estuviera cerrado
+                }
+            }
+            if (cerrado && !escritor.awaitTermination(ESPERA_CIERRE_MS, TimeUnit.MILLISECONDS)) {
+                LOGGER.warning("El guardado automatico no termino de escribir " + destino);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new POOBkemonException(POOBkemonException.ERROR_GUARDAR, e);
+        }
+        if (ultimoError != null) {
+            throw new POOBkemonException(POOBkemonException.ERROR_GUARDAR, ultimoError);
+        }
+    }
+
+    /**
+     * Deja de aceptar estados; lo pendiente se sigue escribiendo en el hilo de escritura,
+     * asi que cerrar tampoco espera al disco
+     */
+    @Override
+    public void close() {
+        cerrado = true;
+        escritor.shutdown();
+    }
+
+    /**
+     * @return archivo donde se guarda la partida
+     */
+    public Path getDestino() {
+        return destino;
+    }
+
+    /**
+     * @return cantidad de estados capturados
+     */
+    public long getSolicitudes() {
+        return solicitudes.get();
+    }
+
+    /**
+     * @return cantidad de escrituras a disco; es menor que las solicitudes si se agruparon turnos
+     */
+    public long getEscrituras() {
+        return escrituras.get();
+    }
+
+    /**
+     * @return cantidad de escrituras del estado completo; el resto fueron registros de cambios
+     */
+    public long getCompactaciones() {
+        return compactaciones.get();
+    }
+}
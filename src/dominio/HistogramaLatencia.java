@@ -0,0 +1,129 @@
+package dominio;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias sin bloqueos, con cubetas logaritmicas como los histogramas HDR
+ * Cada potencia de dos se divide en SUBCUBETAS cubetas iguales, asi cualquier valor se guarda
+ * con un error relativo menor a 1/SUBCUBETAS (12,5%) usando un arreglo fijo de contadores,
+ * sin importar si mide nanosegundos o minutos. Registrar es un par de sumas atomicas, por lo
+ * que varios hilos (turnos, IA, simulaciones en paralelo) pueden registrar a la vez
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class HistogramaLatencia {
+    /**
+     * Cubetas en que se divide cada potencia de dos
+     */
+    public static final int SUBCUBETAS = 8;
+    private static final int BITS_SUBCUBETA = 3;
+    private static final int CUBETAS = 64 * SUBCUBETAS;
+
+    private final String nombre;
+    private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+    private final LongAdder cantidad = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Crea un histograma vacio
+     *
+     * @param nombre Nombre con que se exporta
+     */
+    public HistogramaLatencia(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Registra una medicion
+     *
+     * @param nanos Duracion en nanosegundos; los valores negativos se registran como 0
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cubetas.incrementAndGet(cubeta(valor));
+        cantidad.increment();
+        suma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    /**
+     * Devuelve la cubeta de un valor: los valores menores a SUBCUBETAS tienen cubeta propia
+     * y el resto se ubica por su bit mas alto y los BITS_SUBCUBETA bits siguientes
+     */
+    static int cubeta(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int desplazamiento = 63 - Long.numberOfLeadingZeros(valor) - BITS_SUBCUBETA;
+        int sub = (int) (valor >>> desplazamiento) & (SUBCUBETAS - 1);
+        return (desplazamiento + 1) * SUBCUBETAS + sub;
+    }
+
+    /**
+     * Devuelve el mayor valor que cae en una cubeta
+     */
+    static long limiteSuperior(int cubeta) {
+        if (cubeta < SUBCUBETAS) {
+            return cubeta;
+        }
+        int desplazamiento = cubeta / SUBCUBETAS - 1;
+        long inferior = (long) (SUBCUBETAS + cubeta % SUBCUBETAS) << desplazamiento;
+        return inferior + (1L << desplazamiento) - 1;
+    }
+
+    /**
+     * Devuelve el percentil pedido con la precision de las cubetas
+     * Mientras otros hilos registran el resultado puede no incluir las ultimas mediciones
+     *
+     * @param percentil Percentil entre 0 y 100
+     * @return limite superior de la cubeta del percentil en nanosegundos, sin pasar el maximo; 0 si no hay mediciones
+     */
+    public long percentil(double percentil) {
+        long total = 0;
+        long[] conteos = new long[CUBETAS];
+        for (int i = 0; i < CUBETAS; i++) {
+            conteos[i] = cubetas.get(i);
+            total += conteos[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentil)) / 100));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), getMaximo());
+            }
+        }
+        return getMaximo();
+    }
+
+    /**
+     * @return nombre del histograma
+     */
+    public String getNombre() { return nombre; }
+
+    /**
+     * @return cantidad de mediciones registradas
+     */
+    public long getCantidad() { return cantidad.sum(); }
+
+    /**
+     * @return mayor medicion en nanosegundos
+     */
+    public long getMaximo() { return maximo.get(); }
+
+    /**
+     * @return promedio de las mediciones en nanosegundos, 0 si no hay mediciones
+     */
+    public double getPromedio() {
+        long n = cantidad.sum();
+        return n == 0 ? 0 : (double) suma.sum() / n;
+    }
+}
@@ -38,10 +38,10 @@ public class HumanTrainer extends Trainer {
         String message;
         if (pokemonActivo.sinPP()) {
             Movimiento forcejeo = new Forcejeo();
-            message = forcejeo.ejecutar(pokemonActivo, oponente.getPokemonActivo());
+            message = usarMovimiento(forcejeo, oponente);
             return message;
         } else if (movimiento.esUtilizable()) {
-            message = movimiento.ejecutar(pokemonActivo, oponente.getPokemonActivo());
+            message = usarMovimiento(movimiento, oponente);
             return message;
         }
         if (listener != null) {
@@ -59,9 +59,7 @@ public class HumanTrainer extends Trainer {
     @Override
     public String onItemSelected(int itemIndex) {
         if (itemIndex >= 0 && itemIndex < items.size()) {
-            Item item = items.get(itemIndex);
-            String message = item.usarEn(pokemonActivo);
-            items.remove(itemIndex);
+            String message = usarItem(itemIndex);
             if (listener != null) {
                 listener.onActionPerformed();
             }
@@ -89,7 +87,9 @@ public class HumanTrainer extends Trainer {
                 return "El pokemon seleccionado ya esta en combate";
             }
             String message = nombre + " ha cambiado a " + nuevoActivo.getNombre();
+            Pokemon anterior = pokemonActivo;
             pokemonActivo = nuevoActivo;
+            publicarCambio(anterior, indicePokemon);
             if (listener != null) {
                 listener.onActionPerformed();
             }
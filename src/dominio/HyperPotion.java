@@ -11,6 +11,7 @@ import java.util.logging.Logger;
  * @version 1.0
  */
 public class HyperPotion extends Item {
+    private static final Logger LOGGER = Logger.getLogger(HyperPotion.class.getName());
     private static final int CURA_PS = 200;
 
     /**
@@ -30,7 +31,6 @@ public class HyperPotion extends Item {
 
     @Override
     public String usarEn(Pokemon objetivo) {
-        Logger logger = Logger.getLogger(HyperPotion.class.getName());
         try {
             if (!objetivo.estaDebilitado()) {
                 objetivo.restaurarPS(CURA_PS);
@@ -39,10 +39,10 @@ public class HyperPotion extends Item {
                 return "No puedes usar HyperPotion en un Pokemon debilitado.";
             }
         } catch (POOBkemonException e) {
-            logger.log(Level.WARNING, "Error al usar HyperPotion: " + e.getMessage(), e);
+            LOGGER.log(Level.WARNING, "Error al usar HyperPotion: " + e.getMessage(), e);
             return "Error al usar HyperPotion: " + e.getMessage();
         } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error inesperado al usar HyperPotion: " + e.getMessage(), e);
+            LOGGER.log(Level.SEVERE, "Error inesperado al usar HyperPotion: " + e.getMessage(), e);
             return "Error inesperado al usar HyperPotion.";
         }
     }
@@ -0,0 +1,179 @@
+package dominio;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Indice de las partidas guardadas en una carpeta
+ * Guarda, por cada archivo .pokemon, su tamaño, su fecha de modificacion y su cabecera de resumen,
+ * asi listar cientos de partidas lee un solo archivo: solo se vuelve a leer la cabecera de las
+ * partidas nuevas o modificadas desde la ultima vez, y el indice se reescribe si algo cambio
+ *
+ * Formato: magia "PKLS", version, cantidad y por partida nombre, tamaño, fecha y cabecera (si tiene)
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class IndicePartidas {
+    /**
+     * Nombre del archivo de indice dentro de la carpeta de partidas
+     */
+    public static final String ARCHIVO = "partidas.idx";
+    /**
+     * Extension de las partidas guardadas
+     */
+    public static final String EXTENSION = ".pokemon";
+    private static final int MAGIA = 0x504B4C53;
+    private static final int VERSION = 1;
+    private static final Logger LOGGER = Logger.getLogger(IndicePartidas.class.getName());
+
+    private IndicePartidas() {
+    }
+
+    /**
+     * Datos de una partida en el indice
+     */
+    private static final class Entrada {
+        final long tamano;
+        final long modificado;
+        // Cabecera de la partida, o null si es de un formato sin cabecera
+        final byte[] cabecera;
+
+        Entrada(long tamano, long modificado, byte[] cabecera) {
+            this.tamano = tamano;
+            this.modificado = modificado;
+            this.cabecera = cabecera;
+        }
+    }
+
+    /**
+     * Lista las partidas de una carpeta con su resumen, actualizando el indice
+     * Las partidas sin cabecera (guardadas con un formato anterior) no aparecen
+     *
+     * @param carpeta Carpeta de las partidas
+     * @return resumenes ordenados de la partida mas reciente a la mas antigua
+     * @throws POOBkemonException Si no se puede leer la carpeta
+     */
+    public static List<ResumenPartida> listar(Path carpeta) throws POOBkemonException {
+        Path archivoIndice = carpeta.resolve(ARCHIVO);
+        Map<String, Entrada> anteriores = leerIndice(archivoIndice);
+        Map<String, Entrada> actuales = new HashMap<>();
+        boolean cambiado = false;
+        try (DirectoryStream<Path> partidas = Files.newDirectoryStream(carpeta, "*" + EXTENSION)) {
+            for (Path partida : partidas) {
+                BasicFileAttributes atributos;
+                try {
+                    atributos = Files.readAttributes(partida, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    // Se borro mientras se listaba la carpeta
+                    continue;
+                }
+                String nombre = partida.getFileName().toString();
+                long modificado = atributos.lastModifiedTime().toMillis();
+                Entrada entrada = anteriores.get(nombre);
+                if (entrada == null || entrada.tamano != atributos.size() || entrada.modificado != modificado) {
+                    entrada = new Entrada(atributos.size(), modificado, leerCabecera(partida));
+                    cambiado = true;
+                }
+                actuales.put(nombre, entrada);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "No se pudo listar la carpeta de partidas " + carpeta, e);
+            throw new POOBkemonException(POOBkemonException.ERROR_LISTAR_PARTIDAS, e);
+        }
+        if (cambiado || actuales.size() != anteriores.size()) {
+            escribirIndice(archivoIndice, actuales);
+        }
+
+        List<ResumenPartida> resumenes = new ArrayList<>(actuales.size());
+        for (Map.Entry<String, Entrada> entrada : actuales.entrySet()) {
+            if (entrada.getValue().cabecera != null) {
+                resumenes.add(ResumenPartida.desdeCabecera(carpeta.resolve(entrada.getKey()), entrada.getValue().cabecera));
+            }
+        }
+        resumenes.sort(Comparator.comparingLong(ResumenPartida::getFecha).reversed());
+        return resumenes;
+    }
+
+    private static byte[] leerCabecera(Path partida) {
+        try {
+            return ResumenPartida.leerCabecera(partida);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "No se pudo leer la cabecera de " + partida, e);
+            return null;
+        }
+    }
+
+    /**
+     * Lee el indice; si no existe o no es valido devuelve un indice vacio para reconstruirlo
+     */
+    private static Map<String, Entrada> leerIndice(Path archivo) {
+        Map<String, Entrada> entradas = new HashMap<>();
+        if (!Files.exists(archivo)) {
+            return entradas;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo)))) {
+            if (in.readInt() != MAGIA || in.readUnsignedShort() != VERSION) {
+                return entradas;
+            }
+            int cantidad = in.readInt();
+            for (int i = 0; i < cantidad; i++) {
+                String nombre = in.readUTF();
+                long tamano = in.readLong();
+                long modificado = in.readLong();
+                byte[] cabecera = null;
+                if (in.readBoolean()) {
+                    cabecera = new byte[PartidaBinaria.TAMANO_CABECERA];
+                    in.readFully(cabecera);
+                }
+                entradas.put(nombre, new Entrada(tamano, modificado, cabecera));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.INFO, "Indice de partidas no valido, se reconstruye: " + archivo, e);
+            entradas.clear();
+        }
+        return entradas;
+    }
+
+    /**
+     * Escribe el indice con EscrituraAtomica; si la carpeta no se puede escribir solo se registra
+     */
+    private static void escribirIndice(Path archivo, Map<String, Entrada> entradas) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIA);
+            out.writeShort(VERSION);
+            out.writeInt(entradas.size());
+            for (Map.Entry<String, Entrada> e : entradas.entrySet()) {
+                Entrada entrada = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(entrada.tamano);
+                out.writeLong(entrada.modificado);
+                out.writeBoolean(entrada.cabecera != null);
+                if (entrada.cabecera != null) {
+                    out.write(entrada.cabecera);
+                }
+            }
+            EscrituraAtomica.escribir(archivo, bytes.toByteArray());
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "No se pudo escribir el indice de partidas " + archivo, e);
+        }
+    }
+}
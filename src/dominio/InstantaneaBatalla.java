@@ -0,0 +1,157 @@
+package dominio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Copia compacta del estado de una batalla entre dos entrenadores
+ * Guarda en un arreglo plano de enteros el Pokemon activo de cada entrenador y el estado de
+ * batalla y los PP de cada Pokemon; los items se guardan como referencias porque no cambian
+ * al usarse, solo se quitan de la lista. Sirve para que la IA pruebe jugadas hipoteticas y
+ * vuelva al estado anterior sin serializar la batalla. Una misma instancia se puede reutilizar
+ * para capturar muchas veces sin crear objetos nuevos
+ *
+ * El generador aleatorio de la batalla no forma parte de la instantanea
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class InstantaneaBatalla {
+    private static final int TURNO = 0;
+    private static final int TURNOS = 1;
+    private static final int DANO1 = 2;
+    private static final int DANO2 = 3;
+    private static final int CABECERA = 4;
+
+    private int[] datos = new int[256];
+    private Item[] items = new Item[16];
+    private int longitud;
+    private int cantidadItems;
+    // Posiciones de lectura durante restaurar
+    private int cursorDatos;
+    private int cursorItems;
+
+    /**
+     * Guarda el estado de los dos entrenadores y los contadores de la batalla
+     *
+     * @param entrenador1 Primer entrenador
+     * @param entrenador2 Segundo entrenador
+     * @param turno 1 o 2 segun a quien le toca jugar
+     * @param turnos Turnos jugados
+     * @param dano1 Daño causado por el entrenador 1
+     * @param dano2 Daño causado por el entrenador 2
+     */
+    void capturar(Trainer entrenador1, Trainer entrenador2, int turno, int turnos, long dano1, long dano2) {
+        longitud = CABECERA;
+        cantidadItems = 0;
+        datos[TURNO] = turno;
+        datos[TURNOS] = turnos;
+        datos[DANO1] = (int) dano1;
+        datos[DANO2] = (int) dano2;
+        capturar(entrenador1);
+        capturar(entrenador2);
+    }
+
+    /**
+     * Agrega al arreglo el estado de un entrenador
+     *
+     * @param entrenador Entrenador a guardar
+     */
+    private void capturar(Trainer entrenador) {
+        List<Pokemon> equipo = entrenador.equipo;
+        asegurarEspacio(3);
+        datos[longitud++] = equipo.indexOf(entrenador.pokemonActivo);
+        datos[longitud++] = equipo.size();
+        datos[longitud++] = entrenador.items.size();
+        for (Item item : entrenador.items) {
+            if (cantidadItems == items.length) {
+                items = Arrays.copyOf(items, items.length * 2);
+            }
+            items[cantidadItems++] = item;
+        }
+        for (Pokemon p : equipo) {
+            asegurarEspacio(Pokemon.TAMANO_ESTADO + 1 + p.getMovimientos().size());
+            longitud = p.guardarEstado(datos, longitud);
+        }
+    }
+
+    /**
+     * Devuelve los dos entrenadores al estado guardado
+     * Los entrenadores deben ser los mismos (o copias de los mismos) que se capturaron
+     *
+     * @param entrenador1 Primer entrenador
+     * @param entrenador2 Segundo entrenador
+     */
+    void restaurar(Trainer entrenador1, Trainer entrenador2) {
+        cursorDatos = CABECERA;
+        cursorItems = 0;
+        restaurar(entrenador1);
+        restaurar(entrenador2);
+    }
+
+    /**
+     * Restaura un entrenador desde la posicion de lectura actual y la avanza
+     *
+     * @param entrenador Entrenador a restaurar
+     */
+    private void restaurar(Trainer entrenador) {
+        int pos = cursorDatos;
+        int activo = datos[pos++];
+        int tamanoEquipo = datos[pos++];
+        int itemsGuardados = datos[pos++];
+        ArrayList<Item> lista = entrenador.items;
+        lista.clear();
+        for (int i = 0; i < itemsGuardados; i++) {
+            lista.add(items[cursorItems++]);
+        }
+        List<Pokemon> equipo = entrenador.equipo;
+        for (int i = 0; i < tamanoEquipo; i++) {
+            pos = equipo.get(i).cargarEstado(datos, pos);
+        }
+        entrenador.pokemonActivo = activo < 0 ? null : equipo.get(activo);
+        cursorDatos = pos;
+    }
+
+    /**
+     * Amplia el arreglo si no quedan al menos la cantidad de enteros indicada
+     *
+     * @param enteros Enteros que se van a escribir
+     */
+    private void asegurarEspacio(int enteros) {
+        if (longitud + enteros > datos.length) {
+            datos = Arrays.copyOf(datos, Math.max(datos.length * 2, longitud + enteros));
+        }
+    }
+
+    /**
+     * Devuelve a quien le toca jugar en el estado guardado
+     * @return 1 o 2
+     */
+    public int getTurno() { return datos[TURNO]; }
+
+    /**
+     * Devuelve los turnos jugados en el estado guardado
+     * @return turnos
+     */
+    public int getTurnos() { return datos[TURNOS]; }
+
+    /**
+     * Devuelve el daño causado por el entrenador 1 en el estado guardado
+     * @return daño
+     */
+    public long getDano1() { return datos[DANO1]; }
+
+    /**
+     * Devuelve el daño causado por el entrenador 2 en el estado guardado
+     * @return daño
+     */
+    public long getDano2() { return datos[DANO2]; }
+
+    /**
+     * Devuelve cuantos bytes ocupa el estado guardado (enteros mas referencias a items)
+     * @return tamaño en bytes
+     */
+    public int getTamanoBytes() { return longitud * Integer.BYTES + cantidadItems * Integer.BYTES; }
+}
@@ -0,0 +1,554 @@
+package dominio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lector de las repeticiones grabadas por DiarioRepeticion
+ * Recorre las acciones en orden, salta a cualquier turno usando el indice de puntos de control
+ * y aplica cada accion sobre dos entrenadores reconstruidos desde la cabecera, repitiendo la
+ * batalla exactamente: las tiradas de precision no se vuelven a sortear sino que se toman
+ * del registro, y los PS resultantes se comparan con los grabados
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class LectorRepeticion implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(LectorRepeticion.class.getName());
+
+    private final Path ruta;
+    private final FileChannel canal;
+    private final ByteBuffer buffer = ByteBuffer.allocate(DiarioRepeticion.TAMANO_BUFFER);
+    private final String[] nombres = new String[2];
+    private final List<List<String>> equipos = new ArrayList<>(2);
+    private final List<List<String>> items = new ArrayList<>(2);
+    private final AccionesBatalla.TiradaFija tirada = new AccionesBatalla.TiradaFija();
+    private final Forcejeo forcejeo = new Forcejeo();
+    private int[] estado = new int[128];
+    private int[] turnosIndice = new int[16];
+    private long[] posicionesIndice = new long[16];
+    private int puntosIndice;
+    private boolean indiceCompleto;
+    // Posicion en el archivo del siguiente byte sin leer y fin de los registros
+    private long posicion;
+    private long finDatos;
+    private int ultimoTurno = -1;
+    private int desincronizaciones;
+
+    private LectorRepeticion(Path ruta, FileChannel canal) {
+        this.ruta = ruta;
+        this.canal = canal;
+    }
+
+    /**
+     * Abre una repeticion, lee su cabecera y su indice
+     * Si el archivo no tiene indice (la batalla no cerro el diario) lo reconstruye recorriendolo
+     *
+     * @param ruta Archivo de la repeticion
+     * @return lector posicionado en la primera accion
+     * @throws POOBkemonException Si el archivo no existe o no es una repeticion
+     */
+    public static LectorRepeticion abrir(Path ruta) throws POOBkemonException {
+        FileChannel canal;
+        try {
+            canal = FileChannel.open(ruta, StandardOpenOption.READ);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "No se pudo abrir la repeticion " + ruta, e);
+            throw new POOBkemonException(POOBkemonException.ERROR_LEER_REPETICION, e);
+        }
+        LectorRepeticion lector = new LectorRepeticion(ruta, canal);
+        try {
+            lector.leerCabecera();
+            lector.leerIndice();
+            lector.buscarPosicion(lector.posicionesIndice[0]);
+            return lector;
+        } catch (IOException | RuntimeException e) {
+            lector.close();
+            LOGGER.log(Level.WARNING, "Repeticion no valida " + ruta, e);
+            throw new POOBkemonException(String.format(POOBkemonException.ERROR_REPETICION_INVALIDA, ruta), e);
+        }
+    }
+
+    /**
+     * Crea los dos entrenadores de la repeticion con sus equipos e items y el estado
+     * del punto de control inicial
+     *
+     * @return arreglo con el primer y el segundo entrenador
+     * @throws POOBkemonException Si no se puede crear algun Pokemon o leer el estado inicial
+     */
+    public Trainer[] crearEntrenadores() throws POOBkemonException {
+        Trainer[] entrenadores = new Trainer[2];
+        for (int i = 0; i < 2; i++) {
+            entrenadores[i] = new HumanTrainer(nombres[i], i == 0 ? "Rojo" : "Azul");
+            BattleFactory.crearEquipo(entrenadores[i], equipos.get(i));
+            for (String nombre : items.get(i)) {
+                entrenadores[i].agregarItem(BattleFactory.crearItem(nombre));
+            }
+        }
+        long guardada = posicion;
+        buscarTurno(0, entrenadores[0], entrenadores[1]);
+        try {
+            buscarPosicion(guardada);
+        } catch (IOException e) {
+            throw new POOBkemonException(POOBkemonException.ERROR_LEER_REPETICION, e);
+        }
+        return entrenadores;
+    }
+
+    /**
+     * Lee la siguiente accion, saltando los puntos de control
+     *
+     * @param registro Registro a rellenar
+     * @return true si se leyo una accion, false al final de la repeticion
+     * @throws POOBkemonException Si ocurre un error de lectura
+     */
+    public boolean siguiente(RegistroRepeticion registro) throws POOBkemonException {
+        try {
+            while (posicion < finDatos && disponibles(1)) {
+                if (buffer.get(buffer.position()) == DiarioRepeticion.CONTROL) {
+                    if (!saltarControl()) {
+                        return false;
+                    }
+                    continue;
+                }
+                if (!disponibles(DiarioRepeticion.TAMANO_REGISTRO)) {
+                    // Registro cortado al final de un archivo sin cerrar
+                    return false;
+                }
+                leerRegistro(registro);
+                return true;
+            }
+            return false;
+        } catch (IOException e) {
+            throw new POOBkemonException(POOBkemonException.ERROR_LEER_REPETICION, e);
+        }
+    }
+
+    /**
+     * Deja los entrenadores en el estado del comienzo del turno indicado y posiciona el lector
+     * en la primera accion de ese turno
+     * Restaura el ultimo punto de control anterior al turno y aplica solo las acciones que faltan
+     *
+     * @param turno Turno buscado, empezando en 0
+     * @param entrenador1 Primer entrenador, creado con crearEntrenadores
+     * @param entrenador2 Segundo entrenador, creado con crearEntrenadores
+     * @throws POOBkemonException Si ocurre un error de lectura
+     */
+    public void buscarTurno(int turno, Trainer entrenador1, Trainer entrenador2) throws POOBkemonException {
+        int punto = 0;
+        for (int i = 1; i < puntosIndice && turnosIndice[i] < turno; i++) {
+            punto = i;
+        }
+        try {
+            buscarPosicion(posicionesIndice[punto]);
+            if (!disponibles(9) || buffer.get() != DiarioRepeticion.CONTROL) {
+                throw new IOException("Punto de control no encontrado");
+            }
+            buffer.getInt();
+            int enteros = buffer.getInt();
+            posicion += 9;
+            leerEnteros(enteros);
+            int pos = restaurar(entrenador1, 0, 0);
+            restaurar(entrenador2, 1, pos);
+
+            RegistroRepeticion registro = new RegistroRepeticion();
+            while (true) {
+                long inicio = posicion;
+                if (!siguiente(registro)) {
+                    return;
+                }
+                if (registro.getTurno() >= turno) {
+                    buscarPosicion(inicio);
+                    return;
+                }
+                aplicar(registro, entrenador1, entrenador2);
+            }
+        } catch (IOException e) {
+            throw new POOBkemonException(POOBkemonException.ERROR_LEER_REPETICION, e);
+        }
+    }
+
+    /**
+     * Repite una accion sobre los entrenadores con la misma tirada de precision que se grabo
+     * Si los PS resultantes no coinciden con los grabados se cuenta una desincronizacion
+     *
+     * @param registro Accion leida
+     * @param entrenador1 Primer entrenador
+     * @param entrenador2 Segundo entrenador
+     */
+    public void aplicar(RegistroRepeticion registro, Trainer entrenador1, Trainer entrenador2) {
+        aplicar(registro, entrenador1, entrenador2, null);
+    }
+
+    /**
+     * Repite una accion y publica en el canal los mismos eventos que publico la batalla original,
+     * asi un visor de repeticiones muestra los mensajes con el mismo RenderizadorMensajes
+     *
+     * @param registro Accion leida
+     * @param entrenador1 Primer entrenador
+     * @param entrenador2 Segundo entrenador
+     * @param eventos Canal donde publicar, o null para no publicar
+     */
+    public void aplicar(RegistroRepeticion registro, Trainer entrenador1, Trainer entrenador2, CanalEventos eventos) {
+        Trainer actor = registro.getActor() == 1 ? entrenador1 : entrenador2;
+        Trainer rival = registro.getActor() == 1 ? entrenador2 : entrenador1;
+        if (eventos != null) {
+            eventos.setTurno(registro.getTurno());
+        }
+        switch (registro.getAccion()) {
+            case RegistroRepeticion.MOVIMIENTO:
+                List<Movimiento> movimientos = actor.pokemonActivo.getMovimientos();
+                int indice = registro.getIndice();
+                Movimiento movimiento = indice >= 0 && indice < movimientos.size() ? movimientos.get(indice) : forcejeo;
+                tirada.setAcierta(registro.getTirada() != CalculadoraDano.FALLO);
+                Pokemon atacante = actor.pokemonActivo;
+                Pokemon objetivo = rival.pokemonActivo;
+                long resultado = movimiento.aplicarSinMensaje(atacante, objetivo, tirada);
+                if (eventos != null) {
+                    eventos.publicarMovimiento(actor, rival, atacante, objetivo, movimiento, resultado);
+                }
+                break;
+            case RegistroRepeticion.CAMBIO:
+                Pokemon anterior = actor.pokemonActivo;
+                actor.pokemonActivo = actor.equipo.get(registro.getIndice());
+                if (eventos != null) {
+                    eventos.publicarCambio(actor, anterior, actor.pokemonActivo, registro.getIndice());
+                }
+                break;
+            case RegistroRepeticion.ITEM:
+                Pokemon receptor = actor.equipo.get(registro.getObjetivo());
+                int psAntes = receptor.getPsActual();
+                Item item = actor.items.remove(registro.getIndice());
+                item.usarEn(receptor);
+                if (eventos != null) {
+                    eventos.publicarItem(actor, item, registro.getIndice(), receptor, receptor.getPsActual() - psAntes);
+                }
+                break;
+            case RegistroRepeticion.TIEMPO_AGOTADO:
+                for (Movimiento m : actor.pokemonActivo.getMovimientos()) {
+                    m.usar();
+                }
+                if (eventos != null) {
+                    eventos.publicarTiempoAgotado(actor, actor.pokemonActivo);
+                }
+                break;
+            default:
+                break;
+        }
+        if (actor.pokemonActivo.getPsActual() != registro.getPsPropio()
+            || rival.pokemonActivo.getPsActual() != registro.getPsRival()) {
+            desincronizaciones++;
+        }
+    }
+
+    /**
+     * Devuelve el nombre de un entrenador
+     *
+     * @param entrenador 1 o 2
+     * @return nombre grabado
+     */
+    public String getNombre(int entrenador) {
+        return nombres[entrenador - 1];
+    }
+
+    /**
+     * Devuelve los nombres de los Pokemon de un entrenador
+     *
+     * @param entrenador 1 o 2
+     * @return especies del equipo en orden
+     */
+    public List<String> getEquipo(int entrenador) {
+        return equipos.get(entrenador - 1);
+    }
+
+    /**
+     * Devuelve los items con que empezo un entrenador
+     *
+     * @param entrenador 1 o 2
+     * @return nombres de los items en orden
+     */
+    public List<String> getItems(int entrenador) {
+        return items.get(entrenador - 1);
+    }
+
+    /**
+     * Devuelve cuantos puntos de control tiene la repeticion, incluido el inicial
+     *
+     * @return puntos de control
+     */
+    public int getPuntosIndice() {
+        return puntosIndice;
+    }
+
+    /**
+     * Indica si el indice se leyo del archivo; si es false se reconstruyo recorriendolo
+     *
+     * @return true si el diario se cerro correctamente
+     */
+    public boolean tieneIndice() {
+        return indiceCompleto;
+    }
+
+    /**
+     * Devuelve el turno de la ultima accion leida hasta ahora
+     *
+     * @return turno, -1 si no se leyo ninguna
+     */
+    public int getUltimoTurno() {
+        return ultimoTurno;
+    }
+
+    /**
+     * Devuelve cuantas acciones repetidas no dieron los PS grabados
+     *
+     * @return desincronizaciones, 0 si la repeticion es exacta
+     */
+    public int getDesincronizaciones() {
+        return desincronizaciones;
+    }
+
+    /**
+     * Cierra el archivo
+     */
+    @Override
+    public void close() {
+        try {
+            canal.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error al cerrar la repeticion " + ruta, e);
+        }
+    }
+
+    private void leerCabecera() throws IOException {
+        finDatos = canal.size();
+        buscarPosicion(0);
+        if (!disponibles(6) || buffer.getInt() != DiarioRepeticion.MAGIA) {
+            throw new IOException("Magia no valida");
+        }
+        short version = buffer.getShort();
+        posicion += 6;
+        if (version != DiarioRepeticion.VERSION) {
+            throw new IOException("Version no soportada: " + version);
+        }
+        for (int i = 0; i < 2; i++) {
+            nombres[i] = leerTexto();
+            equipos.add(leerLista());
+            items.add(leerLista());
+        }
+        agregarPunto(-1, posicion);
+    }
+
+    private List<String> leerLista() throws IOException {
+        if (!disponibles(1)) {
+            throw new IOException("Cabecera incompleta");
+        }
+        int cantidad = buffer.get() & 0xFF;
+        posicion++;
+        List<String> lista = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            lista.add(leerTexto());
+        }
+        return List.copyOf(lista);
+    }
+
+    private String leerTexto() throws IOException {
+        if (!disponibles(2)) {
+            throw new IOException("Cabecera incompleta");
+        }
+        int longitud = buffer.getShort() & 0xFFFF;
+        if (!disponibles(longitud)) {
+            throw new IOException("Cabecera incompleta");
+        }
+        byte[] bytes = new byte[longitud];
+        buffer.get(bytes);
+        posicion += 2 + longitud;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lee el indice del pie del archivo, o lo reconstruye si el archivo no tiene pie
+     */
+    private void leerIndice() throws IOException {
+        long tamano = canal.size();
+        long inicioDatos = posicionesIndice[0];
+        if (tamano - inicioDatos >= DiarioRepeticion.TAMANO_PIE) {
+            ByteBuffer pie = ByteBuffer.allocate(DiarioRepeticion.TAMANO_PIE);
+            canal.read(pie, tamano - DiarioRepeticion.TAMANO_PIE);
+            pie.flip();
+            long posicionIndice = pie.getLong();
+            int puntos = pie.getInt();
+            if (pie.getInt() == DiarioRepeticion.MAGIA_INDICE && posicionIndice >= inicioDatos
+                && posicionIndice + (long) puntos * DiarioRepeticion.TAMANO_ENTRADA_INDICE
+                   + DiarioRepeticion.TAMANO_PIE == tamano) {
+                ByteBuffer indice = ByteBuffer.allocate(puntos * DiarioRepeticion.TAMANO_ENTRADA_INDICE);
+                canal.read(indice, posicionIndice);
+                indice.flip();
+                puntosIndice = 0;
+                for (int i = 0; i < puntos; i++) {
+                    agregarPunto(indice.getInt(), indice.getLong());
+                }
+                finDatos = posicionIndice;
+                indiceCompleto = true;
+                return;
+            }
+        }
+        reconstruirIndice(inicioDatos);
+    }
+
+    /**
+     * Recorre los registros de un archivo sin pie anotando donde empieza cada punto de control
+     */
+    private void reconstruirIndice(long inicioDatos) throws IOException {
+        puntosIndice = 0;
+        buscarPosicion(inicioDatos);
+        long finValido = inicioDatos;
+        while (disponibles(1)) {
+            long inicio = posicion;
+            if (buffer.get(buffer.position()) == DiarioRepeticion.CONTROL) {
+                if (!disponibles(5)) {
+                    break;
+                }
+                int turno = buffer.getInt(buffer.position() + 1);
+                if (!saltarControl()) {
+                    break;
+                }
+                agregarPunto(turno, inicio);
+            } else {
+                if (!disponibles(DiarioRepeticion.TAMANO_REGISTRO)) {
+                    break;
+                }
+                buffer.position(buffer.position() + DiarioRepeticion.TAMANO_REGISTRO);
+                posicion += DiarioRepeticion.TAMANO_REGISTRO;
+            }
+            finValido = posicion;
+        }
+        if (puntosIndice == 0) {
+            throw new IOException("Falta el punto de control inicial");
+        }
+        finDatos = finValido;
+        indiceCompleto = false;
+    }
+
+    private void agregarPunto(int turno, long inicio) {
+        if (puntosIndice == turnosIndice.length) {
+            turnosIndice = Arrays.copyOf(turnosIndice, puntosIndice * 2);
+            posicionesIndice = Arrays.copyOf(posicionesIndice, puntosIndice * 2);
+        }
+        turnosIndice[puntosIndice] = turno;
+        posicionesIndice[puntosIndice] = inicio;
+        puntosIndice++;
+    }
+
+    private void leerRegistro(RegistroRepeticion registro) {
+        int accion = buffer.get();
+        int actor = buffer.get();
+        int indice = buffer.get();
+        int objetivo = buffer.get() & 0xFF;
+        int estadoTirada = buffer.get();
+        buffer.get();
+        int psPropio = buffer.getShort() & 0xFFFF;
+        int psRival = buffer.getShort() & 0xFFFF;
+        int dano = buffer.getShort() & 0xFFFF;
+        int turno = buffer.getInt();
+        posicion += DiarioRepeticion.TAMANO_REGISTRO;
+        ultimoTurno = Math.max(ultimoTurno, turno);
+        registro.llenar(turno, actor, accion, indice, objetivo, estadoTirada, psPropio, psRival, dano);
+    }
+
+    /**
+     * Avanza sobre un punto de control sin leer su contenido
+     *
+     * @return false si el punto de control esta cortado
+     */
+    private boolean saltarControl() throws IOException {
+        if (!disponibles(9)) {
+            return false;
+        }
+        buffer.get();
+        buffer.getInt();
+        long bytes = 4L * buffer.getInt();
+        posicion += 9;
+        while (bytes > 0) {
+            if (!disponibles(1)) {
+                return false;
+            }
+            int salto = (int) Math.min(bytes, buffer.remaining());
+            buffer.position(buffer.position() + salto);
+            posicion += salto;
+            bytes -= salto;
+        }
+        return true;
+    }
+
+    private void leerEnteros(int enteros) throws IOException {
+        if (enteros > estado.length) {
+            estado = new int[enteros];
+        }
+        for (int i = 0; i < enteros; i++) {
+            if (!disponibles(4)) {
+                throw new IOException("Punto de control incompleto");
+            }
+            estado[i] = buffer.getInt();
+        }
+        posicion += 4L * enteros;
+    }
+
+    /**
+     * Restaura un entrenador desde el punto de control leido
+     *
+     * @return posicion siguiente en el arreglo de estado
+     */
+    private int restaurar(Trainer entrenador, int numero, int pos) {
+        int activo = estado[pos++];
+        int tamano = estado[pos++];
+        long quedan = (estado[pos++] & 0xFFFFFFFFL) | ((long) estado[pos++] << 32);
+        List<String> iniciales = items.get(numero);
+        entrenador.items.clear();
+        for (int i = 0; i < iniciales.size() && i < Long.SIZE; i++) {
+            if ((quedan & (1L << i)) != 0) {
+                entrenador.items.add(BattleFactory.crearItem(iniciales.get(i)));
+            }
+        }
+        for (int i = 0; i < tamano; i++) {
+            pos = entrenador.equipo.get(i).cargarEstado(estado, pos);
+        }
+        entrenador.pokemonActivo = activo < 0 ? null : entrenador.equipo.get(activo);
+        return pos;
+    }
+
+    private void buscarPosicion(long nueva) throws IOException {
+        canal.position(nueva);
+        buffer.clear().flip();
+        posicion = nueva;
+    }
+
+    /**
+     * Garantiza que el buffer tenga al menos los bytes indicados sin pasar del fin de los datos
+     *
+     * @return false si el archivo termina antes
+     */
+    private boolean disponibles(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return posicion + bytes <= finDatos;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (canal.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes && posicion + bytes <= finDatos;
+    }
+}
@@ -0,0 +1,238 @@
+package dominio;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Manejador de java.util.logging que no bloquea a quien registra
+ * publish deja el registro en un buffer circular acotado y vuelve; un hilo propio lo escribe en el
+ * manejador de destino. Si el buffer se llena (una avalancha de errores) los registros nuevos se
+ * descartan y se cuentan, y el hilo deja constancia de cuantos se perdieron, asi ni el hilo del
+ * turno ni el de la interfaz esperan nunca al disco
+ *
+ * El hilo y el manejador de destino se crean con el primer registro: cargar la clase que instala
+ * el manejador no abre ningun archivo
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class ManejadorLogAsincrono extends Handler {
+    /**
+     * Registros que caben en el buffer cuando no se indica otra capacidad
+     */
+    public static final int CAPACIDAD_DEFECTO = 1024;
+    // Espera maxima por los registros pendientes al vaciar o cerrar
+    private static final long ESPERA_MS = 5000;
+
+    private final Supplier<Handler> fabrica;
+    private final ArrayBlockingQueue<LogRecord> buffer;
+    private final AtomicLong encolados = new AtomicLong();
+    private final AtomicLong escritos = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    // Descartes que aun no se informaron en el destino
+    private final AtomicLong descartesPendientes = new AtomicLong();
+    // Se lee sin bloquear en publish; solo se asigna una vez, en iniciarEscritor
+    private volatile Thread escritor;
+    // Solo lo usa quien escribe (el hilo propio o close despues de detenerlo)
+    private Handler destino;
+    private boolean destinoFallido;
+    private volatile boolean cerrado;
+
+    /**
+     * Crea un manejador que escribe en un archivo, con el formato de SimpleFormatter
+     * El archivo se abre (en modo agregar) al escribir el primer registro
+     *
+     * @param archivo Patron del archivo de log, como en FileHandler
+     * @return manejador asincrono
+     */
+    public static ManejadorLogAsincrono deArchivo(String archivo) {
+        return new ManejadorLogAsincrono(() -> {
+            try {
+                FileHandler manejador = new FileHandler(archivo, true);
+                manejador.setFormatter(new SimpleFormatter());
+                return manejador;
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo abrir el log " + archivo + ": " + e.getMessage(), e);
+            }
+        }, CAPACIDAD_DEFECTO);
+    }
+
+    /**
+     * Crea el manejador sin crear todavia su hilo ni su destino
+     *
+     * @param fabrica Crea el manejador de destino la primera vez que hay algo que escribir
+     * @param capacidad Registros que caben en el buffer, al menos 1
+     */
+    public ManejadorLogAsincrono(Supplier<Handler> fabrica, int capacidad) {
+        this.fabrica = fabrica;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacidad));
+    }
+
+    /**
+     * Deja el registro en el buffer sin esperar; si esta lleno lo descarta
+     * La clase y el metodo de origen se resuelven aqui porque el hilo de escritura ya no los conoce
+     *
+     * @param registro Registro a escribir
+     */
+    @Override
+    public void publish(LogRecord registro) {
+        if (cerrado || !isLoggable(registro)) {
+            return;
+        }
+        registro.getSourceClassName();
+        if (escritor == null) {
+            iniciarEscritor();
+        }
+        if (buffer.offer(registro)) {
+            encolados.incrementAndGet();
+        } else {
+            descartados.incrementAndGet();
+            descartesPendientes.incrementAndGet();
+        }
+    }
+
+    private synchronized void iniciarEscritor() {
+        if (escritor == null && !cerrado) {
+            escritor = new Thread(this::escribirPendientes, "poobkemon-log");
+            escritor.setDaemon(true);
+            escritor.start();
+        }
+    }
+
+    private void escribirPendientes() {
+        try {
+            while (!cerrado) {
+                LogRecord registro = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (registro != null) {
+                    escribir(registro);
+                } else {
+                    vaciarDestino();
+                }
+            }
+        } catch (InterruptedException e) {
+            // close detiene el hilo y escribe lo que quede
+        }
+    }
+
+    // Sin registros nuevos lleva al disco lo que el destino tenga en memoria
+    private synchronized void vaciarDestino() {
+        if (destino != null) {
+            destino.flush();
+        }
+    }
+
+    private synchronized void escribir(LogRecord registro) {
+        informarDescartes();
+        Handler manejador = destino();
+        if (manejador != null) {
+            manejador.publish(registro);
+        }
+        escritos.incrementAndGet();
+    }
+
+    private void informarDescartes() {
+        long perdidos = descartesPendientes.getAndSet(0);
+        Handler manejador = perdidos > 0 ? destino() : null;
+        if (manejador != null) {
+            LogRecord aviso = new LogRecord(Level.WARNING,
+                "Se descartaron " + perdidos + " registros de log por tener el buffer lleno");
+            aviso.setLoggerName(ManejadorLogAsincrono.class.getName());
+            manejador.publish(aviso);
+        }
+    }
+
+    private Handler destino() {
+        if (destino == null && !destinoFallido) {
+            try {
+                destino = fabrica.get();
+                destino.setLevel(Level.ALL);
+            } catch (RuntimeException e) {
+                // Sin destino los registros se descartan; se avisa una sola vez
+                destinoFallido = true;
+                System.err.println(e.getMessage());
+            }
+        }
+        return destino;
+    }
+
+    /**
+     * Espera a que se escriba todo lo que estaba en el buffer y vacia el destino
+     * Es la unica operacion que espera; publish nunca la llama
+     */
+    @Override
+    public void flush() {
+        long objetivo = encolados.get();
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ESPERA_MS);
+        while (escritos.get() < objetivo && !cerrado && System.nanoTime() < limite) {
+            LockSupport.parkNanos(100_000);
+        }
+        synchronized (this) {
+            informarDescartes();
+            if (destino != null) {
+                destino.flush();
+            }
+        }
+    }
+
+    /**
+     * Deja de aceptar registros, escribe los pendientes y cierra el destino
+     */
+    @Override
+    public void close() {
+        Thread hilo;
+        synchronized (this) {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            hilo = escritor;
+        }
+        if (hilo != null) {
+            hilo.interrupt();
+            try {
+                hilo.join(ESPERA_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            LogRecord registro;
+            while ((registro = buffer.poll()) != null) {
+                escribir(registro);
+            }
+            informarDescartes();
+            if (destino != null) {
+                destino.close();
+            }
+        }
+    }
+
+    /**
+     * Indica si ya se creo el destino (por ejemplo, si ya se abrio el archivo)
+     *
+     * @return true si el destino existe
+     */
+    public synchronized boolean isDestinoAbierto() {
+        return destino != null;
+    }
+
+    /**
+     * @return registros descartados por tener el buffer lleno
+     */
+    public long getDescartados() { return descartados.get(); }
+
+    /**
+     * @return registros escritos en el destino
+     */
+    public long getEscritos() { return escritos.get(); }
+}
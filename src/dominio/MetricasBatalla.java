@@ -0,0 +1,260 @@
+package dominio;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registro de metricas de las batallas: contadores y histogramas de latencia sin bloqueos
+ * Battle cuenta los turnos y los tiempos agotados y mide la duracion de cada turno y de cada
+ * movimiento elegido; AITrainer mide decidirAccion por tipo de IA; y el escucha de eventos cuenta
+ * las acciones de todos los entrenadores por tipo. Los valores se pueden exportar como texto o
+ * JSON a un archivo, una vez o periodicamente desde el PlanificadorBatallas
+ *
+ * Si se define la propiedad del sistema poobkemon.metricas con un archivo, al iniciar una batalla
+ * se vuelca cada poobkemon.metricas.periodo segundos (10 por defecto) y al cerrar el programa;
+ * los archivos terminados en .json se escriben en JSON y el resto como texto
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class MetricasBatalla {
+    /**
+     * Propiedad del sistema con el archivo donde volcar las metricas
+     */
+    public static final String PROPIEDAD_METRICAS = "poobkemon.metricas";
+    /**
+     * Propiedad del sistema con los segundos entre volcados
+     */
+    public static final String PROPIEDAD_PERIODO = "poobkemon.metricas.periodo";
+    /**
+     * Segundos entre volcados cuando no se indica otro periodo
+     */
+    public static final long PERIODO_DEFECTO_S = 10;
+    /**
+     * Turnos que empezaron esperando una accion
+     */
+    public static final String TURNOS_INICIADOS = "turnos.iniciados";
+    /**
+     * Turnos terminados
+     */
+    public static final String TURNOS_FINALIZADOS = "turnos.finalizados";
+    /**
+     * Turnos terminados porque se agoto el tiempo
+     */
+    public static final String TIEMPOS_AGOTADOS = "turnos.tiempoAgotado";
+    /**
+     * Duracion de un turno en tiempo real, desde que empieza a esperar la accion hasta que termina
+     * En los turnos de la maquina incluye la espera fija antes de su accion; el tiempo de la
+     * decision se mide aparte, en los histogramas con PREFIJO_DECISION
+     */
+    public static final String DURACION_TURNO = "turno.duracion";
+    /**
+     * Tiempo de procesar un movimiento elegido por el jugador
+     */
+    public static final String MOVIMIENTO_SELECCIONADO = "accion.movimientoSeleccionado";
+    /**
+     * Prefijo de los histogramas de decidirAccion, seguido del nombre de la clase de la IA
+     */
+    public static final String PREFIJO_DECISION = "ia.decidirAccion.";
+    /**
+     * Prefijo de los contadores de eventos, seguido del tipo de evento en minusculas
+     */
+    public static final String PREFIJO_EVENTOS = "eventos.";
+
+    private static final Logger LOGGER = Logger.getLogger(MetricasBatalla.class.getName());
+    private static final ConcurrentHashMap<String, LongAdder> CONTADORES = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, HistogramaLatencia> HISTOGRAMAS = new ConcurrentHashMap<>();
+    // Contadores por tipo de evento, indexados por ordinal para no buscar en el mapa al publicar
+    private static final LongAdder[] EVENTOS = new LongAdder[TipoEvento.values().length];
+    // Histograma de decidirAccion de cada clase de IA, resuelto una sola vez por clase
+    private static final ClassValue<HistogramaLatencia> DECISIONES = new ClassValue<>() {
+        @Override
+        protected HistogramaLatencia computeValue(Class<?> tipo) {
+            return histograma(PREFIJO_DECISION + tipo.getSimpleName());
+        }
+    };
+    private static final BattleEventListener ESCUCHA = evento -> EVENTOS[evento.getTipo().ordinal()].increment();
+    private static ScheduledFuture<?> volcador;
+    // Archivo del ultimo iniciarVolcado; el gancho de cierre lo lee al terminar el programa
+    private static volatile Path archivoVolcado;
+    private static boolean ganchoCierre;
+
+    static {
+        for (TipoEvento tipo : TipoEvento.values()) {
+            EVENTOS[tipo.ordinal()] = contador(PREFIJO_EVENTOS + tipo.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private MetricasBatalla() {
+    }
+
+    /**
+     * Devuelve el contador con ese nombre, creandolo si no existe
+     *
+     * @param nombre Nombre del contador
+     * @return contador compartido
+     */
+    public static LongAdder contador(String nombre) {
+        return CONTADORES.computeIfAbsent(nombre, n -> new LongAdder());
+    }
+
+    /**
+     * Devuelve el histograma con ese nombre, creandolo si no existe
+     *
+     * @param nombre Nombre del histograma
+     * @return histograma compartido
+     */
+    public static HistogramaLatencia histograma(String nombre) {
+        return HISTOGRAMAS.computeIfAbsent(nombre, HistogramaLatencia::new);
+    }
+
+    /**
+     * Devuelve el histograma de decidirAccion de un tipo de IA
+     *
+     * @param tipo Clase de la IA
+     * @return histograma de sus decisiones
+     */
+    static HistogramaLatencia decision(Class<? extends AITrainer> tipo) {
+        return DECISIONES.get(tipo);
+    }
+
+    /**
+     * Devuelve el escucha que cuenta los eventos de una batalla por tipo
+     *
+     * @return escucha compartido por todas las batallas
+     */
+    public static BattleEventListener escucha() {
+        return ESCUCHA;
+    }
+
+    /**
+     * Exporta las metricas como texto, una por linea y ordenadas por nombre
+     * Los histogramas se muestran en milisegundos
+     *
+     * @return metricas en texto
+     */
+    public static String comoTexto() {
+        StringBuilder texto = new StringBuilder();
+        texto.append("# POOBkemon metricas ").append(Instant.now()).append('\n');
+        for (Map.Entry<String, LongAdder> contador : new TreeMap<>(CONTADORES).entrySet()) {
+            texto.append(contador.getKey()).append(' ').append(contador.getValue().sum()).append('\n');
+        }
+        for (HistogramaLatencia h : new TreeMap<>(HISTOGRAMAS).values()) {
+            texto.append(String.format(Locale.ROOT,
+                "%s cantidad=%d promedio=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms%n",
+                h.getNombre(), h.getCantidad(), h.getPromedio() / 1e6, h.percentil(50) / 1e6,
+                h.percentil(90) / 1e6, h.percentil(99) / 1e6, h.getMaximo() / 1e6));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Exporta las metricas como un objeto JSON con los contadores y los histogramas en nanosegundos
+     *
+     * @return metricas en JSON
+     */
+    public static String comoJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"fecha\":\"").append(Instant.now()).append("\",\"contadores\":{");
+        String separador = "";
+        for (Map.Entry<String, LongAdder> contador : new TreeMap<>(CONTADORES).entrySet()) {
+            json.append(separador).append('"').append(contador.getKey()).append("\":").append(contador.getValue().sum());
+            separador = ",";
+        }
+        json.append("},\"histogramas\":{");
+        separador = "";
+        for (HistogramaLatencia h : new TreeMap<>(HISTOGRAMAS).values()) {
+            json.append(separador).append('"').append(h.getNombre()).append("\":{")
+                .append("\"cantidad\":").append(h.getCantidad())
+                .append(",\"promedioNs\":").append(Math.round(h.getPromedio()))
+                .append(",\"p50Ns\":").append(h.percentil(50))
+                .append(",\"p90Ns\":").append(h.percentil(90))
+                .append(",\"p99Ns\":").append(h.percentil(99))
+                .append(",\"maxNs\":").append(h.getMaximo()).append('}');
+            separador = ",";
+        }
+        return json.append("}}\n").toString();
+    }
+
+    /**
+     * Escribe las metricas con EscrituraAtomica, asi quien lo lee nunca ve un volcado a medias
+     *
+     * @param archivo Archivo destino; si termina en .json se escribe en JSON, si no como texto
+     * @throws POOBkemonException Si no se puede escribir
+     */
+    public static void volcar(Path archivo) throws POOBkemonException {
+        String contenido = archivo.toString().endsWith(".json") ? comoJson() : comoTexto();
+        try {
+            EscrituraAtomica.escribir(archivo, contenido.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new POOBkemonException(POOBkemonException.ERROR_VOLCAR_METRICAS, e);
+        }
+    }
+
+    /**
+     * Vuelca las metricas periodicamente desde el PlanificadorBatallas y una ultima vez al cerrar el programa
+     * Si ya se estaba volcando, reemplaza el archivo y el periodo anteriores
+     *
+     * @param archivo Archivo destino
+     * @param periodoSegundos Segundos entre volcados, al menos 1
+     */
+    public static synchronized void iniciarVolcado(Path archivo, long periodoSegundos) {
+        detenerVolcado();
+        archivoVolcado = archivo;
+        long periodo = Math.max(1, periodoSegundos);
+        volcador = PlanificadorBatallas.programarPeriodico(() -> volcarRegistrando(archivo), periodo * 1000);
+        if (!ganchoCierre) {
+            ganchoCierre = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> volcarRegistrando(archivoVolcado), "poobkemon-metricas-cierre"));
+        }
+    }
+
+    /**
+     * Deja de volcar las metricas periodicamente
+     */
+    public static synchronized void detenerVolcado() {
+        PlanificadorBatallas.cancelar(volcador);
+        volcador = null;
+    }
+
+    /**
+     * Empieza a volcar las metricas si la propiedad poobkemon.metricas esta definida y aun no se vuelcan
+     */
+    public static synchronized void activarSegunPropiedades() {
+        String archivo = System.getProperty(PROPIEDAD_METRICAS);
+        if (archivo == null || volcador != null) {
+            return;
+        }
+        long periodo = PERIODO_DEFECTO_S;
+        String valor = System.getProperty(PROPIEDAD_PERIODO);
+        if (valor != null) {
+            try {
+                periodo = Long.parseLong(valor.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.WARNING, "Periodo no valido en " + PROPIEDAD_PERIODO + ": " + valor);
+            }
+        }
+        iniciarVolcado(Paths.get(archivo), periodo);
+    }
+
+    private static void volcarRegistrando(Path archivo) {
+        try {
+            volcar(archivo);
+        } catch (POOBkemonException e) {
+            // Un volcado fallido no debe detener los siguientes
+            LOGGER.log(Level.WARNING, e.getMessage() + ": " + archivo, e.getCause());
+        }
+    }
+}
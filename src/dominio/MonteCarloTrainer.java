@@ -0,0 +1,424 @@
+package dominio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Clase que implementa un entrenador de IA basado en busqueda de arbol Monte Carlo (MCTS)
+ * Para decidir juega muchas veces el resto de la batalla al azar sobre copias de los dos
+ * entrenadores, con las mismas tiradas de precision y formulas de daño que la batalla real,
+ * y elige la accion con mejor porcentaje de victorias
+ * El arbol se construye con UCT en lazo abierto: los nodos guardan la secuencia de acciones
+ * y el estado se vuelve a jugar desde la raiz en cada iteracion, por lo que el azar de cada
+ * ataque se vuelve a tirar cada vez
+ * La busqueda se paraleliza en la raiz: cada hilo construye su propio arbol sobre sus
+ * propias copias y al final se suman las visitas y victorias de las acciones de la raiz,
+ * sin compartir estado entre hilos
+ * Hereda de AITrainer
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public class MonteCarloTrainer extends AITrainer {
+    /**
+     * Presupuesto de tiempo por decision por defecto, en milisegundos
+     */
+    public static final long PRESUPUESTO_DEFECTO_MS = 250;
+    /**
+     * Playouts por decision que se usan en simulaciones para que la misma semilla repita la batalla
+     */
+    public static final int PLAYOUTS_SIMULACION = 48;
+    /**
+     * Acciones maximas de un playout antes de evaluar el estado
+     */
+    public static final int LIMITE_PLAYOUT = 80;
+
+    private static final Logger LOGGER = Logger.getLogger(MonteCarloTrainer.class.getName());
+    private static final double EXPLORACION = Math.sqrt(2);
+
+    private long presupuestoMs = PRESUPUESTO_DEFECTO_MS;
+    private int playoutsMaximos;
+    private int hilos = Runtime.getRuntime().availableProcessors();
+
+    // Estadisticas de la ultima decision, no forman parte de la partida guardada
+    private transient long playouts;
+    private transient long nanosBusqueda;
+
+    /**
+     * Constructor del entrenador Monte Carlo
+     *
+     * @param nombre Nombre identificativo del entrenador
+     * @param color Color representativo del equipo
+     */
+    public MonteCarloTrainer(String nombre, String color) {
+        super(nombre, color);
+    }
+
+    /**
+     * Configura los limites de la busqueda
+     *
+     * @param presupuestoMs Tiempo maximo por decision en milisegundos, 0 para no limitar el tiempo
+     * @param playoutsMaximos Playouts maximos por decision entre todos los hilos, 0 para no limitarlos
+     * @param hilos Hilos que construyen arboles en paralelo, al menos 1
+     */
+    public void configurarBusqueda(long presupuestoMs, int playoutsMaximos, int hilos) {
+        this.presupuestoMs = Math.max(0, presupuestoMs);
+        this.playoutsMaximos = Math.max(0, playoutsMaximos);
+        this.hilos = Math.max(1, hilos);
+        if (this.presupuestoMs == 0 && this.playoutsMaximos == 0) {
+            this.playoutsMaximos = PLAYOUTS_SIMULACION;
+        }
+    }
+
+    /**
+     * En simulaciones la busqueda se limita por playouts en un solo hilo y no por tiempo,
+     * asi el resultado no depende de la velocidad de la maquina ni ocupa los hilos del torneo
+     */
+    @Override
+    void prepararSimulacion() {
+        configurarBusqueda(0, PLAYOUTS_SIMULACION, 1);
+    }
+
+    /**
+     * Devuelve el tiempo que la busqueda puede usar en cada decision
+     *
+     * @return presupuesto en milisegundos
+     */
+    @Override
+    public long getPresupuestoDecisionMs() {
+        return presupuestoMs;
+    }
+
+    /**
+     * Devuelve los hilos que usa la busqueda
+     *
+     * @return cantidad de hilos
+     */
+    public int getHilos() {
+        return hilos;
+    }
+
+    /**
+     * Devuelve los playouts jugados en la decision anterior entre todos los hilos
+     *
+     * @return cantidad de playouts
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Devuelve la velocidad de la busqueda en la decision anterior
+     *
+     * @return playouts por segundo entre todos los hilos
+     */
+    public double getPlayoutsPorSegundo() {
+        return nanosBusqueda == 0 ? 0 : playouts * 1e9 / nanosBusqueda;
+    }
+
+    /**
+     * Decide la accion de la IA en una batalla PvM
+     * Reparte los playouts entre los hilos, suma los resultados de la raiz
+     * y ejecuta sobre el entrenador real la accion con mejor porcentaje de victorias
+     * Si no puede hacer nada pasa turno
+     *
+     * @param batalla referencia a la batalla PvM
+     * @param oponente entrenador rival
+     * @return mensaje de la accion realizada
+     */
+    @Override
+    public String decidirAccion(Battle batalla, Trainer oponente) {
+        if (pokemonActivo == null || pokemonActivo.estaDebilitado()) {
+            return "";
+        }
+        int[] raiz = new int[AccionesBatalla.MAXIMO];
+        int cantidad = AccionesBatalla.generar(this, oponente, raiz);
+        if (cantidad == 0) {
+            return "";
+        }
+        int accion = cantidad == 1 ? raiz[0] : buscarAccion(oponente, raiz, cantidad);
+        return AccionesBatalla.ejecutar(accion, this, batalla, oponente);
+    }
+
+    /**
+     * Ejecuta los arboles de todos los hilos y combina sus resultados
+     *
+     * @param oponente Entrenador rival real
+     * @param raiz Acciones disponibles en la raiz
+     * @param cantidad Cantidad de acciones de la raiz
+     * @return accion elegida
+     */
+    private int buscarAccion(Trainer oponente, int[] raiz, int cantidad) {
+        long inicio = System.nanoTime();
+        long limite = presupuestoMs == 0 ? Long.MAX_VALUE : inicio + presupuestoMs * 1_000_000L;
+        int porHilo = playoutsMaximos == 0 ? Integer.MAX_VALUE : (playoutsMaximos + hilos - 1) / hilos;
+
+        // Las copias y semillas se crean en este hilo: los entrenadores reales no se comparten
+        List<Arbol> arboles = new ArrayList<>(hilos);
+        for (int i = 0; i < hilos; i++) {
+            arboles.add(new Arbol(copiar(), oponente.copiar(), getAleatorio().nextLong(), limite, porHilo));
+        }
+        if (hilos == 1) {
+            arboles.get(0).call();
+        } else {
+            try {
+                for (Future<Arbol> f : ForkJoinPool.commonPool().invokeAll(arboles)) {
+                    f.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                LOGGER.log(Level.SEVERE, "Error en la busqueda Monte Carlo: " + e.getMessage(), e);
+            }
+        }
+
+        int[] visitas = new int[cantidad];
+        double[] victorias = new double[cantidad];
+        playouts = 0;
+        for (Arbol arbol : arboles) {
+            playouts += arbol.playouts;
+            arbol.acumularRaiz(raiz, cantidad, visitas, victorias);
+        }
+        nanosBusqueda = System.nanoTime() - inicio;
+
+        // Las acciones con muy pocas visitas tienen un porcentaje poco fiable y no se consideran
+        int masVisitada = 0;
+        for (int v : visitas) {
+            masVisitada = Math.max(masVisitada, v);
+        }
+        int minimo = Math.max(1, masVisitada / 4);
+        int mejor = 0;
+        double mejorTasa = -1;
+        for (int i = 0; i < cantidad; i++) {
+            if (visitas[i] < minimo) {
+                continue;
+            }
+            double tasa = victorias[i] / visitas[i];
+            if (tasa > mejorTasa || (tasa == mejorTasa && visitas[i] > visitas[mejor])) {
+                mejorTasa = tasa;
+                mejor = i;
+            }
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(String.format("%s: %d playouts en %d hilos, %.0f playouts/s, victorias %.2f", nombre,
+                playouts, hilos, getPlayoutsPorSegundo(), mejorTasa));
+        }
+        return raiz[mejor];
+    }
+
+    /**
+     * Nodo del arbol: la accion que lo genera y las estadisticas del entrenador que la jugo
+     */
+    private static final class Nodo {
+        private final int accion;
+        private Nodo[] hijos = new Nodo[4];
+        private int cantidadHijos;
+        private int visitas;
+        private double victorias;
+
+        private Nodo(int accion) {
+            this.accion = accion;
+        }
+
+        /**
+         * Devuelve el hijo generado por una accion o null si no existe
+         */
+        private Nodo hijo(int accion) {
+            for (int i = 0; i < cantidadHijos; i++) {
+                if (hijos[i].accion == accion) {
+                    return hijos[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Agrega un hijo nuevo para una accion
+         */
+        private Nodo agregar(int accion) {
+            if (cantidadHijos == hijos.length) {
+                Nodo[] ampliado = new Nodo[hijos.length * 2];
+                System.arraycopy(hijos, 0, ampliado, 0, cantidadHijos);
+                hijos = ampliado;
+            }
+            Nodo nuevo = new Nodo(accion);
+            hijos[cantidadHijos++] = nuevo;
+            return nuevo;
+        }
+    }
+
+    /**
+     * Arbol de un hilo con sus propias copias de los entrenadores y su propio generador
+     */
+    private static final class Arbol implements Callable<Arbol> {
+        private final Trainer propio;
+        private final Trainer rival;
+        private final RandomGenerator aleatorio;
+        private final long limite;
+        private final int playoutsMaximos;
+        private final InstantaneaBatalla inicial = new InstantaneaBatalla();
+        private final Nodo raiz = new Nodo(-1);
+        private final int[] acciones = new int[AccionesBatalla.MAXIMO];
+        private Nodo[] camino = new Nodo[64];
+        private int playouts;
+
+        private Arbol(Trainer propio, Trainer rival, long semilla, long limite, int playoutsMaximos) {
+            this.propio = propio;
+            this.rival = rival;
+            this.aleatorio = new SplittableRandom(semilla);
+            this.limite = limite;
+            this.playoutsMaximos = playoutsMaximos;
+            propio.setAleatorio(aleatorio);
+            rival.setAleatorio(aleatorio);
+        }
+
+        /**
+         * Juega iteraciones de seleccion, expansion, playout y retropropagacion hasta
+         * agotar el tiempo o los playouts
+         */
+        @Override
+        public Arbol call() {
+            inicial.capturar(propio, rival, 1, 0, 0, 0);
+            while (playouts < playoutsMaximos && (playouts == 0 || System.nanoTime() < limite)) {
+                iterar();
+                inicial.restaurar(propio, rival);
+                playouts++;
+            }
+            return this;
+        }
+
+        /**
+         * Una iteracion de MCTS desde la raiz
+         */
+        private void iterar() {
+            Nodo nodo = raiz;
+            int largo = 0;
+            camino[largo++] = raiz;
+            Trainer actor = propio;
+            Trainer otro = rival;
+            boolean expandido = false;
+            while (!expandido && !propio.estaDerrotado() && !rival.estaDerrotado()) {
+                AccionesBatalla.cambioForzado(actor);
+                int cantidad = AccionesBatalla.generar(actor, otro, acciones);
+                if (cantidad == 0) {
+                    break;
+                }
+                Nodo siguiente = null;
+                for (int i = 0; i < cantidad && siguiente == null; i++) {
+                    if (nodo.hijo(acciones[i]) == null) {
+                        siguiente = nodo.agregar(acciones[i]);
+                        expandido = true;
+                    }
+                }
+                if (siguiente == null) {
+                    siguiente = seleccionar(nodo, cantidad);
+                }
+                AccionesBatalla.aplicar(siguiente.accion, actor, otro, aleatorio);
+                if (largo == camino.length) {
+                    Nodo[] ampliado = new Nodo[camino.length * 2];
+                    System.arraycopy(camino, 0, ampliado, 0, largo);
+                    camino = ampliado;
+                }
+                camino[largo++] = siguiente;
+                nodo = siguiente;
+                Trainer t = actor;
+                actor = otro;
+                otro = t;
+            }
+            double resultado = jugarAlAzar(actor, otro);
+            raiz.visitas++;
+            for (int i = 1; i < largo; i++) {
+                // Los nodos de nivel impar son acciones del entrenador propio
+                camino[i].visitas++;
+                camino[i].victorias += (i % 2 == 1) ? resultado : 1.0 - resultado;
+            }
+        }
+
+        /**
+         * Elige con UCT entre los hijos cuya accion es valida en el estado actual
+         */
+        private Nodo seleccionar(Nodo nodo, int cantidad) {
+            Nodo mejor = null;
+            double mejorValor = Double.NEGATIVE_INFINITY;
+            double logPadre = Math.log(Math.max(1, nodo.visitas));
+            for (int i = 0; i < cantidad; i++) {
+                Nodo hijo = nodo.hijo(acciones[i]);
+                double valor = hijo.victorias / hijo.visitas
+                    + EXPLORACION * Math.sqrt(logPadre / hijo.visitas);
+                if (valor > mejorValor) {
+                    mejorValor = valor;
+                    mejor = hijo;
+                }
+            }
+            return mejor;
+        }
+
+        /**
+         * Juega acciones al azar hasta que termine la batalla o se alcance el limite
+         * Los ataques se eligen con mas frecuencia que los cambios y los items para que
+         * los playouts se parezcan a una batalla real
+         *
+         * @return 1 si gana el entrenador propio, 0 si pierde o la proporcion de
+         * valor de equipo si el playout no termina
+         */
+        private double jugarAlAzar(Trainer actor, Trainer otro) {
+            for (int paso = 0; paso < LIMITE_PLAYOUT; paso++) {
+                if (propio.estaDerrotado()) {
+                    return 0.0;
+                }
+                if (rival.estaDerrotado()) {
+                    return 1.0;
+                }
+                AccionesBatalla.cambioForzado(actor);
+                int cantidad = AccionesBatalla.generar(actor, otro, acciones);
+                if (cantidad == 0) {
+                    break;
+                }
+                int ataques = 0;
+                while (ataques < cantidad && esAtaque(acciones[ataques])) {
+                    ataques++;
+                }
+                int elegida = (ataques > 0 && aleatorio.nextInt(8) != 0)
+                    ? aleatorio.nextInt(ataques) : aleatorio.nextInt(cantidad);
+                AccionesBatalla.aplicar(acciones[elegida], actor, otro, aleatorio);
+                Trainer t = actor;
+                actor = otro;
+                otro = t;
+            }
+            if (propio.estaDerrotado()) {
+                return 0.0;
+            }
+            if (rival.estaDerrotado()) {
+                return 1.0;
+            }
+            double valorPropio = AccionesBatalla.valorEquipo(propio);
+            return valorPropio / (valorPropio + AccionesBatalla.valorEquipo(rival));
+        }
+
+        private static boolean esAtaque(int accion) {
+            return accion < AccionesBatalla.CAMBIO || accion == AccionesBatalla.FORCEJEO;
+        }
+
+        /**
+         * Suma las visitas y victorias de los hijos de la raiz en el orden de las acciones dadas
+         */
+        private void acumularRaiz(int[] acciones, int cantidad, int[] visitas, double[] victorias) {
+            for (int i = 0; i < cantidad; i++) {
+                Nodo hijo = raiz.hijo(acciones[i]);
+                if (hijo != null) {
+                    visitas[i] += hijo.visitas;
+                    victorias[i] += hijo.victorias;
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package dominio;
 
 import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
 
 /**
  * Clase abstracta base para todos los movimientos de pokemon
@@ -11,8 +15,15 @@ import java.io.Serializable;
  * @author Daniel Hueso
  * @version 1.0
  */
-public abstract class Movimiento implements Serializable {
+public abstract class Movimiento implements Serializable, Cloneable {
     private static final long serialVersionUID = 1L;
+    // Logger de cada clase de movimiento, buscado una sola vez por clase
+    private static final ClassValue<Logger> LOGGERS = new ClassValue<>() {
+        @Override
+        protected Logger computeValue(Class<?> tipo) {
+            return Logger.getLogger(tipo.getName());
+        }
+    };
     protected String nombre;
     protected String tipo;
     protected int potencia;
@@ -20,6 +31,8 @@ public abstract class Movimiento implements Serializable {
     protected int pp;
     protected int ppMaximos;
     protected int prioridad;
+    // Identificador del tipo mas uno; 0 indica que aun no se calculo (tambien despues de deserializar)
+    private transient int idTipoMasUno;
 
     /**
      * Crea un nuevo movimiento con sus caracteristicas basicas
@@ -68,6 +81,17 @@ public abstract class Movimiento implements Serializable {
      */
     public String getTipo() { return tipo; }
 
+    /**
+     * Obtiene el identificador del tipo del movimiento para la tabla de efectividades
+     * @return identificador del Tipo
+     */
+    public int getIdTipo() {
+        if (idTipoMasUno == 0) {
+            idTipoMasUno = Tipo.idDe(tipo) + 1;
+        }
+        return idTipoMasUno - 1;
+    }
+
     /**
      * Obtiene la potencia del movimiento
      * @return potencia del movimiento
@@ -86,6 +110,12 @@ public abstract class Movimiento implements Serializable {
      */
     public int getPP() { return pp; }
 
+    /**
+     * Restablece los PP del movimiento, usado al restaurar una InstantaneaBatalla
+     * @param pp puntos de poder
+     */
+    void setPP(int pp) { this.pp = pp; }
+
     /**
      * Obtiene los PP maximos del movimiento
      * @return PP maximos
@@ -98,28 +128,41 @@ public abstract class Movimiento implements Serializable {
      */
     public int getPrioridad() { return prioridad; }
 
+    /**
+     * Crea una copia independiente del movimiento con sus PP actuales
+     * Se usa para dar a cada Pokemon sus propios movimientos a partir de los prototipos de su especie
+     * 
+     * @return copia del movimiento
+     */
+    public Movimiento copiar() {
+        try {
+            return (Movimiento) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Calcula la efectividad del movimiento contra un pokemon rival
+     * Usa la tabla completa de tipos y considera el tipo secundario del rival;
+     * el resultado de cada par (tipo del movimiento, tipos del rival) ya esta precalculado
      * 
      * @param rival Pokemon que recibe el movimiento
-     * @return multiplicador de efectividad (2.0 super efectivo 0.5 no muy efectivo 1.0 normal)
+     * @return multiplicador de efectividad (4.0, 2.0, 1.0, 0.5, 0.25 o 0 si es inmune)
      */
     public double calcularEfectividad(Pokemon rival) {
-        String tipoRival = rival.getTipo(); 
-        if (tipo.equals("Fuego")) {
-            if (tipoRival.equals("Planta")) return 2.0;
-            if (tipoRival.equals("Agua")) return 0.5;
-            if (tipoRival.equals("Fuego")) return 0.5;
-        } else if (tipo.equals("Agua")) {
-            if (tipoRival.equals("Fuego")) return 2.0;
-            if (tipoRival.equals("Planta")) return 0.5;
-            if (tipoRival.equals("Agua")) return 0.5;
-        } else if (tipo.equals("Planta")) {
-            if (tipoRival.equals("Agua")) return 2.0;
-            if (tipoRival.equals("Fuego")) return 0.5;
-            if (tipoRival.equals("Planta")) return 0.5;
-        }
-        return 1.0;
+        return TablaEfectividad.multiplicadorDefensor(getIdTipo(), rival.getIndiceDefensor());
+    }
+
+    /**
+     * Ejecuta el efecto del movimiento con el generador aleatorio del hilo actual
+     * 
+     * @param atacante Pokemon que realiza el movimiento
+     * @param objetivo Pokemon que recibe el movimiento
+     * @return String con el resultado de la accion
+     */
+    public String ejecutar(Pokemon atacante, Pokemon objetivo) {
+        return ejecutar(atacante, objetivo, ThreadLocalRandom.current());
     }
 
     /**
@@ -127,7 +170,88 @@ public abstract class Movimiento implements Serializable {
      * 
      * @param atacante Pokemon que realiza el movimiento
      * @param objetivo Pokemon que recibe el movimiento
+     * @param aleatorio Generador de la batalla para las tiradas de precision
      * @return String con el resultado de la accion
      */
-    public abstract String ejecutar(Pokemon atacante, Pokemon objetivo);
-}
\ No newline at end of file
+    public String ejecutar(Pokemon atacante, Pokemon objetivo, RandomGenerator aleatorio) {
+        try {
+            return describir(atacante, objetivo, aplicar(atacante, objetivo, aleatorio));
+        } catch (POOBkemonException e) {
+            registrarError(Level.WARNING, "Error al ejecutar ", e);
+            return "Error al ejecutar " + getDescripcion() + ": " + e.getMessage();
+        } catch (Exception e) {
+            registrarError(Level.SEVERE, "Error inesperado al ejecutar ", e);
+            return "Error inesperado al ejecutar " + getDescripcion() + ".";
+        }
+    }
+
+    /**
+     * Aplica el movimiento igual que ejecutar pero sin construir el mensaje
+     * Se usa cuando nadie va a leer el mensaje (simulaciones y busquedas de la IA)
+     * 
+     * @param atacante Pokemon que realiza el movimiento
+     * @param objetivo Pokemon que recibe el movimiento
+     * @param aleatorio Generador de la batalla para las tiradas de precision
+     * @return resultado empaquetado (ver CalculadoraDano)
+     */
+    long aplicarSinMensaje(Pokemon atacante, Pokemon objetivo, RandomGenerator aleatorio) {
+        try {
+            return aplicar(atacante, objetivo, aleatorio);
+        } catch (POOBkemonException e) {
+            registrarError(Level.WARNING, "Error al ejecutar ", e);
+        } catch (Exception e) {
+            registrarError(Level.SEVERE, "Error inesperado al ejecutar ", e);
+        }
+        return CalculadoraDano.resultado(CalculadoraDano.ERROR, 0, 0);
+    }
+
+    /**
+     * Construye el mensaje de un resultado ya aplicado con aplicarSinMensaje
+     *
+     * @param atacante Pokemon que realizo el movimiento
+     * @param objetivo Pokemon que recibio el movimiento
+     * @param resultado Resultado empaquetado
+     * @return mensaje del resultado; en caso de error uno generico, el detalle ya quedo en el log
+     */
+    String mensaje(Pokemon atacante, Pokemon objetivo, long resultado) {
+        if (CalculadoraDano.estado(resultado) == CalculadoraDano.ERROR) {
+            return "Error inesperado al ejecutar " + getDescripcion() + ".";
+        }
+        return describir(atacante, objetivo, resultado);
+    }
+
+    /**
+     * Registra un error al ejecutar el movimiento en el logger de su clase
+     */
+    private void registrarError(Level nivel, String prefijo, Exception e) {
+        LOGGERS.get(getClass()).log(nivel, prefijo + getClass().getSimpleName() + ": " + e.getMessage(), e);
+    }
+
+    /**
+     * Aplica el efecto del movimiento sin construir ningun mensaje ni objeto
+     * 
+     * @param atacante Pokemon que realiza el movimiento
+     * @param objetivo Pokemon que recibe el movimiento
+     * @param aleatorio Generador de la batalla para las tiradas de precision
+     * @return resultado empaquetado (ver CalculadoraDano)
+     * @throws POOBkemonException Si el efecto no se puede aplicar
+     */
+    abstract long aplicar(Pokemon atacante, Pokemon objetivo, RandomGenerator aleatorio) throws POOBkemonException;
+
+    /**
+     * Construye el mensaje de un resultado de aplicar
+     * 
+     * @param atacante Pokemon que realizo el movimiento
+     * @param objetivo Pokemon que recibio el movimiento
+     * @param resultado Resultado empaquetado
+     * @return mensaje para la interfaz, o null si el movimiento no tenia PP
+     */
+    abstract String describir(Pokemon atacante, Pokemon objetivo, long resultado);
+
+    /**
+     * Nombre del movimiento en los mensajes de error, por ejemplo "el movimiento físico"
+     * 
+     * @return descripcion del movimiento
+     */
+    abstract String getDescripcion();
+}
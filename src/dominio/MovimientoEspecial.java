@@ -1,8 +1,6 @@
 package dominio;
 
-import java.util.Random;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
 /**
  * Clase que implementa movimientos especiales de daño
  * Representa movimientos que usan ataque/defensa especial
@@ -28,50 +26,55 @@ public class MovimientoEspecial extends Movimiento implements TablaTipos {
     }
 
     /**
-     * Ejecuta el movimiento especial contra un objetivo
+     * Aplica el movimiento especial contra un objetivo
      * Calcula daño considerando tipos y estadisticas especiales
      * 
      * @param atacante Pokemon que usa el movimiento
      * @param objetivo Pokemon que recibe el movimiento
+     * @param aleatorio Generador de la batalla para la tirada de precision
+     * @return resultado empaquetado (ver CalculadoraDano)
+     * @throws POOBkemonException Si el daño no es valido (objetivo inmune)
      */
     @Override
-    public String ejecutar(Pokemon atacante, Pokemon objetivo) {
-        Logger logger = Logger.getLogger(MovimientoEspecial.class.getName());
-        String message;
-        try {
-            if (!esUtilizable()) return null;
-
-            Random rand = new Random();
-            if (rand.nextInt(100) >= precision) {
-                message = atacante.getNombre() + " falló el ataque!";
-                usar();
-                return message;
-            }
-
-            double multiplicador = getMultiplicador(tipo, objetivo.getTipo());
-            if (objetivo.getTipoSecundario() != null) {
-                multiplicador *= getMultiplicador(tipo, objetivo.getTipoSecundario());
-            }
-
-            if (atacante.getTipo().equals(tipo)) {
-                multiplicador *= 1.5;
-            }
-
-            int nivel = atacante.getNivel();
-            int dano = (int) ((((2 * nivel / 5 + 2) * potencia * 
-                    atacante.getAtaqueEspecial() / objetivo.getDefensaEspecial()) / 50 + 2) * multiplicador);
-
-            objetivo.recibirDaño(dano);
+    long aplicar(Pokemon atacante, Pokemon objetivo, RandomGenerator aleatorio) throws POOBkemonException {
+        if (!esUtilizable()) {
+            return CalculadoraDano.resultado(CalculadoraDano.SIN_PP, 0, 0);
+        }
+        if (aleatorio.nextInt(100) >= precision) {
             usar();
-            
-            message = String.format("%s usó %s y causó %d de daño (x%.1f)%n", atacante.getNombre(), nombre, dano, multiplicador);
-        } catch (POOBkemonException e) {
-            logger.log(Level.WARNING, "Error al ejecutar MovimientoEspecial: " + e.getMessage(), e);
-            message = "Error al ejecutar el movimiento: " + e.getMessage();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error inesperado al ejecutar MovimientoEspecial: " + e.getMessage(), e);
-            message = "Error inesperado al ejecutar el movimiento.";
+            return CalculadoraDano.resultado(CalculadoraDano.FALLO, 0, 0);
+        }
+        double multiplicador = CalculadoraDano.multiplicador(this, atacante, objetivo);
+        int dano = CalculadoraDano.danoAtaque(atacante.getNivel(), potencia,
+                atacante.getAtaqueEspecial(), objetivo.getDefensaEspecial(), multiplicador);
+        objetivo.recibirDaño(dano);
+        usar();
+        return CalculadoraDano.resultado(CalculadoraDano.ACIERTO, dano, multiplicador);
+    }
+
+    /**
+     * Construye el mensaje del ataque
+     * 
+     * @param atacante Pokemon que ejecuto el movimiento
+     * @param objetivo Pokemon que recibio el daño
+     * @param resultado Resultado de aplicar
+     * @return mensaje del ataque o null si no tenia PP
+     */
+    @Override
+    String describir(Pokemon atacante, Pokemon objetivo, long resultado) {
+        switch (CalculadoraDano.estado(resultado)) {
+            case CalculadoraDano.SIN_PP:
+                return null;
+            case CalculadoraDano.FALLO:
+                return atacante.getNombre() + " falló el ataque!";
+            default:
+                return String.format("%s usó %s y causó %d de daño (x%.1f)%n", atacante.getNombre(), nombre,
+                        CalculadoraDano.dano(resultado), CalculadoraDano.multiplicador(resultado));
         }
-        return message;
+    }
+
+    @Override
+    String getDescripcion() {
+        return "el movimiento";
     }
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package dominio;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
 
 /**
  * Clase que implementa movimientos de estado sin daño directo
@@ -13,6 +12,13 @@ import java.util.logging.Logger;
  */
 public class MovimientoEstado extends Movimiento {
     
+    // Puntos que aumenta cada uso
+    private static final int AUMENTO = 10;
+    // Nombre de cada estadistica en los mensajes, indexado por campo de Pokemon
+    private static final String[] NOMBRES_ESTADISTICAS = {
+        "PS", "ataque", "defensa", "ataque especial", "defensa especial", "velocidad"
+    };
+
     private String efectoSecundario;
     /**
      * Crea un nuevo movimiento de estado
@@ -29,66 +35,65 @@ public class MovimientoEstado extends Movimiento {
     }
 
     /**
-     * Ejecuta el efecto de estado sobre el objetivo
-     * No causa daño directo pero aplica efectos secundarios
+     * Aplica el efecto de estado sobre el atacante
+     * No causa daño directo pero aumenta una estadistica
      * 
      * @param atacante Pokemon que usa el movimiento
      * @param objetivo Pokemon afectado por el movimiento
+     * @param aleatorio Generador de la batalla (no se usa, los movimientos de estado no fallan)
+     * @return resultado empaquetado con el aumento como daño (ver CalculadoraDano)
+     * @throws POOBkemonException Si el aumento no es valido
+     */
+    @Override
+    long aplicar(Pokemon atacante, Pokemon objetivo, RandomGenerator aleatorio) throws POOBkemonException {
+        if (!esUtilizable()) {
+            return CalculadoraDano.resultado(CalculadoraDano.SIN_PP, 0, 0);
+        }
+        int aumento = atacante.aumentarEstadistica(campoAfectado(), AUMENTO);
+        usar();
+        return CalculadoraDano.resultado(CalculadoraDano.ACIERTO, aumento, 0);
+    }
+
+    /**
+     * Construye el mensaje del efecto de estado
+     * 
+     * @param atacante Pokemon que uso el movimiento
+     * @param objetivo Pokemon afectado por el movimiento
+     * @param resultado Resultado de aplicar
+     * @return mensaje con la estadistica aumentada o null si no tenia PP
      */
     @Override
-    public String ejecutar(Pokemon atacante, Pokemon objetivo) {
-        Logger logger = Logger.getLogger(MovimientoEstado.class.getName());
-        String estadisticaAfectada = "";
-        int aumento = 0;
-        String message;
-        try {
-            if (!esUtilizable()) return null;
+    String describir(Pokemon atacante, Pokemon objetivo, long resultado) {
+        if (CalculadoraDano.estado(resultado) == CalculadoraDano.SIN_PP) {
+            return null;
+        }
+        return String.format("%s usó %s! %s aumentó en %d puntos.",
+                                atacante.getNombre(),
+                                getNombre(),
+                                NOMBRES_ESTADISTICAS[campoAfectado()],
+                                CalculadoraDano.dano(resultado));
+    }
 
-            switch (efectoSecundario) {
-                case "Aumenta puntos de salud":
-                    aumento = atacante.aumentarEstadisticas("ps", 10);
-                    estadisticaAfectada = "PS";
-                    break;
-                case "Aumenta ataque":
-                    aumento = atacante.aumentarEstadisticas("ataque", 10);
-                    estadisticaAfectada = "ataque";
-                    break;
-                case "Aumenta defensa":
-                    aumento = atacante.aumentarEstadisticas("defensa", 10);
-                    estadisticaAfectada = "defensa";
-                    break;
-                case "Aumenta velocidad":
-                    aumento = atacante.aumentarEstadisticas("velocidad", 10);
-                    estadisticaAfectada = "velocidad";
-                    break;
-                case "Aumenta ataque Especial":
-                    aumento = atacante.aumentarEstadisticas("ataqueEspecial", 10);
-                    estadisticaAfectada = "ataque especial";
-                    break;
-                case "Aumenta defensa Especial":
-                    aumento = atacante.aumentarEstadisticas("defensaEspecial", 10);
-                    estadisticaAfectada = "defensa especial";
-                    break;
-                default:
-                    aumento = atacante.aumentarEstadisticas("ps", 10);
-                    estadisticaAfectada = "PS";
-                    break;
-            }
-            message = String.format("%s usó %s! %s aumentó en %d puntos.",
-                                    atacante.getNombre(),
-                                    getNombre(),
-                                    estadisticaAfectada,
-                                    aumento);
+    @Override
+    String getDescripcion() {
+        return "el movimiento de estado";
+    }
 
-            usar();
-        } catch (POOBkemonException e) {
-            logger.log(Level.WARNING, "Error al ejecutar MovimientoEstado: " + e.getMessage(), e);
-            message = "Error al ejecutar el movimiento de estado: " + e.getMessage();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error inesperado al ejecutar MovimientoEstado: " + e.getMessage(), e);
-            message = "Error inesperado al ejecutar el movimiento de estado.";
+    /**
+     * Devuelve el campo del estado del Pokemon que aumenta el efecto secundario
+     * Los efectos desconocidos aumentan los PS
+     * 
+     * @return campo de Pokemon
+     */
+    private int campoAfectado() {
+        switch (efectoSecundario) {
+            case "Aumenta ataque": return Pokemon.ATAQUE;
+            case "Aumenta defensa": return Pokemon.DEFENSA;
+            case "Aumenta velocidad": return Pokemon.VELOCIDAD;
+            case "Aumenta ataque Especial": return Pokemon.ATAQUE_ESPECIAL;
+            case "Aumenta defensa Especial": return Pokemon.DEFENSA_ESPECIAL;
+            default: return Pokemon.PS;
         }
-        return message;
     }
 
     public String getEfectoSecundario(){
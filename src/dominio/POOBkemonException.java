@@ -21,12 +21,20 @@ public class POOBkemonException extends Exception {
     public static final String ERROR_ITEM_INDICE = "Item seleccionado no valido";
     public static final String ERROR_GUARDAR = "No se pudo guardar la partida";
     public static final String ERROR_CARGAR = "No se pudo cargar la partida";
+    public static final String ERROR_FORMATO_ANTERIOR = "Partida guardada en un formato anterior no soportado";
+    public static final String ERROR_LISTAR_PARTIDAS = "No se pudieron listar las partidas guardadas";
+    public static final String ERROR_VOLCAR_METRICAS = "No se pudieron volcar las metricas";
     public static final String ERROR_ITEM_REVIVIR = "No se puede usar el item de revivir en este contexto";
     public static final String ERROR_CANTIDAD_NO_VALIDA = "La cantidad debe ser positiva";
     public static final String ERROR_NIVEL_NO_VALIDO = "El nivel debe ser mayor que cero";
     public static final String ERROR_MOVIMIENTOS_NO_VALIDOS = "La lista de movimientos no puede ser nula o vacia";
     public static final String ERROR_ESTADISTICA_NO_EXISTE = "La estadistica %s no existe";
     public static final String ERROR_CREAR_BATALLA = "No se pudo crear la batalla";
+    public static final String ERROR_CATALOGO = "No se pudo cargar el catalogo de especies: %s";
+    public static final String ERROR_CATALOGO_LINEA = "Linea %d del catalogo no valida: %s";
+    public static final String ERROR_GRABAR_REPETICION = "No se pudo grabar la repeticion";
+    public static final String ERROR_LEER_REPETICION = "No se pudo leer la repeticion";
+    public static final String ERROR_REPETICION_INVALIDA = "El archivo %s no es una repeticion valida";
 
     /**
      * Crea una nueva excepcion POOBkemon con un mensaje especifico
@@ -0,0 +1,512 @@
+package dominio;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Formato binario y versionado de las partidas guardadas
+ * Guarda solo el estado de la batalla: de quien es el turno, los turnos jugados y, por entrenador,
+ * su tipo, nombre, color, Pokemon activo, equipo (identificador de especie, nombre, estado y PP)
+ * e items. Al cargar los Pokemon se vuelven a crear desde CatalogoEspecies, asi que el archivo
+ * no depende de la forma interna de las clases como la serializacion de Java
+ *
+ * Formato: magia "PKSV", version, cabecera de tamaño fijo con el resumen de la partida (desde la
+ * version 3, ver ResumenPartida), estado completo (turno actual 1 o 2, turnos, cambio forzado y los
+ * dos entrenadores) y, desde la version 2, registros de cambios sobre ese estado. Cada registro
+ * lleva su longitud, asi uno cortado al final del archivo se descarta sin perder los anteriores
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class PartidaBinaria {
+    /**
+     * Primeros bytes de toda partida guardada en este formato ("PKSV")
+     */
+    public static final int MAGIA = 0x504B5356;
+    /**
+     * Version del formato que se escribe
+     */
+    public static final int VERSION = 3;
+    /**
+     * Primera version con cabecera de resumen
+     */
+    public static final int VERSION_CABECERA = 3;
+    /**
+     * Posicion de la cabecera en el archivo, despues de la magia y la version
+     */
+    public static final int POSICION_CABECERA = 6;
+    /**
+     * Bytes de la cabecera de resumen
+     */
+    public static final int TAMANO_CABECERA = 64;
+    /**
+     * Primeros bytes de un archivo guardado con la serializacion de Java (formato anterior, que se rechaza al cargar)
+     */
+    public static final int MAGIA_SERIALIZACION = 0xACED;
+    // Marca de un registro de cambios despues del estado completo
+    private static final int CAMBIOS = 0x44;
+    // Cantidad de items que indica que la mochila no cambio
+    private static final int ITEMS_SIN_CAMBIOS = 0xFF;
+    // Tipo guardado para los entrenadores humanos; las maquinas guardan su tipo de BattleFactory
+    private static final String HUMANO = "humanTrainer";
+    private static final Logger LOGGER = Logger.getLogger(PartidaBinaria.class.getName());
+
+    private PartidaBinaria() {
+    }
+
+    /**
+     * Estado de una batalla copiado de sus entrenadores, independiente de la batalla que sigue jugando
+     */
+    static final class Estado {
+        int turno;
+        int turnos;
+        boolean cambioForzado;
+        // Momento de la captura, en milisegundos desde 1970
+        long fecha;
+        final Entrenador[] entrenadores = new Entrenador[2];
+    }
+
+    /**
+     * Estado de un entrenador: identidad, Pokemon activo, estado y PP de cada Pokemon e items
+     */
+    static final class Entrenador {
+        String tipo;
+        String nombre;
+        String color;
+        int activo;
+        int[] especies;
+        String[] nombres;
+        int[][] pokemon;
+        String[] items;
+    }
+
+    /**
+     * Copia el estado de una batalla
+     *
+     * @param batalla Batalla a copiar
+     * @return estado copiado
+     */
+    static Estado capturar(Battle batalla) {
+        Estado estado = new Estado();
+        estado.turno = batalla.getTurnoActual() == batalla.getEntrenador2() ? 2 : 1;
+        estado.turnos = batalla.getTurnos();
+        estado.cambioForzado = batalla.isCambioForzado();
+        estado.fecha = System.currentTimeMillis();
+        estado.entrenadores[0] = capturar(batalla.getEntrenador1());
+        estado.entrenadores[1] = capturar(batalla.getEntrenador2());
+        return estado;
+    }
+
+    private static Entrenador capturar(Trainer entrenador) {
+        Entrenador copia = new Entrenador();
+        copia.tipo = tipo(entrenador);
+        copia.nombre = entrenador.getNombre();
+        copia.color = entrenador.getColor();
+        copia.activo = entrenador.equipo.indexOf(entrenador.pokemonActivo);
+        int tamano = entrenador.equipo.size();
+        copia.especies = new int[tamano];
+        copia.nombres = new String[tamano];
+        copia.pokemon = new int[tamano][];
+        for (int i = 0; i < tamano; i++) {
+            Pokemon p = entrenador.equipo.get(i);
+            Especie especie = p.getEspecie();
+            copia.especies[i] = especie == null ? -1 : especie.getId();
+            copia.nombres[i] = p.getNombre();
+            copia.pokemon[i] = new int[Pokemon.TAMANO_ESTADO + 1 + p.getMovimientos().size()];
+            p.guardarEstado(copia.pokemon[i], 0);
+        }
+        List<Item> items = entrenador.items;
+        copia.items = new String[items.size()];
+        for (int i = 0; i < copia.items.length; i++) {
+            copia.items[i] = items.get(i).getNombre();
+        }
+        return copia;
+    }
+
+    /**
+     * Escribe una batalla como estado completo
+     *
+     * @param batalla Batalla a guardar
+     * @param out Flujo de salida
+     * @throws IOException Si ocurre un error de escritura
+     */
+    static void escribir(Battle batalla, DataOutputStream out) throws IOException {
+        escribir(capturar(batalla), out);
+    }
+
+    /**
+     * Escribe un estado completo con la cabecera del formato
+     *
+     * @param estado Estado a guardar
+     * @param out Flujo de salida
+     * @throws IOException Si ocurre un error de escritura
+     */
+    static void escribir(Estado estado, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIA);
+        out.writeShort(VERSION);
+        out.write(ResumenPartida.cabecera(estado));
+        out.writeByte(estado.turno);
+        out.writeInt(estado.turnos);
+        out.writeBoolean(estado.cambioForzado);
+        for (Entrenador entrenador : estado.entrenadores) {
+            escribirEntrenador(entrenador, out);
+        }
+    }
+
+    private static void escribirEntrenador(Entrenador entrenador, DataOutputStream out) throws IOException {
+        out.writeUTF(entrenador.tipo);
+        out.writeUTF(entrenador.nombre);
+        out.writeUTF(entrenador.color);
+        out.writeByte(entrenador.activo);
+        out.writeByte(entrenador.pokemon.length);
+        for (int i = 0; i < entrenador.pokemon.length; i++) {
+            out.writeShort(entrenador.especies[i]);
+            out.writeUTF(entrenador.nombres[i]);
+            int[] estado = entrenador.pokemon[i];
+            out.writeByte(estado.length);
+            for (int valor : estado) {
+                out.writeInt(valor);
+            }
+        }
+        out.writeByte(entrenador.items.length);
+        for (String item : entrenador.items) {
+            out.writeUTF(item);
+        }
+    }
+
+    /**
+     * Escribe un registro con los cambios de un estado respecto del anterior: turno, Pokemon activo,
+     * los valores de estado y PP que cambiaron y, si cambio, que items quedan
+     *
+     * @param anterior Ultimo estado escrito
+     * @param actual Estado a escribir
+     * @param out Flujo de salida
+     * @return false si los cambios no se pueden expresar (cambio un equipo o aparecio un item) y hay que
+     *         escribir un estado completo; en ese caso no se escribio nada
+     * @throws IOException Si ocurre un error de escritura
+     */
+    static boolean escribirCambios(Estado anterior, Estado actual, DataOutputStream out) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream cambios = new DataOutputStream(bytes);
+        cambios.writeByte(actual.turno);
+        cambios.writeInt(actual.turnos);
+        cambios.writeBoolean(actual.cambioForzado);
+        for (int e = 0; e < 2; e++) {
+            if (!escribirCambios(anterior.entrenadores[e], actual.entrenadores[e], cambios)) {
+                return false;
+            }
+        }
+        out.writeByte(CAMBIOS);
+        out.writeShort(bytes.size());
+        bytes.writeTo(out);
+        return true;
+    }
+
+    private static boolean escribirCambios(Entrenador anterior, Entrenador actual, DataOutputStream out)
+            throws IOException {
+        if (anterior.pokemon.length != actual.pokemon.length) {
+            return false;
+        }
+        int cambiados = 0;
+        for (int i = 0; i < actual.pokemon.length; i++) {
+            if (anterior.especies[i] != actual.especies[i] || !anterior.nombres[i].equals(actual.nombres[i])
+                || actual.pokemon[i].length > Integer.SIZE) {
+                return false;
+            }
+            if (mascara(anterior.pokemon[i], actual.pokemon[i]) != 0) {
+                cambiados++;
+            }
+        }
+        int[] indicesItems = indicesItems(anterior.items, actual.items);
+        if (indicesItems == null) {
+            return false;
+        }
+        out.writeByte(actual.activo);
+        out.writeByte(cambiados);
+        for (int i = 0; i < actual.pokemon.length; i++) {
+            int[] estado = actual.pokemon[i];
+            int mascara = mascara(anterior.pokemon[i], estado);
+            if (mascara != 0) {
+                out.writeByte(i);
+                out.writeByte(estado.length);
+                out.writeInt(mascara);
+                for (int j = 0; j < estado.length; j++) {
+                    if ((mascara & (1 << j)) != 0) {
+                        out.writeInt(estado[j]);
+                    }
+                }
+            }
+        }
+        if (indicesItems.length == anterior.items.length) {
+            out.writeByte(ITEMS_SIN_CAMBIOS);
+        } else {
+            out.writeByte(indicesItems.length);
+            for (int indice : indicesItems) {
+                out.writeByte(indice);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marca con un bit cada valor que cambio; si cambio la cantidad de movimientos marca todos
+     */
+    private static int mascara(int[] anterior, int[] actual) {
+        if (anterior.length != actual.length) {
+            return actual.length == Integer.SIZE ? -1 : (1 << actual.length) - 1;
+        }
+        int mascara = 0;
+        for (int j = 0; j < actual.length; j++) {
+            if (anterior[j] != actual[j]) {
+                mascara |= 1 << j;
+            }
+        }
+        return mascara;
+    }
+
+    /**
+     * Ubica cada item que queda en la mochila anterior; los items solo se gastan, asi que deben
+     * aparecer en el mismo orden
+     *
+     * @return indices en la mochila anterior, o null si aparecio un item nuevo
+     */
+    private static int[] indicesItems(String[] anterior, String[] actual) {
+        int[] indices = new int[actual.length];
+        int j = 0;
+        for (int i = 0; i < actual.length; i++) {
+            while (j < anterior.length && !anterior[j].equals(actual[i])) {
+                j++;
+            }
+            if (j == anterior.length) {
+                return null;
+            }
+            indices[i] = j++;
+        }
+        return indices;
+    }
+
+    /**
+     * Lee una batalla escrita por escribir, despues de que el llamador verifico la magia,
+     * aplicandole los registros de cambios que le siguen
+     *
+     * @param in Flujo de entrada posicionado despues de la magia
+     * @return batalla lista para continuar, con listeners, generador y canal de eventos
+     * @throws IOException Si el archivo esta cortado o es de una version posterior
+     * @throws POOBkemonException Si no se puede crear algun Pokemon
+     */
+    static Battle leer(DataInputStream in) throws IOException, POOBkemonException {
+        return crearBatalla(leerEstado(in));
+    }
+
+    /**
+     * Lee el estado completo y le aplica los registros de cambios que le siguen
+     *
+     * @param in Flujo de entrada posicionado despues de la magia
+     * @return estado final de la partida
+     * @throws IOException Si el estado completo esta cortado o es de una version posterior
+     */
+    static Estado leerEstado(DataInputStream in) throws IOException {
+        int version = in.readUnsignedShort();
+        if (version > VERSION) {
+            throw new IOException("Version de partida no soportada: " + version);
+        }
+        if (version >= VERSION_CABECERA) {
+            in.readFully(new byte[TAMANO_CABECERA]);
+        }
+        Estado estado = new Estado();
+        estado.turno = in.readUnsignedByte();
+        estado.turnos = in.readInt();
+        estado.cambioForzado = in.readBoolean();
+        estado.entrenadores[0] = leerEntrenador(in);
+        estado.entrenadores[1] = leerEntrenador(in);
+        if (version >= 2) {
+            aplicarCambios(estado, in);
+        }
+        return estado;
+    }
+
+    private static Entrenador leerEntrenador(DataInputStream in) throws IOException {
+        Entrenador entrenador = new Entrenador();
+        entrenador.tipo = in.readUTF();
+        entrenador.nombre = in.readUTF();
+        entrenador.color = in.readUTF();
+        entrenador.activo = in.readByte();
+        int tamano = in.readUnsignedByte();
+        entrenador.especies = new int[tamano];
+        entrenador.nombres = new String[tamano];
+        entrenador.pokemon = new int[tamano][];
+        for (int i = 0; i < tamano; i++) {
+            entrenador.especies[i] = in.readShort();
+            entrenador.nombres[i] = in.readUTF();
+            int[] estado = new int[in.readUnsignedByte()];
+            for (int j = 0; j < estado.length; j++) {
+                estado[j] = in.readInt();
+            }
+            entrenador.pokemon[i] = estado;
+        }
+        entrenador.items = new String[in.readUnsignedByte()];
+        for (int i = 0; i < entrenador.items.length; i++) {
+            entrenador.items[i] = in.readUTF();
+        }
+        return entrenador;
+    }
+
+    /**
+     * Aplica en orden los registros de cambios hasta el final del archivo
+     * Un registro cortado por un corte durante la escritura se descarta; uno que nombra un
+     * Pokemon o un item que no existe hace fallar la carga
+     */
+    private static void aplicarCambios(Estado estado, DataInputStream in) throws IOException {
+        byte[] registro = new byte[256];
+        int aplicados = 0;
+        while (true) {
+            int marca = in.read();
+            if (marca < 0) {
+                return;
+            }
+            if (marca != CAMBIOS) {
+                throw new IOException("Registro de cambios no valido despues de " + aplicados + " registros");
+            }
+            int longitud;
+            try {
+                longitud = in.readUnsignedShort();
+                if (registro.length < longitud) {
+                    registro = new byte[longitud];
+                }
+                in.readFully(registro, 0, longitud);
+            } catch (EOFException e) {
+                LOGGER.warning("Se descarto un registro de cambios incompleto al final de la partida");
+                return;
+            }
+            DataInputStream cambios = new DataInputStream(new ByteArrayInputStream(registro, 0, longitud));
+            estado.turno = cambios.readUnsignedByte();
+            estado.turnos = cambios.readInt();
+            estado.cambioForzado = cambios.readBoolean();
+            for (Entrenador entrenador : estado.entrenadores) {
+                aplicarCambios(entrenador, cambios);
+            }
+            aplicados++;
+        }
+    }
+
+    private static void aplicarCambios(Entrenador entrenador, DataInputStream in) throws IOException {
+        entrenador.activo = in.readByte();
+        int cambiados = in.readUnsignedByte();
+        for (int c = 0; c < cambiados; c++) {
+            int indice = in.readUnsignedByte();
+            int tamano = in.readUnsignedByte();
+            int mascara = in.readInt();
+            if (indice >= entrenador.pokemon.length) {
+                throw new IOException("Registro de cambios no valido: Pokemon " + indice + " de "
+                                      + entrenador.pokemon.length);
+            }
+            // La mascara tiene un bit por valor del estado
+            if (tamano > Integer.SIZE) {
+                throw new IOException("Registro de cambios no valido: estado de " + tamano + " valores");
+            }
+            int[] estado = entrenador.pokemon[indice];
+            if (estado.length != tamano) {
+                estado = Arrays.copyOf(estado, tamano);
+                entrenador.pokemon[indice] = estado;
+            }
+            for (int j = 0; j < tamano; j++) {
+                if ((mascara & (1 << j)) != 0) {
+                    estado[j] = in.readInt();
+                }
+            }
+        }
+        int items = in.readUnsignedByte();
+        if (items != ITEMS_SIN_CAMBIOS) {
+            String[] quedan = new String[items];
+            for (int i = 0; i < items; i++) {
+                int indice = in.readUnsignedByte();
+                if (indice >= entrenador.items.length) {
+                    throw new IOException("Registro de cambios no valido: item " + indice + " de "
+                                          + entrenador.items.length);
+                }
+                quedan[i] = entrenador.items[indice];
+            }
+            entrenador.items = quedan;
+        }
+    }
+
+    /**
+     * Crea la batalla de un estado leido
+     */
+    private static Battle crearBatalla(Estado estado) throws POOBkemonException {
+        Trainer entrenador1 = crearEntrenador(estado.entrenadores[0]);
+        Trainer entrenador2 = crearEntrenador(estado.entrenadores[1]);
+        return Battle.restaurar(entrenador1, entrenador2, estado.turno == 2 ? entrenador2 : entrenador1,
+                                estado.turnos, estado.cambioForzado);
+    }
+
+    private static Trainer crearEntrenador(Entrenador estado) throws POOBkemonException {
+        Trainer entrenador = HUMANO.equals(estado.tipo) ? new HumanTrainer(estado.nombre, estado.color)
+            : BattleFactory.crearAITrainer(estado.tipo, estado.nombre, estado.color);
+        for (int i = 0; i < estado.pokemon.length; i++) {
+            Pokemon p = crearPokemon(estado.especies[i], estado.nombres[i], entrenador);
+            p.cargarEstado(estado.pokemon[i], 0);
+            entrenador.agregarPokemon(p);
+        }
+        if (estado.activo >= 0 && estado.activo < estado.pokemon.length) {
+            entrenador.pokemonActivo = entrenador.equipo.get(estado.activo);
+        }
+        for (String nombre : estado.items) {
+            Item item = BattleFactory.crearItem(nombre);
+            if (item != null) {
+                entrenador.agregarItem(item);
+            }
+        }
+        return entrenador;
+    }
+
+    /**
+     * Crea un Pokemon desde su especie guardada; si el catalogo cambio y el identificador ya no
+     * corresponde al nombre, lo busca por nombre
+     */
+    private static Pokemon crearPokemon(int idEspecie, String nombre, Trainer entrenador) throws POOBkemonException {
+        if (idEspecie >= 0 && idEspecie < CatalogoEspecies.cantidad()) {
+            Especie especie = CatalogoEspecies.get(idEspecie);
+            if (especie.getNombre().equalsIgnoreCase(nombre)) {
+                return especie.crearPokemon(nombre);
+            }
+        }
+        return BattleFactory.crearPokemon(nombre, entrenador);
+    }
+
+    /**
+     * Indica si un entrenador guardado es humano
+     *
+     * @param entrenador Entrenador guardado
+     * @return true si no es una maquina
+     */
+    static boolean esHumano(Entrenador entrenador) {
+        return HUMANO.equals(entrenador.tipo);
+    }
+
+    /**
+     * Devuelve el tipo con el que BattleFactory vuelve a crear al entrenador
+     */
+    private static String tipo(Trainer entrenador) {
+        if (entrenador instanceof DefensiveTrainer) {
+            return "defensiveTrainer";
+        } else if (entrenador instanceof ChangingTrainer) {
+            return "chaningTrainer";
+        } else if (entrenador instanceof ExpertTrainer) {
+            return "expertTrainer";
+        } else if (entrenador instanceof MonteCarloTrainer) {
+            return "monteCarloTrainer";
+        } else if (entrenador instanceof AttackingTrainer) {
+            return "attackingTrainer";
+        }
+        return HUMANO;
+    }
+}
@@ -0,0 +1,142 @@
+package dominio;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Planificador compartido por todas las batallas para sus esperas: el tiempo de cada turno,
+ * la accion de la maquina y los volcados de metricas
+ * Un unico hilo lleva la cuenta del tiempo de todas las tareas (reemplaza al java.util.Timer,
+ * y a su hilo, que antes se creaba en cada turno), asi miles de batallas simultaneas solo
+ * agregan tareas a una cola. Las tareas canceladas se quitan de la cola al cancelarlas, porque
+ * cada turno cancela el temporizador del anterior
+ *
+ * El hilo del planificador solo ejecuta tareas cortas (programar); el trabajo largo, como la
+ * busqueda de una IA o escribir un archivo, se pasa al vencer a un grupo fijo de hilos de
+ * trabajo (programarTrabajo, programarPeriodico), asi unas cuantas decisiones a la vez no
+ * retrasan el tiempo agotado de las demas batallas. La cantidad de hilos de trabajo es la
+ * propiedad del sistema poobkemon.planificador.hilos o, si no esta, la cantidad de procesadores
+ * (al menos 2)
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class PlanificadorBatallas {
+    /**
+     * Propiedad del sistema con la cantidad de hilos de trabajo
+     */
+    public static final String PROPIEDAD_HILOS = "poobkemon.planificador.hilos";
+    private static final Logger LOGGER = Logger.getLogger(PlanificadorBatallas.class.getName());
+    private static final ScheduledThreadPoolExecutor PLANIFICADOR = crearPlanificador();
+    private static final int HILOS_TRABAJO = hilosTrabajo();
+    private static final ExecutorService TRABAJO =
+        Executors.newFixedThreadPool(HILOS_TRABAJO, fabrica("poobkemon-batalla-"));
+
+    private PlanificadorBatallas() {
+    }
+
+    private static ScheduledThreadPoolExecutor crearPlanificador() {
+        ScheduledThreadPoolExecutor planificador = new ScheduledThreadPoolExecutor(1, fabrica("poobkemon-planificador-"));
+        planificador.setRemoveOnCancelPolicy(true);
+        return planificador;
+    }
+
+    private static int hilosTrabajo() {
+        int hilos = Math.max(2, Runtime.getRuntime().availableProcessors());
+        String valor = System.getProperty(PROPIEDAD_HILOS);
+        if (valor != null) {
+            try {
+                hilos = Math.max(1, Integer.parseInt(valor.trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.WARNING, "Cantidad de hilos no valida en " + PROPIEDAD_HILOS + ": " + valor);
+            }
+        }
+        return hilos;
+    }
+
+    private static ThreadFactory fabrica(String prefijo) {
+        AtomicInteger numero = new AtomicInteger();
+        return r -> {
+            Thread hilo = new Thread(r, prefijo + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    /**
+     * Programa una tarea corta para ejecutarse una vez en el hilo del planificador
+     * Mientras corre ninguna otra tarea vence, asi que no debe esperar ni hacer calculos largos
+     *
+     * @param tarea Tarea a ejecutar; sus excepciones se registran y no afectan a otras tareas
+     * @param retrasoMs Espera antes de ejecutarla, en milisegundos
+     * @return manejador para cancelarla con cancel(false)
+     */
+    public static ScheduledFuture<?> programar(Runnable tarea, long retrasoMs) {
+        return PLANIFICADOR.schedule(registrandoErrores(tarea), Math.max(0, retrasoMs), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Programa una tarea larga para ejecutarse una vez en los hilos de trabajo
+     * Cancelarla solo la evita si aun no vencio; despues ya esta en manos de los hilos de trabajo
+     *
+     * @param tarea Tarea a ejecutar; sus excepciones se registran y no afectan a otras tareas
+     * @param retrasoMs Espera antes de pasarla a los hilos de trabajo, en milisegundos
+     * @return manejador para cancelarla con cancel(false)
+     */
+    public static ScheduledFuture<?> programarTrabajo(Runnable tarea, long retrasoMs) {
+        Runnable trabajo = registrandoErrores(tarea);
+        return PLANIFICADOR.schedule(() -> TRABAJO.execute(trabajo), Math.max(0, retrasoMs), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Programa una tarea que se repite en los hilos de trabajo con un periodo fijo entre inicios
+     *
+     * @param tarea Tarea a ejecutar; si falla se registra el error y se sigue repitiendo
+     * @param periodoMs Espera antes de la primera ejecucion y entre ejecuciones, en milisegundos
+     * @return manejador para detenerla con cancel(false)
+     */
+    public static ScheduledFuture<?> programarPeriodico(Runnable tarea, long periodoMs) {
+        long periodo = Math.max(1, periodoMs);
+        Runnable trabajo = registrandoErrores(tarea);
+        return PLANIFICADOR.scheduleWithFixedDelay(() -> TRABAJO.execute(trabajo), periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancela una tarea programada sin interrumpirla si ya esta en ejecucion
+     *
+     * @param tarea Manejador devuelto al programar, o null
+     */
+    public static void cancelar(ScheduledFuture<?> tarea) {
+        if (tarea != null) {
+            tarea.cancel(false);
+        }
+    }
+
+    /**
+     * @return cantidad fija de hilos de trabajo; el planificador agrega un hilo mas
+     */
+    public static int getHilos() { return HILOS_TRABAJO; }
+
+    /**
+     * @return tareas programadas que aun no vencieron
+     */
+    public static int getPendientes() { return PLANIFICADOR.getQueue().size(); }
+
+    private static Runnable registrandoErrores(Runnable tarea) {
+        return () -> {
+            try {
+                tarea.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Error en una tarea programada de la batalla", e);
+            }
+        };
+    }
+}
@@ -8,6 +8,8 @@ import java.util.ArrayList;
  *
  * Modela las caracteristicas y comportamiento de un Pokemon
  * Incluye estadisticas tipos movimientos y metodos de combate
+ * Los datos fijos vienen de su Especie; lo que cambia en batalla (estadisticas, salud y nivel)
+ * se guarda en un arreglo compacto de enteros que se copia con copiar()
  * 
  * @author David Patacon
  * @author Daniel Hueso
@@ -15,18 +17,34 @@ import java.util.ArrayList;
  */
 public class Pokemon implements Serializable {
     private static final long serialVersionUID = 1L;
+    /**
+     * Posiciones del arreglo de estado de batalla
+     */
+    public static final int PS = 0;
+    public static final int ATAQUE = 1;
+    public static final int DEFENSA = 2;
+    public static final int ATAQUE_ESPECIAL = 3;
+    public static final int DEFENSA_ESPECIAL = 4;
+    public static final int VELOCIDAD = 5;
+    public static final int PS_ACTUAL = 6;
+    public static final int NIVEL = 7;
+    /**
+     * Cantidad de enteros del estado de batalla
+     */
+    public static final int TAMANO_ESTADO = 8;
+
     private String nombre;
     private String tipo;
     private String tipoSecundario;
-    private int ps;
-    private int ataque;
-    private int defensa;
-    private int ataqueEspecial;
-    private int defensaEspecial;
-    private int velocidad;
-    private int psActual;
+    // Identificador en CatalogoEspecies, o -1 si el Pokemon no se creo desde una especie
+    private final int idEspecie;
+    // Estado mutable de batalla: estadisticas actuales, salud y nivel en un solo arreglo
+    private int[] estado;
+    // Hash Zobrist de estado, se actualiza en cada cambio (ver Zobrist)
+    private long hash;
     private ArrayList<Movimiento> movimientos;
-    private int nivel;
+    // Indice de los tipos en la tabla de efectividades mas uno; 0 indica que hay que recalcularlo
+    private transient int indiceDefensorMasUno;
 
     /**
      * Constructor principal para crear un Pokemon
@@ -44,18 +62,108 @@ public class Pokemon implements Serializable {
      */
     public Pokemon(String nombre, String tipo, String tipoSecundario, int ps, int ataque, int defensa,
                  int ataqueEspecial, int defensaEspecial, int velocidad, ArrayList<Movimiento> movimientos) {
+        this(-1, nombre, tipo, tipoSecundario, ps, ataque, defensa, ataqueEspecial, defensaEspecial, velocidad, movimientos);
+    }
+
+    /**
+     * Crea un Pokemon de una especie del catalogo con la salud completa
+     * 
+     * @param especie Especie del Pokemon
+     * @param nombre Nombre del Pokemon
+     * @param movimientos Copias propias de los movimientos de la especie
+     */
+    Pokemon(Especie especie, String nombre, ArrayList<Movimiento> movimientos) {
+        this(especie.getId(), nombre, especie.getTipo(), especie.getTipoSecundario(), especie.getPs(),
+            especie.getAtaque(), especie.getDefensa(), especie.getAtaqueEspecial(),
+            especie.getDefensaEspecial(), especie.getVelocidad(), movimientos);
+    }
+
+    private Pokemon(int idEspecie, String nombre, String tipo, String tipoSecundario, int ps, int ataque, int defensa,
+                    int ataqueEspecial, int defensaEspecial, int velocidad, ArrayList<Movimiento> movimientos) {
+        this.idEspecie = idEspecie;
         this.nombre = nombre;
         this.tipo = tipo;
         this.tipoSecundario = tipoSecundario;
-        this.ps = ps;
-        this.ataque = ataque;
-        this.defensa = defensa;
-        this.ataqueEspecial = ataqueEspecial;
-        this.defensaEspecial = defensaEspecial;
-        this.velocidad = velocidad;
-        this.psActual = ps;
+        this.estado = new int[TAMANO_ESTADO];
+        estado[PS] = ps;
+        estado[ATAQUE] = ataque;
+        estado[DEFENSA] = defensa;
+        estado[ATAQUE_ESPECIAL] = ataqueEspecial;
+        estado[DEFENSA_ESPECIAL] = defensaEspecial;
+        estado[VELOCIDAD] = velocidad;
+        estado[PS_ACTUAL] = ps;
+        estado[NIVEL] = 100;
+        this.hash = Zobrist.hashEstado(estado);
         this.movimientos = movimientos;
-        this.nivel = 100;
+    }
+
+    /**
+     * Crea una copia independiente del Pokemon para simular jugadas sin modificar el original
+     * Comparte los datos inmutables (nombre, tipos, especie) y copia el estado y los movimientos
+     * 
+     * @return copia del Pokemon
+     */
+    public Pokemon copiar() {
+        ArrayList<Movimiento> copias = new ArrayList<>(movimientos.size());
+        for (Movimiento m : movimientos) {
+            copias.add(m.copiar());
+        }
+        Pokemon copia = new Pokemon(idEspecie, nombre, tipo, tipoSecundario, 0, 0, 0, 0, 0, 0, copias);
+        System.arraycopy(estado, 0, copia.estado, 0, TAMANO_ESTADO);
+        copia.hash = hash;
+        copia.indiceDefensorMasUno = indiceDefensorMasUno;
+        return copia;
+    }
+
+    /**
+     * Escribe el estado de batalla y los PP de cada movimiento en un arreglo plano
+     * 
+     * @param destino Arreglo donde escribir, con espacio para TAMANO_ESTADO + 1 + movimientos enteros
+     * @param pos Posicion inicial
+     * @return posicion siguiente a lo escrito
+     */
+    int guardarEstado(int[] destino, int pos) {
+        System.arraycopy(estado, 0, destino, pos, TAMANO_ESTADO);
+        pos += TAMANO_ESTADO;
+        destino[pos++] = movimientos.size();
+        for (Movimiento m : movimientos) {
+            destino[pos++] = m.getPP();
+        }
+        return pos;
+    }
+
+    /**
+     * Lee el estado escrito por guardarEstado
+     * Si desde entonces se agrego Forcejeo a los movimientos se quita, y si falta se vuelve a agregar
+     * 
+     * @param origen Arreglo con el estado guardado
+     * @param pos Posicion inicial
+     * @return posicion siguiente a lo leido
+     */
+    int cargarEstado(int[] origen, int pos) {
+        System.arraycopy(origen, pos, estado, 0, TAMANO_ESTADO);
+        hash = Zobrist.hashEstado(estado);
+        pos += TAMANO_ESTADO;
+        int cantidad = origen[pos++];
+        while (movimientos.size() > cantidad) {
+            movimientos.remove(movimientos.size() - 1);
+        }
+        while (movimientos.size() < cantidad) {
+            movimientos.add(new Forcejeo());
+        }
+        for (Movimiento m : movimientos) {
+            m.setPP(origen[pos++]);
+        }
+        return pos;
+    }
+
+    /**
+     * Devuelve la especie del catalogo a la que pertenece el Pokemon
+     * 
+     * @return especie o null si el Pokemon no se creo desde el catalogo
+     */
+    public Especie getEspecie() {
+        return idEspecie < 0 ? null : CatalogoEspecies.get(idEspecie);
     }
 
     /**
@@ -78,6 +186,7 @@ public class Pokemon implements Serializable {
      */
     public void setTipoPrincipal(String tipo) {
         this.tipo = tipo;
+        this.indiceDefensorMasUno = 0;
     }
 
     /**
@@ -87,6 +196,7 @@ public class Pokemon implements Serializable {
      */
     public void setTipoSecundario(String tipo) {
         this.tipoSecundario = tipo;
+        this.indiceDefensorMasUno = 0;
     }
     
     /**
@@ -94,8 +204,8 @@ public class Pokemon implements Serializable {
      * @param ps puntos de salud maximos
      */
     public void setPs(int ps) {
-        this.ps = ps;
-        this.psActual = ps;
+        poner(PS, ps);
+        poner(PS_ACTUAL, ps);
     }
 
     /**
@@ -103,7 +213,7 @@ public class Pokemon implements Serializable {
      * @param ataque nuevo valor de ataque
      */
     public void setAtaque(int ataque) {
-        this.ataque = ataque;
+        poner(ATAQUE, ataque);
     }
 
     /**
@@ -111,7 +221,7 @@ public class Pokemon implements Serializable {
      * @param defensa nuevo valor de defensa
      */
     public void setDefensa(int defensa) {
-        this.defensa = defensa;
+        poner(DEFENSA, defensa);
     }
 
     /**
@@ -119,7 +229,7 @@ public class Pokemon implements Serializable {
      * @param ataqueEspecial nuevo valor de ataque especial
      */
     public void setAtaqueEspecial(int ataqueEspecial) {
-        this.ataqueEspecial = ataqueEspecial;
+        poner(ATAQUE_ESPECIAL, ataqueEspecial);
     }
 
     /**
@@ -127,7 +237,7 @@ public class Pokemon implements Serializable {
      * @param defensaEspecial nuevo valor de defensa especial
      */
     public void setDefensaEspecial(int defensaEspecial) {
-        this.defensaEspecial = defensaEspecial;
+        poner(DEFENSA_ESPECIAL, defensaEspecial);
     }
 
     /**
@@ -135,7 +245,7 @@ public class Pokemon implements Serializable {
      * @param velocidad nuevo valor de velocidad
      */
     public void setVelocidad(int velocidad) {
-        this.velocidad = velocidad;
+        poner(VELOCIDAD, velocidad);
     }
 
     /**
@@ -147,7 +257,7 @@ public class Pokemon implements Serializable {
         if (nivel <= 0 || nivel > 100) {
             throw new POOBkemonException(POOBkemonException.ERROR_NIVEL_NO_VALIDO);
         }
-        this.nivel = nivel;
+        poner(NIVEL, nivel);
     }
 
     /**
@@ -183,13 +293,26 @@ public class Pokemon implements Serializable {
         return tipoSecundario;
     }
     
+    /**
+     * Devuelve el indice de los dos tipos del Pokemon en la tabla de efectividades
+     * Se calcula una sola vez y se invalida al cambiar de tipo
+     * 
+     * @return indice de defensor para TablaEfectividad
+     */
+    public int getIndiceDefensor() {
+        if (indiceDefensorMasUno == 0) {
+            indiceDefensorMasUno = TablaEfectividad.indiceDefensor(Tipo.idDe(tipo), Tipo.idDe(tipoSecundario)) + 1;
+        }
+        return indiceDefensorMasUno - 1;
+    }
+
     /**
      * Devuelve los puntos de salud maximos del Pokemon
      * 
      * @return puntos de salud maximos
      */
     public int getPs() {
-        return ps;
+        return estado[PS];
     }
     
     /**
@@ -198,7 +321,7 @@ public class Pokemon implements Serializable {
      * @return puntos de salud actuales
      */
     public int getPsActual() {
-        return psActual;
+        return estado[PS_ACTUAL];
     }
     
     /**
@@ -207,7 +330,7 @@ public class Pokemon implements Serializable {
      * @return ataque
      */
     public int getAtaque() {
-        return ataque;
+        return estado[ATAQUE];
     }
     
     /**
@@ -216,7 +339,7 @@ public class Pokemon implements Serializable {
      * @return defensa
      */
     public int getDefensa() {
-        return defensa;
+        return estado[DEFENSA];
     }
     
     /**
@@ -225,7 +348,7 @@ public class Pokemon implements Serializable {
      * @return ataque especial
      */
     public int getAtaqueEspecial() {
-        return ataqueEspecial;
+        return estado[ATAQUE_ESPECIAL];
     }
     
     /**
@@ -234,7 +357,7 @@ public class Pokemon implements Serializable {
      * @return defensa especial
      */
     public int getDefensaEspecial() {
-        return defensaEspecial;
+        return estado[DEFENSA_ESPECIAL];
     }
     
     /**
@@ -243,7 +366,7 @@ public class Pokemon implements Serializable {
      * @return velocidad
      */
     public int getVelocidad() {
-        return velocidad;
+        return estado[VELOCIDAD];
     }
     
     /**
@@ -261,7 +384,7 @@ public class Pokemon implements Serializable {
      * @return nivel
      */
     public int getNivel() {
-        return nivel;
+        return estado[NIVEL];
     }
     
     /**
@@ -273,8 +396,7 @@ public class Pokemon implements Serializable {
         if (cantidad <= 0) {
             throw new POOBkemonException(POOBkemonException.ERROR_CANTIDAD_NO_VALIDA);
         }
-        psActual -= cantidad;
-        if (psActual < 0) psActual = 0;
+        poner(PS_ACTUAL, Math.max(0, estado[PS_ACTUAL] - cantidad));
     }
 
     
@@ -284,7 +406,7 @@ public class Pokemon implements Serializable {
      * @return true si PS <= 0, false en caso contrario
      */
     public boolean estaDebilitado() {
-        return psActual <= 0;
+        return estado[PS_ACTUAL] <= 0;
     }
     
     /**
@@ -296,8 +418,7 @@ public class Pokemon implements Serializable {
         if (cantidad <= 0) {
             throw new POOBkemonException(POOBkemonException.ERROR_CANTIDAD_NO_VALIDA);
         }
-        psActual += cantidad;
-        if (psActual > ps) psActual = ps;
+        poner(PS_ACTUAL, Math.min(estado[PS], estado[PS_ACTUAL] + cantidad));
     }
 
     /**
@@ -326,29 +447,42 @@ public class Pokemon implements Serializable {
         }
         switch (estadistica.toLowerCase()) {
             case "ps":
-                this.ps += cantidad;
-                this.psActual += cantidad;
-                return cantidad;
+                return aumentarEstadistica(PS, cantidad);
             case "ataque":
-                this.ataque += cantidad;
-                return cantidad;
+                return aumentarEstadistica(ATAQUE, cantidad);
             case "defensa":
-                this.defensa += cantidad;
-                return cantidad;
+                return aumentarEstadistica(DEFENSA, cantidad);
             case "ataqueespecial":
-                this.ataqueEspecial += cantidad;
-                return cantidad;
+                return aumentarEstadistica(ATAQUE_ESPECIAL, cantidad);
             case "defensaespecial":
-                this.defensaEspecial += cantidad;
-                return cantidad;
+                return aumentarEstadistica(DEFENSA_ESPECIAL, cantidad);
             case "velocidad":
-                this.velocidad += cantidad;
-                return cantidad;
+                return aumentarEstadistica(VELOCIDAD, cantidad);
             default:
                 throw new POOBkemonException(String.format(POOBkemonException.ERROR_ESTADISTICA_NO_EXISTE, estadistica));
         }
     }
 
+    /**
+     * Aumenta una estadistica indicada por su campo del estado
+     * Aumentar PS tambien aumenta los PS actuales
+     * 
+     * @param campo PS, ATAQUE, DEFENSA, ATAQUE_ESPECIAL, DEFENSA_ESPECIAL o VELOCIDAD
+     * @param cantidad Valor a aumentar
+     * @return La cantidad que se aumento
+     * @throws POOBkemonException Si la cantidad es invalida
+     */
+    int aumentarEstadistica(int campo, int cantidad) throws POOBkemonException {
+        if (cantidad <= 0) {
+            throw new POOBkemonException(POOBkemonException.ERROR_CANTIDAD_NO_VALIDA);
+        }
+        poner(campo, estado[campo] + cantidad);
+        if (campo == PS) {
+            poner(PS_ACTUAL, estado[PS_ACTUAL] + cantidad);
+        }
+        return cantidad;
+    }
+
     /**
      * Indica si el Pokemon es sacrificable 
      * @return true si es sacrificable, false en caso contrario
@@ -378,7 +512,33 @@ public class Pokemon implements Serializable {
      * @param psActual nuevo valor de puntos de salud actuales
      */
     public void setPsActual(int psActual) {
-        this.psActual = psActual;
+        poner(PS_ACTUAL, psActual);
+    }
+
+    /**
+     * Cambia un campo del estado actualizando el hash
+     * 
+     * @param campo Indice del campo
+     * @param valor Nuevo valor
+     */
+    private void poner(int campo, int valor) {
+        hash ^= Zobrist.clave(campo, estado[campo]) ^ Zobrist.clave(campo, valor);
+        estado[campo] = valor;
+    }
+
+    /**
+     * Devuelve el hash Zobrist del Pokemon: su estado de batalla y los PP de sus movimientos
+     * El estado se mantiene al dia en cada cambio; los PP se agregan al pedirlo porque los
+     * movimientos no conocen al Pokemon que los usa
+     * 
+     * @return hash de 64 bits
+     */
+    public long getHash() {
+        long h = hash;
+        for (int i = 0; i < movimientos.size(); i++) {
+            h ^= Zobrist.clave(Zobrist.CAMPO_PP + i, movimientos.get(i).getPP());
+        }
+        return h;
     }
     
 }
\ No newline at end of file
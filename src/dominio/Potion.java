@@ -11,6 +11,7 @@ import java.util.logging.Logger;
  * @version 1.0
  */
 public class Potion extends Item {
+    private static final Logger LOGGER = Logger.getLogger(Potion.class.getName());
     /**
      * Cantidad de PS que la Potion restaura al Pokemon
      */
@@ -32,7 +33,6 @@ public class Potion extends Item {
      */
     @Override
     public String usarEn(Pokemon objetivo) {
-        Logger logger = Logger.getLogger(Potion.class.getName());
         try {
             if (!objetivo.estaDebilitado()) {
                 objetivo.restaurarPS(CURA_PS);
@@ -41,10 +41,10 @@ public class Potion extends Item {
                 return "No puedes usar Potion en un Pokemon debilitado";
             }
         } catch (POOBkemonException e) {
-            logger.log(Level.WARNING, "Error al usar Potion: " + e.getMessage(), e);
+            LOGGER.log(Level.WARNING, "Error al usar Potion: " + e.getMessage(), e);
             return "Error al usar Potion: " + e.getMessage();
         } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error inesperado al usar Potion: " + e.getMessage(), e);
+            LOGGER.log(Level.SEVERE, "Error inesperado al usar Potion: " + e.getMessage(), e);
             return "Error inesperado al usar Potion.";
         }
     }
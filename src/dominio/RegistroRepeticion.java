@@ -0,0 +1,116 @@
+package dominio;
+
+/**
+ * Una accion leida de una repeticion: quien actuo, que hizo, como salio la tirada de precision
+ * y con cuantos PS quedaron los Pokemon activos
+ * LectorRepeticion rellena y reutiliza la misma instancia en cada lectura
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class RegistroRepeticion {
+    /**
+     * Uso de un movimiento (indice -1 para Forcejeo)
+     */
+    public static final int MOVIMIENTO = 0;
+    /**
+     * Cambio de Pokemon
+     */
+    public static final int CAMBIO = 1;
+    /**
+     * Uso de un item
+     */
+    public static final int ITEM = 2;
+    /**
+     * Tiempo agotado: los movimientos del Pokemon activo pierden 1 PP
+     */
+    public static final int TIEMPO_AGOTADO = 3;
+
+    private int turno;
+    private int actor;
+    private int accion;
+    private int indice;
+    private int objetivo;
+    private int tirada;
+    private int psPropio;
+    private int psRival;
+    private int dano;
+
+    /**
+     * Rellena el registro con una accion leida
+     *
+     * @param turno Turno de la batalla
+     * @param actor 1 o 2 segun el entrenador que actuo
+     * @param accion MOVIMIENTO, CAMBIO, ITEM o TIEMPO_AGOTADO
+     * @param indice Indice del movimiento, Pokemon o item
+     * @param objetivo Indice en el equipo del Pokemon que recibio el item
+     * @param tirada Estado del resultado del movimiento (ver CalculadoraDano)
+     * @param psPropio PS del Pokemon activo del actor despues de la accion
+     * @param psRival PS del Pokemon activo del rival despues de la accion
+     * @param dano Daño causado o PS recuperados
+     */
+    void llenar(int turno, int actor, int accion, int indice, int objetivo, int tirada,
+                int psPropio, int psRival, int dano) {
+        this.turno = turno;
+        this.actor = actor;
+        this.accion = accion;
+        this.indice = indice;
+        this.objetivo = objetivo;
+        this.tirada = tirada;
+        this.psPropio = psPropio;
+        this.psRival = psRival;
+        this.dano = dano;
+    }
+
+    /**
+     * @return turno de la batalla en el que ocurrio la accion
+     */
+    public int getTurno() { return turno; }
+
+    /**
+     * @return 1 o 2 segun el entrenador que actuo
+     */
+    public int getActor() { return actor; }
+
+    /**
+     * @return MOVIMIENTO, CAMBIO, ITEM o TIEMPO_AGOTADO
+     */
+    public int getAccion() { return accion; }
+
+    /**
+     * @return indice del movimiento (-1 para Forcejeo), del Pokemon que entra o del item usado
+     */
+    public int getIndice() { return indice; }
+
+    /**
+     * @return indice en el equipo del Pokemon que recibio el item
+     */
+    public int getObjetivo() { return objetivo; }
+
+    /**
+     * @return estado de la tirada del movimiento (CalculadoraDano.ACIERTO, FALLO...), 0 si no es un movimiento
+     */
+    public int getTirada() { return tirada; }
+
+    /**
+     * @return PS del Pokemon activo del actor despues de la accion
+     */
+    public int getPsPropio() { return psPropio; }
+
+    /**
+     * @return PS del Pokemon activo del rival despues de la accion
+     */
+    public int getPsRival() { return psRival; }
+
+    /**
+     * @return daño causado por el movimiento o PS recuperados con el item
+     */
+    public int getDano() { return dano; }
+
+    @Override
+    public String toString() {
+        return "turno " + turno + " actor " + actor + " accion " + accion + " indice " + indice
+            + " tirada " + tirada + " PS " + psPropio + "/" + psRival;
+    }
+}
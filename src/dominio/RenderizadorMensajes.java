@@ -0,0 +1,58 @@
+package dominio;
+
+import java.util.function.Consumer;
+
+/**
+ * Escucha que convierte los eventos de batalla en los mensajes en español que muestra el juego
+ * El formateo de texto queda fuera de la batalla: solo lo paga quien se suscribe con este escucha
+ * Los eventos DANO y FALLO no generan mensaje propio porque ya los describe el de MOVIMIENTO_USADO
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public class RenderizadorMensajes implements BattleEventListener {
+    private final Consumer<String> destino;
+
+    /**
+     * Crea un renderizador que entrega cada mensaje al destino dado
+     *
+     * @param destino Consumidor de los mensajes (registro, consola, interfaz)
+     */
+    public RenderizadorMensajes(Consumer<String> destino) {
+        this.destino = destino;
+    }
+
+    @Override
+    public void onEvento(EventoBatalla evento) {
+        String mensaje = renderizar(evento);
+        if (mensaje != null) {
+            destino.accept(mensaje);
+        }
+    }
+
+    /**
+     * Construye el mensaje de un evento
+     *
+     * @param evento Evento a describir
+     * @return mensaje o null si el evento no genera mensaje
+     */
+    public static String renderizar(EventoBatalla evento) {
+        switch (evento.getTipo()) {
+            case MOVIMIENTO_USADO:
+                return evento.getMovimiento().mensaje(evento.getPokemon(), evento.getObjetivo(), evento.getResultado());
+            case CAMBIO:
+                return evento.getEntrenador().getNombre() + " ha cambiado a " + evento.getPokemon().getNombre();
+            case ITEM_USADO:
+                return evento.getEntrenador().getNombre() + " usó " + evento.getItem().getNombre() + " en "
+                    + evento.getPokemon().getNombre() + " y recuperó " + evento.getValor() + " PS";
+            case DEBILITADO:
+                return evento.getPokemon().getNombre() + " de " + evento.getEntrenador().getNombre() + " se ha debilitado!";
+            case TIEMPO_AGOTADO:
+                return "Se agotó el tiempo de " + evento.getEntrenador().getNombre()
+                    + ": los movimientos de " + evento.getPokemon().getNombre() + " pierden 1 PP";
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package dominio;
+
+/**
+ * Resultado de una batalla ejecutada por el simulador sin interfaz
+ * Guarda el ganador, la cantidad de turnos jugados y el daño total que causo cada entrenador
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class ResultadoSimulacion {
+    /**
+     * Valor de ganador cuando la batalla termina por limite de turnos
+     */
+    public static final int EMPATE = 0;
+
+    private final int ganador;
+    private final int turnos;
+    private final long danoEntrenador1;
+    private final long danoEntrenador2;
+
+    /**
+     * Crea un resultado de simulacion
+     *
+     * @param ganador 1 o 2 segun el entrenador que gano, EMPATE si nadie gano
+     * @param turnos Cantidad de turnos jugados
+     * @param danoEntrenador1 Daño total causado por el entrenador 1
+     * @param danoEntrenador2 Daño total causado por el entrenador 2
+     */
+    public ResultadoSimulacion(int ganador, int turnos, long danoEntrenador1, long danoEntrenador2) {
+        this.ganador = ganador;
+        this.turnos = turnos;
+        this.danoEntrenador1 = danoEntrenador1;
+        this.danoEntrenador2 = danoEntrenador2;
+    }
+
+    /**
+     * Devuelve el entrenador ganador
+     *
+     * @return 1 o 2 segun el ganador, EMPATE si la batalla no termino
+     */
+    public int getGanador() {
+        return ganador;
+    }
+
+    /**
+     * Indica si la batalla termino sin ganador
+     *
+     * @return true si se alcanzo el limite de turnos
+     */
+    public boolean esEmpate() {
+        return ganador == EMPATE;
+    }
+
+    /**
+     * Devuelve la cantidad de turnos jugados
+     *
+     * @return turnos jugados
+     */
+    public int getTurnos() {
+        return turnos;
+    }
+
+    /**
+     * Devuelve el daño total causado por el entrenador 1
+     *
+     * @return daño causado por el entrenador 1
+     */
+    public long getDanoEntrenador1() {
+        return danoEntrenador1;
+    }
+
+    /**
+     * Devuelve el daño total causado por el entrenador 2
+     *
+     * @return daño causado por el entrenador 2
+     */
+    public long getDanoEntrenador2() {
+        return danoEntrenador2;
+    }
+}
@@ -0,0 +1,224 @@
+package dominio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Resumen de una partida guardada leido de su cabecera de tamaño fijo: modo, entrenadores,
+ * Pokemon que les quedan, turno y fecha del guardado
+ * Sirve para mostrar partidas sin cargarlas; las partidas guardadas antes de que existiera
+ * la cabecera no tienen resumen
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class ResumenPartida {
+    /**
+     * Jugador contra jugador
+     */
+    public static final int PVP = 0;
+    /**
+     * Jugador contra maquina
+     */
+    public static final int PVM = 1;
+    /**
+     * Maquina contra maquina
+     */
+    public static final int MVM = 2;
+    /**
+     * Bytes de los nombres de los entrenadores en la cabecera (UTF-8, completados con ceros)
+     */
+    static final int TAMANO_NOMBRE = 16;
+    private static final String[] MODOS = {"PvP", "PvM", "MvM"};
+
+    private final Path ruta;
+    private final int modo;
+    private final String nombre1;
+    private final String nombre2;
+    private final int restantes1;
+    private final int total1;
+    private final int restantes2;
+    private final int total2;
+    private final int turnos;
+    private final long fecha;
+
+    private ResumenPartida(Path ruta, ByteBuffer cabecera) {
+        this.ruta = ruta;
+        this.modo = cabecera.get();
+        this.restantes1 = cabecera.get() & 0xFF;
+        this.total1 = cabecera.get() & 0xFF;
+        this.restantes2 = cabecera.get() & 0xFF;
+        this.total2 = cabecera.get() & 0xFF;
+        cabecera.position(cabecera.position() + 3);
+        this.turnos = cabecera.getInt();
+        this.fecha = cabecera.getLong();
+        this.nombre1 = leerNombre(cabecera);
+        this.nombre2 = leerNombre(cabecera);
+    }
+
+    /**
+     * Lee el resumen de una partida leyendo solo su cabecera
+     *
+     * @param ruta Archivo de la partida
+     * @return resumen, o null si el archivo no tiene cabecera (formato anterior o no es una partida)
+     * @throws IOException Si no se puede leer el archivo
+     */
+    public static ResumenPartida leer(Path ruta) throws IOException {
+        byte[] cabecera = leerCabecera(ruta);
+        return cabecera == null ? null : desdeCabecera(ruta, cabecera);
+    }
+
+    /**
+     * Lee los bytes de la cabecera de una partida
+     *
+     * @param ruta Archivo de la partida
+     * @return bytes de la cabecera sin magia ni version, o null si el archivo no tiene cabecera
+     * @throws IOException Si no se puede leer el archivo
+     */
+    static byte[] leerCabecera(Path ruta) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PartidaBinaria.POSICION_CABECERA + PartidaBinaria.TAMANO_CABECERA);
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && canal.read(buffer) >= 0) {
+                // lee hasta completar la cabecera o llegar al final
+            }
+        }
+        if (buffer.hasRemaining()) {
+            return null;
+        }
+        buffer.flip();
+        if (buffer.getInt() != PartidaBinaria.MAGIA
+            || (buffer.getShort() & 0xFFFF) < PartidaBinaria.VERSION_CABECERA) {
+            return null;
+        }
+        return Arrays.copyOfRange(buffer.array(), PartidaBinaria.POSICION_CABECERA, buffer.limit());
+    }
+
+    /**
+     * Crea un resumen desde una cabecera ya leida
+     *
+     * @param ruta Archivo de la partida
+     * @param cabecera Bytes de la cabecera, sin magia ni version
+     * @return resumen de la partida
+     */
+    static ResumenPartida desdeCabecera(Path ruta, byte[] cabecera) {
+        return new ResumenPartida(ruta, ByteBuffer.wrap(cabecera));
+    }
+
+    /**
+     * Escribe la cabecera de un estado
+     *
+     * @param estado Estado de la partida
+     * @return bytes de la cabecera, de tamaño PartidaBinaria.TAMANO_CABECERA
+     */
+    static byte[] cabecera(PartidaBinaria.Estado estado) {
+        PartidaBinaria.Entrenador e1 = estado.entrenadores[0];
+        PartidaBinaria.Entrenador e2 = estado.entrenadores[1];
+        ByteBuffer buffer = ByteBuffer.allocate(PartidaBinaria.TAMANO_CABECERA);
+        boolean maquina1 = !PartidaBinaria.esHumano(e1);
+        boolean maquina2 = !PartidaBinaria.esHumano(e2);
+        buffer.put((byte) (maquina1 && maquina2 ? MVM : maquina1 || maquina2 ? PVM : PVP));
+        buffer.put((byte) restantes(e1)).put((byte) e1.pokemon.length);
+        buffer.put((byte) restantes(e2)).put((byte) e2.pokemon.length);
+        buffer.position(buffer.position() + 3);
+        buffer.putInt(estado.turnos);
+        buffer.putLong(estado.fecha);
+        escribirNombre(buffer, e1.nombre);
+        escribirNombre(buffer, e2.nombre);
+        return buffer.array();
+    }
+
+    private static int restantes(PartidaBinaria.Entrenador entrenador) {
+        int restantes = 0;
+        for (int[] pokemon : entrenador.pokemon) {
+            if (pokemon[Pokemon.PS_ACTUAL] > 0) {
+                restantes++;
+            }
+        }
+        return restantes;
+    }
+
+    /**
+     * Escribe un nombre en TAMANO_NOMBRE bytes, cortandolo sin partir caracteres
+     */
+    private static void escribirNombre(ByteBuffer buffer, String nombre) {
+        int inicio = buffer.position();
+        for (int i = 0; i < nombre.length(); ) {
+            int codigo = nombre.codePointAt(i);
+            byte[] bytes = new String(Character.toChars(codigo)).getBytes(StandardCharsets.UTF_8);
+            if (buffer.position() - inicio + bytes.length > TAMANO_NOMBRE) {
+                break;
+            }
+            buffer.put(bytes);
+            i += Character.charCount(codigo);
+        }
+        buffer.position(inicio + TAMANO_NOMBRE);
+    }
+
+    private static String leerNombre(ByteBuffer buffer) {
+        int inicio = buffer.position();
+        int longitud = 0;
+        while (longitud < TAMANO_NOMBRE && buffer.get(inicio + longitud) != 0) {
+            longitud++;
+        }
+        String nombre = new String(buffer.array(), buffer.arrayOffset() + inicio, longitud, StandardCharsets.UTF_8);
+        buffer.position(inicio + TAMANO_NOMBRE);
+        return nombre;
+    }
+
+    /**
+     * @return archivo de la partida
+     */
+    public Path getRuta() { return ruta; }
+
+    /**
+     * @return PVP, PVM o MVM
+     */
+    public int getModo() { return modo; }
+
+    /**
+     * @return nombre del modo ("PvP", "PvM" o "MvM")
+     */
+    public String getNombreModo() {
+        return modo >= 0 && modo < MODOS.length ? MODOS[modo] : "?";
+    }
+
+    /**
+     * @param entrenador 1 o 2
+     * @return nombre del entrenador (cortado a 16 bytes)
+     */
+    public String getNombre(int entrenador) { return entrenador == 1 ? nombre1 : nombre2; }
+
+    /**
+     * @param entrenador 1 o 2
+     * @return Pokemon no debilitados del entrenador
+     */
+    public int getRestantes(int entrenador) { return entrenador == 1 ? restantes1 : restantes2; }
+
+    /**
+     * @param entrenador 1 o 2
+     * @return tamaño del equipo del entrenador
+     */
+    public int getTotal(int entrenador) { return entrenador == 1 ? total1 : total2; }
+
+    /**
+     * @return turnos jugados
+     */
+    public int getTurnos() { return turnos; }
+
+    /**
+     * @return fecha del guardado en milisegundos desde 1970
+     */
+    public long getFecha() { return fecha; }
+
+    @Override
+    public String toString() {
+        return getNombreModo() + " " + nombre1 + " (" + restantes1 + "/" + total1 + ") vs " + nombre2
+            + " (" + restantes2 + "/" + total2 + ") turno " + turnos;
+    }
+}
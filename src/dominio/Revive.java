@@ -12,6 +12,7 @@ import java.util.logging.Logger;
  * @version 1.0
  */
 public class Revive extends Item {
+    private static final Logger LOGGER = Logger.getLogger(Revive.class.getName());
 
     /**
      * Constructor de Revive
@@ -29,7 +30,6 @@ public class Revive extends Item {
      */
     @Override
     public String usarEn(Pokemon objetivo) {
-        Logger logger = Logger.getLogger(Potion.class.getName());
         try {
             if (objetivo.estaDebilitado()) {
                 int psRevive = objetivo.getPs() / 2;
@@ -39,10 +39,10 @@ public class Revive extends Item {
             return "Solo puedes usar Revive en un Pokemon debilitado";
             }
         } catch (POOBkemonException e) {
-            logger.log(Level.WARNING, "Error al usar Potion: " + e.getMessage(), e);
+            LOGGER.log(Level.WARNING, "Error al usar Potion: " + e.getMessage(), e);
             return "Error al usar Potion: " + e.getMessage();
         } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error inesperado al usar Potion: " + e.getMessage(), e);
+            LOGGER.log(Level.SEVERE, "Error inesperado al usar Potion: " + e.getMessage(), e);
             return "Error inesperado al usar Potion.";
         }
     }
@@ -9,6 +9,7 @@ import java.util.logging.Logger;
  * @version 1.0
  */
 public class SuperPotion extends Item {
+    private static final Logger LOGGER = Logger.getLogger(SuperPotion.class.getName());
     /**
      * Cantidad de PS que la SuperPotion restaura al Pokemon
      */
@@ -30,7 +31,6 @@ public class SuperPotion extends Item {
      */
     @Override
     public String usarEn(Pokemon objetivo) {
-        Logger logger = Logger.getLogger(Potion.class.getName());
         try {
             if (!objetivo.estaDebilitado()) {
                 objetivo.restaurarPS(CURA_PS);
@@ -39,10 +39,10 @@ public class SuperPotion extends Item {
                 return "No puedes usar SuperPotion en un Pokemon debilitado";
             }
         } catch (POOBkemonException e) {
-            logger.log(Level.WARNING, "Error al usar Potion: " + e.getMessage(), e);
+            LOGGER.log(Level.WARNING, "Error al usar Potion: " + e.getMessage(), e);
             return "Error al usar Potion: " + e.getMessage();
         } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error inesperado al usar Potion: " + e.getMessage(), e);
+            LOGGER.log(Level.SEVERE, "Error inesperado al usar Potion: " + e.getMessage(), e);
             return "Error inesperado al usar Potion.";
         }
     }
@@ -0,0 +1,118 @@
+package dominio;
+
+import java.util.Arrays;
+
+/**
+ * Tabla densa de efectividades indexada por identificadores de Tipo
+ * Guarda en un arreglo plano el multiplicador de cada par atacante/defensor y, a partir de el,
+ * una tabla precalculada para defensores de doble tipo, de modo que calcular la efectividad
+ * de un golpe es una sola lectura de arreglo
+ * Los datos se cargan una sola vez desde TablaTipos.inicializarEfectividades
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class TablaEfectividad {
+    private static final int N = Tipo.CANTIDAD_IDS;
+    /**
+     * Multiplicador simple: indice atacante * N + defensor
+     */
+    private static final double[] SIMPLE = new double[N * N];
+    /**
+     * Multiplicador contra doble tipo: indice atacante * N * N + defensor1 * N + defensor2
+     */
+    private static final double[] DOBLE = new double[N * N * N];
+
+    static {
+        Arrays.fill(SIMPLE, 1.0);
+        TablaTipos.inicializarEfectividades();
+        recalcularDoble();
+    }
+
+    private TablaEfectividad() {
+    }
+
+    /**
+     * Registra el multiplicador de un par de tipos y actualiza la tabla doble del atacante
+     *
+     * @param atacante Identificador del tipo atacante
+     * @param defensor Identificador del tipo defensor
+     * @param multiplicador Valor de efectividad
+     */
+    static void establecer(int atacante, int defensor, double multiplicador) {
+        if (atacante == Tipo.NINGUNO || defensor == Tipo.NINGUNO) {
+            return;
+        }
+        SIMPLE[atacante * N + defensor] = multiplicador;
+        recalcularDoble(atacante);
+    }
+
+    /**
+     * Recalcula la tabla doble completa
+     */
+    private static void recalcularDoble() {
+        for (int a = 0; a < N; a++) {
+            recalcularDoble(a);
+        }
+    }
+
+    /**
+     * Recalcula la porcion de la tabla doble de un tipo atacante
+     *
+     * @param a Identificador del tipo atacante
+     */
+    private static void recalcularDoble(int a) {
+        int base = a * N * N;
+        for (int d1 = 0; d1 < N; d1++) {
+            for (int d2 = 0; d2 < N; d2++) {
+                DOBLE[base + d1 * N + d2] = SIMPLE[a * N + d1] * SIMPLE[a * N + d2];
+            }
+        }
+    }
+
+    /**
+     * Devuelve el multiplicador de un tipo atacante contra un tipo defensor
+     *
+     * @param atacante Identificador del tipo atacante
+     * @param defensor Identificador del tipo defensor
+     * @return multiplicador de efectividad
+     */
+    public static double multiplicador(int atacante, int defensor) {
+        return SIMPLE[atacante * N + defensor];
+    }
+
+    /**
+     * Devuelve el multiplicador contra un defensor de uno o dos tipos
+     *
+     * @param atacante Identificador del tipo atacante
+     * @param defensor1 Identificador del tipo principal del defensor
+     * @param defensor2 Identificador del tipo secundario del defensor o Tipo.NINGUNO
+     * @return multiplicador de efectividad combinado
+     */
+    public static double multiplicador(int atacante, int defensor1, int defensor2) {
+        return DOBLE[atacante * N * N + defensor1 * N + defensor2];
+    }
+
+    /**
+     * Devuelve el multiplicador contra un defensor ya codificado con indiceDefensor
+     *
+     * @param atacante Identificador del tipo atacante
+     * @param indiceDefensor Indice combinado de los dos tipos del defensor
+     * @return multiplicador de efectividad combinado
+     */
+    public static double multiplicadorDefensor(int atacante, int indiceDefensor) {
+        return DOBLE[atacante * N * N + indiceDefensor];
+    }
+
+    /**
+     * Codifica los dos tipos de un defensor en un unico indice
+     *
+     * @param defensor1 Identificador del tipo principal
+     * @param defensor2 Identificador del tipo secundario o Tipo.NINGUNO
+     * @return indice combinado
+     */
+    public static int indiceDefensor(int defensor1, int defensor2) {
+        return defensor1 * N + defensor2;
+    }
+}
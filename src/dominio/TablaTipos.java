@@ -1,22 +1,19 @@
 package dominio;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Interfaz que define la tabla de efectividades entre tipos de Pokemon
  * Permite consultar el multiplicador de dano segun el tipo atacante y el tipo defensor
  * Incluye metodos para inicializar y agregar relaciones de efectividad
+ * Los valores se guardan en la tabla densa de TablaEfectividad indexada por Tipo
  * @author David Patacon
  * @author Daniel Hueso
  * @version 1.0
  */
 public interface TablaTipos {
-    static final Map<String, Map<String, Double>> efectividades = new HashMap<>();
 
      /**
      * Inicializa la tabla de efectividades con relaciones predefinidas entre tipos
-     * Debe llamarse una vez antes de usar la tabla para asegurar que los datos esten cargados
+     * TablaEfectividad la invoca al cargarse, por lo que llamarla de nuevo no cambia nada
      */
     static void inicializarEfectividades() {
         // Normal
@@ -181,7 +178,7 @@ public interface TablaTipos {
      * @param multiplicador Valor de efectividad 
      */
     static void agregarEfectividad(String atacante, String defensor, double multiplicador) {
-        efectividades.computeIfAbsent(atacante, k -> new HashMap<>()).put(defensor, multiplicador);
+        TablaEfectividad.establecer(Tipo.idDe(atacante), Tipo.idDe(defensor), multiplicador);
     }
 
     /**
@@ -193,8 +190,7 @@ public interface TablaTipos {
      * @return Multiplicador de efectividad
      */
     default double getMultiplicador(String tipoAtacante, String tipoDefensor) {
-        return efectividades.getOrDefault(tipoAtacante, new HashMap<>())
-                            .getOrDefault(tipoDefensor, 1.0);
+        return TablaEfectividad.multiplicador(Tipo.idDe(tipoAtacante), Tipo.idDe(tipoDefensor));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package dominio;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tabla de transposicion acotada y sin bloqueos para las busquedas de la IA
+ * Guarda, por hash de posicion (ver Zobrist.hashBatalla), el valor calculado, la profundidad
+ * con la que se calculo y la mejor accion encontrada, para no repetir la busqueda cuando la
+ * misma posicion aparece por otro camino (cambiar A, B y volver a A, subir la misma
+ * estadistica en distinto orden)
+ *
+ * Hoy cada ExpertTrainer tiene su propia tabla y la usa desde un solo hilo (su busqueda no es
+ * paralela); MonteCarloTrainer, la unica busqueda paralela, no usa tabla. Aun asi la tabla admite
+ * varios hilos sin candados: cada entrada ocupa dos posiciones de un AtomicLongArray, la clave
+ * mezclada con XOR con el dato y el dato, y si dos hilos escriben la misma entrada a la vez la
+ * lectura de la clave no coincide y la entrada se descarta en lugar de devolver datos mezclados.
+ * Las entradas se agrupan de a dos por cubeta: la primera se reemplaza solo por busquedas
+ * de igual o mayor profundidad y la segunda siempre, asi los resultados caros sobreviven
+ * y los recientes tambien tienen lugar
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class TablaTransposicion {
+    /**
+     * Valor devuelto por buscar cuando la posicion no esta en la tabla
+     */
+    public static final long NO_ENCONTRADO = 0L;
+
+    // Distribucion de bits del dato: valor (32) | profundidad (8) | accion (16) | marca (8)
+    private static final int DESPLAZAMIENTO_VALOR = 32;
+    private static final int DESPLAZAMIENTO_PROFUNDIDAD = 24;
+    private static final int DESPLAZAMIENTO_ACCION = 8;
+    private static final long MARCA = 0x5AL;
+
+    private final AtomicLongArray entradas;
+    private final int mascara;
+    private final LongAdder consultas = new LongAdder();
+    private final LongAdder aciertos = new LongAdder();
+
+    /**
+     * Crea una tabla con al menos la cantidad de entradas indicada, redondeada a potencia de dos
+     *
+     * @param entradas Cantidad minima de entradas
+     */
+    public TablaTransposicion(int entradas) {
+        int minimo = Math.max(1, (entradas + 1) / 2);
+        int cubetas = minimo == 1 ? 1 : Integer.highestOneBit(minimo - 1) << 1;
+        this.mascara = cubetas - 1;
+        // Dos entradas por cubeta y dos long por entrada
+        this.entradas = new AtomicLongArray(cubetas * 4);
+    }
+
+    /**
+     * Busca una posicion en la tabla
+     *
+     * @param clave Hash de la posicion
+     * @return dato empaquetado o NO_ENCONTRADO
+     */
+    public long buscar(long clave) {
+        consultas.increment();
+        int base = indice(clave);
+        for (int i = base; i < base + 4; i += 2) {
+            long dato = entradas.get(i + 1);
+            if (dato != NO_ENCONTRADO && (entradas.get(i) ^ dato) == clave) {
+                aciertos.increment();
+                return dato;
+            }
+        }
+        return NO_ENCONTRADO;
+    }
+
+    /**
+     * Guarda el resultado de buscar una posicion
+     *
+     * @param clave Hash de la posicion
+     * @param profundidad Profundidad con la que se calculo el valor
+     * @param valor Valor de la posicion
+     * @param accion Mejor accion encontrada, o -1 si no hay
+     */
+    public void guardar(long clave, int profundidad, double valor, int accion) {
+        long dato = empaquetar(profundidad, valor, accion);
+        int base = indice(clave);
+        long datoPreferido = entradas.get(base + 1);
+        boolean mismaClave = datoPreferido != NO_ENCONTRADO && (entradas.get(base) ^ datoPreferido) == clave;
+        if (datoPreferido == NO_ENCONTRADO || mismaClave || profundidad(datoPreferido) <= profundidad) {
+            escribir(base, clave, dato);
+        } else {
+            escribir(base + 2, clave, dato);
+        }
+    }
+
+    /**
+     * Vacia la tabla y sus contadores
+     */
+    public void limpiar() {
+        for (int i = 0; i < entradas.length(); i++) {
+            entradas.set(i, 0L);
+        }
+        consultas.reset();
+        aciertos.reset();
+    }
+
+    /**
+     * Devuelve la cantidad de entradas de la tabla
+     *
+     * @return capacidad en entradas
+     */
+    public int getCapacidad() {
+        return entradas.length() / 2;
+    }
+
+    /**
+     * Devuelve cuantas busquedas se hicieron desde la ultima limpieza
+     *
+     * @return consultas
+     */
+    public long getConsultas() {
+        return consultas.sum();
+    }
+
+    /**
+     * Devuelve cuantas busquedas encontraron la posicion
+     *
+     * @return aciertos
+     */
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    /**
+     * Extrae la profundidad de un dato
+     *
+     * @param dato Dato devuelto por buscar
+     * @return profundidad
+     */
+    public static int profundidad(long dato) {
+        return (int) ((dato >>> DESPLAZAMIENTO_PROFUNDIDAD) & 0xFF);
+    }
+
+    /**
+     * Extrae el valor de un dato
+     *
+     * @param dato Dato devuelto por buscar
+     * @return valor de la posicion
+     */
+    public static double valor(long dato) {
+        return Float.intBitsToFloat((int) (dato >>> DESPLAZAMIENTO_VALOR));
+    }
+
+    /**
+     * Extrae la mejor accion de un dato
+     *
+     * @param dato Dato devuelto por buscar
+     * @return accion o -1 si no hay
+     */
+    public static int accion(long dato) {
+        int accion = (int) ((dato >>> DESPLAZAMIENTO_ACCION) & 0xFFFF);
+        return accion == 0xFFFF ? -1 : accion;
+    }
+
+    private static long empaquetar(int profundidad, double valor, int accion) {
+        return ((long) Float.floatToRawIntBits((float) valor) << DESPLAZAMIENTO_VALOR)
+            | ((long) Math.min(profundidad, 0xFF) << DESPLAZAMIENTO_PROFUNDIDAD)
+            | ((long) (accion & 0xFFFF) << DESPLAZAMIENTO_ACCION)
+            | MARCA;
+    }
+
+    private void escribir(int i, long clave, long dato) {
+        entradas.set(i, clave ^ dato);
+        entradas.set(i + 1, dato);
+    }
+
+    private int indice(long clave) {
+        return (int) (clave & mascara) * 4;
+    }
+}
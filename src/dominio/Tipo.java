@@ -0,0 +1,82 @@
+package dominio;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enumeracion de los tipos elementales de Pokemon y movimientos
+ * Asigna a cada tipo un identificador entero pequeño (su ordinal) para indexar
+ * la tabla de efectividades sin buscar cadenas en mapas durante la batalla
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public enum Tipo {
+    NORMAL("Normal"),
+    FUEGO("Fuego"),
+    AGUA("Agua"),
+    PLANTA("Planta"),
+    ELECTRICO("Electrico"),
+    TIERRA("Tierra"),
+    VOLADOR("Volador"),
+    LUCHA("Lucha"),
+    VENENO("Veneno"),
+    HIELO("Hielo"),
+    BICHO("Bicho"),
+    ROCA("Roca"),
+    FANTASMA("Fantasma"),
+    DRAGON("Dragon"),
+    SINIESTRO("Siniestro"),
+    ACERO("Acero"),
+    HADA("Hada"),
+    PSIQUICO("Psiquico");
+
+    /**
+     * Identificador usado para la ausencia de tipo (tipo secundario nulo o tipo desconocido)
+     * Su fila y columna en la tabla de efectividades son siempre neutras
+     */
+    public static final int NINGUNO = values().length;
+    /**
+     * Cantidad de identificadores posibles, incluido NINGUNO
+     */
+    public static final int CANTIDAD_IDS = NINGUNO + 1;
+
+    private static final Map<String, Tipo> POR_NOMBRE = new HashMap<>();
+    static {
+        for (Tipo t : values()) {
+            POR_NOMBRE.put(t.nombre, t);
+        }
+        // Variante con tilde que aparece en la tabla original
+        POR_NOMBRE.put("Dragón", DRAGON);
+    }
+
+    private final String nombre;
+
+    Tipo(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Devuelve el nombre del tipo tal como se usa en Pokemon y Movimiento
+     *
+     * @return nombre del tipo
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Devuelve el identificador de un tipo a partir de su nombre
+     *
+     * @param nombre Nombre del tipo, puede ser null
+     * @return ordinal del tipo o NINGUNO si es null o desconocido
+     */
+    public static int idDe(String nombre) {
+        if (nombre == null) {
+            return NINGUNO;
+        }
+        Tipo tipo = POR_NOMBRE.get(nombre);
+        return tipo == null ? NINGUNO : tipo.ordinal();
+    }
+}
@@ -0,0 +1,39 @@
+package dominio;
+
+/**
+ * Tipos de evento que publica una batalla por su CanalEventos
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public enum TipoEvento {
+    /**
+     * Un Pokemon uso un movimiento; el evento trae el resultado empaquetado (ver CalculadoraDano)
+     */
+    MOVIMIENTO_USADO,
+    /**
+     * Un Pokemon recibio daño; el valor es el daño y el multiplicador el del ataque
+     */
+    DANO,
+    /**
+     * Un movimiento fallo la tirada de precision
+     */
+    FALLO,
+    /**
+     * Un entrenador cambio de Pokemon; el objetivo es el Pokemon que sale y el indice el del que entra
+     */
+    CAMBIO,
+    /**
+     * Un Pokemon quedo debilitado
+     */
+    DEBILITADO,
+    /**
+     * Un entrenador uso un item; el indice es el del item y el valor los PS que recupero el Pokemon
+     */
+    ITEM_USADO,
+    /**
+     * Se agoto el tiempo del turno y los movimientos del Pokemon activo perdieron 1 PP
+     */
+    TIEMPO_AGOTADO
+}
@@ -2,6 +2,8 @@ package dominio;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Clase abstracta que representa a un entrenador en el juego
@@ -12,7 +14,7 @@ import java.util.ArrayList;
  * @author Daniel Hueso
  * @version 1.0
  */
-public abstract class Trainer implements Serializable {
+public abstract class Trainer implements Serializable, Cloneable {
     private static final long serialVersionUID = 1L;
     protected String nombre;
     protected String color;
@@ -20,6 +22,12 @@ public abstract class Trainer implements Serializable {
     protected ArrayList<Item> items;
     protected Pokemon pokemonActivo;
     protected TrainerListener listener;
+    // Generador de la batalla en curso; no se guarda con la partida
+    private transient RandomGenerator aleatorio;
+    // Sin listener de la batalla (o en simulaciones) nadie lee los mensajes de los movimientos; no se construyen
+    private transient boolean sinMensajes;
+    // Canal de la batalla en curso; las copias de la IA no publican
+    private transient CanalEventos eventos;
 
     /**
      * Constructor del entrenador
@@ -34,6 +42,122 @@ public abstract class Trainer implements Serializable {
         this.items = new ArrayList<>();
     }
 
+    /**
+     * Asigna el generador aleatorio de la batalla en la que participa el entrenador
+     *
+     * @param aleatorio Generador de la batalla, o null para usar el del hilo actual
+     */
+    public void setAleatorio(RandomGenerator aleatorio) {
+        this.aleatorio = aleatorio;
+    }
+
+    /**
+     * Devuelve el generador aleatorio con el que el entrenador ejecuta sus movimientos
+     *
+     * @return generador de la batalla o el del hilo actual si no hay ninguno asignado
+     */
+    public RandomGenerator getAleatorio() {
+        return aleatorio != null ? aleatorio : ThreadLocalRandom.current();
+    }
+
+    /**
+     * Indica si los movimientos del entrenador deben aplicarse sin construir su mensaje
+     *
+     * @param sinMensajes true para no construir mensajes (batallas sin listener y simulaciones)
+     */
+    void setSinMensajes(boolean sinMensajes) {
+        this.sinMensajes = sinMensajes;
+    }
+
+    /**
+     * Asigna el canal por el que el entrenador publica los eventos de la batalla
+     *
+     * @param eventos Canal de la batalla, o null para no publicar
+     */
+    void setEventos(CanalEventos eventos) {
+        this.eventos = eventos;
+    }
+
+    /**
+     * Usa un movimiento del Pokemon activo contra el Pokemon activo del oponente
+     * Si alguien escucha el canal de eventos publica el uso y sus consecuencias
+     *
+     * @param movimiento Movimiento a usar
+     * @param oponente Entrenador rival
+     * @return mensaje del resultado, o cadena vacia si el entrenador no construye mensajes
+     */
+    protected String usarMovimiento(Movimiento movimiento, Trainer oponente) {
+        Pokemon atacante = pokemonActivo;
+        Pokemon objetivo = oponente.getPokemonActivo();
+        if (eventos != null && eventos.tieneEscuchas()) {
+            long resultado = movimiento.aplicarSinMensaje(atacante, objetivo, getAleatorio());
+            eventos.publicarMovimiento(this, oponente, atacante, objetivo, movimiento, resultado);
+            return sinMensajes ? "" : movimiento.mensaje(atacante, objetivo, resultado);
+        }
+        if (sinMensajes) {
+            movimiento.aplicarSinMensaje(atacante, objetivo, getAleatorio());
+            return "";
+        }
+        return movimiento.ejecutar(atacante, objetivo, getAleatorio());
+    }
+
+    /**
+     * Usa un item sobre el Pokemon activo, lo quita de la mochila y publica su uso
+     *
+     * @param itemIndex indice del item en la mochila
+     * @return mensaje del item
+     */
+    protected String usarItem(int itemIndex) {
+        Item item = items.get(itemIndex);
+        int psAntes = pokemonActivo.getPsActual();
+        String mensaje = item.usarEn(pokemonActivo);
+        items.remove(itemIndex);
+        if (eventos != null) {
+            eventos.publicarItem(this, item, itemIndex, pokemonActivo, pokemonActivo.getPsActual() - psAntes);
+        }
+        return mensaje;
+    }
+
+    /**
+     * Publica un cambio de Pokemon ya realizado
+     *
+     * @param anterior Pokemon que salio
+     * @param indice Indice del Pokemon que entro
+     */
+    protected void publicarCambio(Pokemon anterior, int indice) {
+        if (eventos != null) {
+            eventos.publicarCambio(this, anterior, pokemonActivo, indice);
+        }
+    }
+
+    /**
+     * Crea una copia independiente del entrenador para que la IA simule jugadas
+     * Copia el equipo con sus estados y PP; los items se comparten porque no cambian al usarse
+     * La copia no tiene listener ni generador propio (usa el del hilo actual hasta que se le asigne uno)
+     *
+     * @return copia del entrenador del mismo tipo
+     */
+    public Trainer copiar() {
+        try {
+            Trainer copia = (Trainer) super.clone();
+            copia.equipo = new ArrayList<>(equipo.size());
+            for (Pokemon p : equipo) {
+                Pokemon c = p.copiar();
+                copia.equipo.add(c);
+                if (p == pokemonActivo) {
+                    copia.pokemonActivo = c;
+                }
+            }
+            copia.items = new ArrayList<>(items);
+            copia.listener = null;
+            copia.aleatorio = null;
+            copia.eventos = null;
+            return copia;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Agrega un Pokemon al equipo del entrenador
      * Si no hay un Pokemon activo el nuevo se asigna como activo
@@ -67,7 +191,9 @@ public abstract class Trainer implements Serializable {
             Pokemon nuevoPokemon = equipo.get(indice);
             if (!nuevoPokemon.estaDebilitado()) {
                 if (nuevoPokemon != pokemonActivo) {
+                    Pokemon anterior = pokemonActivo;
                     pokemonActivo = nuevoPokemon;
+                    publicarCambio(anterior, indice);
                     return nombre + " ha cambiado a " + pokemonActivo.getNombre();
                 }
                 return nombre + " ya tiene a " + pokemonActivo.getNombre() + " en combate";
@@ -0,0 +1,113 @@
+package dominio;
+
+import java.util.List;
+
+/**
+ * Hash de estilo Zobrist para estados de batalla
+ * Cada par (campo, valor) tiene una clave de 64 bits y el hash de un estado es el XOR de las
+ * claves de sus campos, de modo que cambiar un campo solo requiere quitar la clave del valor
+ * anterior y agregar la del nuevo. Como las estadisticas no tienen un rango fijo, las claves
+ * no salen de una tabla aleatoria sino de mezclar campo y valor con la funcion final de
+ * SplitMix64, que da el mismo resultado en cada ejecucion
+ *
+ * Pokemon mantiene su hash de estado al recibir daño, curarse o subir estadisticas;
+ * los PP, el pokemon activo y los items se combinan al pedir el hash del entrenador
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class Zobrist {
+    /**
+     * Primer campo libre despues del estado de Pokemon, usado para los PP de cada movimiento
+     */
+    static final int CAMPO_PP = Pokemon.TAMANO_ESTADO;
+    private static final int CAMPO_ACTIVO = 64;
+    private static final int CAMPO_ITEMS = 65;
+    private static final int CAMPO_TURNO = 66;
+    private static final long SEMILLA = 0x9E3779B97F4A7C15L;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Mezcla los bits de un valor (funcion final de SplitMix64)
+     *
+     * @param z Valor a mezclar
+     * @return valor mezclado
+     */
+    static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Devuelve la clave de un campo con un valor
+     *
+     * @param campo Campo del estado
+     * @param valor Valor del campo
+     * @return clave de 64 bits
+     */
+    static long clave(int campo, int valor) {
+        return mezclar(SEMILLA + (((long) campo << 32) | (valor & 0xFFFFFFFFL)));
+    }
+
+    /**
+     * Calcula desde cero el hash de un arreglo de estado de Pokemon
+     *
+     * @param estado Estado con TAMANO_ESTADO campos
+     * @return hash del estado
+     */
+    static long hashEstado(int[] estado) {
+        long hash = 0;
+        for (int campo = 0; campo < Pokemon.TAMANO_ESTADO; campo++) {
+            hash ^= clave(campo, estado[campo]);
+        }
+        return hash;
+    }
+
+    /**
+     * Devuelve el hash de un entrenador: estado y PP de cada Pokemon segun su posicion en
+     * el equipo, el Pokemon activo y los items que le quedan
+     *
+     * @param entrenador Entrenador a resumir
+     * @return hash del entrenador
+     */
+    public static long hashEntrenador(Trainer entrenador) {
+        List<Pokemon> equipo = entrenador.equipo;
+        long hash = 0;
+        int activo = -1;
+        for (int i = 0; i < equipo.size(); i++) {
+            Pokemon p = equipo.get(i);
+            // La posicion se mezcla para que dos Pokemon intercambiados no den el mismo hash
+            hash ^= mezclar(p.getHash() + i * SEMILLA);
+            if (p == entrenador.pokemonActivo) {
+                activo = i;
+            }
+        }
+        hash ^= clave(CAMPO_ACTIVO, activo);
+        List<Item> items = entrenador.items;
+        long hashItems = items.size();
+        for (Item item : items) {
+            hashItems = hashItems * 31 + item.getNombre().hashCode();
+        }
+        return hash ^ clave(CAMPO_ITEMS, (int) (hashItems ^ (hashItems >>> 32)));
+    }
+
+    /**
+     * Devuelve el hash de una posicion de batalla
+     * Cada entrenador ocupa siempre el mismo lugar (el segundo se vuelve a mezclar, asi intercambiar
+     * los equipos cambia el hash) y el turno del segundo agrega su propia clave, de modo que la
+     * misma posicion con el otro entrenador por jugar da otro hash aunque ambos lados sean iguales
+     *
+     * @param primero Entrenador del primer lugar
+     * @param segundo Entrenador del segundo lugar
+     * @param turnoPrimero true si le toca jugar al primero
+     * @return hash de la posicion
+     */
+    public static long hashBatalla(Trainer primero, Trainer segundo, boolean turnoPrimero) {
+        long hash = hashEntrenador(primero) ^ mezclar(hashEntrenador(segundo) + SEMILLA);
+        return turnoPrimero ? hash : hash ^ clave(CAMPO_TURNO, 1);
+    }
+}
@@ -161,6 +161,7 @@ public class GamePanel extends JPanel implements Runnable {
     private void cargarPartida() {
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Abrir partida");
+        new SavePreviewPanel(fileChooser);
         int userSelection = fileChooser.showOpenDialog(this);
 
         if (userSelection == JFileChooser.APPROVE_OPTION) {
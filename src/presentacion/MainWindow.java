@@ -5,13 +5,17 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 /**
  * Ventana principal de la aplicacion de batalla Pokemon
  * Gestiona la interfaz grafica, paneles de batalla y acciones del usuario
  * Implementa BattleGUIListener para recibir eventos de la batalla
  * Permite guardar, cargar partidas y mostrar mensajes al usuario
+ * Tambien puede mostrar una batalla grabada en modo repeticion, sin Battle ni temporizadores de turno
  * 
  * @author David Patacon
  * @author Daniel Hueso
@@ -31,6 +35,23 @@ public class MainWindow extends JFrame implements BattleGUIListener {
     // Indica si la batalla esta pausada
     private boolean isBattlePaused = false;
 
+    // Milisegundos entre acciones de la repeticion a 1x, 4x y velocidad maxima
+    private static final int[] RETRASOS_REPETICION = {1500, 375, 0};
+    private static final String[] VELOCIDADES_REPETICION = {"1x", "4x", "MAX"};
+    // Tiempo que la velocidad maxima ocupa el hilo de la interfaz en cada tick
+    private static final long PRESUPUESTO_TICK_NS = 15_000_000L;
+    // Repeticion que se muestra, null en una batalla en vivo
+    private transient LectorRepeticion repeticion;
+    private transient Trainer[] repetidos;
+    private transient CanalEventos eventosRepeticion;
+    private transient RegistroRepeticion registro;
+    private transient Timer reproductor;
+    private int velocidad;
+    private int turnoRepeticion;
+    private boolean repeticionTerminada;
+    // Ultimo mensaje renderizado desde el ultimo refresco de la interfaz
+    private String ultimoMensaje;
+
     /**
      * Constructor de la ventana principal
      * Inicializa la interfaz, paneles y la batalla
@@ -46,14 +67,7 @@ public class MainWindow extends JFrame implements BattleGUIListener {
         setLayout(new BorderLayout());
         
         // Cargar fuente personalizada para la interfaz
-        try {
-            Font pokemonFont = Font.createFont(Font.TRUETYPE_FONT, 
-                getClass().getClassLoader().getResourceAsStream("graficos/PokemonGB.ttf")).deriveFont(12f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(pokemonFont);
-        } catch (Exception e) {
-            System.err.println("Error cargando fuente Pokemon: " + e.getMessage());
-        }
+        cargarFuente();
 
         // 1. Inicializar la batalla
         this.battle = battle;
@@ -145,8 +159,34 @@ public class MainWindow extends JFrame implements BattleGUIListener {
             }
         });
         
+        // Opcion Ver Repeticion
+        JMenuItem replayItem = new JMenuItem("Ver Repeticion");
+        replayItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                abrirRepeticion();
+            }
+        });
+        
+        // Opcion Autoguardado: guarda la partida al terminar cada turno en segundo plano
+        JCheckBoxMenuItem autosaveItem = new JCheckBoxMenuItem("Autoguardado");
+        autosaveItem.setSelected(battle.getAutoguardado() != null);
+        autosaveItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (autosaveItem.isSelected()) {
+                    MainWindow.this.battle.activarAutoguardado(java.nio.file.Paths.get(
+                        System.getProperty(Battle.PROPIEDAD_AUTOGUARDADO, Battle.ARCHIVO_AUTOGUARDADO)));
+                } else {
+                    MainWindow.this.battle.detenerAutoguardado();
+                }
+            }
+        });
+        
         fileMenu.add(saveItem);
         fileMenu.add(loadItem);
+        fileMenu.add(autosaveItem);
+        fileMenu.add(replayItem);
         fileMenu.addSeparator();
         fileMenu.add(exitItem);
         menuBar.add(fileMenu);
@@ -158,6 +198,230 @@ public class MainWindow extends JFrame implements BattleGUIListener {
         MusicManager.playMusic("musica/Battle_music.wav");
     }
 
+    /**
+     * Constructor de la ventana en modo repeticion
+     * Reconstruye los entrenadores desde la cabecera y un Timer de Swing lee del archivo una accion
+     * por tick (varias a velocidad maxima), la aplica y muestra su mensaje; no hay Battle ni
+     * temporizadores de turno, y cerrar la ventana no termina el juego
+     *
+     * @param repeticion Repeticion abierta; la ventana la cierra al cerrarse
+     * @throws POOBkemonException Si no se pueden reconstruir los entrenadores
+     */
+    public MainWindow(LectorRepeticion repeticion) throws POOBkemonException {
+        setTitle("Pokemon Esmeralda - Repeticion");
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setSize(800, 600);
+        setResizable(false);
+        setLayout(new BorderLayout());
+        cargarFuente();
+
+        // 1. Reconstruir los entrenadores y suscribir el renderizador de mensajes
+        this.repeticion = repeticion;
+        this.repetidos = repeticion.crearEntrenadores();
+        this.registro = new RegistroRepeticion();
+        this.eventosRepeticion = new CanalEventos();
+        eventosRepeticion.agregarEscucha(new RenderizadorMensajes(mensaje -> ultimoMensaje = mensaje));
+
+        // 2. Paneles de batalla y de acciones, con los botones deshabilitados
+        this.battlePanel = new BattlePanel(repetidos[0], repetidos[1]);
+        this.battlePanel.addPropertyChangeListener("pauseState", evt -> {
+            isBattlePaused = (boolean) evt.getNewValue();
+            if (isBattlePaused) {
+                reproductor.stop();
+            } else if (!repeticionTerminada) {
+                reproductor.start();
+            }
+            updateReplayIndicator();
+        });
+        this.actionPanel = new ActionPanel(this, repetidos[0]);
+        this.actionPanel.disableButtons();
+        this.actionPanel.addBattleText(repeticion.getNombre(1) + " contra " + repeticion.getNombre(2));
+
+        // 3. Indicador de turno con los controles de velocidad
+        turnIndicator = new JLabel("", SwingConstants.CENTER);
+        turnIndicator.setFont(new Font("Pokemon GB", Font.BOLD, 16));
+        turnIndicator.setOpaque(true);
+        turnIndicator.setBorder(BorderFactory.createEmptyBorder(5, 0, 5, 0));
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 4, 2));
+        controlPanel.setOpaque(false);
+        for (int i = 0; i < VELOCIDADES_REPETICION.length; i++) {
+            int nuevaVelocidad = i;
+            JButton speedButton = new JButton(VELOCIDADES_REPETICION[i]);
+            speedButton.setFocusPainted(false);
+            speedButton.addActionListener(e -> setReplaySpeed(nuevaVelocidad));
+            controlPanel.add(speedButton);
+        }
+        JButton seekButton = new JButton("Ir al turno");
+        seekButton.setFocusPainted(false);
+        seekButton.addActionListener(e -> seekReplayTurn());
+        controlPanel.add(seekButton);
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(turnIndicator, BorderLayout.CENTER);
+        topPanel.add(controlPanel, BorderLayout.EAST);
+
+        add(topPanel, BorderLayout.NORTH);
+        add(battlePanel, BorderLayout.CENTER);
+        add(actionPanel, BorderLayout.SOUTH);
+
+        // 4. Menu con las opciones que tienen sentido en una repeticion
+        JMenuBar menuBar = new JMenuBar();
+        JMenu fileMenu = new JMenu("Archivo");
+        JMenuItem replayItem = new JMenuItem("Ver Repeticion");
+        replayItem.addActionListener(e -> abrirRepeticion());
+        JMenuItem closeItem = new JMenuItem("Cerrar");
+        closeItem.addActionListener(e -> dispose());
+        fileMenu.add(replayItem);
+        fileMenu.addSeparator();
+        fileMenu.add(closeItem);
+        menuBar.add(fileMenu);
+        setJMenuBar(menuBar);
+
+        // 5. Cerrar el archivo junto con la ventana
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                reproductor.stop();
+                MainWindow.this.repeticion.close();
+            }
+        });
+
+        reproductor = new Timer(RETRASOS_REPETICION[0], e -> advanceReplay());
+        updateReplayIndicator();
+        centerWindow();
+        setVisible(true);
+        reproductor.start();
+    }
+
+    /**
+     * Carga la fuente personalizada de la interfaz
+     */
+    private void cargarFuente() {
+        try {
+            Font pokemonFont = Font.createFont(Font.TRUETYPE_FONT, 
+                getClass().getClassLoader().getResourceAsStream("graficos/PokemonGB.ttf")).deriveFont(12f);
+            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
+            ge.registerFont(pokemonFont);
+        } catch (Exception e) {
+            System.err.println("Error cargando fuente Pokemon: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Muestra el dialogo para elegir una repeticion y la abre en una ventana nueva
+     * Empieza en la carpeta donde se graban las repeticiones si esta configurada
+     */
+    private void abrirRepeticion() {
+        String carpeta = System.getProperty(Battle.PROPIEDAD_REPETICIONES);
+        JFileChooser fileChooser = new JFileChooser(carpeta);
+        fileChooser.setDialogTitle("Ver repeticion");
+        fileChooser.setFileFilter(new FileNameExtensionFilter("Repeticiones (*.pkr)", "pkr"));
+        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            PokemonBattleGame.verRepeticion(fileChooser.getSelectedFile().toPath());
+        }
+    }
+
+    /**
+     * Lee y aplica la siguiente accion de la repeticion
+     * A velocidad maxima aplica acciones hasta agotar el presupuesto del tick y refresca la
+     * interfaz una sola vez, con el ultimo mensaje
+     */
+    private void advanceReplay() {
+        boolean hayMas;
+        long limite = System.nanoTime() + PRESUPUESTO_TICK_NS;
+        try {
+            do {
+                hayMas = repeticion.siguiente(registro);
+                if (hayMas) {
+                    repeticion.aplicar(registro, repetidos[0], repetidos[1], eventosRepeticion);
+                    turnoRepeticion = registro.getTurno();
+                }
+            } while (hayMas && RETRASOS_REPETICION[velocidad] == 0 && System.nanoTime() < limite);
+        } catch (POOBkemonException e) {
+            hayMas = false;
+            ultimoMensaje = e.getMessage();
+        }
+        refreshReplay();
+        if (!hayMas) {
+            finishReplay();
+        }
+    }
+
+    /**
+     * Detiene la repeticion al llegar al final e informa si el archivo no coincidio con lo repetido
+     */
+    private void finishReplay() {
+        reproductor.stop();
+        repeticionTerminada = true;
+        updateReplayIndicator();
+        if (repeticion.getDesincronizaciones() > 0) {
+            actionPanel.addBattleText("La repeticion no coincidio con lo grabado en "
+                + repeticion.getDesincronizaciones() + " acciones");
+        }
+    }
+
+    /**
+     * Cambia la velocidad de la repeticion
+     *
+     * @param nuevaVelocidad Indice en VELOCIDADES_REPETICION
+     */
+    private void setReplaySpeed(int nuevaVelocidad) {
+        velocidad = nuevaVelocidad;
+        reproductor.setDelay(RETRASOS_REPETICION[velocidad]);
+        reproductor.setInitialDelay(RETRASOS_REPETICION[velocidad]);
+        if (reproductor.isRunning()) {
+            reproductor.restart();
+        }
+        updateReplayIndicator();
+    }
+
+    /**
+     * Pide un turno y salta a el usando el indice de la repeticion
+     */
+    private void seekReplayTurn() {
+        String respuesta = JOptionPane.showInputDialog(this,
+            "Turno (0 - " + Math.max(0, repeticion.getUltimoTurno()) + ")", "Ir al turno", JOptionPane.QUESTION_MESSAGE);
+        if (respuesta == null) {
+            return;
+        }
+        try {
+            int turno = Math.max(0, Integer.parseInt(respuesta.trim()));
+            repeticion.buscarTurno(turno, repetidos[0], repetidos[1]);
+            turnoRepeticion = turno;
+            ultimoMensaje = "Turno " + turno;
+            repeticionTerminada = false;
+            refreshReplay();
+            if (!isBattlePaused) {
+                reproductor.restart();
+            }
+        } catch (NumberFormatException e) {
+            showMessage("Turno no valido");
+        } catch (POOBkemonException e) {
+            showMessage(e.getMessage());
+        }
+    }
+
+    /**
+     * Refresca los paneles con el estado de la repeticion
+     */
+    private void refreshReplay() {
+        if (ultimoMensaje != null) {
+            actionPanel.addBattleText(ultimoMensaje);
+            ultimoMensaje = null;
+        }
+        battlePanel.updatePokemonStats();
+        updateReplayIndicator();
+    }
+
+    /**
+     * Muestra en el indicador el turno, la velocidad y si la repeticion esta en pausa o termino
+     */
+    private void updateReplayIndicator() {
+        String estado = repeticionTerminada ? "FIN" : isBattlePaused ? "PAUSA" : VELOCIDADES_REPETICION[velocidad];
+        turnIndicator.setText("REPETICION - Turno " + turnoRepeticion + " - " + estado);
+        turnIndicator.setForeground(Color.WHITE);
+        turnIndicator.setBackground(isBattlePaused || repeticionTerminada ? Color.BLACK : new Color(14, 174, 147));
+    }
+
     /**
      * Muestra el dialogo para guardar la partida y guarda el estado actual
      */
@@ -198,6 +462,7 @@ public class MainWindow extends JFrame implements BattleGUIListener {
     private void cargarPartida() {
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Cargar partida");
+        new SavePreviewPanel(fileChooser);
         int userSelection = fileChooser.showOpenDialog(this);
         
         if (userSelection == JFileChooser.APPROVE_OPTION) {
@@ -1,10 +1,14 @@
 package presentacion;
 
+import dominio.Aleatoriedad;
+import dominio.CatalogoEspecies;
+
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Ventana de configuracion para batallas Maquina vs Maquina (MvM)
@@ -19,13 +23,7 @@ public class MvMSetUp extends JFrame {
     // Paneles para cada maquina
     private JPanel panelMaquina1, panelMaquina2;
     // Lista de nombres de pokemones disponibles
-    private ArrayList<String> listaPokemones = new ArrayList<>(Arrays.asList(
-        "charizard", "blastoise", "venusaur", "gengar", "dragonite", "snorlax", "raichu",
-        "togetic", "tyranitar", "gardevoir", "metagross", "donphan", "machamp", "delibird",
-        "scizor", "mewtwo", "torkoal", "milotic", "sceptile", "manectric", "glalie",
-        "kabutops", "whiscash", "masquerain", "banette", "altaria", "claydol", "hariyama",
-        "swellow", "aggron", "weezing", "nidoking", "zangoose", "clefable", "absol", "chimecho"
-    ));
+    private ArrayList<String> listaPokemones = new ArrayList<>(CatalogoEspecies.getNombres());
     // Mapas para imagenes de pokemones e items
     private HashMap<String, ImageIcon> imagenesPokemones = new HashMap<>();
     private HashMap<String, ImageIcon> imagenesItems = new HashMap<>();
@@ -42,6 +40,9 @@ public class MvMSetUp extends JFrame {
     private JComboBox<String> tipoMaquinaBox1;
     private JComboBox<String> tipoMaquinaBox2;
 
+    // Generador para los equipos aleatorios; respeta la semilla configurada en Aleatoriedad
+    private final RandomGenerator aleatorio = Aleatoriedad.crearGenerador();
+
     /**
      * Constructor de la ventana de configuracion MvM
      * Inicializa la interfaz y los paneles de cada maquina
@@ -83,7 +84,7 @@ public class MvMSetUp extends JFrame {
         panelMaquina1.add(titulo, BorderLayout.NORTH);
 
         // Desplegable para tipo de IA
-        String[] tipos = {"defensiveTrainer", "attackingTrainer", "chaningTrainer", "expertTrainer"};
+        String[] tipos = {"defensiveTrainer", "attackingTrainer", "chaningTrainer", "expertTrainer", "monteCarloTrainer"};
         tipoMaquinaBox1 = new JComboBox<>(tipos);
         tipoMaquinaBox1.setFont(new Font("Pokemon GB", Font.PLAIN, 16));
         tipoMaquinaBox1.setSelectedIndex(0);
@@ -96,7 +97,7 @@ public class MvMSetUp extends JFrame {
         // Seleccion aleatoria de 6 pokemones para la maquina 1
         nombresEquipoMaquina1.clear();
         ArrayList<String> copiaPokemones = new ArrayList<>(listaPokemones);
-        Collections.shuffle(copiaPokemones);
+        Aleatoriedad.barajar(copiaPokemones, aleatorio);
         for (int i = 0; i < 6; i++) {
             nombresEquipoMaquina1.add(copiaPokemones.get(i));
         }
@@ -174,7 +175,7 @@ public class MvMSetUp extends JFrame {
         panelMaquina2.add(titulo, BorderLayout.NORTH);
 
         // Desplegable para tipo de IA
-        String[] tipos = {"defensiveTrainer", "attackingTrainer", "chaningTrainer", "expertTrainer"};
+        String[] tipos = {"defensiveTrainer", "attackingTrainer", "chaningTrainer", "expertTrainer", "monteCarloTrainer"};
         tipoMaquinaBox2 = new JComboBox<>(tipos);
         tipoMaquinaBox2.setFont(new Font("Pokemon GB", Font.PLAIN, 16));
         tipoMaquinaBox2.setSelectedIndex(0);
@@ -187,7 +188,7 @@ public class MvMSetUp extends JFrame {
         // Seleccion aleatoria de 6 pokemones para la maquina 2
         nombresEquipoMaquina2.clear();
         ArrayList<String> copiaPokemones = new ArrayList<>(listaPokemones);
-        Collections.shuffle(copiaPokemones);
+        Aleatoriedad.barajar(copiaPokemones, aleatorio);
         for (int i = 0; i < 6; i++) {
             nombresEquipoMaquina2.add(copiaPokemones.get(i));
         }
@@ -1,6 +1,7 @@
 package presentacion;
 
 import dominio.*;
+import java.nio.file.Path;
 import java.util.*;
 import javax.swing.SwingUtilities;
 import java.util.logging.Level;
@@ -126,4 +127,26 @@ public class PokemonBattleGame {
             JOptionPane.showMessageDialog(null, "Error inesperado al iniciar la batalla.", "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Abre una repeticion grabada y la muestra en una ventana de batalla en modo repeticion
+     * La repeticion se lee de a una accion mientras se reproduce, sin cargar el archivo completo
+     *
+     * @param ruta Archivo .pkr grabado por una batalla
+     */
+    public static void verRepeticion(Path ruta) {
+        SwingUtilities.invokeLater(() -> {
+            LectorRepeticion repeticion = null;
+            try {
+                repeticion = LectorRepeticion.abrir(ruta);
+                new MainWindow(repeticion);
+            } catch (POOBkemonException e) {
+                if (repeticion != null) {
+                    repeticion.close();
+                }
+                LOGGER.log(Level.WARNING, "Error al abrir la repeticion: " + e.getMessage(), e);
+                JOptionPane.showMessageDialog(null, e.getMessage(), "Error al abrir repeticion", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }
+}
@@ -1,11 +1,15 @@
 package presentacion;
 
+import dominio.Aleatoriedad;
+import dominio.CatalogoEspecies;
+
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Ventana de configuracion para batallas Player vs Machine (PvM)
@@ -36,13 +40,7 @@ public class PvMSetUp extends JFrame {
     private HashMap<String, ImageIcon> imagenesItems = new HashMap<>();
 
     // Lista de nombres de pokemones disponibles
-    private ArrayList<String> listaPokemones = new ArrayList<>(Arrays.asList(
-        "charizard", "blastoise", "venusaur", "gengar", "dragonite", "snorlax", "raichu",
-        "togetic", "tyranitar", "gardevoir", "metagross", "donphan", "machamp", "delibird",
-        "scizor", "mewtwo", "torkoal", "milotic", "sceptile", "manectric", "glalie",
-        "kabutops", "whiscash", "masquerain", "banette", "altaria", "claydol", "hariyama",
-        "swellow", "aggron", "weezing", "nidoking", "zangoose", "clefable", "absol", "chimecho"
-    ));
+    private ArrayList<String> listaPokemones = new ArrayList<>(CatalogoEspecies.getNombres());
 
     // Listas para los nombres de los equipos seleccionados
     private ArrayList<String> nombresEquipoJugador = new ArrayList<>();
@@ -57,6 +55,9 @@ public class PvMSetUp extends JFrame {
     // Tipo de IA seleccionada para la maquina
     private String trainerType;
 
+    // Generador para los equipos aleatorios; respeta la semilla configurada en Aleatoriedad
+    private final RandomGenerator aleatorio = Aleatoriedad.crearGenerador();
+
     /**
      * Constructor de la ventana de configuracion PvM
      * Inicializa la interfaz, paneles y equipos para jugador y maquina
@@ -274,7 +275,7 @@ public class PvMSetUp extends JFrame {
         // Seleccion aleatoria de 6 pokemones para la maquina
         nombresEquipoMaquina.clear();
         ArrayList<String> copiaPokemones = new ArrayList<>(listaPokemones);
-        Collections.shuffle(copiaPokemones);
+        Aleatoriedad.barajar(copiaPokemones, aleatorio);
         for (int i = 0; i < 6; i++) {
             nombresEquipoMaquina.add(copiaPokemones.get(i));
         }
@@ -1,5 +1,7 @@
 package presentacion;
 
+import dominio.CatalogoEspecies;
+
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
@@ -37,17 +39,7 @@ public class PvPNormalSetUp extends JFrame {
     private HashMap<String, ImageIcon> imagenesItems = new HashMap<>();
 
     // Lista de nombres de pokemones disponibles
-    private ArrayList<String> listaPokemones = new ArrayList<>() {{
-        add("charizard"); add("blastoise"); add("venusaur");
-        add("gengar"); add("dragonite"); add("snorlax"); add("raichu");
-        add("togetic"); add("tyranitar"); add("gardevoir");
-        add("metagross"); add("donphan"); add("machamp"); add("delibird");
-        add("scizor"); add("mewtwo");add("torkoal"); add("milotic"); add("sceptile");add("manectric");
-        add("glalie"); add("kabutops"); add("whiscash"); add("masquerain");
-        add("banette"); add("altaria"); add("claydol"); add("hariyama");
-        add("swellow"); add("aggron"); add("weezing"); add("nidoking");
-        add("zangoose"); add("clefable"); add("absol"); add("chimecho");
-    }};
+    private ArrayList<String> listaPokemones = new ArrayList<>(CatalogoEspecies.getNombres());
 
     // Listas para los nombres de los equipos seleccionados por cada jugador
     private ArrayList<String> nombresEquipo1 = new ArrayList<>();
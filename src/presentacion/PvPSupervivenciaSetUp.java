@@ -1,13 +1,16 @@
 package presentacion;
 
+import dominio.Aleatoriedad;
+import dominio.CatalogoEspecies;
+
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.random.RandomGenerator;
 
 /**
  * Clase PvPSupervivenciaSetUp
@@ -36,22 +39,15 @@ public class PvPSupervivenciaSetUp extends JFrame {
     private ArrayList<JLabel> imagenesEquipo2 = new ArrayList<>();
 
     // Lista de nombres de pokemones disponibles
-    private ArrayList<String> listaPokemones = new ArrayList<>() {{
-        add("Charizard"); add("Blastoise"); add("Venusaur");
-        add("Gengar"); add("Dragonite"); add("Snorlax"); add("Raichu");
-        add("Togetic"); add("Tyranitar"); add("Gardevoir");
-        add("Metagross"); add("Donphan"); add("Machamp"); add("Delibird");
-        add("Scizor"); add("Mewtwo"); add("Torkoal"); add("Milotic"); add("Sceptile"); add("Manectric");
-        add("Glalie"); add("Kabutops"); add("Whiscash"); add("Masquerain");
-        add("Banette"); add("Altaria"); add("Claydol"); add("Hariyama");
-        add("Swellow"); add("Aggron"); add("Weezing"); add("Nidoking");
-        add("Zangoose"); add("Clefable"); add("Absol"); add("Chimecho");
-    }};
+    private ArrayList<String> listaPokemones = nombresCapitalizados();
 
     // Listas para los nombres de los equipos asignados a cada jugador
     private ArrayList<String> nombresEquipo1 = new ArrayList<>();
     private ArrayList<String> nombresEquipo2 = new ArrayList<>();
 
+    // Generador para los equipos aleatorios; respeta la semilla configurada en Aleatoriedad
+    private final RandomGenerator aleatorio = Aleatoriedad.crearGenerador();
+
     /**
      * Constructor de la ventana de configuracion PvP Supervivencia
      * Inicializa la interfaz, paneles y genera los equipos aleatorios para ambos jugadores
@@ -158,6 +154,19 @@ public class PvPSupervivenciaSetUp extends JFrame {
         panel.add(bottomPanel, BorderLayout.SOUTH);
     }
 
+    /**
+     * Obtiene los nombres del catalogo de especies con la primera letra en mayuscula,
+     * que es como se muestran en este modo
+     * @return lista de nombres
+     */
+    private static ArrayList<String> nombresCapitalizados() {
+        ArrayList<String> nombres = new ArrayList<>();
+        for (String nombre : CatalogoEspecies.getNombres()) {
+            nombres.add(Character.toUpperCase(nombre.charAt(0)) + nombre.substring(1));
+        }
+        return nombres;
+    }
+
     /**
      * Carga las imagenes de los pokemones para mostrar en la interfaz
      * Escala las imagenes para que se ajusten a los paneles
@@ -190,7 +199,7 @@ public class PvPSupervivenciaSetUp extends JFrame {
         
         // Hacer una copia de la lista de pokemones para no modificar la original
         ArrayList<String> pokemonesDisponibles = new ArrayList<>(listaPokemones);
-        Collections.shuffle(pokemonesDisponibles);
+        Aleatoriedad.barajar(pokemonesDisponibles, aleatorio);
         
         // Seleccionar los primeros 6 pokemones de la lista mezclada
         for (int i = 0; i < 6 && i < pokemonesDisponibles.size(); i++) {
@@ -0,0 +1,184 @@
+package presentacion;
+
+import dominio.*;
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.*;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Panel de vista previa para el dialogo de cargar partida
+ * Al entrar a una carpeta lista sus partidas con IndicePartidas en segundo plano, y al
+ * seleccionar un archivo muestra modo, entrenadores, Pokemon restantes, turno y fecha
+ * leidos solo de la cabecera, sin cargar la partida
+ * Toda lectura de disco ocurre en un SwingWorker; cada uno lleva un numero de generacion y su
+ * resultado se descarta si el usuario ya cambio de carpeta o de archivo
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public class SavePreviewPanel extends JPanel implements PropertyChangeListener {
+    private final JLabel previewLabel;
+    // Resumenes de la carpeta actual por archivo
+    private Map<Path, ResumenPartida> resumenes = new HashMap<>();
+    private File seleccionado;
+    // Generacion de la ultima carpeta y de la ultima vista previa pedidas
+    private int generacionCarpeta;
+    private int generacionVista;
+
+    /**
+     * Crea el panel y lo conecta al selector de archivos como accesorio
+     *
+     * @param fileChooser Selector de archivos del dialogo de carga
+     */
+    public SavePreviewPanel(JFileChooser fileChooser) {
+        setLayout(new BorderLayout());
+        setPreferredSize(new Dimension(220, 180));
+        setBorder(BorderFactory.createTitledBorder("Vista previa"));
+        previewLabel = new JLabel("", SwingConstants.CENTER);
+        previewLabel.setVerticalAlignment(SwingConstants.TOP);
+        add(previewLabel, BorderLayout.CENTER);
+
+        fileChooser.setFileFilter(new FileNameExtensionFilter("Partidas (*.pokemon)", "pokemon"));
+        fileChooser.setAccessory(this);
+        fileChooser.addPropertyChangeListener(this);
+        loadDirectory(fileChooser.getCurrentDirectory());
+    }
+
+    /**
+     * Actualiza la vista previa al cambiar de carpeta o de archivo seleccionado
+     *
+     * @param evt Evento del selector de archivos
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        if (JFileChooser.DIRECTORY_CHANGED_PROPERTY.equals(evt.getPropertyName())) {
+            loadDirectory((File) evt.getNewValue());
+        } else if (JFileChooser.SELECTED_FILE_CHANGED_PROPERTY.equals(evt.getPropertyName())) {
+            seleccionado = (File) evt.getNewValue();
+            showPreview();
+        }
+    }
+
+    /**
+     * Lista en segundo plano las partidas de la carpeta usando su indice
+     */
+    private void loadDirectory(File carpeta) {
+        if (carpeta == null) {
+            return;
+        }
+        int generacion = ++generacionCarpeta;
+        new SwingWorker<List<ResumenPartida>, Void>() {
+            @Override
+            protected List<ResumenPartida> doInBackground() throws POOBkemonException {
+                return IndicePartidas.listar(carpeta.toPath());
+            }
+
+            @Override
+            protected void done() {
+                if (generacion != generacionCarpeta) {
+                    return;
+                }
+                Map<Path, ResumenPartida> nuevos = new HashMap<>();
+                try {
+                    for (ResumenPartida resumen : get()) {
+                        nuevos.put(resumen.getRuta(), resumen);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    // Sin indice se lee la cabecera del archivo seleccionado
+                }
+                resumenes = nuevos;
+                showPreview();
+            }
+        }.execute();
+    }
+
+    /**
+     * Muestra el resumen del archivo seleccionado
+     * Si la carpeta no lo tenia listado lee su cabecera en segundo plano
+     */
+    private void showPreview() {
+        int generacion = ++generacionVista;
+        if (seleccionado == null || !seleccionado.isFile()) {
+            previewLabel.setText("");
+            return;
+        }
+        ResumenPartida resumen = resumenes.get(seleccionado.toPath());
+        if (resumen != null) {
+            mostrar(resumen);
+            return;
+        }
+        // Partida creada despues de listar la carpeta: solo se lee su cabecera
+        Path ruta = seleccionado.toPath();
+        previewLabel.setText("<html><center>Cargando...</center></html>");
+        new SwingWorker<ResumenPartida, Void>() {
+            @Override
+            protected ResumenPartida doInBackground() throws IOException {
+                return ResumenPartida.leer(ruta);
+            }
+
+            @Override
+            protected void done() {
+                if (generacion != generacionVista) {
+                    return;
+                }
+                ResumenPartida leido = null;
+                try {
+                    leido = get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    // Se muestra sin vista previa
+                }
+                mostrar(leido);
+            }
+        }.execute();
+    }
+
+    /**
+     * Muestra un resumen, o que no hay vista previa si es null
+     */
+    private void mostrar(ResumenPartida resumen) {
+        if (resumen == null) {
+            previewLabel.setText("<html><center>Sin vista previa<br>(formato anterior)</center></html>");
+            return;
+        }
+        String fecha = new SimpleDateFormat("dd/MM/yyyy HH:mm").format(new Date(resumen.getFecha()));
+        previewLabel.setText("<html><center><b>" + escapar(resumen.getNombreModo()) + "</b><br><br>"
+            + escapar(resumen.getNombre(1)) + ": " + resumen.getRestantes(1) + "/" + resumen.getTotal(1) + " Pokemon<br>"
+            + escapar(resumen.getNombre(2)) + ": " + resumen.getRestantes(2) + "/" + resumen.getTotal(2) + " Pokemon<br><br>"
+            + "Turno " + resumen.getTurnos() + "<br>" + fecha + "</center></html>");
+    }
+
+    /**
+     * Escapa un texto de la partida para mostrarlo dentro de la etiqueta HTML
+     * Los nombres los escribe el jugador y podrian contener etiquetas
+     */
+    private static String escapar(String texto) {
+        StringBuilder escapado = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '<': escapado.append("&lt;"); break;
+                case '>': escapado.append("&gt;"); break;
+                case '&': escapado.append("&amp;"); break;
+                case '"': escapado.append("&quot;"); break;
+                default: escapado.append(c);
+            }
+        }
+        return escapado.toString();
+    }
+}
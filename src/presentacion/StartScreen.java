@@ -1,6 +1,7 @@
 package presentacion;
 
 import javax.swing.*;
+import dominio.ConfiguracionLog;
 import dominio.TablaTipos;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -61,10 +62,11 @@ public class StartScreen extends JFrame {
 
     /**
      * Metodo principal para ejecutar la pantalla de inicio.
-     * Inicializa la tabla de efectividades y muestra la StartScreen.
+     * Configura el log del dominio, inicializa la tabla de efectividades y muestra la StartScreen.
      * @param args Argumentos de la linea de comandos (no usados)
      */
     public static void main(String[] args) {
+        ConfiguracionLog.configurar();
         TablaTipos.inicializarEfectividades();
         new StartScreen();
     }
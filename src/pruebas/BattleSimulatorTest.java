@@ -0,0 +1,149 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pruebas unitarias para el simulador de batallas sin interfaz.
+ * Se verifica que las batallas terminan con un ganador, que respetan el limite de turnos
+ * y que las estrategias de IA funcionan sin listener.
+ */
+public class BattleSimulatorTest {
+
+    private AttackingTrainer maquina1;
+    private AttackingTrainer maquina2;
+
+    /**
+     * Configura dos maquinas atacantes con un Pokemon cada una.
+     */
+    @BeforeEach
+    void setUp() {
+        maquina1 = new AttackingTrainer("Maquina 1", "Rojo");
+        maquina2 = new AttackingTrainer("Maquina 2", "Azul");
+
+        Pokemon p1 = new Pokemon("Pikachu", "Electrico", null, 100, 50, 40, 40, 40, 90, new ArrayList<>());
+        p1.getMovimientos().add(new MovimientoFisico("Placaje", "Normal", 40, 100, 35));
+        Pokemon p2 = new Pokemon("Squirtle", "Agua", null, 100, 50, 40, 40, 40, 43, new ArrayList<>());
+        p2.getMovimientos().add(new MovimientoFisico("Placaje", "Normal", 40, 100, 35));
+
+        maquina1.agregarPokemon(p1);
+        maquina2.agregarPokemon(p2);
+    }
+
+    /**
+     * Verifica que la batalla termina con un entrenador derrotado.
+     */
+    @Test
+    void deberiaTerminarConUnGanador() {
+        BattleSimulator simulador = new BattleSimulator(maquina1, maquina2, 42L);
+        ResultadoSimulacion resultado = simulador.simular();
+        assertFalse(resultado.esEmpate(), "La batalla debe tener un ganador");
+        assertTrue(resultado.getTurnos() > 0, "Debe jugarse al menos un turno");
+        Trainer perdedor = resultado.getGanador() == 1 ? maquina2 : maquina1;
+        assertTrue(perdedor.estaDerrotado(), "El perdedor debe estar derrotado");
+    }
+
+    /**
+     * Verifica que el daño registrado corresponde a los PS perdidos por el perdedor.
+     */
+    @Test
+    void deberiaRegistrarElDanoCausado() {
+        ResultadoSimulacion resultado = new BattleSimulator(maquina1, maquina2, 7L).simular();
+        long danoGanador = resultado.getGanador() == 1 ? resultado.getDanoEntrenador1() : resultado.getDanoEntrenador2();
+        assertEquals(100, danoGanador, "El ganador debe causar todo el daño del equipo rival");
+    }
+
+    /**
+     * Verifica que la batalla se corta al alcanzar el limite de turnos.
+     */
+    @Test
+    void deberiaDeclararEmpateAlAlcanzarLimiteDeTurnos() {
+        ResultadoSimulacion resultado = new BattleSimulator(maquina1, maquina2, 1L, 1).simular();
+        assertTrue(resultado.esEmpate(), "Con un solo turno no debe haber ganador");
+        assertEquals(1, resultado.getTurnos());
+    }
+
+    /**
+     * Verifica que se puede simular una batalla MvM completa con equipos de la fabrica.
+     */
+    @Test
+    void deberiaSimularBatallaMvMConEquiposDeLaFabrica() throws POOBkemonException {
+        TablaTipos.inicializarEfectividades();
+        List<String> equipo1 = Arrays.asList("charizard", "blastoise", "venusaur");
+        List<String> equipo2 = Arrays.asList("gengar", "snorlax", "raichu");
+        BattleSimulator simulador = BattleSimulator.crearMvM(equipo1, equipo2,
+            new HashMap<>(), new HashMap<>(), "expertTrainer", "attackingTrainer", 3L);
+        ResultadoSimulacion resultado = simulador.simular();
+        assertTrue(resultado.getTurnos() > 0);
+        assertTrue(resultado.esEmpate()
+            || simulador.getEntrenador1().estaDerrotado()
+            || simulador.getEntrenador2().estaDerrotado());
+    }
+
+    /**
+     * Verifica que la misma semilla reproduce exactamente la misma batalla.
+     */
+    @Test
+    void deberiaRepetirBatallaConLaMismaSemilla() throws POOBkemonException {
+        List<String> equipo1 = Arrays.asList("charizard", "blastoise", "venusaur", "gengar");
+        List<String> equipo2 = Arrays.asList("snorlax", "raichu", "dragonite", "machamp");
+        ResultadoSimulacion a = BattleSimulator.crearMvM(equipo1, equipo2,
+            new HashMap<>(), new HashMap<>(), "attackingTrainer", "expertTrainer", 42L).simular();
+        ResultadoSimulacion b = BattleSimulator.crearMvM(equipo1, equipo2,
+            new HashMap<>(), new HashMap<>(), "attackingTrainer", "expertTrainer", 42L).simular();
+        assertEquals(a.getGanador(), b.getGanador());
+        assertEquals(a.getTurnos(), b.getTurnos());
+        assertEquals(a.getDanoEntrenador1(), b.getDanoEntrenador1());
+        assertEquals(a.getDanoEntrenador2(), b.getDanoEntrenador2());
+    }
+
+    /**
+     * Verifica que restaurar una instantanea devuelve la batalla al estado capturado.
+     */
+    @Test
+    void deberiaRestaurarEstadoCapturado() throws POOBkemonException {
+        List<String> equipo1 = Arrays.asList("charizard", "blastoise", "venusaur");
+        List<String> equipo2 = Arrays.asList("snorlax", "raichu", "dragonite");
+        Map<String, Integer> items = new HashMap<>();
+        items.put("Potion", 2);
+        BattleSimulator simulador = BattleSimulator.crearMvM(equipo1, equipo2,
+            items, new HashMap<>(items), "attackingTrainer", "defensiveTrainer", 5L);
+        simulador.iniciar();
+        simulador.avanzar();
+        InstantaneaBatalla instantanea = simulador.capturar();
+        Pokemon activo = simulador.getEntrenador2().getPokemonActivo();
+        int psAntes = activo.getPsActual();
+        int ppAntes = simulador.getEntrenador1().getEquipo().get(0).getMovimientos().get(0).getPP();
+        int itemsAntes = simulador.getEntrenador2().getItems().size();
+        int turnosAntes = simulador.getTurnos();
+
+        simulador.simular();
+        simulador.restaurar(instantanea);
+
+        assertSame(activo, simulador.getEntrenador2().getPokemonActivo());
+        assertEquals(psAntes, activo.getPsActual());
+        assertEquals(ppAntes, simulador.getEntrenador1().getEquipo().get(0).getMovimientos().get(0).getPP());
+        assertEquals(itemsAntes, simulador.getEntrenador2().getItems().size());
+        assertEquals(turnosAntes, simulador.getTurnos());
+    }
+
+    /**
+     * Verifica que la copia de un entrenador no comparte estado con el original.
+     */
+    @Test
+    void deberiaCopiarEntrenadorSinCompartirEstado() throws POOBkemonException {
+        Trainer copia = maquina1.copiar();
+        assertEquals(maquina1.getClass(), copia.getClass());
+        copia.getPokemonActivo().recibirDaño(10);
+        assertNotEquals(copia.getPokemonActivo().getPsActual(), maquina1.getPokemonActivo().getPsActual());
+        assertSame(copia.getEquipo().get(0), copia.getPokemonActivo());
+    }
+}
@@ -92,6 +92,34 @@ public class BattleTest {
         assertNotNull(result, "Debe poder seleccionar un movimiento en su turno");
     }
 
+    /**
+     * Verifica que el mensaje del movimiento solo se construye si la batalla tiene listener.
+     */
+    @Test
+    void deberiaConstruirMensajeSoloConListener() throws POOBkemonException {
+        battle.iniciar();
+        assertEquals("", battle.movimientoSeleccionado(0), "Sin listener no se construye el mensaje");
+
+        setUp();
+        StringBuilder recibido = new StringBuilder();
+        battle.setListener(new BattleGUIListener() {
+            public void onBattleStarted() { }
+            public void onTurnStarted(Trainer trainer) { }
+            public void onTurnEnded(Trainer trainer) { }
+            public void onPokemonDebilitado(Trainer trainer) { }
+            public void onBattleEnded(Trainer winner) { }
+            public void onPokemonChanged(Trainer trainer, String message) { }
+            public void onPokemonRevivido(Trainer trainer, Pokemon pokemon) { }
+            public void onMoveUsed(Trainer trainer, String result) { recibido.append(result); }
+            public void onItemUsed(Trainer trainer, String result) { }
+        });
+        battle.iniciar();
+        String mensaje = battle.movimientoSeleccionado(0);
+        battle.setListener(null);
+        assertFalse(mensaje.isEmpty(), "Con listener se construye el mensaje");
+        assertEquals(mensaje, recibido.toString());
+    }
+
     /**
      * Verifica que no se permite seleccionar un movimiento con un indice invalido.
      */
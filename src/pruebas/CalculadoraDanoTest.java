@@ -0,0 +1,98 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.random.RandomGenerator;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para CalculadoraDano.
+ * Se verifica el empaquetado de resultados, el daño esperado, minimo y maximo en forma cerrada,
+ * y que los movimientos sigan causando el mismo daño y mostrando el mismo mensaje.
+ */
+public class CalculadoraDanoTest {
+    private Pokemon squirtle;
+    private Pokemon charmander;
+
+    /**
+     * Prepara un Pokemon de tipo Agua y uno de tipo Fuego.
+     */
+    @BeforeEach
+    void setUp() {
+        TablaTipos.inicializarEfectividades();
+        squirtle = new Pokemon("Squirtle", "Agua", null, 100, 50, 50, 50, 50, 50, new ArrayList<>());
+        charmander = new Pokemon("Charmander", "Fuego", null, 100, 50, 50, 50, 50, 50, new ArrayList<>());
+    }
+
+    /**
+     * Prueba que estado, daño y multiplicador se recuperan del resultado empaquetado.
+     */
+    @Test
+    void deberiaEmpaquetarYDesempaquetarResultado() {
+        long resultado = CalculadoraDano.resultado(CalculadoraDano.ACIERTO, 37, 3.0);
+        assertEquals(CalculadoraDano.ACIERTO, CalculadoraDano.estado(resultado));
+        assertEquals(37, CalculadoraDano.dano(resultado));
+        assertEquals(3.0, CalculadoraDano.multiplicador(resultado), 1e-9);
+
+        long fallo = CalculadoraDano.resultado(CalculadoraDano.FALLO, 0, 0.5);
+        assertEquals(CalculadoraDano.FALLO, CalculadoraDano.estado(fallo));
+        assertEquals(0.5, CalculadoraDano.multiplicador(fallo), 1e-9);
+    }
+
+    /**
+     * Prueba que el daño esperado es el daño si acierta por la precision, y que el minimo
+     * es 0 solo cuando el movimiento puede fallar.
+     */
+    @Test
+    void deberiaCalcularDanoEsperadoMinimoYMaximo() {
+        Movimiento hidrobomba = new MovimientoEspecial("Hidrobomba", "Agua", 110, 80, 5);
+        Movimiento surf = new MovimientoEspecial("Surf", "Agua", 90, 100, 15);
+
+        int maximo = CalculadoraDano.danoMaximo(hidrobomba, squirtle, charmander);
+        assertTrue(maximo > 0);
+        assertEquals(0.8 * maximo, CalculadoraDano.danoEsperado(hidrobomba, squirtle, charmander), 1e-9);
+        assertEquals(0, CalculadoraDano.danoMinimo(hidrobomba, squirtle, charmander));
+
+        int danoSurf = CalculadoraDano.danoMaximo(surf, squirtle, charmander);
+        assertEquals(danoSurf, CalculadoraDano.danoMinimo(surf, squirtle, charmander));
+        assertEquals(danoSurf, CalculadoraDano.danoEsperado(surf, squirtle, charmander), 1e-9);
+    }
+
+    /**
+     * Prueba que el daño maximo no supera los PS actuales del objetivo.
+     */
+    @Test
+    void deberiaLimitarDanoMaximoALosPSActuales() throws POOBkemonException {
+        Movimiento surf = new MovimientoEspecial("Surf", "Agua", 90, 100, 15);
+        charmander.recibirDaño(95);
+        assertEquals(5, CalculadoraDano.danoMaximo(surf, squirtle, charmander));
+    }
+
+    /**
+     * Prueba que ejecutar causa el daño que predice la calculadora y mantiene su mensaje.
+     */
+    @Test
+    void deberiaCausarElDanoCalculado() {
+        Movimiento placaje = new MovimientoFisico("Placaje", "Normal", 40, 100, 10);
+        int esperado = CalculadoraDano.danoSiAcierta(placaje, squirtle, charmander);
+        RandomGenerator aleatorio = Aleatoriedad.crearGenerador(1L);
+
+        String mensaje = placaje.ejecutar(squirtle, charmander, aleatorio);
+        assertEquals(100 - esperado, charmander.getPsActual());
+        assertTrue(mensaje.startsWith("Squirtle usó Placaje"), mensaje);
+        assertEquals(9, placaje.getPP());
+    }
+
+    /**
+     * Prueba que un movimiento de estado sube la estadistica y describe el aumento.
+     */
+    @Test
+    void deberiaDescribirMovimientoDeEstado() {
+        MovimientoEstado danzaEspada = new MovimientoEstado("Danza Espada", "Normal", 100, 20, "Aumenta ataque");
+        String mensaje = danzaEspada.ejecutar(squirtle, charmander, Aleatoriedad.crearGenerador(1L));
+        assertEquals(60, squirtle.getAtaque());
+        assertEquals("Squirtle usó Danza Espada! ataque aumentó en 10 puntos.", mensaje);
+    }
+}
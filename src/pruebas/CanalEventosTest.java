@@ -0,0 +1,86 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el canal de eventos tipados de batalla.
+ * Se verifica que una simulacion publique los eventos en orden, que escuchar no cambie
+ * la batalla y que el renderizador produzca los mensajes del juego.
+ */
+public class CanalEventosTest {
+    private static final List<String> EQUIPO1 = List.of("charizard", "blastoise", "venusaur");
+    private static final List<String> EQUIPO2 = List.of("gengar", "snorlax", "raichu");
+    private static final Map<String, Integer> ITEMS = Map.of("Potion", 1);
+
+    private BattleSimulator crearSimulador() throws POOBkemonException {
+        return BattleSimulator.crearMvM(EQUIPO1, EQUIPO2, ITEMS, ITEMS, "attackingTrainer", "defensiveTrainer", 8L);
+    }
+
+    /**
+     * Prueba que los eventos llegan numerados en orden y que hay un DEBILITADO por cada
+     * pokemon del perdedor.
+     */
+    @Test
+    void deberiaPublicarEventosEnOrden() throws POOBkemonException {
+        BattleSimulator simulador = crearSimulador();
+        Map<TipoEvento, Integer> cuenta = new EnumMap<>(TipoEvento.class);
+        long[] ultima = {0};
+        simulador.getEventos().agregarEscucha(evento -> {
+            assertEquals(ultima[0] + 1, evento.getSecuencia());
+            ultima[0] = evento.getSecuencia();
+            cuenta.merge(evento.getTipo(), 1, Integer::sum);
+        });
+        ResultadoSimulacion resultado = simulador.simular();
+
+        assertFalse(resultado.esEmpate());
+        assertEquals(3, cuenta.get(TipoEvento.DEBILITADO));
+        assertTrue(cuenta.get(TipoEvento.MOVIMIENTO_USADO) > 0);
+        assertTrue(cuenta.get(TipoEvento.DANO) > 0);
+        assertEquals(ultima[0], simulador.getEventos().getPublicados());
+    }
+
+    /**
+     * Prueba que la misma semilla da el mismo resultado con y sin escuchas.
+     */
+    @Test
+    void deberiaSimularIgualConYSinEscuchas() throws POOBkemonException {
+        ResultadoSimulacion sinEscuchas = crearSimulador().simular();
+        BattleSimulator simulador = crearSimulador();
+        simulador.getEventos().agregarEscucha(evento -> { });
+        ResultadoSimulacion conEscuchas = simulador.simular();
+
+        assertEquals(sinEscuchas.getGanador(), conEscuchas.getGanador());
+        assertEquals(sinEscuchas.getTurnos(), conEscuchas.getTurnos());
+        assertEquals(sinEscuchas.getDanoEntrenador1(), conEscuchas.getDanoEntrenador1());
+        assertEquals(sinEscuchas.getDanoEntrenador2(), conEscuchas.getDanoEntrenador2());
+    }
+
+    /**
+     * Prueba que el renderizador describe los movimientos y cambios, y que al quitarlo deja de recibir eventos.
+     */
+    @Test
+    void deberiaRenderizarMensajes() throws POOBkemonException {
+        BattleSimulator simulador = crearSimulador();
+        List<String> mensajes = new ArrayList<>();
+        RenderizadorMensajes renderizador = new RenderizadorMensajes(mensajes::add);
+        simulador.getEventos().agregarEscucha(renderizador);
+        simulador.iniciar();
+        for (int i = 0; i < 4 && simulador.avanzar(); i++) {
+            // Unos pocos turnos alcanzan para tener mensajes
+        }
+        assertFalse(mensajes.isEmpty());
+        assertTrue(mensajes.stream().anyMatch(m -> m.contains(" usó ") || m.contains("falló")), mensajes.toString());
+
+        int cantidad = mensajes.size();
+        simulador.getEventos().quitarEscucha(renderizador);
+        simulador.avanzar();
+        assertEquals(cantidad, mensajes.size());
+        assertFalse(simulador.getEventos().tieneEscuchas());
+    }
+}
@@ -0,0 +1,159 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Pruebas unitarias para el catalogo de especies.
+ * Se verifica la busqueda por nombre e identificador, que los Pokemon creados
+ * no comparten estado mutable con la plantilla ni entre si y que el catalogo binario
+ * corresponde siempre al de texto.
+ */
+public class CatalogoEspeciesTest {
+
+    /**
+     * Verifica que una especie se encuentra por nombre sin importar mayusculas
+     * y que su identificador corresponde a su posicion en el catalogo.
+     */
+    @Test
+    void deberiaBuscarPorNombreEIdentificador() {
+        Especie charizard = CatalogoEspecies.buscar("Charizard");
+        assertNotNull(charizard);
+        assertSame(charizard, CatalogoEspecies.get(charizard.getId()));
+        assertEquals("Fuego", charizard.getTipo());
+        assertEquals("Volador", charizard.getTipoSecundario());
+        assertEquals(36, CatalogoEspecies.cantidad());
+        assertEquals(CatalogoEspecies.cantidad(), BattleFactory.getNombresPokemones().size());
+    }
+
+    /**
+     * Verifica que un nombre desconocido recibe la especie por defecto.
+     */
+    @Test
+    void deberiaUsarEspeciePorDefectoConNombreDesconocido() throws POOBkemonException {
+        assertNull(CatalogoEspecies.buscar("missingno"));
+        Pokemon p = BattleFactory.crearPokemon("missingno", null);
+        assertEquals("missingno", p.getNombre());
+        assertEquals("Normal", p.getTipo());
+        assertEquals(100, p.getPs());
+        assertEquals(4, p.getMovimientos().size());
+    }
+
+    /**
+     * Verifica que cada Pokemon tiene sus propios movimientos y PP.
+     */
+    @Test
+    void deberiaCrearPokemonConMovimientosIndependientes() throws POOBkemonException {
+        Pokemon a = BattleFactory.crearPokemon("blastoise", null);
+        Pokemon b = BattleFactory.crearPokemon("blastoise", null);
+        Movimiento movA = a.getMovimientos().get(0);
+        Movimiento movB = b.getMovimientos().get(0);
+        assertNotSame(movA, movB);
+        int ppInicial = movB.getPP();
+        movA.usar();
+        assertEquals(ppInicial - 1, movA.getPP());
+        assertEquals(ppInicial, movB.getPP());
+        assertEquals(ppInicial, BattleFactory.crearPokemon("blastoise", null).getMovimientos().get(0).getPP());
+    }
+
+    /**
+     * Verifica que el catalogo se cargo al iniciar y registro su tiempo de carga.
+     */
+    @Test
+    void deberiaRegistrarMetricasDeCarga() {
+        assertNotNull(CatalogoEspecies.getOrigen());
+        assertTrue(CatalogoEspecies.getNanosCarga() > 0);
+    }
+
+    /**
+     * Verifica que el formato binario conserva las especies del catalogo.
+     */
+    @Test
+    void deberiaConservarEspeciesAlConvertirABinario() throws IOException, POOBkemonException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CargadorCatalogo.escribirBinario(CatalogoEspecies.getEspecies(), new DataOutputStream(bytes));
+        List<Especie> releidas = CargadorCatalogo.leerBinario(
+            new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(CatalogoEspecies.cantidad(), releidas.size());
+        Especie original = CatalogoEspecies.buscar("kabutops");
+        Especie copia = releidas.get(original.getId());
+        assertEquals(original.getNombre(), copia.getNombre());
+        assertEquals(original.getTipoSecundario(), copia.getTipoSecundario());
+        assertEquals(original.getVelocidad(), copia.getVelocidad());
+        Movimiento a = original.crearMovimientos().get(3);
+        Movimiento b = copia.crearMovimientos().get(3);
+        assertEquals(a.getNombre(), b.getNombre());
+        assertEquals(a.getClass(), b.getClass());
+        assertEquals(a.getPPMaximos(), b.getPPMaximos());
+    }
+
+    /**
+     * Verifica que el binario que se distribuye tiene exactamente las especies del texto:
+     * sus bytes son los de codificar leerTexto(especies.txt). El binario lo genera la
+     * construccion con Maven; sin construir no existe y se carga el texto.
+     */
+    @Test
+    void deberiaCoincidirBinarioDistribuidoConTexto() throws IOException, POOBkemonException {
+        byte[] distribuido;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(CargadorCatalogo.RECURSO_BINARIO)) {
+            assumeTrue(in != null, "Sin construir con Maven no hay catalogo binario");
+            distribuido = in.readAllBytes();
+        }
+        assertArrayEquals(codificarTexto(), distribuido, "El binario no corresponde a especies.txt");
+        assertEquals(CargadorCatalogo.RECURSO_BINARIO, CatalogoEspecies.getOrigen());
+    }
+
+    /**
+     * Verifica que generar el binario desde el texto escribe las mismas especies que el texto.
+     */
+    @Test
+    void deberiaGenerarBinarioDesdeTexto(@TempDir Path carpeta) throws IOException, POOBkemonException {
+        Path texto = carpeta.resolve("especies.txt");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(CargadorCatalogo.RECURSO_TEXTO)) {
+            Files.write(texto, in.readAllBytes());
+        }
+        Path binario = carpeta.resolve("datos").resolve("especies.bin");
+        List<Especie> especies = CargadorCatalogo.generarBinario(texto, binario);
+        assertEquals(CatalogoEspecies.cantidad(), especies.size());
+        assertArrayEquals(codificarTexto(), Files.readAllBytes(binario));
+    }
+
+    private byte[] codificarTexto() throws IOException, POOBkemonException {
+        List<Especie> especies;
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(
+                getClass().getClassLoader().getResourceAsStream(CargadorCatalogo.RECURSO_TEXTO), StandardCharsets.UTF_8))) {
+            especies = CargadorCatalogo.leerTexto(lector);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CargadorCatalogo.escribirBinario(especies, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Verifica que una linea con un tipo desconocido se rechaza indicando su numero.
+     */
+    @Test
+    void deberiaRechazarTipoDesconocidoEnTexto() {
+        String texto = "E|prueba|Fuego||100|100|100|100|100|100\nF|Golpe|Plasma|40|100|35\n";
+        POOBkemonException e = assertThrows(POOBkemonException.class,
+            () -> CargadorCatalogo.leerTexto(new BufferedReader(new StringReader(texto))));
+        assertTrue(e.getMessage().contains("Linea 2"));
+    }
+}
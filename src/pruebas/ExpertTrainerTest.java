@@ -0,0 +1,83 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la busqueda expectimax de ExpertTrainer.
+ * Se verifica que elija el ataque con mejor efectividad, que no use ataques a los que el rival
+ * es inmune y que informe la profundidad alcanzada y los nodos visitados.
+ */
+public class ExpertTrainerTest {
+    private ExpertTrainer experto;
+    private AttackingTrainer rival;
+
+    /**
+     * Prepara un experto de tipo Agua contra un rival de tipo Fuego.
+     */
+    @BeforeEach
+    void setUp() {
+        TablaTipos.inicializarEfectividades();
+        experto = new ExpertTrainer("Experto", "Rojo");
+        rival = new AttackingTrainer("Rival", "Azul");
+
+        Pokemon squirtle = new Pokemon("Squirtle", "Agua", null, 100, 50, 50, 50, 50, 50, new ArrayList<>());
+        squirtle.getMovimientos().add(new MovimientoFisico("Placaje", "Normal", 60, 100, 10));
+        squirtle.getMovimientos().add(new MovimientoFisico("Cascada", "Agua", 60, 100, 10));
+        experto.agregarPokemon(squirtle);
+
+        Pokemon charmander = new Pokemon("Charmander", "Fuego", null, 100, 50, 50, 50, 50, 50, new ArrayList<>());
+        charmander.getMovimientos().add(new MovimientoFisico("Arañazo", "Normal", 40, 100, 10));
+        rival.agregarPokemon(charmander);
+    }
+
+    /**
+     * Prueba que el experto usa el ataque supereficaz y lo gasta del pokemon real.
+     */
+    @Test
+    void deberiaElegirAtaqueSupereficaz() {
+        experto.configurarBusqueda(0, 3);
+        experto.decidirAccion(null, rival);
+        Movimiento cascada = experto.getPokemonActivo().getMovimientos().get(1);
+        assertEquals(cascada.getPPMaximos() - 1, cascada.getPP(), "Debe usar el ataque de tipo Agua");
+        assertTrue(rival.getPokemonActivo().getPsActual() < 100);
+    }
+
+    /**
+     * Prueba que el experto no usa un ataque al que el rival es inmune aunque tenga mas potencia.
+     */
+    @Test
+    void deberiaEvitarAtaqueSinEfecto() {
+        Pokemon gastly = new Pokemon("Gastly", "Fantasma", null, 100, 50, 50, 50, 50, 50, new ArrayList<>());
+        gastly.getMovimientos().add(new MovimientoFisico("Lenguetazo", "Fantasma", 30, 100, 10));
+        AttackingTrainer fantasma = new AttackingTrainer("Fantasma", "Azul");
+        fantasma.agregarPokemon(gastly);
+
+        experto.getPokemonActivo().getMovimientos().set(1, new MovimientoFisico("Mordisco", "Siniestro", 30, 100, 10));
+        experto.configurarBusqueda(0, 2);
+        experto.decidirAccion(null, fantasma);
+        Movimiento placaje = experto.getPokemonActivo().getMovimientos().get(0);
+        assertEquals(placaje.getPPMaximos(), placaje.getPP(), "No debe usar un ataque Normal contra un Fantasma");
+        assertTrue(gastly.getPsActual() < 100);
+    }
+
+    /**
+     * Prueba que la busqueda informa su profundidad y sus nodos sin pasarse del presupuesto.
+     */
+    @Test
+    void deberiaInformarProfundidadYNodos() {
+        experto.getPokemonActivo().getMovimientos().add(new MovimientoFisico("Hidrobomba", "Agua", 110, 80, 5));
+        experto.configurarBusqueda(100, 30);
+        long inicio = System.nanoTime();
+        experto.decidirAccion(null, rival);
+        long milis = (System.nanoTime() - inicio) / 1_000_000;
+
+        assertTrue(experto.getProfundidadAlcanzada() >= 1, "Debe completar al menos una profundidad");
+        assertTrue(experto.getNodos() > 0);
+        assertTrue(experto.getNodosPorSegundo() > 0);
+        assertTrue(milis < 1000, "La decision debe respetar el presupuesto de tiempo");
+    }
+}
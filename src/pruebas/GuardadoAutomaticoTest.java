@@ -0,0 +1,156 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el guardado automatico.
+ * Se verifica que la partida escrita es la del ultimo estado solicitado, que no quedan
+ * archivos temporales, que cada turno solo agrega sus cambios y se compacta periodicamente,
+ * que un destino inaccesible no interrumpe la batalla y que cerrar el guardado desde otro
+ * hilo no hace fallar al turno que lo esta usando.
+ */
+public class GuardadoAutomaticoTest {
+    @TempDir
+    Path carpeta;
+
+    private Battle battle;
+
+    /**
+     * Configura una batalla Jugador vs Maquina.
+     */
+    @BeforeEach
+    void setUp() throws POOBkemonException {
+        battle = Battle.getInstance();
+        battle.setUpBattlePvM(List.of("charizard", "blastoise"), List.of("gengar", "snorlax"),
+                              Map.of("Potion", 1), Map.of("Potion", 1), "attackingTrainer");
+        battle.setListener(null);
+    }
+
+    /**
+     * Verifica que tras una rafaga de turnos el archivo tiene el ultimo estado y que se reemplazo atomicamente.
+     */
+    @Test
+    void deberiaGuardarElUltimoEstadoSolicitado() throws POOBkemonException, IOException {
+        Path destino = carpeta.resolve("auto.pokemon");
+        GuardadoAutomatico guardado = new GuardadoAutomatico(destino);
+        Pokemon activo = battle.getEntrenador1().getPokemonActivo();
+        for (int i = 0; i < 50; i++) {
+            activo.recibirDaño(1);
+            guardado.solicitar(battle);
+        }
+        guardado.close();
+        guardado.esperar();
+
+        assertEquals(50, guardado.getSolicitudes());
+        assertTrue(guardado.getEscrituras() >= 1 && guardado.getEscrituras() <= 50);
+        try (var archivos = Files.list(carpeta)) {
+            assertEquals(List.of(destino), archivos.toList());
+        }
+        Battle cargada = Battle.cargarPartida(destino.toString());
+        assertEquals(activo.getPsActual(), cargada.getEntrenador1().getPokemonActivo().getPsActual());
+    }
+
+    /**
+     * Verifica que cada turno agrega solo sus cambios y que al cargar se aplican sobre el estado completo.
+     */
+    @Test
+    void deberiaAgregarSoloLosCambiosDeCadaTurno() throws POOBkemonException, IOException {
+        Path destino = carpeta.resolve("auto.pokemon");
+        GuardadoAutomatico guardado = new GuardadoAutomatico(destino);
+        guardado.solicitar(battle);
+        guardado.esperar();
+        long tamanoCompleto = Files.size(destino);
+
+        Trainer jugador = battle.getEntrenador1();
+        Trainer maquina = battle.getEntrenador2();
+        int psAnterior = 0;
+        for (int turno = 1; turno <= 10; turno++) {
+            psAnterior = maquina.getPokemonActivo().getPsActual();
+            maquina.getPokemonActivo().recibirDaño(3);
+            jugador.getPokemonActivo().getMovimientos().get(0).usar();
+            if (turno == 4) {
+                jugador.getItems().remove(0);
+            }
+            if (turno == 7) {
+                jugador.cambiarPokemon(1);
+            }
+            guardado.solicitar(battle);
+            guardado.esperar();
+        }
+        guardado.close();
+
+        assertEquals(11, guardado.getEscrituras());
+        assertEquals(1, guardado.getCompactaciones());
+        assertTrue(Files.size(destino) < 2 * tamanoCompleto, "Los cambios deben ocupar menos que los estados completos");
+        Battle cargada = Battle.cargarPartida(destino.toString());
+        assertEquals(1, cargada.getEntrenador1().getEquipo().indexOf(cargada.getEntrenador1().getPokemonActivo()));
+        assertEquals(0, cargada.getEntrenador1().getItems().size());
+        assertEquals(jugador.getEquipo().get(0).getMovimientos().get(0).getPP(),
+                     cargada.getEntrenador1().getEquipo().get(0).getMovimientos().get(0).getPP());
+        assertEquals(maquina.getPokemonActivo().getPsActual(), cargada.getEntrenador2().getPokemonActivo().getPsActual());
+
+        // Un corte durante la escritura del ultimo registro lo descarta sin perder los anteriores
+        byte[] bytes = Files.readAllBytes(destino);
+        Files.write(destino, java.util.Arrays.copyOf(bytes, bytes.length - 3));
+        Battle cortada = Battle.cargarPartida(destino.toString());
+        assertEquals(psAnterior, cortada.getEntrenador2().getPokemonActivo().getPsActual());
+    }
+
+    /**
+     * Verifica que a lo sumo cada COMPACTAR_CADA registros se vuelve a escribir el estado completo.
+     */
+    @Test
+    void deberiaCompactarPeriodicamente() throws POOBkemonException {
+        Path destino = carpeta.resolve("auto.pokemon");
+        GuardadoAutomatico guardado = new GuardadoAutomatico(destino);
+        Pokemon activo = battle.getEntrenador2().getPokemonActivo();
+        for (int i = 0; i <= GuardadoAutomatico.COMPACTAR_CADA + 1; i++) {
+            activo.setPsActual(activo.getPs() - i % 7);
+            guardado.solicitar(battle);
+            guardado.esperar();
+        }
+        guardado.close();
+        assertTrue(guardado.getCompactaciones() >= 2);
+        assertTrue(guardado.getCompactaciones() < guardado.getEscrituras() / 4);
+        assertEquals(activo.getPsActual(), Battle.cargarPartida(destino.toString())
+            .getEntrenador2().getPokemonActivo().getPsActual());
+    }
+
+    /**
+     * Verifica que un error de escritura se informa al esperar sin lanzarse al solicitar.
+     */
+    @Test
+    void deberiaInformarErrorDeEscrituraAlEsperar() {
+        GuardadoAutomatico guardado = new GuardadoAutomatico(carpeta.resolve("no-existe").resolve("auto.pokemon"));
+        assertDoesNotThrow(() -> guardado.solicitar(battle));
+        assertThrows(POOBkemonException.class, guardado::esperar);
+        guardado.close();
+    }
+
+    /**
+     * Verifica que solicitar mientras otro hilo cierra el guardado no lanza excepciones.
+     */
+    @Test
+    void deberiaIgnorarSolicitudesAlCerrarDesdeOtroHilo() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            GuardadoAutomatico guardado = new GuardadoAutomatico(carpeta.resolve("auto" + i + ".pokemon"));
+            Thread cierre = new Thread(guardado::close);
+            cierre.start();
+            for (int j = 0; j < 20; j++) {
+                assertDoesNotThrow(() -> guardado.solicitar(battle));
+            }
+            cierre.join();
+            assertDoesNotThrow(guardado::esperar);
+            assertDoesNotThrow(() -> guardado.solicitar(battle));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el indice y los resumenes de partidas guardadas.
+ * Se verifica que la cabecera describe la partida, que el indice omite las partidas
+ * sin cabecera y que una partida modificada se vuelve a leer.
+ */
+public class IndicePartidasTest {
+    @TempDir
+    Path carpeta;
+
+    private Battle battle;
+
+    /**
+     * Configura una batalla Jugador vs Maquina con un Pokemon debilitado.
+     */
+    @BeforeEach
+    void setUp() throws POOBkemonException {
+        battle = Battle.getInstance();
+        battle.setUpBattlePvM(List.of("charizard", "blastoise"), List.of("gengar", "snorlax", "raichu"),
+                              Map.of("Potion", 1), Map.of("Potion", 1), "attackingTrainer");
+        battle.setListener(null);
+        battle.getEntrenador2().getEquipo().get(1).setPsActual(0);
+    }
+
+    /**
+     * Verifica que el resumen leido de la cabecera corresponde a la partida guardada.
+     */
+    @Test
+    void deberiaLeerElResumenDeLaCabecera() throws POOBkemonException, IOException {
+        Path ruta = carpeta.resolve("partida.pokemon");
+        long antes = System.currentTimeMillis();
+        battle.guardarPartida(ruta.toString());
+
+        ResumenPartida resumen = ResumenPartida.leer(ruta);
+        assertNotNull(resumen);
+        assertEquals(ResumenPartida.PVM, resumen.getModo());
+        assertEquals(battle.getEntrenador1().getNombre(), resumen.getNombre(1));
+        assertEquals(battle.getEntrenador2().getNombre(), resumen.getNombre(2));
+        assertEquals(2, resumen.getRestantes(1));
+        assertEquals(2, resumen.getTotal(1));
+        assertEquals(2, resumen.getRestantes(2));
+        assertEquals(3, resumen.getTotal(2));
+        assertTrue(resumen.getFecha() >= antes);
+    }
+
+    /**
+     * Verifica que el indice se crea, lista las partidas con cabecera y omite las anteriores.
+     */
+    @Test
+    void deberiaListarPartidasOmitiendoFormatoAnterior() throws Exception {
+        battle.guardarPartida(carpeta.resolve("a.pokemon").toString());
+        battle.guardarPartida(carpeta.resolve("b.pokemon").toString());
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(carpeta.resolve("anterior.pokemon"))))) {
+            out.writeObject(battle);
+        }
+
+        List<ResumenPartida> partidas = IndicePartidas.listar(carpeta);
+        assertEquals(2, partidas.size());
+        assertTrue(Files.exists(carpeta.resolve(IndicePartidas.ARCHIVO)));
+        assertEquals(partidas.size(), IndicePartidas.listar(carpeta).size());
+    }
+
+    /**
+     * Verifica que una partida modificada despues de indexarla se vuelve a leer.
+     */
+    @Test
+    void deberiaActualizarPartidaModificada() throws POOBkemonException, IOException {
+        Path ruta = carpeta.resolve("partida.pokemon");
+        battle.guardarPartida(ruta.toString());
+        assertEquals(2, IndicePartidas.listar(carpeta).get(0).getRestantes(2));
+
+        battle.getEntrenador2().getEquipo().get(0).setPsActual(0);
+        battle.guardarPartida(ruta.toString());
+        Files.setLastModifiedTime(ruta, FileTime.fromMillis(Files.getLastModifiedTime(ruta).toMillis() + 2000));
+        assertEquals(1, IndicePartidas.listar(carpeta).get(0).getRestantes(2));
+
+        Files.delete(ruta);
+        assertTrue(IndicePartidas.listar(carpeta).isEmpty());
+    }
+}
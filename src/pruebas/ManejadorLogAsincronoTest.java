@@ -0,0 +1,150 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el manejador de log asincrono.
+ * Se verifica que el archivo se abre con el primer registro, que un destino lento no
+ * bloquea a quien registra, que los registros llegan en orden con su metodo de origen y que
+ * la configuracion del log del dominio lo instala una sola vez para advertencias y errores.
+ */
+public class ManejadorLogAsincronoTest {
+    @TempDir
+    Path carpeta;
+
+    /**
+     * Destino que guarda los registros y puede quedar bloqueado hasta que se lo libere.
+     */
+    private static final class Destino extends Handler {
+        final List<LogRecord> registros = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch liberar;
+
+        Destino(boolean bloqueado) {
+            liberar = new CountDownLatch(bloqueado ? 1 : 0);
+        }
+
+        @Override
+        public void publish(LogRecord registro) {
+            try {
+                liberar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            registros.add(registro);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Verifica que el archivo no se crea hasta el primer registro.
+     */
+    @Test
+    void deberiaAbrirElArchivoConElPrimerRegistro() throws Exception {
+        Path archivo = carpeta.resolve("batalla.log");
+        ManejadorLogAsincrono manejador = ManejadorLogAsincrono.deArchivo(archivo.toString());
+        Logger logger = Logger.getLogger("pruebas.log.archivo");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(manejador);
+        try {
+            assertFalse(manejador.isDestinoAbierto());
+            assertFalse(Files.exists(archivo));
+
+            logger.warning("Primer error");
+            manejador.flush();
+            assertTrue(manejador.isDestinoAbierto());
+            assertTrue(Files.readString(archivo).contains("Primer error"));
+        } finally {
+            logger.removeHandler(manejador);
+            manejador.close();
+        }
+    }
+
+    /**
+     * Verifica que con el destino bloqueado registrar no espera y el exceso se descarta y se informa.
+     */
+    @Test
+    void deberiaDescartarSinBloquearConElBufferLleno() {
+        Destino destino = new Destino(true);
+        ManejadorLogAsincrono manejador = new ManejadorLogAsincrono(() -> destino, 16);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            manejador.publish(new LogRecord(Level.WARNING, "Error " + i));
+        }
+        long milisegundos = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        assertTrue(milisegundos < 1000, "Registrar no debe esperar al destino: " + milisegundos + " ms");
+        assertTrue(manejador.getDescartados() >= 1000 - 17);
+
+        destino.liberar.countDown();
+        manejador.close();
+        assertTrue(destino.registros.stream().anyMatch(r -> r.getMessage().startsWith("Se descartaron")));
+        assertEquals(1000 - manejador.getDescartados(), manejador.getEscritos());
+    }
+
+    /**
+     * Verifica que los registros llegan en orden y con el metodo que los registro.
+     */
+    @Test
+    void deberiaEscribirEnOrdenConSuOrigen() {
+        Destino destino = new Destino(false);
+        ManejadorLogAsincrono manejador = new ManejadorLogAsincrono(() -> destino, 64);
+        Logger logger = Logger.getLogger("pruebas.log.orden");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(manejador);
+        try {
+            for (int i = 0; i < 50; i++) {
+                logger.log(Level.SEVERE, "Error " + i);
+            }
+            manejador.flush();
+        } finally {
+            logger.removeHandler(manejador);
+            manejador.close();
+        }
+        assertEquals(50, destino.registros.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("Error " + i, destino.registros.get(i).getMessage());
+            assertEquals("deberiaEscribirEnOrdenConSuOrigen", destino.registros.get(i).getSourceMethodName());
+        }
+    }
+
+    /**
+     * Verifica que la configuracion del log instala un solo manejador de advertencias en el
+     * logger del dominio y deja los mensajes informativos a la consola.
+     */
+    @Test
+    void deberiaConfigurarLogDelDominioUnaSolaVez() {
+        ConfiguracionLog.configurar();
+        ConfiguracionLog.configurar();
+        Logger dominio = Logger.getLogger("dominio");
+        long instalados = Arrays.stream(dominio.getHandlers())
+            .filter(h -> h instanceof ManejadorLogAsincrono)
+            .count();
+        assertEquals(1, instalados);
+        ManejadorLogAsincrono manejador = ConfiguracionLog.getManejador();
+        assertEquals(Level.WARNING, manejador.getLevel());
+        assertFalse(manejador.isLoggable(new LogRecord(Level.INFO, "Catalogo cargado")));
+        assertTrue(manejador.isLoggable(new LogRecord(Level.WARNING, "Movimiento sin efecto")));
+        assertTrue(dominio.getUseParentHandlers(), "Los mensajes informativos siguen yendo a la consola");
+    }
+}
@@ -0,0 +1,116 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para las metricas de batalla.
+ * Se verifica la precision de los percentiles, que los histogramas no pierden mediciones
+ * entre hilos, que una batalla registra turnos, acciones y decisiones de la IA y que
+ * los volcados de texto y JSON se escriben completos.
+ */
+public class MetricasBatallaTest {
+    @TempDir
+    Path carpeta;
+
+    /**
+     * Verifica que los percentiles tienen el error relativo de las cubetas.
+     */
+    @Test
+    void deberiaCalcularPercentilesConErrorAcotado() {
+        HistogramaLatencia histograma = new HistogramaLatencia("prueba");
+        for (long i = 1; i <= 10_000; i++) {
+            histograma.registrar(i * 1_000);
+        }
+        assertEquals(10_000, histograma.getCantidad());
+        assertEquals(10_000_000, histograma.getMaximo());
+        assertEquals(5_000_500, histograma.getPromedio(), 1);
+        long[][] esperados = {{50, 5_000_000}, {90, 9_000_000}, {99, 9_900_000}};
+        for (long[] esperado : esperados) {
+            long p = histograma.percentil(esperado[0]);
+            assertTrue(p >= esperado[1] && p <= esperado[1] * (1 + 1.0 / HistogramaLatencia.SUBCUBETAS),
+                       "p" + esperado[0] + " = " + p);
+        }
+        assertEquals(10_000_000, histograma.percentil(100));
+        assertEquals(0, new HistogramaLatencia("vacio").percentil(50));
+    }
+
+    /**
+     * Verifica que varios hilos registran a la vez sin perder mediciones.
+     */
+    @Test
+    void deberiaRegistrarDesdeVariosHilos() throws InterruptedException {
+        HistogramaLatencia histograma = new HistogramaLatencia("concurrente");
+        List<Thread> hilos = new ArrayList<>();
+        for (int h = 0; h < 4; h++) {
+            Thread hilo = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histograma.registrar(i);
+                }
+            });
+            hilos.add(hilo);
+            hilo.start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertEquals(200_000, histograma.getCantidad());
+        assertEquals(49_999, histograma.getMaximo());
+    }
+
+    /**
+     * Verifica que una batalla cuenta sus turnos y acciones y mide los turnos y las decisiones de la IA.
+     */
+    @Test
+    void deberiaRegistrarTurnosAccionesYDecisiones() throws POOBkemonException {
+        Battle battle = Battle.getInstance();
+        battle.setUpBattlePvP(List.of("charizard"), List.of("blastoise"), Map.of(), Map.of());
+        battle.setListener(null);
+        long iniciados = MetricasBatalla.contador(MetricasBatalla.TURNOS_INICIADOS).sum();
+        long finalizados = MetricasBatalla.contador(MetricasBatalla.TURNOS_FINALIZADOS).sum();
+        long movimientos = MetricasBatalla.contador(MetricasBatalla.PREFIJO_EVENTOS + "movimiento_usado").sum();
+        long duraciones = MetricasBatalla.histograma(MetricasBatalla.DURACION_TURNO).getCantidad();
+
+        battle.iniciar();
+        battle.movimientoSeleccionado(0);
+        battle.finalizarTurno();
+        battle.cancelarTemporizador();
+
+        assertEquals(iniciados + 2, MetricasBatalla.contador(MetricasBatalla.TURNOS_INICIADOS).sum());
+        assertEquals(finalizados + 1, MetricasBatalla.contador(MetricasBatalla.TURNOS_FINALIZADOS).sum());
+        assertEquals(movimientos + 1, MetricasBatalla.contador(MetricasBatalla.PREFIJO_EVENTOS + "movimiento_usado").sum());
+        assertEquals(duraciones + 1, MetricasBatalla.histograma(MetricasBatalla.DURACION_TURNO).getCantidad());
+
+        BattleSimulator.crearMvM(List.of("gengar"), List.of("snorlax"), Map.of(), Map.of(),
+                                 "expertTrainer", "defensiveTrainer", 3L).simular();
+        assertTrue(MetricasBatalla.histograma(MetricasBatalla.PREFIJO_DECISION + "ExpertTrainer").getCantidad() > 0);
+        assertTrue(MetricasBatalla.histograma(MetricasBatalla.PREFIJO_DECISION + "DefensiveTrainer").getCantidad() > 0);
+    }
+
+    /**
+     * Verifica que el volcado se escribe en JSON o en texto segun la extension, sin dejar temporales.
+     */
+    @Test
+    void deberiaVolcarEnJsonYTexto() throws Exception {
+        MetricasBatalla.histograma(MetricasBatalla.DURACION_TURNO).registrar(2_000_000);
+        Path json = carpeta.resolve("metricas.json");
+        Path texto = carpeta.resolve("metricas.txt");
+        MetricasBatalla.volcar(json);
+        MetricasBatalla.volcar(texto);
+
+        String contenido = Files.readString(json).trim();
+        assertTrue(contenido.startsWith("{") && contenido.endsWith("}"));
+        assertTrue(contenido.contains("\"" + MetricasBatalla.DURACION_TURNO + "\":{\"cantidad\":"));
+        assertTrue(Files.readString(texto).contains(MetricasBatalla.DURACION_TURNO + " cantidad="));
+        try (var archivos = Files.list(carpeta)) {
+            assertEquals(2, archivos.count());
+        }
+    }
+}
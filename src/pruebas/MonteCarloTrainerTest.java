@@ -0,0 +1,81 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la busqueda Monte Carlo de MonteCarloTrainer.
+ * Se verifica que elija el ataque que gana la batalla, que reparta los playouts entre
+ * varios hilos y que en simulaciones la misma semilla repita la batalla.
+ */
+public class MonteCarloTrainerTest {
+    private MonteCarloTrainer entrenador;
+    private AttackingTrainer rival;
+
+    /**
+     * Prepara un entrenador de tipo Agua contra un rival de tipo Fuego.
+     */
+    @BeforeEach
+    void setUp() {
+        TablaTipos.inicializarEfectividades();
+        entrenador = new MonteCarloTrainer("Monte Carlo", "Rojo");
+        rival = new AttackingTrainer("Rival", "Azul");
+
+        Pokemon squirtle = new Pokemon("Squirtle", "Agua", null, 100, 50, 50, 50, 50, 50, new ArrayList<>());
+        squirtle.getMovimientos().add(new MovimientoFisico("Placaje", "Normal", 40, 100, 10));
+        squirtle.getMovimientos().add(new MovimientoFisico("Cascada", "Agua", 80, 100, 10));
+        entrenador.agregarPokemon(squirtle);
+
+        Pokemon charmander = new Pokemon("Charmander", "Fuego", null, 100, 50, 50, 50, 50, 50, new ArrayList<>());
+        charmander.getMovimientos().add(new MovimientoFisico("Arañazo", "Normal", 60, 100, 10));
+        rival.agregarPokemon(charmander);
+        entrenador.setAleatorio(Aleatoriedad.crearGenerador(5L));
+    }
+
+    /**
+     * Prueba que con suficientes playouts elige el ataque supereficaz.
+     */
+    @Test
+    void deberiaElegirAtaqueSupereficaz() {
+        entrenador.configurarBusqueda(0, 400, 1);
+        entrenador.decidirAccion(null, rival);
+        Movimiento cascada = entrenador.getPokemonActivo().getMovimientos().get(1);
+        assertEquals(cascada.getPPMaximos() - 1, cascada.getPP(), "Debe usar el ataque de tipo Agua");
+        assertEquals(400, entrenador.getPlayouts());
+        assertTrue(entrenador.getPlayoutsPorSegundo() > 0);
+    }
+
+    /**
+     * Prueba que con varios hilos se juegan los playouts de todos los arboles.
+     */
+    @Test
+    void deberiaRepartirPlayoutsEntreHilos() {
+        entrenador.configurarBusqueda(0, 300, 3);
+        entrenador.decidirAccion(null, rival);
+        assertEquals(3, entrenador.getHilos());
+        assertEquals(300, entrenador.getPlayouts());
+        assertTrue(rival.getPokemonActivo().getPsActual() < 100);
+    }
+
+    /**
+     * Prueba que en el simulador la misma semilla produce la misma batalla.
+     */
+    @Test
+    void deberiaRepetirSimulacionConLaMismaSemilla() throws POOBkemonException {
+        List<String> equipo1 = List.of("charizard", "blastoise", "venusaur");
+        List<String> equipo2 = List.of("gengar", "snorlax", "raichu");
+        Map<String, Integer> items = Map.of("Potion", 1);
+        ResultadoSimulacion a = BattleSimulator.crearMvM(equipo1, equipo2, items, items,
+            "monteCarloTrainer", "attackingTrainer", 21L).simular();
+        ResultadoSimulacion b = BattleSimulator.crearMvM(equipo1, equipo2, items, items,
+            "monteCarloTrainer", "attackingTrainer", 21L).simular();
+        assertEquals(a.getGanador(), b.getGanador());
+        assertEquals(a.getTurnos(), b.getTurnos());
+        assertEquals(a.getDanoEntrenador1(), b.getDanoEntrenador1());
+    }
+}
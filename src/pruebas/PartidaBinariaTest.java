@@ -0,0 +1,188 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el formato binario de las partidas guardadas.
+ * Se verifica que guardar y cargar conserva el estado de la batalla, que las partidas
+ * guardadas con la serializacion de Java se rechazan sin deserializarlas y que un archivo
+ * desconocido o un registro de cambios fuera de rango se rechazan.
+ */
+public class PartidaBinariaTest {
+    @TempDir
+    Path carpeta;
+
+    private Battle battle;
+
+    /**
+     * Configura una batalla Jugador vs Maquina con algo de daño, PP gastados y un item usado.
+     */
+    @BeforeEach
+    void setUp() throws POOBkemonException {
+        battle = Battle.getInstance();
+        battle.setUpBattlePvM(List.of("charizard", "blastoise", "venusaur"), List.of("gengar", "snorlax"),
+                              Map.of("Potion", 2, "Revive", 1), Map.of("SuperPotion", 1), "expertTrainer");
+        battle.setListener(null);
+        Trainer jugador = battle.getEntrenador1();
+        jugador.getEquipo().get(0).recibirDaño(57);
+        jugador.getEquipo().get(0).getMovimientos().get(1).usar();
+        jugador.cambiarPokemon(2);
+        jugador.getItems().remove(0);
+        battle.getEntrenador2().getEquipo().get(1).recibirDaño(999);
+        battle.setTurnoActual(battle.getEntrenador2());
+    }
+
+    /**
+     * Verifica que se conservan equipos, PS, PP, items, Pokemon activo, tipo de entrenador y turno.
+     */
+    @Test
+    void deberiaConservarElEstadoAlGuardarYCargar() throws POOBkemonException, IOException {
+        String ruta = carpeta.resolve("partida.pokemon").toString();
+        battle.guardarPartida(ruta);
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(Path.of(ruta)))) {
+            assertEquals(PartidaBinaria.MAGIA, in.readInt());
+        }
+
+        Battle cargada = Battle.cargarPartida(ruta);
+        assertSame(cargada.getEntrenador2(), cargada.getTurnoActual());
+        assertTrue(cargada.getEntrenador1() instanceof HumanTrainer);
+        assertTrue(cargada.getEntrenador2() instanceof ExpertTrainer);
+        assertMismoEntrenador(battle.getEntrenador1(), cargada.getEntrenador1());
+        assertMismoEntrenador(battle.getEntrenador2(), cargada.getEntrenador2());
+    }
+
+    /**
+     * Verifica que un archivo de la serializacion de Java se rechaza con su propio error y sin
+     * leer ningun objeto: si se deserializara, Centinela lo registraria.
+     */
+    @Test
+    void deberiaRechazarPartidaSerializadaSinDeserializarla() throws IOException {
+        Path ruta = carpeta.resolve("anterior.pokemon");
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(ruta)))) {
+            out.writeObject(new Centinela());
+        }
+        Centinela.leido = false;
+
+        POOBkemonException error = assertThrows(POOBkemonException.class, () -> Battle.cargarPartida(ruta.toString()));
+        assertEquals(POOBkemonException.ERROR_FORMATO_ANTERIOR, error.getMessage());
+        assertFalse(Centinela.leido, "La partida anterior no debe deserializarse");
+    }
+
+    /**
+     * Verifica que un archivo que no es una partida se rechaza.
+     */
+    @Test
+    void deberiaRechazarArchivoDesconocido() throws IOException {
+        Path ruta = carpeta.resolve("otro.pokemon");
+        Files.writeString(ruta, "no es una partida");
+        assertThrows(POOBkemonException.class, () -> Battle.cargarPartida(ruta.toString()));
+    }
+
+    /**
+     * Verifica que un registro de cambios con un Pokemon o un item fuera del equipo se rechaza
+     * como error de formato en lugar de romper la carga con un indice fuera de rango.
+     */
+    @Test
+    void deberiaRechazarRegistroDeCambiosFueraDeRango() throws POOBkemonException, IOException {
+        Path pokemonInvalido = carpeta.resolve("pokemon.pokemon");
+        battle.guardarPartida(pokemonInvalido.toString());
+        agregarCambios(pokemonInvalido, 200, 0xFF);
+        Path itemInvalido = carpeta.resolve("item.pokemon");
+        battle.guardarPartida(itemInvalido.toString());
+        agregarCambios(itemInvalido, -1, 200);
+
+        for (Path ruta : List.of(pokemonInvalido, itemInvalido)) {
+            POOBkemonException error = assertThrows(POOBkemonException.class, () -> Battle.cargarPartida(ruta.toString()));
+            assertEquals(POOBkemonException.ERROR_CARGAR, error.getMessage());
+            assertTrue(error.getCause() instanceof IOException, String.valueOf(error.getCause()));
+        }
+    }
+
+    /**
+     * Agrega al final de la partida un registro de cambios del primer entrenador que cambia el
+     * Pokemon indicado (si no es negativo) y deja un item con el indice indicado (si no es 0xFF)
+     */
+    private static void agregarCambios(Path ruta, int pokemon, int item) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream registro = new DataOutputStream(bytes);
+        registro.writeByte(1);
+        registro.writeInt(3);
+        registro.writeBoolean(false);
+        registro.writeByte(0);
+        if (pokemon >= 0) {
+            registro.writeByte(1);
+            registro.writeByte(pokemon);
+            registro.writeByte(1);
+            registro.writeInt(1);
+            registro.writeInt(10);
+        } else {
+            registro.writeByte(0);
+        }
+        if (item != 0xFF) {
+            registro.writeByte(1);
+        }
+        registro.writeByte(item);
+        // El segundo entrenador no cambia
+        registro.writeByte(0);
+        registro.writeByte(0);
+        registro.writeByte(0xFF);
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(ruta, StandardOpenOption.APPEND))) {
+            out.writeByte(0x44);
+            out.writeShort(bytes.size());
+            bytes.writeTo(out);
+        }
+    }
+
+    private static void assertMismoEntrenador(Trainer esperado, Trainer obtenido) {
+        assertEquals(esperado.getNombre(), obtenido.getNombre());
+        assertEquals(esperado.getEquipo().indexOf(esperado.getPokemonActivo()),
+                     obtenido.getEquipo().indexOf(obtenido.getPokemonActivo()));
+        assertEquals(esperado.getItems().size(), obtenido.getItems().size());
+        for (int i = 0; i < esperado.getItems().size(); i++) {
+            assertEquals(esperado.getItems().get(i).getNombre(), obtenido.getItems().get(i).getNombre());
+        }
+        assertEquals(esperado.getEquipo().size(), obtenido.getEquipo().size());
+        for (int i = 0; i < esperado.getEquipo().size(); i++) {
+            Pokemon p = esperado.getEquipo().get(i);
+            Pokemon q = obtenido.getEquipo().get(i);
+            assertEquals(p.getNombre(), q.getNombre());
+            assertEquals(p.getPsActual(), q.getPsActual(), p.getNombre());
+            assertEquals(p.getPs(), q.getPs(), p.getNombre());
+            assertEquals(p.getMovimientos().size(), q.getMovimientos().size(), p.getNombre());
+            for (int j = 0; j < p.getMovimientos().size(); j++) {
+                assertEquals(p.getMovimientos().get(j).getNombre(), q.getMovimientos().get(j).getNombre());
+                assertEquals(p.getMovimientos().get(j).getPP(), q.getMovimientos().get(j).getPP());
+            }
+        }
+    }
+
+    /**
+     * Objeto serializable que anota cuando alguien lo deserializa
+     */
+    private static class Centinela implements Serializable {
+        private static final long serialVersionUID = 1L;
+        static volatile boolean leido;
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            leido = true;
+        }
+    }
+}
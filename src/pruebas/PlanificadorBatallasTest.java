@@ -0,0 +1,105 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el planificador compartido de las batallas.
+ * Se verifica que miles de tareas se ejecutan con la cantidad fija de hilos, que el trabajo
+ * largo no retrasa a los temporizadores, que las tareas canceladas no se ejecutan ni quedan
+ * en la cola y que reiniciar el temporizador del turno reemplaza la tarea anterior en lugar
+ * de acumularlas.
+ */
+public class PlanificadorBatallasTest {
+
+    /**
+     * Verifica que miles de tareas se ejecutan sin crear un hilo por tarea.
+     */
+    @Test
+    void deberiaEjecutarMilesDeTareasConHilosFijos() throws InterruptedException {
+        int tareas = 5_000;
+        CountDownLatch pendientes = new CountDownLatch(tareas);
+        for (int i = 0; i < tareas; i++) {
+            PlanificadorBatallas.programar(pendientes::countDown, i % 50);
+        }
+        assertTrue(pendientes.await(10, TimeUnit.SECONDS), "Todas las tareas deben ejecutarse");
+        long hilos = Thread.getAllStackTraces().keySet().stream()
+            .filter(h -> h.getName().startsWith("poobkemon-planificador-") || h.getName().startsWith("poobkemon-batalla-"))
+            .count();
+        assertTrue(hilos <= PlanificadorBatallas.getHilos() + 1, "Hilos del planificador: " + hilos);
+    }
+
+    /**
+     * Verifica que el trabajo largo ocupando todos los hilos de trabajo no retrasa los temporizadores.
+     */
+    @Test
+    void deberiaVencerTemporizadoresConHilosDeTrabajoOcupados() throws InterruptedException {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch ocupados = new CountDownLatch(PlanificadorBatallas.getHilos());
+        for (int i = 0; i < PlanificadorBatallas.getHilos(); i++) {
+            PlanificadorBatallas.programarTrabajo(() -> {
+                ocupados.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, 0);
+        }
+        try {
+            assertTrue(ocupados.await(5, TimeUnit.SECONDS), "Los hilos de trabajo deben quedar ocupados");
+            CountDownLatch vencido = new CountDownLatch(1);
+            PlanificadorBatallas.programar(vencido::countDown, 10);
+            assertTrue(vencido.await(1, TimeUnit.SECONDS), "El temporizador no debe esperar al trabajo");
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    /**
+     * Verifica que una tarea cancelada no se ejecuta y sale de la cola.
+     */
+    @Test
+    void deberiaNoEjecutarNiConservarTareasCanceladas() throws InterruptedException {
+        AtomicInteger ejecutadas = new AtomicInteger();
+        int antes = PlanificadorBatallas.getPendientes();
+        for (int i = 0; i < 10_000; i++) {
+            ScheduledFuture<?> tarea = PlanificadorBatallas.programar(ejecutadas::incrementAndGet, 200);
+            PlanificadorBatallas.cancelar(tarea);
+            assertTrue(tarea.isCancelled());
+        }
+        assertTrue(PlanificadorBatallas.getPendientes() <= antes, "Las tareas canceladas no deben quedar en la cola");
+        Thread.sleep(400);
+        assertEquals(0, ejecutadas.get());
+    }
+
+    /**
+     * Verifica que reiniciar el temporizador del turno cancela el anterior.
+     */
+    @Test
+    void deberiaReemplazarTemporizadorDelTurno() {
+        HumanTrainer entrenador1 = new HumanTrainer("Ash", "Rojo");
+        HumanTrainer entrenador2 = new HumanTrainer("Gary", "Azul");
+        entrenador1.agregarPokemon(new Pokemon("Pikachu", "Electrico", null, 100, 50, 40, 40, 40, 90, new ArrayList<>()));
+        entrenador2.agregarPokemon(new Pokemon("Squirtle", "Agua", null, 100, 50, 40, 40, 40, 43, new ArrayList<>()));
+        Battle battle = Battle.getInstance();
+        battle.setEntrenador1(entrenador1);
+        battle.setEntrenador2(entrenador2);
+        battle.setListener(null);
+        battle.iniciar();
+
+        int antes = PlanificadorBatallas.getPendientes();
+        for (int i = 0; i < 1_000; i++) {
+            battle.iniciarTemporizadorTurno();
+        }
+        assertTrue(PlanificadorBatallas.getPendientes() <= antes + 1, "Solo debe quedar el ultimo temporizador");
+        battle.cancelarTemporizador();
+        assertTrue(PlanificadorBatallas.getPendientes() <= antes);
+    }
+}
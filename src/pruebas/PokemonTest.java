@@ -2,6 +2,8 @@ package pruebas;
 
 import dominio.Pokemon;
 import dominio.Movimiento;
+import dominio.MovimientoFisico;
+import dominio.BattleFactory;
 import dominio.POOBkemonException;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -229,4 +231,35 @@ public class PokemonTest {
         assertEquals(10, aumento);
         assertEquals(oldAtaque + 10, bulbasaur.getAtaque());
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifica que la copia de un Pokemon tiene su propio estado y sus propios PP.
+     */
+    @Test
+    public void shouldCopyBattleStateIndependently() throws POOBkemonException {
+        pikachu.getMovimientos().add(new MovimientoFisico("Placaje", "Normal", 40, 100, 35));
+        pikachu.recibirDaño(30);
+        Pokemon copia = pikachu.copiar();
+        assertEquals(70, copia.getPsActual());
+        copia.recibirDaño(10);
+        copia.aumentarEstadisticas("ataque", 5);
+        copia.getMovimientos().get(0).usar();
+        assertEquals(70, pikachu.getPsActual());
+        assertEquals(55, pikachu.getAtaque());
+        assertEquals(35, pikachu.getMovimientos().get(0).getPP());
+        assertEquals(34, copia.getMovimientos().get(0).getPP());
+    }
+
+    /**
+     * Verifica que los cambios de estadisticas en batalla no alteran la especie.
+     */
+    @Test
+    public void shouldNotModifySpeciesWhenStatsChange() throws POOBkemonException {
+        Pokemon charizard = BattleFactory.crearPokemon("charizard", null);
+        int ataqueBase = charizard.getEspecie().getAtaque();
+        charizard.aumentarEstadisticas("ataque", 20);
+        assertEquals(ataqueBase + 20, charizard.getAtaque());
+        assertEquals(ataqueBase, charizard.getEspecie().getAtaque());
+        assertNull(pikachu.getEspecie());
+    }
+}
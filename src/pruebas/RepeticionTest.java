@@ -0,0 +1,193 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para las repeticiones binarias de batalla.
+ * Se graba una batalla simulada y se verifica que al repetirla se llegue exactamente al mismo
+ * estado, que saltar a un turno con el indice de el mismo estado que repetir desde el inicio,
+ * y que un archivo sin cerrar se pueda leer igual.
+ */
+public class RepeticionTest {
+    @TempDir
+    Path carpeta;
+
+    private AITrainer entrenador1;
+    private AITrainer entrenador2;
+    private Path ruta;
+
+    /**
+     * Graba una batalla simulada entre dos maquinas con items.
+     */
+    @BeforeEach
+    void setUp() throws POOBkemonException {
+        entrenador1 = BattleFactory.crearAITrainer("attackingTrainer", "Rojo", "Rojo");
+        entrenador2 = BattleFactory.crearAITrainer("chaningTrainer", "Azul", "Azul");
+        BattleFactory.crearEquipo(entrenador1, List.of("charizard", "blastoise", "venusaur"));
+        BattleFactory.crearEquipo(entrenador2, List.of("gengar", "snorlax", "raichu"));
+        BattleFactory.agregarItems(entrenador1, Map.of("Potion", 2));
+        BattleFactory.agregarItems(entrenador2, Map.of("SuperPotion", 1));
+        ruta = carpeta.resolve("batalla.pkr");
+    }
+
+    private DiarioRepeticion grabar(long semilla, int intervalo) throws POOBkemonException {
+        BattleSimulator simulador = new BattleSimulator(entrenador1, entrenador2, semilla);
+        DiarioRepeticion diario = new DiarioRepeticion(ruta, entrenador1, entrenador2, intervalo);
+        simulador.getEventos().agregarEscucha(diario);
+        simulador.simular();
+        return diario;
+    }
+
+    private static void assertMismoEstado(Trainer esperado, Trainer obtenido) {
+        assertEquals(esperado.getEquipo().indexOf(esperado.getPokemonActivo()),
+                     obtenido.getEquipo().indexOf(obtenido.getPokemonActivo()));
+        assertEquals(esperado.getItems().size(), obtenido.getItems().size());
+        for (int i = 0; i < esperado.getEquipo().size(); i++) {
+            Pokemon p = esperado.getEquipo().get(i);
+            Pokemon q = obtenido.getEquipo().get(i);
+            assertEquals(p.getPsActual(), q.getPsActual(), p.getNombre());
+            assertEquals(p.getAtaque(), q.getAtaque(), p.getNombre());
+            assertEquals(p.getMovimientos().get(0).getPP(), q.getMovimientos().get(0).getPP(), p.getNombre());
+        }
+    }
+
+    /**
+     * Prueba que repetir todas las acciones deja ambos equipos igual que la batalla original.
+     */
+    @Test
+    void deberiaRepetirLaBatallaExactamente() throws POOBkemonException {
+        DiarioRepeticion diario = grabar(4L, 8);
+        diario.close();
+        assertTrue(diario.getRegistros() > 0);
+
+        try (LectorRepeticion lector = LectorRepeticion.abrir(ruta)) {
+            assertTrue(lector.tieneIndice());
+            assertEquals(diario.getPuntosIndice(), lector.getPuntosIndice());
+            assertEquals(List.of("charizard", "blastoise", "venusaur"), lector.getEquipo(1));
+            assertEquals(List.of("SuperPotion"), lector.getItems(2));
+
+            Trainer[] repetidos = lector.crearEntrenadores();
+            RegistroRepeticion registro = new RegistroRepeticion();
+            int leidos = 0;
+            while (lector.siguiente(registro)) {
+                lector.aplicar(registro, repetidos[0], repetidos[1]);
+                leidos++;
+            }
+            assertEquals(diario.getRegistros(), leidos);
+            assertEquals(0, lector.getDesincronizaciones());
+            assertMismoEstado(entrenador1, repetidos[0]);
+            assertMismoEstado(entrenador2, repetidos[1]);
+        }
+    }
+
+    /**
+     * Prueba que saltar a un turno con el indice da el mismo estado que repetir hasta ese turno.
+     */
+    @Test
+    void deberiaSaltarAUnTurnoConElIndice() throws POOBkemonException {
+        grabar(6L, 4).close();
+        try (LectorRepeticion lector = LectorRepeticion.abrir(ruta)) {
+            assertTrue(lector.getPuntosIndice() > 2);
+            int turno = 21;
+
+            Trainer[] secuencial = lector.crearEntrenadores();
+            RegistroRepeticion registro = new RegistroRepeticion();
+            RegistroRepeticion primeroDelTurno = null;
+            while (lector.siguiente(registro)) {
+                if (registro.getTurno() >= turno) {
+                    primeroDelTurno = registro;
+                    break;
+                }
+                lector.aplicar(registro, secuencial[0], secuencial[1]);
+            }
+            assertNotNull(primeroDelTurno, "La batalla debe durar mas de " + turno + " turnos");
+            String esperado = primeroDelTurno.toString();
+
+            Trainer[] saltados = lector.crearEntrenadores();
+            lector.buscarTurno(turno, saltados[0], saltados[1]);
+            assertMismoEstado(secuencial[0], saltados[0]);
+            assertMismoEstado(secuencial[1], saltados[1]);
+            assertTrue(lector.siguiente(registro));
+            assertEquals(esperado, registro.toString());
+        }
+    }
+
+    /**
+     * Prueba que un archivo que no se cerro, y que termina a mitad de un registro, se lee reconstruyendo el indice.
+     */
+    @Test
+    void deberiaLeerRepeticionSinCerrar() throws POOBkemonException, IOException {
+        grabar(4L, 8).close();
+        long completos;
+        try (LectorRepeticion lector = LectorRepeticion.abrir(ruta)) {
+            RegistroRepeticion registro = new RegistroRepeticion();
+            completos = 0;
+            while (lector.siguiente(registro)) {
+                completos++;
+            }
+        }
+        // Quita el indice, el pie y parte del ultimo registro
+        byte[] bytes = Files.readAllBytes(ruta);
+        int puntos = java.nio.ByteBuffer.wrap(bytes, bytes.length - 8, 4).getInt();
+        int cortado = bytes.length - 16 - puntos * 12 - 5;
+        Files.write(ruta, java.util.Arrays.copyOf(bytes, cortado));
+
+        try (LectorRepeticion lector = LectorRepeticion.abrir(ruta)) {
+            assertFalse(lector.tieneIndice());
+            assertTrue(lector.getPuntosIndice() >= 1);
+            RegistroRepeticion registro = new RegistroRepeticion();
+            long leidos = 0;
+            while (lector.siguiente(registro)) {
+                leidos++;
+            }
+            assertEquals(completos - 1, leidos);
+        }
+    }
+
+    /**
+     * Prueba que al repetir con un canal se publican los mismos eventos que en la batalla original,
+     * que es lo que muestra el visor de repeticiones.
+     */
+    @Test
+    void deberiaPublicarLosMismosEventosAlRepetir() throws POOBkemonException {
+        List<String> originales = new ArrayList<>();
+        BattleSimulator simulador = new BattleSimulator(entrenador1, entrenador2, 4L);
+        DiarioRepeticion diario = new DiarioRepeticion(ruta, entrenador1, entrenador2);
+        simulador.getEventos().agregarEscucha(diario);
+        simulador.getEventos().agregarEscucha(new RenderizadorMensajes(originales::add));
+        simulador.simular();
+        diario.close();
+
+        List<String> repetidos = new ArrayList<>();
+        CanalEventos canal = new CanalEventos();
+        canal.agregarEscucha(new RenderizadorMensajes(repetidos::add));
+        try (LectorRepeticion lector = LectorRepeticion.abrir(ruta)) {
+            Trainer[] entrenadores = lector.crearEntrenadores();
+            RegistroRepeticion registro = new RegistroRepeticion();
+            while (lector.siguiente(registro)) {
+                lector.aplicar(registro, entrenadores[0], entrenadores[1], canal);
+            }
+        }
+        assertFalse(originales.isEmpty());
+        assertEquals(originales, repetidos);
+    }
+
+    /**
+     * Prueba que un archivo que no es una repeticion se rechaza.
+     */
+    @Test
+    void deberiaRechazarArchivoQueNoEsRepeticion() throws IOException {
+        Files.writeString(ruta, "no es una repeticion");
+        assertThrows(POOBkemonException.class, () -> LectorRepeticion.abrir(ruta));
+    }
+}
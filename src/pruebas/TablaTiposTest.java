@@ -0,0 +1,76 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+/**
+ * Pruebas unitarias para la tabla de efectividades entre tipos.
+ * Se verifica que la tabla densa conserva los valores de la tabla original
+ * y que la tabla de doble tipo combina ambos multiplicadores.
+ */
+public class TablaTiposTest {
+
+    private final TablaTipos tabla = new MovimientoFisico("Placaje", "Normal", 40, 100, 35);
+
+    /**
+     * Verifica los multiplicadores simples entre tipos.
+     */
+    @Test
+    void deberiaDevolverMultiplicadoresSimples() {
+        assertEquals(2.0, tabla.getMultiplicador("Fuego", "Planta"));
+        assertEquals(0.5, tabla.getMultiplicador("Agua", "Planta"));
+        assertEquals(0.0, tabla.getMultiplicador("Normal", "Fantasma"));
+        assertEquals(1.0, tabla.getMultiplicador("Normal", "Normal"));
+    }
+
+    /**
+     * Verifica que los tipos desconocidos o nulos son neutros.
+     */
+    @Test
+    void deberiaSerNeutroConTiposDesconocidos() {
+        assertEquals(1.0, tabla.getMultiplicador("Inventado", "Planta"));
+        assertEquals(1.0, tabla.getMultiplicador("Fuego", null));
+        assertEquals(Tipo.NINGUNO, Tipo.idDe(null));
+    }
+
+    /**
+     * Verifica que la tabla doble multiplica ambos tipos del defensor.
+     */
+    @Test
+    void deberiaCombinarTiposDelDefensor() {
+        int agua = Tipo.AGUA.ordinal();
+        assertEquals(4.0, TablaEfectividad.multiplicador(agua, Tipo.ROCA.ordinal(), Tipo.TIERRA.ordinal()));
+        assertEquals(2.0, TablaEfectividad.multiplicador(agua, Tipo.ROCA.ordinal(), Tipo.NINGUNO));
+        assertEquals(0.0, TablaEfectividad.multiplicador(Tipo.TIERRA.ordinal(), Tipo.ROCA.ordinal(), Tipo.VOLADOR.ordinal()));
+    }
+
+    /**
+     * Verifica que el indice de defensor del Pokemon se actualiza al cambiar de tipo.
+     */
+    @Test
+    void deberiaActualizarIndiceDefensorAlCambiarTipo() {
+        Pokemon p = new Pokemon("Kabutops", "Roca", "Agua", 100, 50, 40, 40, 40, 90, new ArrayList<>());
+        int planta = Tipo.PLANTA.ordinal();
+        assertEquals(4.0, TablaEfectividad.multiplicadorDefensor(planta, p.getIndiceDefensor()));
+        p.setTipoSecundario(null);
+        assertEquals(2.0, TablaEfectividad.multiplicadorDefensor(planta, p.getIndiceDefensor()));
+    }
+
+    /**
+     * Verifica que calcularEfectividad usa la tabla completa y el tipo secundario del rival,
+     * igual que el calculo de daño
+     */
+    @Test
+    void deberiaCalcularEfectividadConTablaCompleta() {
+        Movimiento rayo = new MovimientoEspecial("Rayo", "Electrico", 90, 100, 15);
+        Movimiento terremoto = new MovimientoFisico("Terremoto", "Tierra", 100, 100, 10);
+        Pokemon gyarados = new Pokemon("Gyarados", "Agua", "Volador", 100, 50, 40, 40, 40, 90, new ArrayList<>());
+        assertEquals(4.0, rayo.calcularEfectividad(gyarados));
+        assertEquals(0.0, terremoto.calcularEfectividad(gyarados));
+        assertEquals(tabla.getMultiplicador("Electrico", "Agua") * tabla.getMultiplicador("Electrico", "Volador"),
+            rayo.calcularEfectividad(gyarados));
+    }
+}
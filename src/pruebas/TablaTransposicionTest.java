@@ -0,0 +1,160 @@
+package pruebas;
+
+import dominio.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el hash Zobrist de los estados de batalla y la tabla de transposicion.
+ * Se verifica que el hash siga los cambios de estado y vuelva a su valor al deshacerlos,
+ * que distinga de quien es el turno aunque ambos equipos sean iguales, y que la tabla guarde,
+ * reemplace y resista escrituras concurrentes sin devolver datos mezclados.
+ */
+public class TablaTransposicionTest {
+    private HumanTrainer entrenador;
+    private Pokemon pikachu;
+    private Pokemon charmander;
+
+    /**
+     * Prepara un entrenador con dos pokemon.
+     */
+    @BeforeEach
+    void setUp() {
+        entrenador = new HumanTrainer("Ash", "Rojo");
+        pikachu = new Pokemon("Pikachu", "Electrico", null, 100, 55, 40, 50, 50, 90, new ArrayList<>());
+        pikachu.getMovimientos().add(new MovimientoFisico("Ataque Rapido", "Normal", 40, 100, 10));
+        charmander = new Pokemon("Charmander", "Fuego", null, 80, 52, 43, 60, 50, 65, new ArrayList<>());
+        charmander.getMovimientos().add(new MovimientoFisico("Arañazo", "Normal", 40, 100, 10));
+        entrenador.agregarPokemon(pikachu);
+        entrenador.agregarPokemon(charmander);
+    }
+
+    /**
+     * Prueba que el hash cambia al recibir daño y vuelve a su valor al curarse.
+     */
+    @Test
+    void deberiaActualizarHashConDanoYCuracion() throws POOBkemonException {
+        long inicial = pikachu.getHash();
+        pikachu.recibirDaño(30);
+        assertNotEquals(inicial, pikachu.getHash());
+        pikachu.restaurarPS(30);
+        assertEquals(inicial, pikachu.getHash());
+    }
+
+    /**
+     * Prueba que subir la misma estadistica en distinto orden da el mismo hash.
+     */
+    @Test
+    void deberiaDarMismoHashConDistintoOrden() throws POOBkemonException {
+        Pokemon copia = pikachu.copiar();
+        pikachu.aumentarEstadisticas("ataque", 10);
+        pikachu.aumentarEstadisticas("defensa", 10);
+        copia.aumentarEstadisticas("defensa", 10);
+        copia.aumentarEstadisticas("ataque", 10);
+        assertEquals(pikachu.getHash(), copia.getHash());
+    }
+
+    /**
+     * Prueba que cambiar de pokemon y volver deja el hash del entrenador igual, y que gastar PP lo cambia.
+     */
+    @Test
+    void deberiaVolverAlMismoHashAlCambiarYVolver() {
+        long inicial = Zobrist.hashEntrenador(entrenador);
+        entrenador.cambiarPokemon(1);
+        assertNotEquals(inicial, Zobrist.hashEntrenador(entrenador));
+        entrenador.cambiarPokemon(0);
+        assertEquals(inicial, Zobrist.hashEntrenador(entrenador));
+
+        pikachu.getMovimientos().get(0).usar();
+        assertNotEquals(inicial, Zobrist.hashEntrenador(entrenador));
+    }
+
+    /**
+     * Prueba que con dos equipos identicos el turno de cada lado da otro hash, y que
+     * intercambiar los entrenadores de lugar tambien lo cambia.
+     */
+    @Test
+    void deberiaDistinguirTurnoConEquiposIguales() {
+        HumanTrainer espejo = new HumanTrainer("Ash", "Rojo");
+        espejo.agregarPokemon(pikachu.copiar());
+        espejo.agregarPokemon(charmander.copiar());
+        assertEquals(Zobrist.hashEntrenador(entrenador), Zobrist.hashEntrenador(espejo));
+        assertNotEquals(Zobrist.hashBatalla(entrenador, espejo, true), Zobrist.hashBatalla(entrenador, espejo, false));
+        assertEquals(Zobrist.hashBatalla(entrenador, espejo, true), Zobrist.hashBatalla(espejo, entrenador, true));
+
+        espejo.cambiarPokemon(1);
+        assertNotEquals(Zobrist.hashBatalla(entrenador, espejo, true), Zobrist.hashBatalla(espejo, entrenador, true));
+    }
+
+    /**
+     * Prueba que la tabla guarda y recupera valor, profundidad y accion.
+     */
+    @Test
+    void deberiaGuardarYRecuperarEntrada() {
+        TablaTransposicion tabla = new TablaTransposicion(1024);
+        long clave = Zobrist.hashBatalla(entrenador, entrenador, true);
+        assertEquals(TablaTransposicion.NO_ENCONTRADO, tabla.buscar(clave));
+
+        tabla.guardar(clave, 3, 1.5, 102);
+        long dato = tabla.buscar(clave);
+        assertNotEquals(TablaTransposicion.NO_ENCONTRADO, dato);
+        assertEquals(3, TablaTransposicion.profundidad(dato));
+        assertEquals(1.5, TablaTransposicion.valor(dato), 1e-6);
+        assertEquals(102, TablaTransposicion.accion(dato));
+        assertEquals(1, tabla.getAciertos());
+        assertEquals(2, tabla.getConsultas());
+    }
+
+    /**
+     * Prueba que una entrada profunda no se pierde por una menos profunda en la misma cubeta.
+     */
+    @Test
+    void deberiaPreferirEntradasProfundas() {
+        TablaTransposicion tabla = new TablaTransposicion(2);
+        tabla.guardar(10L, 6, 1.0, 1);
+        tabla.guardar(20L, 1, 2.0, 2);
+        tabla.guardar(30L, 2, 3.0, 3);
+        assertEquals(6, TablaTransposicion.profundidad(tabla.buscar(10L)), "La entrada profunda debe conservarse");
+        assertEquals(TablaTransposicion.NO_ENCONTRADO, tabla.buscar(20L), "La entrada reciente reemplaza a la anterior");
+        assertEquals(3, TablaTransposicion.accion(tabla.buscar(30L)));
+    }
+
+    /**
+     * Prueba que con varios hilos escribiendo a la vez nunca se lee una entrada mezclada.
+     */
+    @Test
+    void deberiaResistirEscriturasConcurrentes() throws Exception {
+        TablaTransposicion tabla = new TablaTransposicion(64);
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> resultados = new ArrayList<>();
+        for (int h = 0; h < 4; h++) {
+            final int desplazamiento = h;
+            resultados.add(hilos.submit(() -> {
+                int errores = 0;
+                for (int i = 0; i < 200_000; i++) {
+                    long clave = (i * 31L + desplazamiento) & 1023;
+                    // Cada clave guarda siempre el mismo contenido, derivado de ella
+                    tabla.guardar(clave, (int) (clave % 8), clave, (int) clave);
+                    long dato = tabla.buscar((clave * 7) & 1023);
+                    if (dato != TablaTransposicion.NO_ENCONTRADO
+                        && TablaTransposicion.accion(dato) != ((clave * 7) & 1023)) {
+                        errores++;
+                    }
+                }
+                return errores;
+            }));
+        }
+        int errores = 0;
+        for (Future<Integer> f : resultados) {
+            errores += f.get();
+        }
+        hilos.shutdown();
+        assertEquals(0, errores, "No debe devolver datos de otra clave");
+    }
+}
@@ -0,0 +1,70 @@
+package pruebas;
+
+import dominio.TablaTipos;
+import simulacion.EstadisticasEnfrentamiento;
+import simulacion.TorneoIA;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pruebas unitarias para el torneo paralelo entre estrategias de IA.
+ * Se verifica que se juegan todos los enfrentamientos, que la clasificacion incluye a todas las IA
+ * y que la misma semilla da los mismos resultados con un hilo o con varios.
+ */
+public class TorneoIATest {
+
+    /**
+     * Verifica que cada par de IA juega la cantidad pedida de batallas.
+     */
+    @Test
+    void deberiaJugarTodosLosEnfrentamientos() throws Exception {
+        TablaTipos.inicializarEfectividades();
+        TorneoIA torneo = new TorneoIA(2);
+        List<EstadisticasEnfrentamiento> resultados = torneo.ejecutar(80, 11L);
+        torneo.cerrar();
+
+        int tipos = TorneoIA.TIPOS_IA.length;
+        assertEquals(tipos * (tipos - 1) / 2, resultados.size(), "Debe haber un enfrentamiento por cada par de IA");
+        for (EstadisticasEnfrentamiento e : resultados) {
+            assertEquals(80, e.getBatallas(), "Cada enfrentamiento debe jugar todas sus batallas");
+            assertTrue(e.getTurnosPromedio() > 0);
+        }
+
+        Map<String, Double> clasificacion = TorneoIA.clasificacion(resultados);
+        assertEquals(tipos, clasificacion.size(), "La clasificacion debe incluir a todas las IA");
+    }
+
+    /**
+     * Verifica que el resultado depende solo de la semilla y no de la cantidad de hilos.
+     * Con mas batallas que BATALLAS_POR_TAREA las tareas se dividen, asi se prueba tambien el split.
+     */
+    @Test
+    void deberiaRepetirResultadosConDistintosHilos() throws Exception {
+        TablaTipos.inicializarEfectividades();
+        TorneoIA secuencial = new TorneoIA(1);
+        List<EstadisticasEnfrentamiento> esperados = secuencial.ejecutar(150, 23L);
+        secuencial.cerrar();
+        TorneoIA paralelo = new TorneoIA(4);
+        List<EstadisticasEnfrentamiento> obtenidos = paralelo.ejecutar(150, 23L);
+        paralelo.cerrar();
+
+        assertEquals(esperados.size(), obtenidos.size());
+        for (int i = 0; i < esperados.size(); i++) {
+            EstadisticasEnfrentamiento e = esperados.get(i);
+            EstadisticasEnfrentamiento o = obtenidos.get(i);
+            String nombre = e.getTipo1() + " vs " + e.getTipo2();
+            assertEquals(e.getTipo1(), o.getTipo1());
+            assertEquals(e.getTipo2(), o.getTipo2());
+            assertEquals(e.getBatallas(), o.getBatallas(), nombre);
+            assertEquals(e.getVictorias1(), o.getVictorias1(), nombre);
+            assertEquals(e.getVictorias2(), o.getVictorias2(), nombre);
+            assertEquals(e.getEmpates(), o.getEmpates(), nombre);
+            assertEquals(e.getTurnosPromedio(), o.getTurnosPromedio(), nombre);
+            assertEquals(e.getDano1(), o.getDano1(), nombre);
+            assertEquals(e.getDano2(), o.getDano2(), nombre);
+        }
+    }
+}
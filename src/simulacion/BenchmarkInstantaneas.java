@@ -0,0 +1,80 @@
+package simulacion;
+
+import dominio.Aleatoriedad;
+import dominio.BattleSimulator;
+import dominio.InstantaneaBatalla;
+import dominio.POOBkemonException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mide cuantas instantaneas por segundo se pueden capturar y restaurar en una batalla MvM
+ * y lo compara con copiar la batalla serializando los entrenadores, que era la unica
+ * forma de duplicar una batalla antes de InstantaneaBatalla
+ *
+ * Uso: java simulacion.BenchmarkInstantaneas [segundos]
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public class BenchmarkInstantaneas {
+    private BenchmarkInstantaneas() {
+    }
+
+    /**
+     * Ejecuta el benchmark desde la linea de comandos
+     *
+     * @param args [segundos por medicion]
+     * @throws POOBkemonException Si ocurre un error al crear la batalla
+     * @throws IOException Si falla la serializacion de comparacion
+     */
+    public static void main(String[] args) throws POOBkemonException, IOException {
+        double segundos = args.length > 0 ? Double.parseDouble(args[0]) : 2.0;
+        Silenciador.silenciarLogDominio();
+
+        RandomGenerator aleatorio = Aleatoriedad.crearGenerador(7L);
+        BattleSimulator simulador = BattleSimulator.crearMvM(
+            SimuladorMvM.equipoAleatorio(aleatorio), SimuladorMvM.equipoAleatorio(aleatorio),
+            SimuladorMvM.itemsPorDefecto(), SimuladorMvM.itemsPorDefecto(),
+            "attackingTrainer", "expertTrainer", 7L);
+        simulador.iniciar();
+        // Avanza algunos turnos para que el estado no sea el inicial
+        for (int i = 0; i < 10 && simulador.avanzar(); i++) {
+            // sin cuerpo
+        }
+
+        InstantaneaBatalla instantanea = simulador.capturar();
+        long limite = (long) (segundos * 1_000_000_000L);
+        long operaciones = 0;
+        long inicio = System.nanoTime();
+        while (System.nanoTime() - inicio < limite) {
+            for (int i = 0; i < 1000; i++) {
+                simulador.capturar(instantanea);
+                simulador.restaurar(instantanea);
+            }
+            operaciones += 1000;
+        }
+        double porSegundo = operaciones * 1e9 / (System.nanoTime() - inicio);
+
+        long serializaciones = 0;
+        int bytesSerializados = 0;
+        inicio = System.nanoTime();
+        while (System.nanoTime() - inicio < limite) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(simulador.getEntrenador1());
+                out.writeObject(simulador.getEntrenador2());
+            }
+            bytesSerializados = bytes.size();
+            serializaciones++;
+        }
+        double serializacionesPorSegundo = serializaciones * 1e9 / (System.nanoTime() - inicio);
+
+        System.out.printf("Instantanea:   %,12.0f capturas+restauraciones/s (%d bytes)%n", porSegundo, instantanea.getTamanoBytes());
+        System.out.printf("Serializacion: %,12.0f copias/s (%d bytes, solo escritura)%n", serializacionesPorSegundo, bytesSerializados);
+    }
+}
@@ -0,0 +1,81 @@
+package simulacion;
+
+import dominio.Aleatoriedad;
+import dominio.BattleSimulator;
+import dominio.InstantaneaBatalla;
+import dominio.MonteCarloTrainer;
+import dominio.POOBkemonException;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Mide cuantos playouts por segundo juega MonteCarloTrainer con distinta cantidad de hilos
+ * y la aceleracion respecto a un solo hilo, para dimensionar la maquina donde corre la IA
+ * Cada medicion toma decisiones con el mismo presupuesto de tiempo sobre la misma batalla
+ *
+ * Uso: java simulacion.BenchmarkMonteCarlo [hilosMaximos] [presupuestoMs] [decisiones]
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public class BenchmarkMonteCarlo {
+    private BenchmarkMonteCarlo() {
+    }
+
+    /**
+     * Ejecuta el benchmark desde la linea de comandos
+     *
+     * @param args [hilosMaximos] [presupuestoMs] [decisiones]
+     * @throws POOBkemonException Si ocurre un error al crear la batalla
+     */
+    public static void main(String[] args) throws POOBkemonException {
+        int hilosMaximos = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long presupuestoMs = args.length > 1 ? Long.parseLong(args[1]) : MonteCarloTrainer.PRESUPUESTO_DEFECTO_MS;
+        int decisiones = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        Silenciador.silenciarLogDominio();
+
+        // Calentamiento para que la primera medicion no incluya la compilacion JIT
+        medir(1, presupuestoMs, decisiones);
+        double base = 0;
+        for (int hilos = 1; hilos <= hilosMaximos; hilos *= 2) {
+            double porSegundo = medir(hilos, presupuestoMs, decisiones);
+            if (hilos == 1) {
+                base = porSegundo;
+            }
+            System.out.printf("%3d hilos: %,10.0f playouts/s (x%.2f)%n", hilos, porSegundo, porSegundo / base);
+        }
+    }
+
+    /**
+     * Toma varias decisiones desde el mismo estado y promedia los playouts por segundo
+     *
+     * @param hilos Hilos de la busqueda
+     * @param presupuestoMs Tiempo por decision
+     * @param decisiones Decisiones a medir
+     * @return playouts por segundo
+     * @throws POOBkemonException Si ocurre un error al crear la batalla
+     */
+    private static double medir(int hilos, long presupuestoMs, int decisiones) throws POOBkemonException {
+        RandomGenerator aleatorio = Aleatoriedad.crearGenerador(7L);
+        BattleSimulator simulador = BattleSimulator.crearMvM(
+            SimuladorMvM.equipoAleatorio(aleatorio), SimuladorMvM.equipoAleatorio(aleatorio),
+            SimuladorMvM.itemsPorDefecto(), SimuladorMvM.itemsPorDefecto(),
+            "monteCarloTrainer", "attackingTrainer", 7L);
+        MonteCarloTrainer entrenador = (MonteCarloTrainer) simulador.getEntrenador1();
+        entrenador.configurarBusqueda(presupuestoMs, 0, hilos);
+        simulador.iniciar();
+        InstantaneaBatalla inicial = simulador.capturar();
+
+        long playouts = 0;
+        long nanos = 0;
+        for (int i = 0; i < decisiones; i++) {
+            simulador.restaurar(inicial);
+            long inicio = System.nanoTime();
+            entrenador.decidirAccion(null, simulador.getEntrenador2());
+            nanos += System.nanoTime() - inicio;
+            playouts += entrenador.getPlayouts();
+        }
+        return playouts * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,99 @@
+package simulacion;
+
+import dominio.Aleatoriedad;
+import dominio.Battle;
+import dominio.POOBkemonException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.random.RandomGenerator;
+
+/**
+ * Compara el tamaño y el tiempo de carga de una partida guardada con PartidaBinaria contra la
+ * misma partida guardada con la serializacion de Java, el formato de los archivos .pokemon anteriores
+ * Battle.cargarPartida ya no acepta ese formato, asi que la copia serializada se lee aqui con un
+ * ObjectInputStream; solo lee el archivo temporal que el propio benchmark escribio
+ *
+ * Uso: java simulacion.BenchmarkPartidas [segundos]
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public class BenchmarkPartidas {
+    private BenchmarkPartidas() {
+    }
+
+    /**
+     * Ejecuta el benchmark desde la linea de comandos
+     *
+     * @param args [segundos por medicion]
+     * @throws POOBkemonException Si ocurre un error al crear, guardar o cargar la batalla
+     * @throws IOException Si falla la escritura de los archivos temporales
+     */
+    public static void main(String[] args) throws POOBkemonException, IOException {
+        double segundos = args.length > 0 ? Double.parseDouble(args[0]) : 2.0;
+        Silenciador.silenciarLogDominio();
+
+        RandomGenerator aleatorio = Aleatoriedad.crearGenerador(7L);
+        Battle battle = Battle.getInstance();
+        battle.setUpBattleMvM(SimuladorMvM.equipoAleatorio(aleatorio), SimuladorMvM.equipoAleatorio(aleatorio),
+                              SimuladorMvM.itemsPorDefecto(), SimuladorMvM.itemsPorDefecto(),
+                              "attackingTrainer", "expertTrainer");
+
+        Path binaria = Files.createTempFile("partida", ".pokemon");
+        Path serializada = Files.createTempFile("partida-serializada", ".pokemon");
+        try {
+            battle.guardarPartida(binaria.toString());
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(serializada)))) {
+                out.writeObject(battle);
+            }
+            double cargasBinaria = cargasPorSegundo(() -> Battle.cargarPartida(binaria.toString()), segundos);
+            double cargasSerializada = cargasPorSegundo(() -> leerSerializada(serializada), segundos);
+
+            System.out.printf("PartidaBinaria: %,8d bytes %,10.0f cargas/s (%.3f ms por carga)%n",
+                              Files.size(binaria), cargasBinaria, 1000 / cargasBinaria);
+            System.out.printf("Serializacion:  %,8d bytes %,10.0f cargas/s (%.3f ms por carga)%n",
+                              Files.size(serializada), cargasSerializada, 1000 / cargasSerializada);
+        } finally {
+            Files.deleteIfExists(binaria);
+            Files.deleteIfExists(serializada);
+        }
+    }
+
+    /**
+     * Carga de una partida que puede fallar al leer el archivo
+     */
+    private interface Carga {
+        Battle cargar() throws POOBkemonException, IOException;
+    }
+
+    private static Battle leerSerializada(Path ruta) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(ruta)))) {
+            return (Battle) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static double cargasPorSegundo(Carga carga, double segundos) throws POOBkemonException, IOException {
+        // Calentamiento para que ambos formatos se midan ya compilados
+        for (int i = 0; i < 200; i++) {
+            carga.cargar();
+        }
+        long limite = (long) (segundos * 1_000_000_000L);
+        long cargas = 0;
+        long inicio = System.nanoTime();
+        while (System.nanoTime() - inicio < limite) {
+            carga.cargar();
+            cargas++;
+        }
+        return cargas * 1e9 / (System.nanoTime() - inicio);
+    }
+}
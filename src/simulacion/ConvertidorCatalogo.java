@@ -0,0 +1,92 @@
+package simulacion;
+
+import dominio.CargadorCatalogo;
+import dominio.Especie;
+import dominio.POOBkemonException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Convierte el catalogo de especies de texto a su forma binaria
+ * Despues de escribir el binario lo vuelve a leer para comprobar que coincide con el texto
+ * e informa el tamaño y el tiempo de lectura de cada formato
+ * El binario que se distribuye lo genera la construccion (ver CargadorCatalogo); por eso la
+ * salida por defecto no esta en src, donde taparia al catalogo de texto al ejecutar sin construir
+ *
+ * Uso: java simulacion.ConvertidorCatalogo [entrada.txt] [salida.bin]
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public class ConvertidorCatalogo {
+    /**
+     * Repeticiones usadas para medir el tiempo de lectura
+     */
+    private static final int REPETICIONES = 200;
+
+    private ConvertidorCatalogo() {
+    }
+
+    /**
+     * Convierte el catalogo desde la linea de comandos
+     *
+     * @param args [entrada.txt] [salida.bin]
+     * @throws IOException Si ocurre un error al leer o escribir los archivos
+     * @throws POOBkemonException Si el catalogo de texto no es valido
+     */
+    public static void main(String[] args) throws IOException, POOBkemonException {
+        Path entrada = Paths.get(args.length > 0 ? args[0] : "src/" + CargadorCatalogo.RECURSO_TEXTO);
+        Path salida = Paths.get(args.length > 1 ? args[1] : "especies.bin");
+
+        String texto = new String(Files.readAllBytes(entrada), StandardCharsets.UTF_8);
+        List<Especie> especies = CargadorCatalogo.generarBinario(entrada, salida);
+        byte[] binario = Files.readAllBytes(salida);
+        List<Especie> releidas = CargadorCatalogo.leerBinario(new DataInputStream(new ByteArrayInputStream(binario)));
+        verificar(especies, releidas);
+
+        long nanosTexto = 0;
+        long nanosBinario = 0;
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicio = System.nanoTime();
+            CargadorCatalogo.leerTexto(new BufferedReader(new StringReader(texto)));
+            nanosTexto += System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            CargadorCatalogo.leerBinario(new DataInputStream(new ByteArrayInputStream(binario)));
+            nanosBinario += System.nanoTime() - inicio;
+        }
+        System.out.printf("%d especies escritas en %s%n", especies.size(), salida);
+        System.out.printf("texto:   %6d bytes, lectura %.1f us%n", texto.getBytes(StandardCharsets.UTF_8).length,
+            nanosTexto / 1000.0 / REPETICIONES);
+        System.out.printf("binario: %6d bytes, lectura %.1f us%n", binario.length, nanosBinario / 1000.0 / REPETICIONES);
+    }
+
+    /**
+     * Comprueba que dos catalogos tengan las mismas especies
+     *
+     * @param esperadas Especies leidas del texto
+     * @param obtenidas Especies leidas del binario
+     */
+    private static void verificar(List<Especie> esperadas, List<Especie> obtenidas) {
+        if (esperadas.size() != obtenidas.size()) {
+            throw new IllegalStateException("El binario tiene " + obtenidas.size() + " especies y el texto " + esperadas.size());
+        }
+        for (int i = 0; i < esperadas.size(); i++) {
+            Especie a = esperadas.get(i);
+            Especie b = obtenidas.get(i);
+            if (!a.getNombre().equals(b.getNombre()) || a.getPs() != b.getPs()
+                || a.getCantidadMovimientos() != b.getCantidadMovimientos()) {
+                throw new IllegalStateException("La especie " + a.getNombre() + " no coincide en el binario");
+            }
+        }
+    }
+}
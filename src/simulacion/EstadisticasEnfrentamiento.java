@@ -0,0 +1,156 @@
+package simulacion;
+
+import dominio.ResultadoSimulacion;
+
+/**
+ * Acumula los resultados de las batallas entre dos tipos de IA
+ * Cada tarea del torneo usa su propia instancia, por lo que no requiere sincronizacion;
+ * las instancias parciales se combinan al terminar cada tarea
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public class EstadisticasEnfrentamiento {
+    private final String tipo1;
+    private final String tipo2;
+    private long victorias1;
+    private long victorias2;
+    private long empates;
+    private long turnos;
+    private long dano1;
+    private long dano2;
+
+    /**
+     * Crea estadisticas vacias para un enfrentamiento
+     *
+     * @param tipo1 Tipo de IA de la maquina 1
+     * @param tipo2 Tipo de IA de la maquina 2
+     */
+    public EstadisticasEnfrentamiento(String tipo1, String tipo2) {
+        this.tipo1 = tipo1;
+        this.tipo2 = tipo2;
+    }
+
+    /**
+     * Registra el resultado de una batalla
+     *
+     * @param resultado Resultado de la batalla
+     */
+    public void registrar(ResultadoSimulacion resultado) {
+        switch (resultado.getGanador()) {
+            case 1: victorias1++; break;
+            case 2: victorias2++; break;
+            default: empates++; break;
+        }
+        turnos += resultado.getTurnos();
+        dano1 += resultado.getDanoEntrenador1();
+        dano2 += resultado.getDanoEntrenador2();
+    }
+
+    /**
+     * Suma a estas estadisticas las de otra tarea del mismo enfrentamiento
+     *
+     * @param otras Estadisticas a sumar
+     * @return estas mismas estadisticas ya combinadas
+     */
+    public EstadisticasEnfrentamiento combinar(EstadisticasEnfrentamiento otras) {
+        victorias1 += otras.victorias1;
+        victorias2 += otras.victorias2;
+        empates += otras.empates;
+        turnos += otras.turnos;
+        dano1 += otras.dano1;
+        dano2 += otras.dano2;
+        return this;
+    }
+
+    /**
+     * Devuelve la cantidad de batallas registradas
+     *
+     * @return total de batallas
+     */
+    public long getBatallas() {
+        return victorias1 + victorias2 + empates;
+    }
+
+    /**
+     * Devuelve el porcentaje de victorias de la maquina 1
+     *
+     * @return tasa de victorias entre 0 y 1
+     */
+    public double getTasaVictorias1() {
+        return getBatallas() == 0 ? 0 : (double) victorias1 / getBatallas();
+    }
+
+    /**
+     * Devuelve el porcentaje de victorias de la maquina 2
+     *
+     * @return tasa de victorias entre 0 y 1
+     */
+    public double getTasaVictorias2() {
+        return getBatallas() == 0 ? 0 : (double) victorias2 / getBatallas();
+    }
+
+    /**
+     * Devuelve el promedio de turnos por batalla
+     *
+     * @return turnos promedio
+     */
+    public double getTurnosPromedio() {
+        return getBatallas() == 0 ? 0 : (double) turnos / getBatallas();
+    }
+
+    /**
+     * Obtiene el tipo de IA de la maquina 1
+     * @return tipo de IA
+     */
+    public String getTipo1() { return tipo1; }
+
+    /**
+     * Obtiene el tipo de IA de la maquina 2
+     * @return tipo de IA
+     */
+    public String getTipo2() { return tipo2; }
+
+    /**
+     * Obtiene las victorias de la maquina 1
+     * @return victorias
+     */
+    public long getVictorias1() { return victorias1; }
+
+    /**
+     * Obtiene las victorias de la maquina 2
+     * @return victorias
+     */
+    public long getVictorias2() { return victorias2; }
+
+    /**
+     * Obtiene las batallas que terminaron por limite de turnos
+     * @return empates
+     */
+    public long getEmpates() { return empates; }
+
+    /**
+     * Obtiene el daño total causado por la maquina 1
+     * @return daño total
+     */
+    public long getDano1() { return dano1; }
+
+    /**
+     * Obtiene el daño total causado por la maquina 2
+     * @return daño total
+     */
+    public long getDano2() { return dano2; }
+
+    /**
+     * Devuelve una linea de resumen del enfrentamiento
+     *
+     * @return texto con tasas de victoria, empates, turnos y daño
+     */
+    @Override
+    public String toString() {
+        return String.format("%-16s vs %-16s | %6.2f%% - %6.2f%% | empates %5d | turnos %6.1f | daño %d - %d",
+            tipo1, tipo2, getTasaVictorias1() * 100, getTasaVictorias2() * 100,
+            empates, getTurnosPromedio(), dano1, dano2);
+    }
+}
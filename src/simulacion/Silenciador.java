@@ -0,0 +1,29 @@
+package simulacion;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Baja el nivel del log del dominio en los programas de linea de comandos que juegan muchas
+ * batallas: los movimientos registran advertencias en cada golpe inmune y en lotes grandes
+ * solo interesan los errores
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public final class Silenciador {
+    // Referencia fuerte: LogManager solo guarda referencias debiles a los loggers, y si el
+    // recolector de basura se llevara este se perderia el nivel configurado
+    private static final Logger LOGGER_DOMINIO = Logger.getLogger("dominio");
+
+    private Silenciador() {
+    }
+
+    /**
+     * Deja pasar solo los errores (SEVERE) del log del paquete dominio
+     */
+    public static void silenciarLogDominio() {
+        LOGGER_DOMINIO.setLevel(Level.SEVERE);
+    }
+}
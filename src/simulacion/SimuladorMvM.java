@@ -0,0 +1,158 @@
+package simulacion;
+
+import dominio.Aleatoriedad;
+import dominio.BattleFactory;
+import dominio.BattleSimulator;
+import dominio.ConfiguracionLog;
+import dominio.MetricasBatalla;
+import dominio.POOBkemonException;
+import dominio.ResultadoSimulacion;
+import dominio.TablaTipos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Punto de entrada de linea de comandos para ejecutar batallas Maquina vs Maquina sin interfaz
+ * Arma los equipos igual que MvMSetUp (6 Pokemon al azar y los mismos items)
+ * y reporta victorias, turnos promedio y batallas por segundo
+ *
+ * Uso: java simulacion.SimuladorMvM [batallas] [ia1] [ia2] [semilla]
+ * Con -Dpoobkemon.metricas=archivo vuelca las metricas de las decisiones de la IA (ver MetricasBatalla)
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public class SimuladorMvM {
+    /**
+     * Cantidad de Pokemon por equipo, igual que en MvMSetUp
+     */
+    public static final int TAMANO_EQUIPO = 6;
+
+    private final String tipo1;
+    private final String tipo2;
+    private int victorias1;
+    private int victorias2;
+    private int empates;
+    private long turnosTotales;
+    private long nanosTotales;
+
+    /**
+     * Crea un simulador de lotes para dos tipos de IA
+     *
+     * @param tipo1 Tipo de IA de la maquina 1
+     * @param tipo2 Tipo de IA de la maquina 2
+     */
+    public SimuladorMvM(String tipo1, String tipo2) {
+        this.tipo1 = tipo1;
+        this.tipo2 = tipo2;
+    }
+
+    /**
+     * Ejecuta un lote de batallas con equipos aleatorios
+     *
+     * @param batallas Cantidad de batallas a ejecutar
+     * @param semilla Semilla base; cada batalla usa una semilla derivada
+     * @throws POOBkemonException Si ocurre un error al crear alguna batalla
+     */
+    public void ejecutar(int batallas, long semilla) throws POOBkemonException {
+        RandomGenerator aleatorio = Aleatoriedad.crearGenerador(semilla);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < batallas; i++) {
+            BattleSimulator simulador = BattleSimulator.crearMvM(
+                equipoAleatorio(aleatorio), equipoAleatorio(aleatorio),
+                itemsPorDefecto(), itemsPorDefecto(),
+                tipo1, tipo2, aleatorio.nextLong());
+            registrar(simulador.simular());
+        }
+        nanosTotales += System.nanoTime() - inicio;
+    }
+
+    /**
+     * Acumula el resultado de una batalla
+     *
+     * @param resultado Resultado a acumular
+     */
+    private void registrar(ResultadoSimulacion resultado) {
+        switch (resultado.getGanador()) {
+            case 1: victorias1++; break;
+            case 2: victorias2++; break;
+            default: empates++; break;
+        }
+        turnosTotales += resultado.getTurnos();
+    }
+
+    /**
+     * Elige 6 Pokemon al azar sin repetir, como MvMSetUp
+     *
+     * @param aleatorio Generador de numeros aleatorios
+     * @return nombres de los Pokemon del equipo
+     */
+    public static List<String> equipoAleatorio(RandomGenerator aleatorio) {
+        List<String> copia = new ArrayList<>(BattleFactory.getNombresPokemones());
+        Aleatoriedad.barajar(copia, aleatorio);
+        return new ArrayList<>(copia.subList(0, TAMANO_EQUIPO));
+    }
+
+    /**
+     * Items que MvMSetUp asigna a cada maquina
+     *
+     * @return mapa con nombre de item y cantidad
+     */
+    public static Map<String, Integer> itemsPorDefecto() {
+        Map<String, Integer> items = new HashMap<>();
+        items.put("Potion", 2);
+        items.put("SuperPotion", 2);
+        items.put("HyperPotion", 2);
+        items.put("Revive", 1);
+        return items;
+    }
+
+    /**
+     * Devuelve las batallas por segundo del lote ejecutado
+     *
+     * @return batallas por segundo
+     */
+    public double getBatallasPorSegundo() {
+        int total = victorias1 + victorias2 + empates;
+        return nanosTotales == 0 ? 0 : total * 1_000_000_000.0 / nanosTotales;
+    }
+
+    /**
+     * Devuelve un resumen legible del lote
+     *
+     * @return texto con victorias, empates, turnos promedio y rendimiento
+     */
+    public String resumen() {
+        int total = victorias1 + victorias2 + empates;
+        return String.format("%s vs %s: %d batallas | victorias %d - %d | empates %d | turnos promedio %.1f | %.0f batallas/s",
+            tipo1, tipo2, total, victorias1, victorias2, empates,
+            total == 0 ? 0.0 : (double) turnosTotales / total, getBatallasPorSegundo());
+    }
+
+    /**
+     * Ejecuta un lote de batallas MvM desde la linea de comandos
+     *
+     * @param args [batallas] [ia1] [ia2] [semilla]
+     * @throws POOBkemonException Si ocurre un error al crear alguna batalla
+     */
+    public static void main(String[] args) throws POOBkemonException {
+        int batallas = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        String ia1 = args.length > 1 ? args[1] : "attackingTrainer";
+        String ia2 = args.length > 2 ? args[2] : "expertTrainer";
+        long semilla = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        ConfiguracionLog.configurar();
+        Silenciador.silenciarLogDominio();
+        TablaTipos.inicializarEfectividades();
+        MetricasBatalla.activarSegunPropiedades();
+
+        SimuladorMvM simulador = new SimuladorMvM(ia1, ia2);
+        simulador.ejecutar(batallas, semilla);
+        System.out.println(simulador.resumen());
+    }
+}
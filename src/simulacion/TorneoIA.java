@@ -0,0 +1,207 @@
+package simulacion;
+
+import dominio.BattleSimulator;
+import dominio.ConfiguracionLog;
+import dominio.MetricasBatalla;
+import dominio.POOBkemonException;
+import dominio.TablaTipos;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Torneo Monte Carlo entre las estrategias de IA usando todos los nucleos disponibles
+ * Cada enfrentamiento entre dos tipos de IA se divide en tareas de fork-join; cada tarea
+ * arma equipos al azar como MvMSetUp con su propio generador (derivado con split de la semilla
+ * del torneo, por lo que el resultado no depende del orden de ejecucion) y acumula sus
+ * estadisticas localmente. Los parciales se combinan al hacer join, sin bloqueos.
+ *
+ * Uso: java simulacion.TorneoIA [batallasPorEnfrentamiento] [semilla] [hilos]
+ * Con -Dpoobkemon.metricas=archivo vuelca las metricas de las decisiones de la IA (ver MetricasBatalla)
+ *
+ * @author David Patacon
+ * @author Daniel Hueso
+ * @version 1.0
+ */
+public class TorneoIA {
+    /**
+     * Tipos de IA que participan en el torneo, con los mismos nombres que usa MvMSetUp
+     */
+    public static final String[] TIPOS_IA = {"defensiveTrainer", "attackingTrainer", "chaningTrainer", "expertTrainer"};
+    /**
+     * Cantidad maxima de batallas que ejecuta una tarea sin dividirse
+     */
+    private static final int BATALLAS_POR_TAREA = 64;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea un torneo que usa todos los nucleos disponibles
+     */
+    public TorneoIA() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Crea un torneo con una cantidad fija de hilos
+     *
+     * @param hilos Cantidad de hilos del pool
+     */
+    public TorneoIA(int hilos) {
+        this.pool = new ForkJoinPool(hilos);
+    }
+
+    /**
+     * Ejecuta todos los enfrentamientos entre pares distintos de tipos de IA
+     *
+     * @param batallasPorEnfrentamiento Batallas a jugar en cada enfrentamiento
+     * @param semilla Semilla del torneo
+     * @return estadisticas por enfrentamiento en orden de ejecucion
+     * @throws POOBkemonException Si ocurre un error al crear alguna batalla
+     */
+    public List<EstadisticasEnfrentamiento> ejecutar(int batallasPorEnfrentamiento, long semilla) throws POOBkemonException {
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        List<TareaBatallas> tareas = new ArrayList<>();
+        for (int i = 0; i < TIPOS_IA.length; i++) {
+            for (int j = i + 1; j < TIPOS_IA.length; j++) {
+                TareaBatallas tarea = new TareaBatallas(TIPOS_IA[i], TIPOS_IA[j], batallasPorEnfrentamiento, raiz.split());
+                tareas.add(tarea);
+                pool.execute(tarea);
+            }
+        }
+        List<EstadisticasEnfrentamiento> resultados = new ArrayList<>();
+        try {
+            for (TareaBatallas tarea : tareas) {
+                resultados.add(tarea.join());
+            }
+        } catch (RuntimeException e) {
+            Throwable causa = e.getCause() instanceof POOBkemonException ? e.getCause() : e;
+            throw new POOBkemonException(POOBkemonException.ERROR_CREAR_BATALLA, causa);
+        }
+        return resultados;
+    }
+
+    /**
+     * Calcula la tasa de victorias global de cada tipo de IA
+     *
+     * @param resultados Estadisticas de todos los enfrentamientos
+     * @return mapa de tipo de IA a tasa de victorias, ordenado de mayor a menor
+     */
+    public static Map<String, Double> clasificacion(List<EstadisticasEnfrentamiento> resultados) {
+        Map<String, long[]> acumulado = new LinkedHashMap<>();
+        for (String tipo : TIPOS_IA) {
+            acumulado.put(tipo, new long[2]);
+        }
+        for (EstadisticasEnfrentamiento e : resultados) {
+            long[] a = acumulado.get(e.getTipo1());
+            long[] b = acumulado.get(e.getTipo2());
+            a[0] += e.getVictorias1();
+            a[1] += e.getBatallas();
+            b[0] += e.getVictorias2();
+            b[1] += e.getBatallas();
+        }
+        Map<String, Double> tabla = new LinkedHashMap<>();
+        acumulado.entrySet().stream()
+            .sorted((x, y) -> Double.compare(tasa(y.getValue()), tasa(x.getValue())))
+            .forEach(entrada -> tabla.put(entrada.getKey(), tasa(entrada.getValue())));
+        return tabla;
+    }
+
+    /**
+     * Calcula victorias sobre batallas jugadas
+     *
+     * @param conteo arreglo con victorias y batallas
+     * @return tasa de victorias
+     */
+    private static double tasa(long[] conteo) {
+        return conteo[1] == 0 ? 0 : (double) conteo[0] / conteo[1];
+    }
+
+    /**
+     * Cierra el pool de hilos del torneo
+     */
+    public void cerrar() {
+        pool.shutdown();
+    }
+
+    /**
+     * Tarea de fork-join que juega un rango de batallas de un enfrentamiento
+     */
+    private static class TareaBatallas extends RecursiveTask<EstadisticasEnfrentamiento> {
+        private static final long serialVersionUID = 1L;
+        private final String tipo1;
+        private final String tipo2;
+        private final int batallas;
+        private final transient SplittableRandom aleatorio;
+
+        TareaBatallas(String tipo1, String tipo2, int batallas, SplittableRandom aleatorio) {
+            this.tipo1 = tipo1;
+            this.tipo2 = tipo2;
+            this.batallas = batallas;
+            this.aleatorio = aleatorio;
+        }
+
+        @Override
+        protected EstadisticasEnfrentamiento compute() {
+            if (batallas > BATALLAS_POR_TAREA) {
+                // El split se hace antes del fork para que la division sea determinista
+                TareaBatallas izquierda = new TareaBatallas(tipo1, tipo2, batallas / 2, aleatorio.split());
+                TareaBatallas derecha = new TareaBatallas(tipo1, tipo2, batallas - batallas / 2, aleatorio);
+                izquierda.fork();
+                EstadisticasEnfrentamiento parcial = derecha.compute();
+                return parcial.combinar(izquierda.join());
+            }
+            EstadisticasEnfrentamiento estadisticas = new EstadisticasEnfrentamiento(tipo1, tipo2);
+            try {
+                for (int i = 0; i < batallas; i++) {
+                    BattleSimulator simulador = BattleSimulator.crearMvM(
+                        SimuladorMvM.equipoAleatorio(aleatorio), SimuladorMvM.equipoAleatorio(aleatorio),
+                        SimuladorMvM.itemsPorDefecto(), SimuladorMvM.itemsPorDefecto(),
+                        tipo1, tipo2, aleatorio.nextLong());
+                    estadisticas.registrar(simulador.simular());
+                }
+            } catch (POOBkemonException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            return estadisticas;
+        }
+    }
+
+    /**
+     * Ejecuta el torneo desde la linea de comandos e imprime la clasificacion
+     *
+     * @param args [batallasPorEnfrentamiento] [semilla] [hilos]
+     * @throws POOBkemonException Si ocurre un error al crear alguna batalla
+     */
+    public static void main(String[] args) throws POOBkemonException {
+        int batallas = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        int hilos = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        ConfiguracionLog.configurar();
+        Silenciador.silenciarLogDominio();
+        TablaTipos.inicializarEfectividades();
+        MetricasBatalla.activarSegunPropiedades();
+
+        TorneoIA torneo = new TorneoIA(hilos);
+        long inicio = System.nanoTime();
+        List<EstadisticasEnfrentamiento> resultados = torneo.ejecutar(batallas, semilla);
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        torneo.cerrar();
+
+        long total = 0;
+        for (EstadisticasEnfrentamiento e : resultados) {
+            System.out.println(e);
+            total += e.getBatallas();
+        }
+        System.out.println("Clasificacion:");
+        clasificacion(resultados).forEach((tipo, tasa) ->
+            System.out.printf("  %-16s %6.2f%%%n", tipo, tasa * 100));
+        System.out.printf("%d batallas en %.2f s con %d hilos (%.0f batallas/s)%n", total, segundos, hilos, total / segundos);
+    }
+}